@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.builder.ErrorHandlerBuilder;
+import org.apache.camel.converter.stream.StreamCachePool;
 import org.apache.camel.model.DataFormatDefinition;
 import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.RoutesDefinition;
@@ -870,6 +871,20 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setInflightRepository(InflightRepository repository);
 
+    /**
+     * Gets the pool of memory used by cached streams
+     *
+     * @return the pool
+     */
+    StreamCachePool getStreamCachePool();
+
+    /**
+     * Sets a custom pool of memory used by cached streams
+     *
+     * @param streamCachePool the pool
+     */
+    void setStreamCachePool(StreamCachePool streamCachePool);
+
     /**
      * Gets the the application context class loader which may be helpful for running camel in other containers
      *
@@ -968,4 +983,30 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setLazyLoadTypeConverters(Boolean lazyLoadTypeConverters);
 
+    /**
+     * Whether or not routes should be started in parallel
+     *
+     * @return <tt>true</tt> to start routes in parallel, <tt>false</tt> to start them one by one
+     */
+    Boolean isParallelRouteStartup();
+
+    /**
+     * Sets whether routes should be started in parallel, which can speedup starting
+     * {@link CamelContext} with many routes.
+     * <p/>
+     * Only the services of the routes is started in parallel, routes which have a <tt>startupOrder</tt>
+     * configured is still started one by one in that order before the others.
+     * The route consumers is always started one by one after all the routes have been started.
+     *
+     * @param parallelRouteStartup <tt>true</tt> to start routes in parallel, <tt>false</tt> to start them one by one
+     */
+    void setParallelRouteStartup(Boolean parallelRouteStartup);
+
+    /**
+     * Gets the time taken by each phase when this {@link CamelContext} was last started
+     *
+     * @return the time in millis per phase, in the order the phases was executed
+     */
+    Map<String, Long> getStartupTimings();
+
 }
@@ -93,6 +93,7 @@ public interface Exchange {
     String CORRELATION_ID    = "CamelCorrelationId";
 
     String DATASET_INDEX             = "CamelDataSetIndex";
+    String DATASET_TIMESTAMP         = "CamelDataSetTimestamp";
     String DEFAULT_CHARSET_PROPERTY  = "org.apache.camel.default.charset";
     String DESTINATION_OVERRIDE_URL = "CamelDestinationOverrideUrl";
     String DISABLE_HTTP_STREAM_CACHE = "CamelDisableHttpStreamCache";
@@ -143,6 +144,8 @@ public interface Exchange {
 
     String ON_COMPLETION = "CamelOnCompletion";
 
+    String PROFILE_TRACE = "CamelProfileTrace";
+
     String REDELIVERED             = "CamelRedelivered";
     String REDELIVERY_COUNTER      = "CamelRedeliveryCounter";
     String REDELIVERY_MAX_COUNTER  = "CamelRedeliveryMaxCounter";
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+import javax.xml.bind.annotation.XmlEnum;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * Represent the kinds of thread pools which can be created from a
+ * {@link org.apache.camel.spi.ThreadPoolProfile}.
+ * <ul>
+ *   <li><tt>Default</tt> - a regular thread pool with a single shared task queue.</li>
+ *   <li><tt>Instrumented</tt> - a regular thread pool which also keeps statistics about how long tasks wait
+ *   in the task queue and how long the threads are active running them, which is exposed in JMX.
+ *   This costs a bit of overhead per task.</li>
+ *   <li><tt>Adaptive</tt> - an instrumented thread pool which grows and shrinks its core pool size, between
+ *   the pool size and max pool size, depending on how long tasks wait in the task queue.</li>
+ *   <li><tt>WorkStealing</tt> - a fixed size pool where each thread has its own task queue, and idle threads
+ *   steal tasks from the busy ones. This avoids contention on a single task queue for CPU bound work, such as
+ *   parallel splitting of in memory data. The task queues is unbounded, so configuring the max queue size
+ *   or rejected policy on a profile with this kind of pool is an error. The max pool size option is not used.</li>
+ * </ul>
+ * Camel will by default use <tt>Default</tt>.
+ *
+ * @version $Revision$
+ */
+@XmlType
+@XmlEnum(String.class)
+public enum ThreadPoolType {
+
+    Default, Instrumented, Adaptive, WorkStealing
+
+}
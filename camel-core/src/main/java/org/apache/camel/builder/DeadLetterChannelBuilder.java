@@ -57,6 +57,7 @@ public class DeadLetterChannelBuilder extends DefaultErrorHandlerBuilder {
         DeadLetterChannel answer = new DeadLetterChannel(routeContext.getCamelContext(), processor, getLogger(),
                 getOnRedelivery(), getRedeliveryPolicy(), getHandledPolicy(), getExceptionPolicyStrategy(),
                 getFailureProcessor(), getDeadLetterUri(), isUseOriginalMessage(), getRetryWhilePolicy(routeContext.getCamelContext()));
+        answer.setMaximumPendingRedeliveries(getMaximumPendingRedeliveries());
         // configure error handler before we can use it
         configure(answer);
         return answer;
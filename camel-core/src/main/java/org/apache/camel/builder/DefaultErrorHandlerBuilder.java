@@ -54,6 +54,7 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
     protected String deadLetterUri;
     protected boolean useOriginalMessage;
     protected boolean asyncDelayedRedelivery;
+    protected int maximumPendingRedeliveries = 1000;
 
     public DefaultErrorHandlerBuilder() {
     }
@@ -62,6 +63,7 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
         DefaultErrorHandler answer = new DefaultErrorHandler(routeContext.getCamelContext(), processor, getLogger(),
                 getOnRedelivery(), getRedeliveryPolicy(), getHandledPolicy(), getExceptionPolicyStrategy(),
                 getRetryWhilePolicy(routeContext.getCamelContext()));
+        answer.setMaximumPendingRedeliveries(getMaximumPendingRedeliveries());
         // configure error handler before we can use it
         configure(answer);
         return answer;
@@ -166,6 +168,19 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
         return this;
     }
 
+    /**
+     * Sets the maximum number of exchanges which can be waiting for an asynchronous delayed redelivery,
+     * before the error handler falls back to synchronous delayed redelivery.
+     *
+     * @param maximumPendingRedeliveries the maximum, use <tt>0</tt> or a negative value for unbounded
+     * @see org.apache.camel.processor.RedeliveryErrorHandler#setMaximumPendingRedeliveries(int)
+     * @return the builder
+     */
+    public DefaultErrorHandlerBuilder maximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        setMaximumPendingRedeliveries(maximumPendingRedeliveries);
+        return this;
+    }
+
     /**
      * Sets whether the exchange should be marked as handled or not.
      *
@@ -454,6 +469,14 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
         this.asyncDelayedRedelivery = asyncDelayedRedelivery;
     }
 
+    public int getMaximumPendingRedeliveries() {
+        return maximumPendingRedeliveries;
+    }
+
+    public void setMaximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        this.maximumPendingRedeliveries = maximumPendingRedeliveries;
+    }
+
     protected Predicate createHandledPolicy() {
         // should NOT be handled by default for default error handler
         return PredicateBuilder.toPredicate(ExpressionBuilder.constantExpression(false));
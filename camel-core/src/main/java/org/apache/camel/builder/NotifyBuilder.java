@@ -1129,6 +1129,15 @@ public class NotifyBuilder {
      */
     private final class ExchangeNotifier extends EventNotifierSupport {
 
+        private ExchangeNotifier() {
+            // we only need the created, completed and failed exchange events
+            setIgnoreCamelContextEvents(true);
+            setIgnoreRouteEvents(true);
+            setIgnoreServiceEvents(true);
+            setIgnoreExchangeRedeliveryEvents(true);
+            setIgnoreExchangeSentEvents(true);
+        }
+
         public void notify(EventObject event) throws Exception {
             if (event instanceof ExchangeCreatedEvent) {
                 onExchangeCreated((ExchangeCreatedEvent) event);
@@ -17,6 +17,8 @@
 package org.apache.camel.component.dataset;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -26,6 +28,9 @@ import org.apache.camel.processor.ThroughputLogger;
 
 /**
  * DataSet consumer.
+ * <p/>
+ * Sends the messages using a single thread by default. Use the <tt>concurrency</tt> option to send
+ * using multiple threads (closed loop), and the <tt>targetRate</tt> option to send at a fixed rate (open loop).
  *
  * @version $Revision$
  */
@@ -34,6 +39,7 @@ public class DataSetConsumer extends DefaultConsumer {
     private DataSetEndpoint endpoint;
     private Processor reporter;
     private ExecutorService executorService;
+    private ExecutorService workerExecutorService;
 
     public DataSetConsumer(DataSetEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
@@ -53,23 +59,22 @@ public class DataSetConsumer extends DefaultConsumer {
 
         sendMessages(0, preloadSize);
 
-        executorService = camelContext.getExecutorServiceStrategy()
-                .newSingleThreadExecutor(this, endpoint.getEndpointUri());
+        if (endpoint.getTargetRate() > 0) {
+            startOpenLoop(preloadSize, dataSet.getSize());
+        } else if (endpoint.getConcurrency() > 1) {
+            startClosedLoop(preloadSize, dataSet.getSize());
+        } else {
+            executorService = camelContext.getExecutorServiceStrategy()
+                    .newSingleThreadExecutor(this, endpoint.getEndpointUri());
 
-        executorService.execute(new Runnable() {
-            public void run() {
-                if (endpoint.getInitialDelay() > 0) {
-                    try {
-                        Thread.sleep(endpoint.getInitialDelay());
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return;
+            executorService.execute(new Runnable() {
+                public void run() {
+                    if (awaitInitialDelay()) {
+                        sendMessages(preloadSize, dataSet.getSize());
                     }
                 }
-
-                sendMessages(preloadSize, dataSet.getSize());
-            }
-        });
+            });
+        }
     }
 
     @Override
@@ -80,35 +85,150 @@ public class DataSetConsumer extends DefaultConsumer {
             camelContext.getExecutorServiceStrategy().shutdownNow(executorService);
             executorService = null;
         }
+        if (workerExecutorService != null) {
+            camelContext.getExecutorServiceStrategy().shutdownNow(workerExecutorService);
+            workerExecutorService = null;
+        }
+    }
+
+    /**
+     * Sends the messages using concurrency threads, where each thread sends the next message
+     * as soon as it is done with the previous.
+     */
+    protected void startClosedLoop(long startIndex, final long endIndex) {
+        int concurrency = endpoint.getConcurrency();
+        executorService = camelContext.getExecutorServiceStrategy()
+                .newFixedThreadPool(this, endpoint.getEndpointUri(), concurrency);
+
+        final AtomicLong next = new AtomicLong(startIndex);
+        for (int i = 0; i < concurrency; i++) {
+            executorService.execute(new Runnable() {
+                public void run() {
+                    if (!awaitInitialDelay()) {
+                        return;
+                    }
+                    try {
+                        long index = next.getAndIncrement();
+                        while (index < endIndex && isRunAllowed()) {
+                            sendMessage(index, System.nanoTime());
+                            if (!produceDelay()) {
+                                break;
+                            }
+                            index = next.getAndIncrement();
+                        }
+                    } catch (Exception e) {
+                        handleException(e);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Sends the messages at the target rate, handing them off to concurrency worker threads so the rate
+     * does not depend on how fast the messages is processed.
+     * <p/>
+     * The timestamp of each message is the time it was scheduled to be sent, which ensures that time spent
+     * waiting for a free worker counts as latency, instead of silently lowering the rate.
+     */
+    protected void startOpenLoop(final long startIndex, final long endIndex) {
+        executorService = camelContext.getExecutorServiceStrategy()
+                .newSingleThreadExecutor(this, endpoint.getEndpointUri());
+        workerExecutorService = camelContext.getExecutorServiceStrategy()
+                .newFixedThreadPool(this, endpoint.getEndpointUri() + "-Worker", endpoint.getConcurrency());
+
+        final double interval = 1000000000.0 / endpoint.getTargetRate();
+
+        executorService.execute(new Runnable() {
+            public void run() {
+                if (!awaitInitialDelay()) {
+                    return;
+                }
+                long start = System.nanoTime();
+                for (long i = startIndex; i < endIndex && isRunAllowed(); i++) {
+                    final long index = i;
+                    final long scheduled = start + (long) ((i - startIndex) * interval);
+                    long wait = scheduled - System.nanoTime();
+                    if (wait > 0) {
+                        try {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+
+                    workerExecutorService.execute(new Runnable() {
+                        public void run() {
+                            try {
+                                sendMessage(index, scheduled);
+                            } catch (Exception e) {
+                                handleException(e);
+                            }
+                        }
+                    });
+                }
+            }
+        });
     }
 
     protected void sendMessages(long startIndex, long endIndex) {
         try {
             for (long i = startIndex; i < endIndex; i++) {
-                Exchange exchange = endpoint.createExchange(i);
-                getProcessor().process(exchange);
-
-                try {
-                    long delay = endpoint.getProduceDelay();
-                    if (delay > 0) {
-                        Thread.sleep(delay);
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+                sendMessage(i, System.nanoTime());
+                if (!produceDelay()) {
                     break;
                 }
-                if (reporter != null) {
-                    reporter.process(exchange);
-                }
             }
         } catch (Exception e) {
             handleException(e);
         }
     }
 
+    /**
+     * Sends the message with the given index.
+     *
+     * @param index     the index in the {@link DataSet}
+     * @param timestamp the creation timestamp in nanos (from <tt>System.nanoTime()</tt>) the latency is measured from
+     */
+    protected void sendMessage(long index, long timestamp) throws Exception {
+        Exchange exchange = endpoint.createExchange(index);
+        exchange.getIn().setHeader(Exchange.DATASET_TIMESTAMP, timestamp);
+        getProcessor().process(exchange);
+
+        if (reporter != null) {
+            reporter.process(exchange);
+        }
+    }
+
     protected ThroughputLogger createReporter() {
         ThroughputLogger answer = new ThroughputLogger(endpoint.getEndpointUri(), (int) endpoint.getDataSet().getReportCount());
         answer.setAction("Sent");
         return answer;
     }
+
+    private boolean awaitInitialDelay() {
+        if (endpoint.getInitialDelay() > 0) {
+            try {
+                Thread.sleep(endpoint.getInitialDelay());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean produceDelay() {
+        try {
+            long delay = endpoint.getProduceDelay();
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
 }
@@ -45,7 +45,13 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
     private long consumeDelay;
     private long preloadSize;
     private long initialDelay = 1000;
+    private int concurrency = 1;
+    private long targetRate;
+    private boolean ordered = true;
     private Processor reporter;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private volatile long firstReceivedTime;
+    private volatile long lastReceivedTime;
 
     public DataSetEndpoint() {
         this.log = LogFactory.getLog(DataSetEndpoint.class);
@@ -78,6 +84,9 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
     public void reset() {
         super.reset();
         receivedCounter.set(0);
+        latencyHistogram.reset();
+        firstReceivedTime = 0;
+        lastReceivedTime = 0;
     }
 
     @Override
@@ -118,6 +127,35 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
                 count = getReceivedCounter() - count;
             } while (count >= minRate);
         }
+
+        if (latencyHistogram.getCount() > 0) {
+            log.info(getLatencyReport());
+        }
+    }
+
+    /**
+     * The throughput in messages per second, measured from the first until the last received message.
+     */
+    public double getThroughput() {
+        int count = getReceivedCounter();
+        long elapsed = lastReceivedTime - firstReceivedTime;
+        if (count < 2 || elapsed <= 0) {
+            return 0;
+        }
+        return (count - 1) * 1000000000.0 / elapsed;
+    }
+
+    /**
+     * The histogram of the end to end latencies in micro seconds, measured from when the message
+     * was created by the {@link DataSetConsumer} until it was received by this endpoint.
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    public String getLatencyReport() {
+        return "Received " + getReceivedCounter() + " messages on " + getEndpointUri()
+            + " at " + Math.round(getThroughput()) + " msg/sec with latency in micros: " + latencyHistogram;
     }
 
     // Properties
@@ -179,13 +217,81 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
         this.initialDelay = initialDelay;
     }
 
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Sets the number of threads sending the messages. Without a target rate each thread sends
+     * the next message when the previous has been processed (closed loop).
+     * <p/>
+     * Notice the messages is no longer received in order when using more than one thread, so the
+     * endpoint receiving the messages must have the <tt>ordered</tt> option set to <tt>false</tt>.
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public long getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Sets a target rate in messages per second which the messages is sent at, regardless how
+     * fast they are processed (open loop). The messages is handed off to the concurrency threads
+     * for processing, and the latency is measured from when the message was scheduled to be sent,
+     * so a route which cannot keep up shows as increasing latency. The produce delay is not used.
+     */
+    public void setTargetRate(long targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    /**
+     * Whether the messages is expected to be received in the same order as sent.
+     * <p/>
+     * Is always <tt>false</tt> when this endpoint sends the messages using more than one thread.
+     */
+    public boolean isOrdered() {
+        return ordered && concurrency <= 1;
+    }
+
+    /**
+     * Sets whether the messages is expected to be received in the same order as sent.
+     * When <tt>false</tt> each message is asserted against the message sent with the same index.
+     * <p/>
+     * Set this to <tt>false</tt> on the receiving endpoint when the messages is sent using more than one thread,
+     * or is routed concurrently, for example using the <tt>concurrentConsumers</tt> option of a seda endpoint.
+     * <p/>
+     * Is default <tt>true</tt>.
+     */
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+
     // Implementation methods
     //-------------------------------------------------------------------------
 
     @Override
     protected void performAssertions(Exchange actual) throws Exception {
+        long now = System.nanoTime();
         int receivedCount = receivedCounter.incrementAndGet();
-        long index = receivedCount - 1;
+        if (receivedCount == 1) {
+            firstReceivedTime = now;
+        }
+        lastReceivedTime = now;
+
+        Long created = actual.getIn().getHeader(Exchange.DATASET_TIMESTAMP, Long.class);
+        if (created != null) {
+            latencyHistogram.recordValue((now - created) / 1000);
+        }
+
+        long index;
+        if (isOrdered()) {
+            index = receivedCount - 1;
+        } else {
+            // the messages can arrive in any order so assert against the message that was sent
+            index = ExchangeHelper.getMandatoryHeader(actual, Exchange.DATASET_INDEX, Long.class);
+        }
         Exchange expected = createExchange(index);
 
         // now lets assert that they are the same
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.dataset;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed memory histogram of latencies, in the style of a HDR histogram.
+ * <p/>
+ * Values below 128 are recorded exactly, larger values are recorded in buckets of 64 per power of two,
+ * so any value is recorded with a relative error of less than 2%. Recording is lock free and
+ * can be done concurrently by many threads.
+ *
+ * @version $Revision$
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 64;
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+    // the largest shift of a long value to get it into the sub bucket range
+    private static final int MAX_SHIFT = 63 - 6;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records the value, negative values is recorded as <tt>0</tt>.
+     */
+    public void recordValue(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+
+        long current = min.get();
+        while (value < current && !min.compareAndSet(current, value)) {
+            current = min.get();
+        }
+        current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Gets the value at the given percentile, eg <tt>99.9</tt>, which is the highest value
+     * which is equivalent to the recorded values at that percentile.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the value, or <tt>0</tt> if no values has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long size = count.get();
+        if (size == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * size));
+        long sum = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            sum += counts.get(i);
+            if (sum >= target) {
+                // do not report a value higher than we actually have recorded
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMin() {
+        return count.get() == 0 ? 0 : min.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long size = count.get();
+        return size == 0 ? 0 : (double) total.get() / size;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + ", min=" + getMin() + ", mean=" + Math.round(getMean())
+            + ", 50%=" + getValueAtPercentile(50) + ", 90%=" + getValueAtPercentile(90)
+            + ", 99%=" + getValueAtPercentile(99) + ", 99.9%=" + getValueAtPercentile(99.9)
+            + ", max=" + getMax();
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        // shift the value so it fits in [SUB_BUCKETS, LINEAR_BUCKETS)
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 6;
+        int subBucket = (int) (value >> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        long answer = ((subBucket + 1) << shift) - 1;
+        // the last bucket overflows
+        return answer < 0 ? Long.MAX_VALUE : answer;
+    }
+}
@@ -262,6 +262,20 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
      * @param exchange the exchange
      */
     protected void processExchange(final Exchange exchange) {
+        processExchange(exchange, operations);
+    }
+
+    /**
+     * Processes the exchange using the given operations to retrieve and commit the file.
+     * <p/>
+     * The operations must remain usable until the exchange is done, as the completion
+     * strategies (for instance moving the file) are using them.
+     *
+     * @param exchange the exchange
+     * @param fileOperations the operations to use for this exchange
+     * @return <tt>true</tt> if the exchange was routed, <tt>false</tt> if the file could not be retrieved
+     */
+    protected boolean processExchange(final Exchange exchange, final GenericFileOperations<T> fileOperations) {
         GenericFile<T> file = getExchangeFileProperty(exchange);
         if (log.isTraceEnabled()) {
             log.trace("Processing file: " + file);
@@ -275,21 +289,21 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
         try {
             final GenericFileProcessStrategy<T> processStrategy = endpoint.getGenericFileProcessStrategy();
 
-            boolean begin = processStrategy.begin(operations, endpoint, exchange, file);
+            boolean begin = processStrategy.begin(fileOperations, endpoint, exchange, file);
             if (!begin) {
                 if (log.isDebugEnabled()) {
                     log.debug(endpoint + " cannot begin processing file: " + file);
                 }
                 // begin returned false, so remove file from the in progress list as its no longer in progress
                 endpoint.getInProgressRepository().remove(absoluteFileName);
-                return;
+                return false;
             }
         } catch (Exception e) {
             if (log.isDebugEnabled()) {
                 log.debug(endpoint + " cannot begin processing file: " + file + " due to: " + e.getMessage(), e);
             }
             endpoint.getInProgressRepository().remove(absoluteFileName);
-            return;
+            return false;
         }
 
         // must use file from exchange as it can be updated due the
@@ -304,7 +318,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
             }
 
             // retrieve the file and check it was a success
-            boolean retrieved = operations.retrieveFile(name, exchange);
+            boolean retrieved = fileOperations.retrieveFile(name, exchange);
             if (!retrieved) {
                 // throw exception to handle the problem with retrieving the file
                 // then if the method return false or throws an exception is handled the same in here
@@ -318,7 +332,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
 
             // register on completion callback that does the completion strategies
             // (for instance to move the file after we have processed it)
-            exchange.addOnCompletion(new GenericFileOnCompletion<T>(endpoint, operations, target, absoluteFileName));
+            exchange.addOnCompletion(new GenericFileOnCompletion<T>(endpoint, fileOperations, target, absoluteFileName));
 
             if (log.isDebugEnabled()) {
                 log.debug("About to process file: " + target + " using exchange: " + exchange);
@@ -335,7 +349,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
                     }
                 }
             });
-
+            return true;
         } catch (Exception e) {
             // remove file from the in progress list due to failure
             // (cannot be in finally block due to GenericFileOnCompletion will remove it
@@ -343,6 +357,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
             // by another thread at a later time. So its only safe to remove it if there was an exception)
             endpoint.getInProgressRepository().remove(absoluteFileName);
             handleException(e);
+            return false;
         }
     }
 
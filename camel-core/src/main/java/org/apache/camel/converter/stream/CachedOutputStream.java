@@ -18,13 +18,14 @@ package org.apache.camel.converter.stream;
 
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
@@ -42,17 +43,30 @@ import org.apache.commons.logging.LogFactory;
  * You can get a cached input stream of this stream. The temp file which is created with this 
  * output stream will be deleted when you close this output stream or the all cached 
  * fileInputStream is closed after the exchange is completed.
+ * <p/>
+ * The content kept in memory is stored in fixed size chunks from the {@link StreamCachePool} of the
+ * {@link org.apache.camel.CamelContext}. The content is also stored into a File if the memory budget
+ * of the pool has been used, regardless of the THRESHOLD. Set the THRESHOLD to 0 to only use the
+ * memory budget of the pool.
+ * <p/>
+ * The chunks are returned to the pool when the stream is closed or the exchange is done, whichever happens first,
+ * even if the stream is not closed on completion. Getting the cached content from memory afterwards is not possible.
  */
 public class CachedOutputStream extends OutputStream {
     public static final String THRESHOLD = "CamelCachedOutputStreamThreshold";
     public static final String TEMP_DIR = "CamelCachedOutputStreamOutputDirectory";
     private static final transient Log LOG = LogFactory.getLog(CachedOutputStream.class);
-    
-    private OutputStream currentStream = new ByteArrayOutputStream(2048);
+
+    private final StreamCachePool pool;
+    private final List<byte[]> chunks = new ArrayList<byte[]>();
+    private byte[] currentChunk;
+    private int currentPos;
+    private OutputStream fileStream;
     private boolean inMemory = true;
-    private int totalLength;
+    private long totalLength;
     private File tempFile;
     private FileInputStreamCache fileInputStreamCache;
+    private volatile boolean released;
 
     private long threshold = 64 * 1024;
     private File outputDir;
@@ -70,6 +84,8 @@ public class CachedOutputStream extends OutputStream {
         if (dir != null) {
             this.outputDir = exchange.getContext().getTypeConverter().convertTo(File.class, dir);
         }
+        StreamCachePool contextPool = exchange.getContext().getStreamCachePool();
+        this.pool = contextPool != null ? contextPool : new StreamCachePool();
         
         if (closedOnCompletion) {
             // add on completion so we can cleanup after the exchange is done such as deleting temporary files
@@ -86,6 +102,21 @@ public class CachedOutputStream extends OutputStream {
                     }
                 }
     
+                @Override
+                public String toString() {
+                    return "OnCompletion[CachedOutputStream]";
+                }
+            });
+        } else {
+            // the caller is responsible for closing the stream which deletes the temporary file, but the memory
+            // must be released back to the pool when the exchange is done, as the pool is shared by the entire
+            // context and a stream which is never closed would otherwise hold on to its chunks forever
+            exchange.addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onDone(Exchange exchange) {
+                    releaseMemory();
+                }
+
                 @Override
                 public String toString() {
                     return "OnCompletion[CachedOutputStream]";
@@ -95,20 +126,20 @@ public class CachedOutputStream extends OutputStream {
     }
 
     public void flush() throws IOException {
-        currentStream.flush();       
+        if (fileStream != null) {
+            fileStream.flush();
+        }
     }
 
     public void close() throws IOException {
-        currentStream.close();
-        cleanUpTempFile();
-    }
-
-    public boolean equals(Object obj) {
-        return currentStream.equals(obj);
-    }
-
-    public int hashCode() {
-        return currentStream.hashCode();
+        try {
+            if (fileStream != null) {
+                fileStream.close();
+            }
+        } finally {
+            releaseMemory();
+            cleanUpTempFile();
+        }
     }
 
     public String toString() {
@@ -116,47 +147,65 @@ public class CachedOutputStream extends OutputStream {
     }
 
     public void write(byte[] b, int off, int len) throws IOException {
-        this.totalLength += len;
-        if (threshold > 0 && inMemory && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
+        if (inMemory && threshold > 0 && totalLength + len > threshold) {
             pageToFileStream();
         }
-        currentStream.write(b, off, len);
+
+        while (inMemory && len > 0) {
+            if (currentChunk == null || currentPos == currentChunk.length) {
+                currentChunk = pool.acquireChunk();
+                if (currentChunk == null) {
+                    // the memory budget has been used so page to file
+                    pageToFileStream();
+                    break;
+                }
+                chunks.add(currentChunk);
+                currentPos = 0;
+            }
+            int count = Math.min(len, currentChunk.length - currentPos);
+            System.arraycopy(b, off, currentChunk, currentPos, count);
+            currentPos += count;
+            totalLength += count;
+            off += count;
+            len -= count;
+        }
+
+        if (len > 0) {
+            fileStream.write(b, off, len);
+            totalLength += len;
+        }
     }
 
     public void write(byte[] b) throws IOException {
-        this.totalLength += b.length;
-        if (threshold > 0 && inMemory && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
-            pageToFileStream();
-        }
-        currentStream.write(b);
+        write(b, 0, b.length);
     }
 
     public void write(int b) throws IOException {
-        this.totalLength++;
-        if (threshold > 0 && inMemory && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
-            pageToFileStream();
+        if (inMemory && currentChunk != null && currentPos < currentChunk.length
+                && (threshold <= 0 || totalLength < threshold)) {
+            // fast path when there is room in the current chunk
+            currentChunk[currentPos++] = (byte) b;
+            totalLength++;
+        } else {
+            write(new byte[]{(byte) b}, 0, 1);
         }
-        currentStream.write(b);
+    }
+
+    /**
+     * Whether the content is kept in memory, or has been paged to a temporary file
+     * because the size exceeded the threshold.
+     */
+    public boolean isInMemory() {
+        return inMemory;
     }
 
     public InputStream getInputStream() throws IOException {
         flush();
 
         if (inMemory) {
-            if (currentStream instanceof ByteArrayOutputStream) {
-                return new ByteArrayInputStream(((ByteArrayOutputStream) currentStream).toByteArray());
-            } else {
-                throw new IllegalStateException("CurrentStream should be an instance of ByteArrayOutputStream but is: " + currentStream.getClass().getName());
-            }
+            return new ByteArrayInputStream(toByteArray());
         } else {
-            try {
-                if (fileInputStreamCache == null) {
-                    fileInputStreamCache = new FileInputStreamCache(tempFile);
-                }
-                return fileInputStreamCache;
-            } catch (FileNotFoundException e) {
-                throw IOHelper.createIOException("Cached file " + tempFile + " not found", e);
-            }
+            return getFileInputStreamCache();
         }
     }    
     
@@ -170,23 +219,56 @@ public class CachedOutputStream extends OutputStream {
         flush();
 
         if (inMemory) {
-            if (currentStream instanceof ByteArrayOutputStream) {
-                return new InputStreamCache(((ByteArrayOutputStream) currentStream).toByteArray());
-            } else {
-                throw new IllegalStateException("CurrentStream should be an instance of ByteArrayOutputStream but is: " + currentStream.getClass().getName());
-            }
+            return new InputStreamCache(toByteArray());
         } else {
-            try {
-                if (fileInputStreamCache == null) {
-                    fileInputStreamCache = new FileInputStreamCache(tempFile);
-                }
-                return fileInputStreamCache;
-            } catch (FileNotFoundException e) {
-                throw IOHelper.createIOException("Cached file " + tempFile + " not found", e);
+            return getFileInputStreamCache();
+        }
+    }
+
+    private FileInputStreamCache getFileInputStreamCache() throws IOException {
+        try {
+            if (fileInputStreamCache == null) {
+                fileInputStreamCache = new FileInputStreamCache(tempFile, pool.isMemoryMappedReads());
             }
+            return fileInputStreamCache;
+        } catch (FileNotFoundException e) {
+            throw IOHelper.createIOException("Cached file " + tempFile + " not found", e);
         }
     }
 
+    private synchronized byte[] toByteArray() {
+        if (released) {
+            throw new IllegalStateException("Cannot get the cached content as the memory of the stream has been released"
+                    + " because the stream has been closed or the exchange is done");
+        }
+        // copy the chunks into a new array as the chunks is returned to the pool when this stream is closed
+        byte[] answer = new byte[(int) totalLength];
+        int pos = 0;
+        for (byte[] chunk : chunks) {
+            int count = Math.min(chunk.length, answer.length - pos);
+            System.arraycopy(chunk, 0, answer, pos, count);
+            pos += count;
+        }
+        return answer;
+    }
+
+    private synchronized void releaseMemory() {
+        // only release the memory once, and remember the content is gone
+        if (!released) {
+            released = true;
+            releaseChunks();
+        }
+    }
+
+    private void releaseChunks() {
+        for (byte[] chunk : chunks) {
+            pool.releaseChunk(chunk);
+        }
+        chunks.clear();
+        currentChunk = null;
+        currentPos = 0;
+    }
+
     private void cleanUpTempFile() {
         // cleanup temporary file
         if (tempFile != null) {
@@ -196,9 +278,6 @@ public class CachedOutputStream extends OutputStream {
     }
 
     private void pageToFileStream() throws IOException {
-        flush();
-
-        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
         if (outputDir == null) {
             tempFile = FileUtil.createTempFile("cos", ".tmp");
         } else {
@@ -210,11 +289,18 @@ public class CachedOutputStream extends OutputStream {
         }
 
         try {
-            currentStream = new BufferedOutputStream(new FileOutputStream(tempFile));
-            bout.writeTo(currentStream);
+            fileStream = new BufferedOutputStream(new FileOutputStream(tempFile));
+            long remaining = totalLength;
+            for (byte[] chunk : chunks) {
+                int count = (int) Math.min(chunk.length, remaining);
+                fileStream.write(chunk, 0, count);
+                remaining -= count;
+            }
+            pool.onSpool(totalLength);
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
+            releaseChunks();
         }
     }
     
@@ -232,6 +318,11 @@ public class CachedOutputStream extends OutputStream {
         public int read() throws IOException {
             return inputStream.read();
         }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return inputStream.read(b, off, len);
+        }
         
         @Override
         public int available() throws IOException {
@@ -23,23 +23,46 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.StreamCache;
 import org.apache.camel.util.IOHelper;
 
+/**
+ * A {@link StreamCache} for a file.
+ * <p/>
+ * The file can optionally be read using a memory mapped file, which allows the cache to be reset
+ * without opening the file again.
+ */
 public class FileInputStreamCache extends InputStream implements StreamCache, Closeable {
     private InputStream stream;
-    private File file;
+    private ByteBuffer buffer;
+    private final File file;
+    private final boolean memoryMapped;
 
     public FileInputStreamCache(File file) throws FileNotFoundException {
+        this(file, false);
+    }
+
+    public FileInputStreamCache(File file, boolean memoryMapped) throws FileNotFoundException {
         this.file = file;
-        this.stream = new FileInputStream(file);
+        this.memoryMapped = memoryMapped && file.length() <= Integer.MAX_VALUE;
+        if (this.memoryMapped) {
+            this.buffer = map(file);
+        } else {
+            this.stream = new FileInputStream(file);
+        }
     }
     
     @Override
     public void close() {
-        if (isSteamOpened()) {
+        if (memoryMapped) {
+            // the mapping is released when the buffer is garbage collected
+            buffer = null;
+        } else if (isSteamOpened()) {
             IOHelper.close(getInputStream());
         }
     }
@@ -47,32 +70,97 @@ public class FileInputStreamCache extends InputStream implements StreamCache, Cl
     @Override
     public void reset() {
         try {
-            // reset by closing and creating a new stream based on the file
-            close();
-            // reset by creating a new stream based on the file
-            stream = new FileInputStream(file);
+            if (memoryMapped) {
+                if (buffer != null) {
+                    buffer.rewind();
+                } else {
+                    buffer = map(file);
+                }
+            } else {
+                // reset by closing and creating a new stream based on the file
+                close();
+                // reset by creating a new stream based on the file
+                stream = new FileInputStream(file);
+            }
         } catch (Exception e) {
             throw new RuntimeCamelException("Cannot reset stream from file " + file, e);
         }            
     }
 
     public void writeTo(OutputStream os) throws IOException {
-        IOHelper.copy(getInputStream(), os);
+        if (memoryMapped) {
+            ByteBuffer source = getBuffer().duplicate();
+            byte[] data = new byte[Math.min(source.remaining(), 8 * 1024)];
+            while (source.hasRemaining()) {
+                int count = Math.min(source.remaining(), data.length);
+                source.get(data, 0, count);
+                os.write(data, 0, count);
+            }
+            os.flush();
+        } else {
+            IOHelper.copy(getInputStream(), os);
+        }
     }
 
     @Override
     public int available() throws IOException {
+        if (memoryMapped) {
+            return getBuffer().remaining();
+        }
         return getInputStream().available();
     }
 
     @Override
     public int read() throws IOException {
+        if (memoryMapped) {
+            ByteBuffer source = getBuffer();
+            return source.hasRemaining() ? source.get() & 0xff : -1;
+        }
         return getInputStream().read();
     }
 
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (memoryMapped) {
+            ByteBuffer source = getBuffer();
+            if (len == 0) {
+                return 0;
+            }
+            if (!source.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, source.remaining());
+            source.get(b, off, count);
+            return count;
+        }
+        return getInputStream().read(b, off, len);
+    }
+
     protected InputStream getInputStream() {
         return stream;
     }
+
+    private ByteBuffer getBuffer() throws IOException {
+        if (buffer == null) {
+            throw new IOException("Stream closed");
+        }
+        return buffer;
+    }
+
+    private static ByteBuffer map(File file) throws FileNotFoundException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            // the mapping stays valid after the channel has been closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            FileNotFoundException fnfe = new FileNotFoundException("Cannot map file " + file + ". Reason: " + e.getMessage());
+            fnfe.initCause(e);
+            throw fnfe;
+        } finally {
+            IOHelper.close(raf);
+        }
+    }
     
     private boolean isSteamOpened() {
         if (stream != null && stream instanceof FileInputStream) {
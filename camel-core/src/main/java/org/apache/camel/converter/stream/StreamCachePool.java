@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+
+/**
+ * A {@link org.apache.camel.CamelContext} wide pool of fixed size memory chunks used by {@link CachedOutputStream}
+ * to keep cached streams in memory.
+ * <p/>
+ * The pool enforces a memory budget for the total amount of memory used by all the cached streams.
+ * When the budget has been used, the cached streams will spool their content to disk instead.
+ * Chunks which are released will be kept in the pool (up till a maximum) for reuse, which
+ * reduces the amount of garbage created when caching streams.
+ *
+ * @version $Revision$
+ */
+public class StreamCachePool extends ServiceSupport {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+    public static final int DEFAULT_MAX_POOLED_CHUNKS = 512;
+    public static final long DEFAULT_MEMORY_BUDGET = 64 * 1024 * 1024;
+
+    private final Queue<byte[]> chunks = new ConcurrentLinkedQueue<byte[]>();
+    private final AtomicInteger pooledChunks = new AtomicInteger();
+    private final AtomicLong memoryUsed = new AtomicLong();
+    private final AtomicLong peakMemoryUsed = new AtomicLong();
+    private final AtomicLong spoolCount = new AtomicLong();
+    private final AtomicLong spoolSize = new AtomicLong();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxPooledChunks = DEFAULT_MAX_POOLED_CHUNKS;
+    private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+    // mapped files cannot be deleted on Windows until the mapping is garbage collected
+    private boolean memoryMappedReads = !FileUtil.isWindows();
+
+    /**
+     * Acquires a chunk of memory.
+     *
+     * @return the chunk, or <tt>null</tt> if the memory budget has been used
+     */
+    public byte[] acquireChunk() {
+        long used = memoryUsed.addAndGet(chunkSize);
+        if (memoryBudget > 0 && used > memoryBudget) {
+            memoryUsed.addAndGet(-chunkSize);
+            return null;
+        }
+        updatePeak(used);
+
+        byte[] chunk = chunks.poll();
+        if (chunk != null) {
+            pooledChunks.decrementAndGet();
+        } else {
+            chunk = new byte[chunkSize];
+        }
+        return chunk;
+    }
+
+    /**
+     * Releases a chunk which was acquired from this pool.
+     *
+     * @param chunk the chunk
+     */
+    public void releaseChunk(byte[] chunk) {
+        memoryUsed.addAndGet(-chunk.length);
+        // only pool chunks of the current size in case the chunk size has been changed
+        if (chunk.length == chunkSize) {
+            if (pooledChunks.incrementAndGet() <= maxPooledChunks) {
+                chunks.offer(chunk);
+            } else {
+                pooledChunks.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Callback when a cached stream has been spooled to disk.
+     *
+     * @param size the number of bytes which was in memory when the stream was spooled
+     */
+    public void onSpool(long size) {
+        spoolCount.incrementAndGet();
+        spoolSize.addAndGet(size);
+    }
+
+    private void updatePeak(long used) {
+        long peak = peakMemoryUsed.get();
+        while (used > peak && !peakMemoryUsed.compareAndSet(peak, used)) {
+            peak = peakMemoryUsed.get();
+        }
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the size of the memory chunks, should be set before the pool is used.
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxPooledChunks() {
+        return maxPooledChunks;
+    }
+
+    /**
+     * Sets the maximum number of released chunks to keep in the pool for reuse.
+     */
+    public void setMaxPooledChunks(int maxPooledChunks) {
+        this.maxPooledChunks = maxPooledChunks;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Sets the maximum number of bytes all the cached streams may keep in memory,
+     * use 0 or a negative value for no limit.
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    public boolean isMemoryMappedReads() {
+        return memoryMappedReads;
+    }
+
+    /**
+     * Sets whether cached streams spooled to disk should be read using memory mapped files.
+     */
+    public void setMemoryMappedReads(boolean memoryMappedReads) {
+        this.memoryMappedReads = memoryMappedReads;
+    }
+
+    /**
+     * Gets the number of bytes currently used by cached streams in memory
+     */
+    public long getMemoryUsed() {
+        return memoryUsed.get();
+    }
+
+    /**
+     * Gets the highest number of bytes used by cached streams in memory
+     */
+    public long getPeakMemoryUsed() {
+        return peakMemoryUsed.get();
+    }
+
+    /**
+     * Gets the number of free chunks in the pool
+     */
+    public int getPooledChunks() {
+        return pooledChunks.get();
+    }
+
+    /**
+     * Gets the number of cached streams which has been spooled to disk
+     */
+    public long getSpoolCount() {
+        return spoolCount.get();
+    }
+
+    /**
+     * Gets the total number of bytes which was moved from memory to disk when spooling
+     */
+    public long getSpoolSize() {
+        return spoolSize.get();
+    }
+
+    /**
+     * Resets the statistics
+     */
+    public void resetStatistics() {
+        peakMemoryUsed.set(memoryUsed.get());
+        spoolCount.set(0);
+        spoolSize.set(0);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        chunks.clear();
+        pooledChunks.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "StreamCachePool[memoryUsed: " + memoryUsed.get() + ", memoryBudget: " + memoryBudget + "]";
+    }
+
+}
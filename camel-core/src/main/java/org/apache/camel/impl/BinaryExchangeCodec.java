@@ -0,0 +1,307 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A compact binary {@link org.apache.camel.spi.ExchangeCodec} which is much faster and produces
+ * smaller data than Java serialization of the {@link DefaultExchangeHolder}.
+ * <p/>
+ * Values of type <tt>String</tt>, <tt>byte[]</tt>, the primitive wrapper types and <tt>java.util.Date</tt>
+ * are written using a compact binary representation. Values of any other type (such as the caused exception)
+ * fall back to Java serialization.
+ * <p/>
+ * The data starts with a magic header and a format version. Data written using Java serialization by
+ * the {@link SerializationExchangeCodec} can still be decoded, so existing persisted exchanges can be read.
+ *
+ * @version $Revision$
+ */
+public class BinaryExchangeCodec extends SerializationExchangeCodec {
+
+    /**
+     * The current version of the binary format
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC_1 = 0xCA;
+    private static final int MAGIC_2 = 0xEC;
+    // the header of a Java serialization stream
+    private static final int SERIALIZATION_MAGIC_1 = 0xAC;
+    private static final int SERIALIZATION_MAGIC_2 = 0xED;
+
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_BYTES = 2;
+    private static final int TYPE_INTEGER = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_BOOLEAN = 5;
+    private static final int TYPE_DOUBLE = 6;
+    private static final int TYPE_FLOAT = 7;
+    private static final int TYPE_SHORT = 8;
+    private static final int TYPE_BYTE = 9;
+    private static final int TYPE_CHARACTER = 10;
+    private static final int TYPE_DATE = 11;
+    private static final int TYPE_SERIALIZED = 12;
+
+    private static final String UTF8 = "UTF-8";
+
+    /**
+     * Whether the given data starts with the magic header of the binary format.
+     *
+     * @param data   the data
+     * @param offset the offset of the encoded exchange in the data
+     * @param length the length of the encoded exchange
+     * @return <tt>true</tt> if the data is written in the binary format
+     */
+    public static boolean isBinaryFormat(byte[] data, int offset, int length) {
+        return length > 2 && (data[offset] & 0xFF) == MAGIC_1 && (data[offset + 1] & 0xFF) == MAGIC_2;
+    }
+
+    @Override
+    public void encode(DefaultExchangeHolder holder, OutputStream out) throws IOException {
+        DataOutputStream dos = new DataOutputStream(out);
+        dos.writeByte(MAGIC_1);
+        dos.writeByte(MAGIC_2);
+        dos.writeByte(VERSION);
+
+        writeString(dos, holder.getExchangeId());
+        writeValue(dos, holder.getInBody());
+        writeMap(dos, holder.getInHeaders());
+        writeValue(dos, holder.getOutBody());
+        dos.writeBoolean(holder.getOutFaultFlag() != null && holder.getOutFaultFlag());
+        writeMap(dos, holder.getOutHeaders());
+        writeMap(dos, holder.getProperties());
+        writeValue(dos, holder.getException());
+        dos.flush();
+    }
+
+    @Override
+    public DefaultExchangeHolder decode(InputStream in) throws IOException, ClassNotFoundException {
+        PushbackInputStream pis = new PushbackInputStream(in, 2);
+        int b1 = pis.read();
+        int b2 = pis.read();
+        if (b1 == SERIALIZATION_MAGIC_1 && b2 == SERIALIZATION_MAGIC_2) {
+            // data written using Java serialization
+            pis.unread(b2);
+            pis.unread(b1);
+            return super.decode(pis);
+        }
+        if (b1 != MAGIC_1 || b2 != MAGIC_2) {
+            throw new IOException("Invalid header, data is not an encoded exchange");
+        }
+
+        DataInputStream dis = new DataInputStream(pis);
+        int version = dis.readUnsignedByte();
+        if (version > VERSION) {
+            throw new IOException("Unsupported version " + version + ", the highest supported version is " + VERSION);
+        }
+
+        DefaultExchangeHolder holder = new DefaultExchangeHolder();
+        holder.setExchangeId(readString(dis));
+        holder.setInBody(readValue(dis));
+        holder.setInHeaders(readMap(dis));
+        holder.setOutBody(readValue(dis));
+        holder.setOutFaultFlag(dis.readBoolean());
+        holder.setOutHeaders(readMap(dis));
+        holder.setProperties(readMap(dis));
+        Object exception = readValue(dis);
+        if (exception != null && !(exception instanceof Exception)) {
+            throw new IOException("Expected an exception but was " + exception);
+        }
+        holder.setException((Exception) exception);
+        return holder;
+    }
+
+    protected void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof byte[]) {
+            byte[] data = (byte[]) value;
+            out.writeByte(TYPE_BYTES);
+            writeVarInt(out, data.length);
+            out.write(data);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TYPE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            out.writeByte(TYPE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(TYPE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(TYPE_CHARACTER);
+            out.writeChar((Character) value);
+        } else if (value.getClass() == Date.class) {
+            // only plain dates as sub classes such as java.sql.Timestamp has additional state
+            out.writeByte(TYPE_DATE);
+            out.writeLong(((Date) value).getTime());
+        } else {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ObjectOutputStream oos = new ObjectOutputStream(bos);
+            oos.writeObject(value);
+            oos.close();
+            byte[] data = bos.toByteArray();
+            out.writeByte(TYPE_SERIALIZED);
+            writeVarInt(out, data.length);
+            out.write(data);
+        }
+    }
+
+    protected Object readValue(DataInputStream in) throws IOException, ClassNotFoundException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+        case TYPE_NULL:
+            return null;
+        case TYPE_STRING:
+            return readString(in);
+        case TYPE_BYTES:
+            return readBytes(in);
+        case TYPE_INTEGER:
+            return in.readInt();
+        case TYPE_LONG:
+            return in.readLong();
+        case TYPE_BOOLEAN:
+            return in.readBoolean();
+        case TYPE_DOUBLE:
+            return in.readDouble();
+        case TYPE_FLOAT:
+            return in.readFloat();
+        case TYPE_SHORT:
+            return in.readShort();
+        case TYPE_BYTE:
+            return in.readByte();
+        case TYPE_CHARACTER:
+            return in.readChar();
+        case TYPE_DATE:
+            return new Date(in.readLong());
+        case TYPE_SERIALIZED:
+            byte[] data = readBytes(in);
+            return createObjectInputStream(new ByteArrayInputStream(data)).readObject();
+        default:
+            throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        if (map == null) {
+            // zero denotes a null map
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, map.size() + 1);
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private Map<String, Object> readMap(DataInputStream in) throws IOException, ClassNotFoundException {
+        int size = readVarInt(in);
+        if (size == 0) {
+            return null;
+        }
+        size = size - 1;
+        Map<String, Object> map = new LinkedHashMap<String, Object>(Math.max(16, (int) (size / .75f) + 1));
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            map.put(key, readValue(in));
+        }
+        return map;
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            // zero denotes a null string
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] data = value.getBytes(UTF8);
+        writeVarInt(out, data.length + 1);
+        out.write(data);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] data = new byte[length - 1];
+        in.readFully(data);
+        return new String(data, UTF8);
+    }
+
+    private byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] data = new byte[readVarInt(in)];
+        in.readFully(data);
+        return data;
+    }
+
+    /**
+     * Writes a non negative int using 1 to 5 bytes, where small values use fewer bytes.
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Invalid length " + value);
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length int");
+    }
+
+}
@@ -32,6 +32,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -67,6 +71,7 @@ import org.apache.camel.TypeConverter;
 import org.apache.camel.VetoCamelContextStartException;
 import org.apache.camel.builder.ErrorHandlerBuilder;
 import org.apache.camel.component.properties.PropertiesComponent;
+import org.apache.camel.converter.stream.StreamCachePool;
 import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
 import org.apache.camel.impl.converter.DefaultTypeConverter;
 import org.apache.camel.impl.converter.LazyLoadingTypeConverter;
@@ -82,6 +87,7 @@ import org.apache.camel.model.RoutesDefinition;
 import org.apache.camel.processor.interceptor.Debug;
 import org.apache.camel.processor.interceptor.Delayer;
 import org.apache.camel.processor.interceptor.HandleFault;
+import org.apache.camel.processor.interceptor.Profiler;
 import org.apache.camel.processor.interceptor.StreamCaching;
 import org.apache.camel.processor.interceptor.Tracer;
 import org.apache.camel.spi.CamelContextNameStrategy;
@@ -166,6 +172,7 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
     private Boolean handleFault = Boolean.FALSE;
     private Boolean disableJMX = Boolean.FALSE;
     private Boolean lazyLoadTypeConverters = Boolean.FALSE;
+    private Boolean parallelRouteStartup = Boolean.FALSE;
     private Long delay;
     private ErrorHandlerBuilder errorHandlerBuilder;
     private Map<String, DataFormatDefinition> dataFormats = new HashMap<String, DataFormatDefinition>();
@@ -185,6 +192,7 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
     private ProcessorFactory processorFactory;
     private InterceptStrategy defaultTracer;
     private InflightRepository inflightRepository = new DefaultInflightRepository();
+    private StreamCachePool streamCachePool = new StreamCachePool();
     private final List<RouteStartupOrder> routeStartupOrder = new ArrayList<RouteStartupOrder>();
     // start auto assigning route ids using numbering 1000 and upwards
     private int defaultRouteStartupOrder = 1000;
@@ -195,6 +203,7 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
     private Debugger debugger;
     private UuidGenerator uuidGenerator = createDefaultUuidGenerator();
     private final StopWatch stopWatch = new StopWatch(false);
+    private final Map<String, Long> startupTimings = new LinkedHashMap<String, Long>();
     private Date startDate;
 
     public DefaultCamelContext() {
@@ -1328,6 +1337,11 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
     }
 
     private void doStartCamel() throws Exception {
+        synchronized (startupTimings) {
+            startupTimings.clear();
+        }
+        StopWatch watch = new StopWatch();
+
         if (isStreamCaching()) {
             // only add a new stream cache if not already configured
             if (StreamCaching.getStreamCaching(this) == null) {
@@ -1369,6 +1383,7 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
 
         // start management strategy before lifecycles are started
         getManagementStrategy().start();
+        recordStartupPhase("ManagementStrategy", watch);
 
         // start lifecycle strategies
         Iterator<LifecycleStrategy> it = lifecycleStrategies.iterator();
@@ -1396,20 +1411,34 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
             }
             startServices(notifier);
         }
+        recordStartupPhase("LifecycleStrategies", watch);
 
         // must let some bootstrap service be started before we can notify the starting event
         EventHelper.notifyCamelContextStarting(this);
 
         forceLazyInitialization();
+        recordStartupPhase("TypeConverters", watch);
+
         addService(executorServiceStrategy);
         addService(producerServicePool);
         addService(inflightRepository);
+        addService(streamCachePool);
         addService(shutdownStrategy);
 
+        // the profiler is a service which should be started and managed as well
+        Profiler profiler = Profiler.getProfiler(this);
+        if (profiler != null) {
+            log.info("Profiler: " + profiler + " is enabled on CamelContext: " + getName());
+            addService(profiler);
+        }
+        recordStartupPhase("Services", watch);
+
         startServices(components.values());
+        recordStartupPhase("Components", watch);
 
         // start the route definitions before the routes is started
         startRouteDefinitions(routeDefinitions);
+        recordStartupPhase("RouteDefinitions", watch);
 
         // start routes
         if (doNotStartRoutesOnFirstStart) {
@@ -1418,10 +1447,22 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
 
         // invoke this logic to warmup the routes and if possible also start the routes
         doStartOrResumeRoutes(routeServices, true, !doNotStartRoutesOnFirstStart, false, true);
+        recordStartupPhase("Routes", watch);
 
         // starting will continue in the start method
     }
 
+    private void recordStartupPhase(String phase, StopWatch watch) {
+        long taken = watch.taken();
+        synchronized (startupTimings) {
+            startupTimings.put(phase, taken);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Startup phase " + phase + " took " + taken + " millis on CamelContext: " + getName());
+        }
+        watch.restart();
+    }
+
     protected synchronized void doStop() throws Exception {
         stopWatch.restart();
         log.info("Apache Camel " + getVersion() + " (CamelContext:" + getName() + ") is shutting down");
@@ -1789,6 +1830,12 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
     }
 
     private void doWarmUpRoutes(Map<Integer, DefaultRouteStartupOrder> inputs, boolean autoStartup) throws Exception {
+        if (isParallelRouteStartup() && inputs.size() > 1) {
+            // start the services of the routes concurrently, the warm up below will then
+            // register the routes in the same order as if they had been started one by one
+            doWarmUpRouteServicesInParallel(inputs);
+        }
+
         // now prepare the routes by starting its services before we start the input
         for (Map.Entry<Integer, DefaultRouteStartupOrder> entry : inputs.entrySet()) {
             // defer starting inputs till later as we want to prepare the routes by starting
@@ -1804,6 +1851,53 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
         }
     }
 
+    private void doWarmUpRouteServicesInParallel(Map<Integer, DefaultRouteStartupOrder> inputs) throws Exception {
+        // routes with an explicit startupOrder must be started in that order so they are warmed up one by one
+        // before all the other routes, which have no dependencies among themselves and can be started in parallel
+        List<RouteService> parallel = new ArrayList<RouteService>();
+        for (DefaultRouteStartupOrder order : inputs.values()) {
+            RouteService routeService = order.getRouteService();
+            if (routeService.getRouteDefinition().getStartupOrder() != null) {
+                routeService.warmUpServices();
+            } else {
+                parallel.add(routeService);
+            }
+        }
+        if (parallel.isEmpty()) {
+            return;
+        }
+
+        int poolSize = Math.min(parallel.size(), Runtime.getRuntime().availableProcessors() * 2);
+        if (log.isDebugEnabled()) {
+            log.debug("Warming up " + parallel.size() + " routes in parallel using " + poolSize + " threads");
+        }
+
+        ExecutorService executor = getExecutorServiceStrategy().newFixedThreadPool(this, "RouteStartup", poolSize);
+        try {
+            List<Future<Object>> futures = new ArrayList<Future<Object>>(parallel.size());
+            for (final RouteService routeService : parallel) {
+                futures.add(executor.submit(new Callable<Object>() {
+                    public Object call() throws Exception {
+                        routeService.warmUpServices();
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Object> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            getExecutorServiceStrategy().shutdownNow(executor);
+        }
+    }
+
     private void doResumeRouteConsumers(Map<Integer, DefaultRouteStartupOrder> inputs, boolean addingRoutes) throws Exception {
         doStartOrResumeRouteConsumers(inputs, true, addingRoutes);
     }
@@ -2128,6 +2222,14 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
         this.inflightRepository = repository;
     }
 
+    public StreamCachePool getStreamCachePool() {
+        return streamCachePool;
+    }
+
+    public void setStreamCachePool(StreamCachePool streamCachePool) {
+        this.streamCachePool = streamCachePool;
+    }
+
     public void setAutoStartup(Boolean autoStartup) {
         this.autoStartup = autoStartup;
     }
@@ -2144,6 +2246,20 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
         this.lazyLoadTypeConverters = lazyLoadTypeConverters;
     }
 
+    public Boolean isParallelRouteStartup() {
+        return parallelRouteStartup != null && parallelRouteStartup;
+    }
+
+    public void setParallelRouteStartup(Boolean parallelRouteStartup) {
+        this.parallelRouteStartup = parallelRouteStartup;
+    }
+
+    public Map<String, Long> getStartupTimings() {
+        synchronized (startupTimings) {
+            return new LinkedHashMap<String, Long>(startupTimings);
+        }
+    }
+
     public ClassLoader getApplicationContextClassLoader() {
         return applicationContextClassLoader;
     }
@@ -29,6 +29,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.model.OptionalIdentifiedDefinition;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ProcessorDefinitionHelper;
@@ -83,6 +84,9 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
     }
 
     public void setDefaultThreadPoolProfile(ThreadPoolProfile defaultThreadPoolProfile) {
+        // validate before the old default values are used as fallback
+        validateWorkStealingProfile(defaultThreadPoolProfile);
+
         ThreadPoolProfile oldProfile = threadPoolProfiles.remove(defaultThreadPoolProfileId);
         if (oldProfile != null) {
             // the old is no longer default
@@ -107,6 +111,9 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
             if (defaultThreadPoolProfile.getTimeUnit() == null) {
                 defaultThreadPoolProfile.setTimeUnit(oldProfile.getTimeUnit());
             }
+            if (defaultThreadPoolProfile.getPoolType() == null) {
+                defaultThreadPoolProfile.setPoolType(oldProfile.getPoolType());
+            }
         }
 
         // validate that all options has been given as its mandatory for a default thread pool profile
@@ -188,7 +195,7 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
         ThreadPoolProfile profile = getDefaultThreadPoolProfile();
         ObjectHelper.notNull(profile, "DefaultThreadPoolProfile");
 
-        return newThreadPool(source, name,
+        return newThreadPool(null, profile.getPoolType(), source, name,
             profile.getPoolSize(), profile.getMaxPoolSize(),
             profile.getKeepAliveTime(), profile.getTimeUnit(),
             profile.getMaxQueueSize(), profile.getRejectedExecutionHandler(), false);
@@ -198,6 +205,7 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
         ThreadPoolProfile defaultProfile = getDefaultThreadPoolProfile();
         ThreadPoolProfile profile = getThreadPoolProfile(threadPoolProfileId);
         if (profile != null) {
+            validateWorkStealingProfile(profile);
             // fallback to use values from default profile if not specified
             Integer poolSize = profile.getPoolSize() != null ? profile.getPoolSize() : defaultProfile.getPoolSize();
             Integer maxPoolSize = profile.getMaxPoolSize() != null ? profile.getMaxPoolSize() : defaultProfile.getMaxPoolSize();
@@ -205,8 +213,9 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
             TimeUnit timeUnit = profile.getTimeUnit() != null ? profile.getTimeUnit() : defaultProfile.getTimeUnit();
             Integer maxQueueSize = profile.getMaxQueueSize() != null ? profile.getMaxQueueSize() : defaultProfile.getMaxQueueSize();
             RejectedExecutionHandler handler = profile.getRejectedExecutionHandler() != null ? profile.getRejectedExecutionHandler() : defaultProfile.getRejectedExecutionHandler();
+            ThreadPoolType poolType = profile.getPoolType() != null ? profile.getPoolType() : defaultProfile.getPoolType();
             // create the pool
-            return newThreadPool(threadPoolProfileId, source, name, poolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize, handler, false);
+            return newThreadPool(threadPoolProfileId, poolType, source, name, poolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize, handler, false);
         } else {
             // no profile with that id
             return null;
@@ -290,9 +299,26 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
         return answer;
     }
 
-    private ExecutorService newThreadPool(String threadPoolProfileId, Object source, String name, int corePoolSize, int maxPoolSize, long keepAliveTime,
-                                         TimeUnit timeUnit, int maxQueueSize, RejectedExecutionHandler rejectedExecutionHandler,
-                                         boolean daemon) {
+    /**
+     * Validates that a profile using a {@link ThreadPoolType#WorkStealing} pool does not configure
+     * options which such a pool cannot honor, as its task queues is unbounded and never rejects tasks.
+     */
+    private static void validateWorkStealingProfile(ThreadPoolProfile profile) {
+        if (profile.getPoolType() != ThreadPoolType.WorkStealing) {
+            return;
+        }
+        if (profile.getMaxQueueSize() != null) {
+            throw new IllegalArgumentException("The maxQueueSize option is not supported by a WorkStealing thread pool: " + profile);
+        }
+        if (profile.getRejectedPolicy() != null) {
+            throw new IllegalArgumentException("The rejectedPolicy option is not supported by a WorkStealing thread pool: " + profile);
+        }
+    }
+
+    private ExecutorService newThreadPool(String threadPoolProfileId, ThreadPoolType poolType, Object source, String name,
+                                          int corePoolSize, int maxPoolSize, long keepAliveTime,
+                                          TimeUnit timeUnit, int maxQueueSize, RejectedExecutionHandler rejectedExecutionHandler,
+                                          boolean daemon) {
 
         // the thread name must not be null
         ObjectHelper.notNull(name, "ThreadName");
@@ -303,12 +329,23 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
             throw new IllegalArgumentException("The corePoolSize can't be lower than 1");
         }
 
-        ExecutorService answer = ExecutorServiceHelper.newThreadPool(threadNamePattern, name, corePoolSize, maxPoolSize, keepAliveTime,
+        ExecutorService answer;
+        if (poolType == ThreadPoolType.WorkStealing) {
+            answer = ExecutorServiceHelper.newWorkStealingThreadPool(corePoolSize, threadNamePattern, name, daemon);
+        } else if (poolType == ThreadPoolType.Adaptive) {
+            answer = ExecutorServiceHelper.newAdaptiveThreadPool(threadNamePattern, name, corePoolSize, maxPoolSize, keepAliveTime,
+                                                                 timeUnit, maxQueueSize, rejectedExecutionHandler, daemon);
+        } else if (poolType == ThreadPoolType.Instrumented) {
+            answer = ExecutorServiceHelper.newInstrumentedThreadPool(threadNamePattern, name, corePoolSize, maxPoolSize, keepAliveTime,
                                                                      timeUnit, maxQueueSize, rejectedExecutionHandler, daemon);
+        } else {
+            answer = ExecutorServiceHelper.newThreadPool(threadNamePattern, name, corePoolSize, maxPoolSize, keepAliveTime,
+                                                         timeUnit, maxQueueSize, rejectedExecutionHandler, daemon);
+        }
         onThreadPoolCreated(answer, source, threadPoolProfileId);
 
         if (LOG.isDebugEnabled()) {
-            LOG.debug("Created new thread pool for source: " + source + " with name: " + name + ". [poolSize=" + corePoolSize
+            LOG.debug("Created new thread pool for source: " + source + " with name: " + name + ". [poolType=" + poolType + ", poolSize=" + corePoolSize
                     + ", maxPoolSize=" + maxPoolSize + ", keepAliveTime=" + keepAliveTime + " " + timeUnit
                     + ", maxQueueSize=" + maxQueueSize + ", rejectedExecutionHandler=" + rejectedExecutionHandler
                     + ", daemon=" + daemon + "] -> " + answer);
@@ -320,7 +357,7 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
     public ExecutorService newThreadPool(Object source, String name, int corePoolSize, int maxPoolSize, long keepAliveTime,
                                          TimeUnit timeUnit, int maxQueueSize, RejectedExecutionHandler rejectedExecutionHandler,
                                          boolean daemon) {
-        return newThreadPool(null, source, name, corePoolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize, rejectedExecutionHandler, daemon);
+        return newThreadPool(null, null, source, name, corePoolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize, rejectedExecutionHandler, daemon);
     }
 
     public void shutdown(ExecutorService executorService) {
@@ -23,7 +23,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.apache.camel.NoFactoryAvailableException;
 import org.apache.camel.spi.ClassResolver;
@@ -34,10 +36,15 @@ import org.apache.camel.util.IOHelper;
 
 /**
  * Default factory finder.
+ * <p/>
+ * The factory properties and the resolved classes is cached, as well as keys for which no factory exists,
+ * so looking up the same key again does not require reading from the classpath.
  */
 public class DefaultFactoryFinder implements FactoryFinder {
 
     protected final ConcurrentHashMap<String, Class<?>> classMap = new ConcurrentHashMap<String, Class<?>>();
+    protected final ConcurrentHashMap<String, Properties> propertiesMap = new ConcurrentHashMap<String, Properties>();
+    protected final Set<String> notFound = new CopyOnWriteArraySet<String>();
     private final ClassResolver classResolver;
     private final String path;
 
@@ -50,6 +57,15 @@ public class DefaultFactoryFinder implements FactoryFinder {
         return path;
     }
 
+    /**
+     * Clears the cached factories, for example if the classpath has been changed.
+     */
+    public void clearCache() {
+        classMap.clear();
+        propertiesMap.clear();
+        notFound.clear();
+    }
+
     public Object newInstance(String key) throws NoFactoryAvailableException {
         try {
             return newInstance(key, null);
@@ -128,10 +144,25 @@ public class DefaultFactoryFinder implements FactoryFinder {
     }
 
     private Properties doFindFactoryProperties(String key) throws IOException {
+        Properties answer = propertiesMap.get(key);
+        if (answer == null) {
+            answer = doLoadFactoryProperties(key);
+            propertiesMap.put(key, answer);
+        }
+        return answer;
+    }
+
+    private Properties doLoadFactoryProperties(String key) throws IOException {
         String uri = path + key;
 
+        // avoid looking up the classpath again for a factory we know does not exist
+        if (notFound.contains(key)) {
+            throw new NoFactoryAvailableException(uri);
+        }
+
         InputStream in = classResolver.loadResourceAsStream(uri);
         if (in == null) {
+            notFound.add(key);
             throw new NoFactoryAvailableException(uri);
         }
 
@@ -16,42 +16,271 @@
  */
 package org.apache.camel.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.converter.stream.CachedOutputStream;
 import org.apache.camel.spi.DataFormat;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ZlibPool;
 
-public class GzipDataFormat implements DataFormat {
+/**
+ * GZip {@link DataFormat} for compressing and uncompressing using the GZIP file format.
+ * <p/>
+ * The {@link Deflater} and {@link Inflater} instances are pooled and reused, and the data is uncompressed using a
+ * {@link CachedOutputStream} so large payloads are paged to disk instead of being kept in memory.
+ * Small payloads is unmarshalled as a <tt>byte[]</tt> and large payloads as a {@link org.apache.camel.StreamCache}.
+ *
+ * @version $Revision$
+ */
+public class GzipDataFormat extends ServiceSupport implements DataFormat {
+
+    private final ZlibPool pool = new ZlibPool(Deflater.DEFAULT_COMPRESSION, true, ZlibPool.DEFAULT_CAPACITY);
 
     public void marshal(Exchange exchange, Object graph, OutputStream stream) throws Exception {
         InputStream is = exchange.getContext().getTypeConverter().mandatoryConvertTo(InputStream.class, graph);
 
-        GZIPOutputStream zipOutput = new GZIPOutputStream(stream);
+        Deflater deflater = pool.acquireDeflater();
+        GzipOutputStream zipOutput = new GzipOutputStream(stream, deflater);
         try {
             IOHelper.copy(is, zipOutput);
         } finally {
             IOHelper.close(is);
             IOHelper.close(zipOutput);
+            pool.releaseDeflater(deflater);
         }
     }
 
     public Object unmarshal(Exchange exchange, InputStream stream) throws Exception {
         InputStream is = ExchangeHelper.getMandatoryInBody(exchange, InputStream.class);
-        GZIPInputStream unzipInput = new GZIPInputStream(is);
-        
-        // Create an expandable byte array to hold the inflated data
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+        Inflater inflater = pool.acquireInflater();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
         try {
-            IOHelper.copy(unzipInput, bos);
-            return bos.toByteArray();
+            GzipInputStream unzipInput = new GzipInputStream(is, inflater);
+            try {
+                IOHelper.copy(unzipInput, cos);
+            } finally {
+                IOHelper.close(unzipInput);
+            }
         } finally {
-            IOHelper.close(unzipInput);
+            IOHelper.close(is);
+            pool.releaseInflater(inflater);
+        }
+        return ZipDataFormat.toResult(exchange, cos);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        pool.clear();
+    }
+
+    /**
+     * Writes the GZIP file format using a given deflater, as {@link java.util.zip.GZIPOutputStream}
+     * does not allow to provide the deflater to use.
+     */
+    private static final class GzipOutputStream extends DeflaterOutputStream {
+
+        private static final byte[] HEADER = {
+            (byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0
+        };
+
+        private final CRC32 crc = new CRC32();
+        private boolean finished;
+
+        private GzipOutputStream(OutputStream out, Deflater deflater) throws IOException {
+            super(out, deflater);
+            out.write(HEADER);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            super.finish();
+            // the trailer is the checksum and the uncompressed size in little endian
+            byte[] trailer = new byte[8];
+            writeInt((int) crc.getValue(), trailer, 0);
+            writeInt(def.getTotalIn(), trailer, 4);
+            out.write(trailer);
+            finished = true;
+        }
+
+        private static void writeInt(int value, byte[] buf, int offset) {
+            buf[offset] = (byte) (value & 0xff);
+            buf[offset + 1] = (byte) ((value >> 8) & 0xff);
+            buf[offset + 2] = (byte) ((value >> 16) & 0xff);
+            buf[offset + 3] = (byte) ((value >> 24) & 0xff);
+        }
+    }
+
+    /**
+     * Reads the GZIP file format using a given inflater, as {@link java.util.zip.GZIPInputStream}
+     * does not allow to provide the inflater to use.
+     * <p/>
+     * The checksum and size in the trailer are verified, and concatenated GZIP members are read as one stream.
+     */
+    private static final class GzipInputStream extends InflaterInputStream {
+
+        private static final int MAGIC = 0x8b1f;
+        private static final int FHCRC = 2;
+        private static final int FEXTRA = 4;
+        private static final int FNAME = 8;
+        private static final int FCOMMENT = 16;
+
+        private final CRC32 crc = new CRC32();
+        private boolean eos;
+
+        private GzipInputStream(InputStream in, Inflater inflater) throws IOException {
+            super(in, inflater);
+            readHeader(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (eos) {
+                return -1;
+            }
+            int n = super.read(b, off, len);
+            if (n == -1) {
+                if (readTrailer()) {
+                    eos = true;
+                } else {
+                    // continue with the next member
+                    return read(b, off, len);
+                }
+            } else {
+                crc.update(b, off, n);
+            }
+            return n;
+        }
+
+        /**
+         * Reads the member header
+         *
+         * @return the number of bytes read
+         */
+        private int readHeader(InputStream in) throws IOException {
+            CheckedInputStream hin = new CheckedInputStream(in, crc);
+            crc.reset();
+            if (readUShort(hin) != MAGIC) {
+                throw new ZipException("Not in GZIP format");
+            }
+            if (readUByte(hin) != Deflater.DEFLATED) {
+                throw new ZipException("Unsupported compression method");
+            }
+            int flags = readUByte(hin);
+            // skip modification time, extra flags and operating system
+            skipBytes(hin, 6);
+            int n = 10;
+            if ((flags & FEXTRA) == FEXTRA) {
+                int m = readUShort(hin);
+                skipBytes(hin, m);
+                n += m + 2;
+            }
+            if ((flags & FNAME) == FNAME) {
+                do {
+                    n++;
+                } while (readUByte(hin) != 0);
+            }
+            if ((flags & FCOMMENT) == FCOMMENT) {
+                do {
+                    n++;
+                } while (readUByte(hin) != 0);
+            }
+            if ((flags & FHCRC) == FHCRC) {
+                int value = (int) crc.getValue() & 0xffff;
+                if (readUShort(hin) != value) {
+                    throw new ZipException("Corrupt GZIP header");
+                }
+                n += 2;
+            }
+            crc.reset();
+            return n;
+        }
+
+        /**
+         * Reads and verifies the member trailer
+         *
+         * @return <tt>true</tt> if the end of the stream has been reached, or <tt>false</tt> if another member follows
+         */
+        private boolean readTrailer() throws IOException {
+            // the inflater may have read past the compressed data into the buffer
+            InputStream in = this.in;
+            int n = inf.getRemaining();
+            if (n > 0) {
+                in = new SequenceInputStream(new ByteArrayInputStream(buf, len - n, n), this.in);
+            }
+            if (readUInt(in) != crc.getValue() || readUInt(in) != (inf.getBytesWritten() & 0xffffffffL)) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+
+            // another member may follow, which must start with a valid header
+            if (this.in.available() > 0 || n > 26) {
+                int m = 8;
+                try {
+                    m += readHeader(in);
+                } catch (IOException e) {
+                    // not a member so ignore the trailing bytes
+                    return true;
+                }
+                inf.reset();
+                if (n > m) {
+                    inf.setInput(buf, len - n + m, n - m);
+                }
+                return false;
+            }
+            return true;
+        }
+
+        private static long readUInt(InputStream in) throws IOException {
+            long s = readUShort(in);
+            return ((long) readUShort(in) << 16) | s;
+        }
+
+        private static int readUShort(InputStream in) throws IOException {
+            int b = readUByte(in);
+            return (readUByte(in) << 8) | b;
+        }
+
+        private static int readUByte(InputStream in) throws IOException {
+            int b = in.read();
+            if (b == -1) {
+                throw new EOFException();
+            }
+            return b;
+        }
+
+        private static void skipBytes(InputStream in, int n) throws IOException {
+            while (n > 0) {
+                readUByte(in);
+                n--;
+            }
         }
     }
 
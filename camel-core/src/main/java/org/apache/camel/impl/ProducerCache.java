@@ -198,7 +198,7 @@ public class ProducerCache extends ServiceSupport {
         }
 
         StopWatch watch = null;
-        if (exchange != null) {
+        if (exchange != null && EventHelper.isExchangeSentEventEnabled(exchange.getContext())) {
             // record timing for sending the exchange using the producer
             watch = new StopWatch();
         }
@@ -211,7 +211,7 @@ public class ProducerCache extends ServiceSupport {
                 exchange.setException(e);
             }
         } finally {
-            if (exchange != null) {
+            if (watch != null) {
                 long timeTaken = watch.stop();
                 // emit event that the exchange was sent to the endpoint
                 EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
@@ -261,7 +261,7 @@ public class ProducerCache extends ServiceSupport {
         }
 
         StopWatch watch = null;
-        if (exchange != null) {
+        if (exchange != null && EventHelper.isExchangeSentEventEnabled(exchange.getContext())) {
             // record timing for sending the exchange using the producer
             watch = new StopWatch();
         }
@@ -276,7 +276,7 @@ public class ProducerCache extends ServiceSupport {
                 exchange.setException(e);
             }
         } finally {
-            if (exchange != null && exchange.getException() == null) {
+            if (watch != null && exchange.getException() == null) {
                 long timeTaken = watch.stop();
                 // emit event that the exchange was sent to the endpoint
                 EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
@@ -326,7 +326,10 @@ public class ProducerCache extends ServiceSupport {
                 exchange.setProperty(Exchange.TO_ENDPOINT, endpoint.getEndpointUri());
 
                 // send the exchange using the processor
-                StopWatch watch = new StopWatch();
+                StopWatch watch = null;
+                if (EventHelper.isExchangeSentEventEnabled(exchange.getContext())) {
+                    watch = new StopWatch();
+                }
                 try {
                     // ensure we run in an unit of work
                     Producer target = new UnitOfWorkProducer(producer);
@@ -335,9 +338,11 @@ public class ProducerCache extends ServiceSupport {
                     // ensure exceptions is caught and set on the exchange
                     exchange.setException(e);
                 } finally {
-                    // emit event that the exchange was sent to the endpoint
-                    long timeTaken = watch.stop();
-                    EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
+                    if (watch != null) {
+                        // emit event that the exchange was sent to the endpoint
+                        long timeTaken = watch.stop();
+                        EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
+                    }
                 }
                 return exchange;
             }
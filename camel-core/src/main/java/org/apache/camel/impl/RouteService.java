@@ -56,6 +56,7 @@ public class RouteService extends ServiceSupport {
     private boolean removingRoutes;
     private final Map<Route, Consumer> inputs = new HashMap<Route, Consumer>();
     private final AtomicBoolean warmUpDone = new AtomicBoolean(false);
+    private final AtomicBoolean servicesWarmUpDone = new AtomicBoolean(false);
 
     public RouteService(DefaultCamelContext camelContext, RouteDefinition routeDefinition, List<RouteContext> routeContexts, List<Route> routes) {
         this.camelContext = camelContext;
@@ -107,6 +108,27 @@ public class RouteService extends ServiceSupport {
     public synchronized void warmUp() throws Exception {
         if (warmUpDone.compareAndSet(false, true)) {
 
+            // start the services of the routes if not already done
+            warmUpServices();
+
+            // ensure lifecycle strategy is invoked which among others enlist the route in JMX
+            for (LifecycleStrategy strategy : camelContext.getLifecycleStrategies()) {
+                strategy.onRoutesAdd(routes);
+            }
+
+            // add routes to camel context
+            camelContext.addRouteCollection(routes);
+        }
+    }
+
+    /**
+     * Starts the services of the routes (but not the consumers) without registering the routes on the
+     * {@link CamelContext}. This allows the expensive part of warming up to be done concurrently
+     * for many routes, while {@link #warmUp()} finishes the work afterwards.
+     */
+    public synchronized void warmUpServices() throws Exception {
+        if (servicesWarmUpDone.compareAndSet(false, true)) {
+
             for (Route route : routes) {
                 if (LOG.isTraceEnabled()) {
                     LOG.trace("Starting route services: " + route);
@@ -135,14 +157,6 @@ public class RouteService extends ServiceSupport {
                 }
                 startChildService(route, childServices);
             }
-
-            // ensure lifecycle strategy is invoked which among others enlist the route in JMX
-            for (LifecycleStrategy strategy : camelContext.getLifecycleStrategies()) {
-                strategy.onRoutesAdd(routes);
-            }
-
-            // add routes to camel context
-            camelContext.addRouteCollection(routes);
         }
     }
 
@@ -199,6 +213,7 @@ public class RouteService extends ServiceSupport {
         camelContext.removeRouteCollection(routes);
         // need to warm up again
         warmUpDone.set(false);
+        servicesWarmUpDone.set(false);
     }
 
     @Override
@@ -211,6 +226,7 @@ public class RouteService extends ServiceSupport {
         // clear inputs on shutdown
         inputs.clear();
         warmUpDone.set(false);
+        servicesWarmUpDone.set(false);
     }
 
     @Override
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+import org.apache.camel.spi.ExchangeCodec;
+
+/**
+ * {@link ExchangeCodec} which uses Java serialization to write the {@link DefaultExchangeHolder}.
+ * <p/>
+ * This was the format used by Camel before the {@link BinaryExchangeCodec} was introduced.
+ *
+ * @version $Revision$
+ */
+public class SerializationExchangeCodec implements ExchangeCodec {
+
+    public void encode(DefaultExchangeHolder holder, OutputStream out) throws IOException {
+        ObjectOutputStream oos = new ObjectOutputStream(out);
+        oos.writeObject(holder);
+        oos.flush();
+    }
+
+    public DefaultExchangeHolder decode(InputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream ois = createObjectInputStream(in);
+        Object answer = ois.readObject();
+        if (!(answer instanceof DefaultExchangeHolder)) {
+            throw new IOException("Expected " + DefaultExchangeHolder.class.getName() + " but was " + answer);
+        }
+        return (DefaultExchangeHolder) answer;
+    }
+
+    /**
+     * Creates the {@link ObjectInputStream} used for reading serialized objects.
+     * <p/>
+     * Override this method to use a custom class loading strategy.
+     *
+     * @param in the stream to read from
+     * @return the object input stream
+     * @throws IOException is thrown if error creating the stream
+     */
+    protected ObjectInputStream createObjectInputStream(InputStream in) throws IOException {
+        return new ObjectInputStream(in);
+    }
+
+}
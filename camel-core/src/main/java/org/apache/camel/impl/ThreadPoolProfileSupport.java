@@ -20,6 +20,7 @@ import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.spi.ThreadPoolProfile;
 
 /**
@@ -35,6 +36,7 @@ public class ThreadPoolProfileSupport implements ThreadPoolProfile {
     private TimeUnit timeUnit = TimeUnit.SECONDS;
     private Integer maxQueueSize;
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    private ThreadPoolType poolType;
 
     public ThreadPoolProfileSupport(String id) {
         this.id = id;
@@ -107,9 +109,17 @@ public class ThreadPoolProfileSupport implements ThreadPoolProfile {
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public ThreadPoolType getPoolType() {
+        return poolType;
+    }
+
+    public void setPoolType(ThreadPoolType poolType) {
+        this.poolType = poolType;
+    }
+
     @Override
     public String toString() {
         return "ThreadPoolProfile[" + id + ", " + defaultProfile + ", " + poolSize + ", " + maxPoolSize + ", "
-                + keepAliveTime + " " + timeUnit + ", " + maxPoolSize + ", " + rejectedPolicy + "]";
+                + keepAliveTime + " " + timeUnit + ", " + maxPoolSize + ", " + rejectedPolicy + ", " + poolType + "]";
     }
 }
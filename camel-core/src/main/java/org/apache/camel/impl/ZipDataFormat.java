@@ -16,54 +16,95 @@
  */
 package org.apache.camel.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.converter.stream.CachedOutputStream;
 import org.apache.camel.spi.DataFormat;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ZlibPool;
 
-public class ZipDataFormat implements DataFormat {
+/**
+ * Zip {@link DataFormat} for compressing and uncompressing using deflate.
+ * <p/>
+ * The {@link Deflater} and {@link Inflater} instances are pooled and reused, and the data is
+ * uncompressed using a {@link CachedOutputStream} so large payloads are paged to disk instead of
+ * being kept in memory. Small payloads is unmarshalled as a <tt>byte[]</tt> and large payloads
+ * as a {@link org.apache.camel.StreamCache}.
+ *
+ * @version $Revision$
+ */
+public class ZipDataFormat extends ServiceSupport implements DataFormat {
 
     private final int compressionLevel;
+    private final ZlibPool pool;
 
     public ZipDataFormat() {
-        this.compressionLevel = Deflater.BEST_SPEED;
+        this(Deflater.BEST_SPEED);
     }
 
     public ZipDataFormat(int compressionLevel) {
         this.compressionLevel = compressionLevel;
+        this.pool = new ZlibPool(compressionLevel, false, ZlibPool.DEFAULT_CAPACITY);
     }
 
     public void marshal(Exchange exchange, Object graph, OutputStream stream) throws Exception {
         InputStream is = exchange.getContext().getTypeConverter().convertTo(InputStream.class, graph);
 
-        DeflaterOutputStream zipOutput = new DeflaterOutputStream(stream, new Deflater(compressionLevel));
+        Deflater deflater = pool.acquireDeflater();
+        DeflaterOutputStream zipOutput = new DeflaterOutputStream(stream, deflater);
         try {
             IOHelper.copy(is, zipOutput);
         } finally {
             IOHelper.close(is);
             IOHelper.close(zipOutput);
+            pool.releaseDeflater(deflater);
         }
     }
 
     public Object unmarshal(Exchange exchange, InputStream stream) throws Exception {
         InputStream is = ExchangeHelper.getMandatoryInBody(exchange, InputStream.class);
-        InflaterInputStream unzipInput = new InflaterInputStream(is);
-        
-        // Create an expandable byte array to hold the inflated data
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+        Inflater inflater = pool.acquireInflater();
+        InflaterInputStream unzipInput = new InflaterInputStream(is, inflater);
+        CachedOutputStream cos = new CachedOutputStream(exchange);
         try {
-            IOHelper.copy(unzipInput, bos);
-            return bos.toByteArray();
+            IOHelper.copy(unzipInput, cos);
         } finally {
             IOHelper.close(unzipInput);
+            pool.releaseInflater(inflater);
+        }
+        return toResult(exchange, cos);
+    }
+
+    static Object toResult(Exchange exchange, CachedOutputStream cos) throws Exception {
+        if (cos.isInMemory()) {
+            // small payloads is kept as a byte array
+            return exchange.getContext().getTypeConverter().mandatoryConvertTo(byte[].class, cos.getInputStream());
+        } else {
+            // large payloads has been paged to disk so use the stream cache to avoid loading it into memory
+            return cos.getStreamCache();
         }
     }
 
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        pool.clear();
+    }
+
 }
@@ -17,13 +17,18 @@
 package org.apache.camel.impl.converter;
 
 import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.StringTokenizer;
 import static java.lang.reflect.Modifier.isAbstract;
@@ -47,15 +52,21 @@ import org.apache.commons.logging.LogFactory;
 /**
  * A class which will auto-discover converter objects and methods to pre-load
  * the registry of converters on startup
+ * <p/>
+ * If a JAR contains a {@link #META_INF_SERVICES_INDEX} file next to its {@link #META_INF_SERVICES} file,
+ * then the converter classes listed in the index are loaded directly, and the packages of that
+ * JAR is not scanned. The index is generated at build time by {@link TypeConverterIndexGenerator}.
  *
  * @version $Revision$
  */
 public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     public static final String META_INF_SERVICES = "META-INF/services/org/apache/camel/TypeConverter";
+    public static final String META_INF_SERVICES_INDEX = META_INF_SERVICES + "Index";
     private static final transient Log LOG = LogFactory.getLog(AnnotationTypeConverterLoader.class);
     protected PackageScanClassResolver resolver;
     protected Set<Class<?>> visitedClasses = new HashSet<Class<?>>();
     protected Set<URL> visitedURLs = new HashSet<URL>();
+    protected Set<Class<?>> indexedClasses = new LinkedHashSet<Class<?>>();
 
     public AnnotationTypeConverterLoader(PackageScanClassResolver resolver) {
         this.resolver = resolver;
@@ -65,19 +76,26 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         String[] packageNames;
         try {
             packageNames = findPackageNames();
-            if (packageNames == null || packageNames.length == 0) {
+            if ((packageNames == null || packageNames.length == 0) && indexedClasses.isEmpty()) {
                 throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.");
             }
         } catch (Exception e) {
             throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.", e);
         }
 
-        Set<Class<?>> classes = resolver.findAnnotated(Converter.class, packageNames);
-        if (classes == null || classes.isEmpty()) {
+        Set<Class<?>> classes = new LinkedHashSet<Class<?>>(indexedClasses);
+        if (packageNames != null && packageNames.length > 0) {
+            Set<Class<?>> scanned = resolver.findAnnotated(Converter.class, packageNames);
+            if (scanned != null) {
+                classes.addAll(scanned);
+            }
+        }
+        if (classes.isEmpty()) {
             throw new TypeConverterLoaderException("Cannot find any type converter classes from the following packages: " + Arrays.asList(packageNames));
         }
 
-        LOG.info("Found " + packageNames.length + " packages with " + classes.size() + " @Converter classes to load");
+        LOG.info("Found " + packageNames.length + " packages and " + indexedClasses.size() + " indexed classes with "
+                + classes.size() + " @Converter classes to load");
 
         for (Class type : classes) {
             if (LOG.isDebugEnabled()) {
@@ -89,11 +107,15 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         // now clear the maps so we do not hold references
         visitedClasses.clear();
         visitedURLs.clear();
+        indexedClasses.clear();
     }
 
     /**
      * Finds the names of the packages to search for on the classpath looking
      * for text files on the classpath at the {@link #META_INF_SERVICES} location.
+     * <p/>
+     * The converter classes from JARs which has a {@link #META_INF_SERVICES_INDEX} is added
+     * to {@link #indexedClasses} instead, as those packages do not need to be scanned.
      *
      * @return a collection of packages to search for
      * @throws IOException is thrown for IO related errors
@@ -115,8 +137,12 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
             if (url != null && !visitedURLs.contains(url)) {
                 // remember we have visited this url so we wont read it twice
                 visitedURLs.add(url);
+                // use the index located next to the file if there is one
+                if (findIndexedClasses(url, classLoader)) {
+                    continue;
+                }
                 if (LOG.isDebugEnabled()) {
-                    LOG.info("Loading file " + META_INF_SERVICES + " to retrieve list of packages, from url: " + url);
+                    LOG.debug("Loading file " + META_INF_SERVICES + " to retrieve list of packages, from url: " + url);
                 }
                 BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()));
                 try {
@@ -138,6 +164,66 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         }
     }
 
+    /**
+     * Loads the converter classes listed in the {@link #META_INF_SERVICES_INDEX} file
+     * located next to the given {@link #META_INF_SERVICES} file.
+     * <p/>
+     * If the index cannot be read then the packages is scanned instead.
+     *
+     * @param url         the url of the {@link #META_INF_SERVICES} file
+     * @param classLoader the class loader to load the converter classes
+     * @return <tt>true</tt> if the index was loaded, <tt>false</tt> if the packages should be scanned
+     */
+    protected boolean findIndexedClasses(URL url, ClassLoader classLoader) {
+        // the index is located in the same directory
+        URL indexUrl;
+        InputStream is;
+        try {
+            indexUrl = new URL(url, "TypeConverterIndex");
+            is = indexUrl.openStream();
+        } catch (FileNotFoundException e) {
+            // no index so the packages must be scanned
+            return false;
+        } catch (IOException e) {
+            LOG.warn("Cannot read " + META_INF_SERVICES_INDEX + " next to " + url + ", will scan the packages instead. Cause: " + e, e);
+            return false;
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Loading file " + META_INF_SERVICES_INDEX + " to retrieve list of converter classes, from url: " + indexUrl);
+        }
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is));
+        try {
+            while (true) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                line = line.trim();
+                if (line.startsWith("#") || line.length() == 0) {
+                    continue;
+                }
+                try {
+                    classes.add(classLoader.loadClass(line));
+                } catch (ClassNotFoundException e) {
+                    LOG.warn("Ignoring converter type: " + line + " listed in " + indexUrl + " as the class could not be found");
+                } catch (NoClassDefFoundError e) {
+                    LOG.warn("Ignoring converter type: " + line + " as a dependent class could not be found: " + e, e);
+                }
+            }
+        } catch (IOException e) {
+            // do not use a partial index
+            LOG.warn("Cannot read " + indexUrl + ", will scan the packages instead. Cause: " + e, e);
+            return false;
+        } finally {
+            IOHelper.close(reader, null, LOG);
+        }
+
+        indexedClasses.addAll(classes);
+        return true;
+    }
+
     /**
      * Tokenizes the line from the META-IN/services file using commas and
      * ignoring whitespace between packages
@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.camel.Converter;
+import org.apache.camel.util.IOHelper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Generates the {@link AnnotationTypeConverterLoader#META_INF_SERVICES_INDEX} file which lists
+ * the {@link Converter} classes found in the packages from the {@link AnnotationTypeConverterLoader#META_INF_SERVICES}
+ * file, so the type converters can be loaded at runtime without scanning the classpath.
+ * <p/>
+ * This generator is run at build time from the <tt>process-classes</tt> phase, either by
+ * the <tt>converter-index</tt> goal of the <tt>camel-maven-plugin</tt> or by invoking
+ * {@link #main(String[])} with the directory containing the compiled classes.
+ *
+ * @version $Revision$
+ */
+public class TypeConverterIndexGenerator {
+    private static final transient Log LOG = LogFactory.getLog(TypeConverterIndexGenerator.class);
+    private final File outputDirectory;
+    private final ClassLoader classLoader;
+
+    public TypeConverterIndexGenerator(File outputDirectory, ClassLoader classLoader) {
+        this.outputDirectory = outputDirectory;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Generates the index for the given directory of compiled classes.
+     *
+     * @param args the directory containing the compiled classes
+     * @throws IOException is thrown if the index could not be generated
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: TypeConverterIndexGenerator <classes directory>");
+        }
+        File dir = new File(args[0]);
+        ClassLoader parent = TypeConverterIndexGenerator.class.getClassLoader();
+        ClassLoader classLoader = new URLClassLoader(new URL[]{dir.toURI().toURL()}, parent);
+        new TypeConverterIndexGenerator(dir, classLoader).generate();
+    }
+
+    /**
+     * Generates the index.
+     *
+     * @return the names of the indexed {@link Converter} classes, or <tt>null</tt> if the directory
+     *         has no {@link AnnotationTypeConverterLoader#META_INF_SERVICES} file
+     * @throws IOException is thrown if the index could not be generated
+     */
+    public Set<String> generate() throws IOException {
+        File packagesFile = new File(outputDirectory, AnnotationTypeConverterLoader.META_INF_SERVICES);
+        if (!packagesFile.exists()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("No " + packagesFile + " found, skipping type converter index generation");
+            }
+            return null;
+        }
+
+        Set<String> converters = new TreeSet<String>();
+        for (String pkg : readPackages(packagesFile)) {
+            File dir = new File(outputDirectory, pkg.replace('.', File.separatorChar));
+            findConverters(dir, pkg, converters);
+        }
+
+        File indexFile = new File(outputDirectory, AnnotationTypeConverterLoader.META_INF_SERVICES_INDEX);
+        writeIndex(indexFile, converters);
+        LOG.info("Generated type converter index with " + converters.size() + " @Converter classes: " + indexFile);
+        return converters;
+    }
+
+    protected List<String> readPackages(File file) throws IOException {
+        List<String> answer = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("#") || line.length() == 0) {
+                    continue;
+                }
+                for (String name : line.split(",")) {
+                    name = name.trim();
+                    if (name.length() > 0) {
+                        answer.add(name);
+                    }
+                }
+            }
+        } finally {
+            IOHelper.close(reader);
+        }
+        return answer;
+    }
+
+    protected void findConverters(File dir, String pkg, Set<String> converters) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isDirectory()) {
+                findConverters(file, pkg + "." + name, converters);
+            } else if (name.endsWith(".class")) {
+                String className = pkg + "." + name.substring(0, name.length() - ".class".length());
+                try {
+                    // do not initialize the class as we only want to check the annotation
+                    Class<?> type = Class.forName(className, false, classLoader);
+                    if (type.isAnnotationPresent(Converter.class)) {
+                        converters.add(className);
+                    }
+                } catch (ClassNotFoundException e) {
+                    LOG.warn("Cannot load class: " + className + ". Reason: " + e, e);
+                } catch (LinkageError e) {
+                    // such as NoClassDefFoundError when an optional dependency is not on the classpath
+                    LOG.warn("Cannot load class: " + className + ". Reason: " + e, e);
+                }
+            }
+        }
+    }
+
+    protected void writeIndex(File file, Set<String> converters) throws IOException {
+        file.getParentFile().mkdirs();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write("# Generated at build time by " + TypeConverterIndexGenerator.class.getName() + ", do not edit\n");
+            for (String name : converters) {
+                writer.write(name);
+                writer.write("\n");
+            }
+        } finally {
+            IOHelper.close(writer);
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -72,6 +73,7 @@ public class Activator implements BundleActivator, BundleTrackerCustomizer {
     public static final String META_INF_LANGUAGE_RESOLVER = "META-INF/services/org/apache/camel/language/resolver/";
     public static final String META_INF_DATAFORMAT = "META-INF/services/org/apache/camel/dataformat/";
     public static final String META_INF_TYPE_CONVERTER = "META-INF/services/org/apache/camel/TypeConverter";
+    public static final String META_INF_TYPE_CONVERTER_INDEX = "META-INF/services/org/apache/camel/TypeConverterIndex";
     public static final String META_INF_FALLBACK_TYPE_CONVERTER = "META-INF/services/org/apache/camel/FallbackTypeConverter";
 
     private static final transient Log LOG = LogFactory.getLog(Activator.class);
@@ -306,7 +308,20 @@ public class Activator implements BundleActivator, BundleTrackerCustomizer {
             public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
                 PackageScanFilter test = new AnnotatedWithPackageScanFilter(Converter.class, true);
                 Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
-                Set<String> packages = getConverterPackages(bundle.getEntry(META_INF_TYPE_CONVERTER));
+                URL indexUrl = bundle.getEntry(META_INF_TYPE_CONVERTER_INDEX);
+                Set<String> indexed = indexUrl != null ? getIndexedConverterClasses(indexUrl) : null;
+                if (indexed != null) {
+                    // the index lists the converter classes so there is no need to scan the packages
+                    for (String name : indexed) {
+                        try {
+                            classes.add(bundle.loadClass(name));
+                        } catch (Throwable t) {
+                            LOG.warn("Ignoring converter type: " + name + " listed in " + indexUrl + " as it could not be loaded: " + t);
+                        }
+                    }
+                }
+                Set<String> packages = indexed != null
+                        ? Collections.<String>emptySet() : getConverterPackages(bundle.getEntry(META_INF_TYPE_CONVERTER));
                 for (String pkg : packages) {
                     Enumeration<URL> e = bundle.findEntries("/" + pkg.replace('.', '/'), "*.class", true);
                     while (e.hasMoreElements()) {
@@ -471,5 +486,35 @@ public class Activator implements BundleActivator, BundleTrackerCustomizer {
         return packages;
     }
 
+    /**
+     * Reads the names of the converter classes listed in the type converter index.
+     *
+     * @param index the index
+     * @return the class names, or <tt>null</tt> if the index could not be read and the packages should be scanned instead
+     */
+    protected static Set<String> getIndexedConverterClasses(URL index) {
+        Set<String> answer = new LinkedHashSet<String>();
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(index.openStream()));
+            while (true) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                line = line.trim();
+                if (!line.startsWith("#") && line.length() > 0) {
+                    answer.add(line);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Cannot read " + index + ", will scan the packages instead. Cause: " + e, e);
+            return null;
+        } finally {
+            IOHelper.close(reader, null, LOG);
+        }
+        return answer;
+    }
+
 }
 
@@ -0,0 +1,285 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.spi.EventNotifier;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * An {@link EventNotifier} which decouples a slow event notifier from the routing engine.
+ * <p/>
+ * Events are added to a bounded buffer and dispatched to the delegate notifier by a single background thread,
+ * in the order they occurred. If the buffer is full the event is dropped and counted, so the routing engine
+ * never blocks on a slow notifier. Events notified while this notifier is not started are dispatched
+ * directly to the delegate in the caller thread.
+ * <p/>
+ * The background thread is created using the {@link org.apache.camel.spi.ExecutorServiceStrategy} of the
+ * {@link CamelContext}, which must be given in the constructor or set using {@link #setCamelContext(CamelContext)}.
+ * <p/>
+ * The ignore options are read from and set on the delegate, so changing them on either notifier takes
+ * effect immediately.
+ * <p/>
+ * <b>Important:</b> the exchange events hold a reference to the live {@link org.apache.camel.Exchange},
+ * which is not copied. As the event is dispatched later from another thread, the exchange may already have
+ * been routed further and be changed concurrently while the delegate reads it. A delegate which needs the
+ * state of the exchange as it was when the event occurred should not be wrapped by this notifier.
+ *
+ * @version $Revision$
+ */
+public class AsyncEventNotifier extends EventNotifierSupport implements CamelContextAware {
+
+    private final EventNotifier delegate;
+    private CamelContext camelContext;
+    private final AtomicLong dropped = new AtomicLong();
+    private int bufferSize = 1000;
+    private BlockingQueue<EventObject> buffer;
+    private ExecutorService executorService;
+    private volatile boolean running;
+
+    public AsyncEventNotifier(EventNotifier delegate) {
+        ObjectHelper.notNull(delegate, "delegate");
+        this.delegate = delegate;
+    }
+
+    public AsyncEventNotifier(CamelContext camelContext, EventNotifier delegate) {
+        this(delegate);
+        this.camelContext = camelContext;
+    }
+
+    public void notify(EventObject event) throws Exception {
+        BlockingQueue<EventObject> queue = buffer;
+        if (!running || queue == null) {
+            // not started so there is no background thread to dispatch the event
+            dispatch(event);
+            return;
+        }
+
+        if (!queue.offer(event)) {
+            long total = dropped.incrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Event buffer is full, dropping event " + event + ". Total dropped events: " + total);
+            }
+        }
+    }
+
+    public boolean isEnabled(EventObject event) {
+        return delegate.isEnabled(event);
+    }
+
+    public EventNotifier getDelegate() {
+        return delegate;
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    public boolean isIgnoreCamelContextEvents() {
+        return delegate.isIgnoreCamelContextEvents();
+    }
+
+    @Override
+    public void setIgnoreCamelContextEvents(boolean ignore) {
+        delegate.setIgnoreCamelContextEvents(ignore);
+    }
+
+    @Override
+    public boolean isIgnoreRouteEvents() {
+        return delegate.isIgnoreRouteEvents();
+    }
+
+    @Override
+    public void setIgnoreRouteEvents(boolean ignore) {
+        delegate.setIgnoreRouteEvents(ignore);
+    }
+
+    @Override
+    public boolean isIgnoreServiceEvents() {
+        return delegate.isIgnoreServiceEvents();
+    }
+
+    @Override
+    public void setIgnoreServiceEvents(boolean ignore) {
+        delegate.setIgnoreServiceEvents(ignore);
+    }
+
+    @Override
+    public boolean isIgnoreExchangeEvents() {
+        return delegate.isIgnoreExchangeEvents();
+    }
+
+    @Override
+    public void setIgnoreExchangeEvents(boolean ignore) {
+        delegate.setIgnoreExchangeEvents(ignore);
+    }
+
+    @Override
+    public boolean isIgnoreExchangeCreatedEvent() {
+        return delegate.isIgnoreExchangeCreatedEvent();
+    }
+
+    @Override
+    public void setIgnoreExchangeCreatedEvent(boolean ignore) {
+        delegate.setIgnoreExchangeCreatedEvent(ignore);
+    }
+
+    @Override
+    public boolean isIgnoreExchangeCompletedEvent() {
+        return delegate.isIgnoreExchangeCompletedEvent();
+    }
+
+    @Override
+    public void setIgnoreExchangeCompletedEvent(boolean ignore) {
+        delegate.setIgnoreExchangeCompletedEvent(ignore);
+    }
+
+    @Override
+    public boolean isIgnoreExchangeFailedEvents() {
+        return delegate.isIgnoreExchangeFailedEvents();
+    }
+
+    @Override
+    public void setIgnoreExchangeFailedEvents(boolean ignore) {
+        delegate.setIgnoreExchangeFailedEvents(ignore);
+    }
+
+    @Override
+    public boolean isIgnoreExchangeRedeliveryEvents() {
+        return delegate.isIgnoreExchangeRedeliveryEvents();
+    }
+
+    @Override
+    public void setIgnoreExchangeRedeliveryEvents(boolean ignore) {
+        delegate.setIgnoreExchangeRedeliveryEvents(ignore);
+    }
+
+    @Override
+    public boolean isIgnoreExchangeSentEvents() {
+        return delegate.isIgnoreExchangeSentEvents();
+    }
+
+    @Override
+    public void setIgnoreExchangeSentEvents(boolean ignore) {
+        delegate.setIgnoreExchangeSentEvents(ignore);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Sets the maximum number of events which can be pending dispatch.
+     * <p/>
+     * Is default <tt>1000</tt>.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Number of events pending dispatch to the delegate
+     */
+    public int getPendingEvents() {
+        return buffer != null ? buffer.size() : 0;
+    }
+
+    /**
+     * Number of events which has been dropped because the buffer was full
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(camelContext, "camelContext", this);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("BufferSize must be a positive number, was: " + bufferSize);
+        }
+        if (buffer == null) {
+            buffer = new ArrayBlockingQueue<EventObject>(bufferSize);
+        }
+        ServiceHelper.startService(delegate);
+
+        running = true;
+        executorService = camelContext.getExecutorServiceStrategy().newSingleThreadExecutor(this, "AsyncEventNotifier");
+        executorService.submit(new Runnable() {
+            public void run() {
+                while (running) {
+                    try {
+                        EventObject event = buffer.poll(1000, TimeUnit.MILLISECONDS);
+                        if (event != null) {
+                            dispatch(event);
+                        }
+                    } catch (InterruptedException e) {
+                        // we are being stopped
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    protected void doStop() throws Exception {
+        running = false;
+        if (executorService != null) {
+            camelContext.getExecutorServiceStrategy().shutdownNow(executorService);
+            executorService.awaitTermination(5000, TimeUnit.MILLISECONDS);
+            executorService = null;
+        }
+
+        // dispatch the remaining events before we stop the delegate
+        if (buffer != null) {
+            List<EventObject> remaining = new ArrayList<EventObject>(buffer.size());
+            buffer.drainTo(remaining);
+            for (EventObject event : remaining) {
+                dispatch(event);
+            }
+        }
+
+        ServiceHelper.stopService(delegate);
+    }
+
+    private void dispatch(EventObject event) {
+        try {
+            delegate.notify(event);
+        } catch (Throwable e) {
+            log.warn("Error notifying event " + event + ". This exception will be ignored. ", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEventNotifier[" + delegate + "]";
+    }
+}
@@ -40,6 +40,8 @@ import org.apache.camel.Service;
 import org.apache.camel.VetoCamelContextStartException;
 import org.apache.camel.builder.ErrorHandlerBuilder;
 import org.apache.camel.component.bean.BeanProcessor;
+import org.apache.camel.component.dataset.DataSetEndpoint;
+import org.apache.camel.converter.stream.StreamCachePool;
 import org.apache.camel.impl.DefaultCamelContextNameStrategy;
 import org.apache.camel.impl.EventDrivenConsumerRoute;
 import org.apache.camel.impl.ExplicitCamelContextNameStrategy;
@@ -49,20 +51,25 @@ import org.apache.camel.impl.ThrottlingInflightRoutePolicy;
 import org.apache.camel.management.mbean.ManagedBeanProcessor;
 import org.apache.camel.management.mbean.ManagedBrowsableEndpoint;
 import org.apache.camel.management.mbean.ManagedCamelContext;
+import org.apache.camel.management.mbean.ManagedCircuitBreakerLoadBalancer;
 import org.apache.camel.management.mbean.ManagedComponent;
 import org.apache.camel.management.mbean.ManagedConsumer;
+import org.apache.camel.management.mbean.ManagedDataSetEndpoint;
 import org.apache.camel.management.mbean.ManagedDelayer;
 import org.apache.camel.management.mbean.ManagedEndpoint;
 import org.apache.camel.management.mbean.ManagedErrorHandler;
 import org.apache.camel.management.mbean.ManagedEventNotifier;
+import org.apache.camel.management.mbean.ManagedMulticast;
 import org.apache.camel.management.mbean.ManagedPerformanceCounter;
 import org.apache.camel.management.mbean.ManagedProcessor;
 import org.apache.camel.management.mbean.ManagedProducer;
 import org.apache.camel.management.mbean.ManagedProducerCache;
+import org.apache.camel.management.mbean.ManagedProfiler;
 import org.apache.camel.management.mbean.ManagedRoute;
 import org.apache.camel.management.mbean.ManagedScheduledPollConsumer;
 import org.apache.camel.management.mbean.ManagedSendProcessor;
 import org.apache.camel.management.mbean.ManagedService;
+import org.apache.camel.management.mbean.ManagedStreamCachePool;
 import org.apache.camel.management.mbean.ManagedSuspendableRoute;
 import org.apache.camel.management.mbean.ManagedThreadPool;
 import org.apache.camel.management.mbean.ManagedThrottler;
@@ -79,9 +86,12 @@ import org.apache.camel.processor.Delayer;
 import org.apache.camel.processor.DelegateAsyncProcessor;
 import org.apache.camel.processor.DelegateProcessor;
 import org.apache.camel.processor.ErrorHandler;
+import org.apache.camel.processor.MulticastProcessor;
 import org.apache.camel.processor.SendProcessor;
 import org.apache.camel.processor.Throttler;
+import org.apache.camel.processor.interceptor.Profiler;
 import org.apache.camel.processor.interceptor.Tracer;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
 import org.apache.camel.spi.BrowsableEndpoint;
 import org.apache.camel.spi.CamelContextNameStrategy;
 import org.apache.camel.spi.EventNotifier;
@@ -318,6 +328,10 @@ public class DefaultManagementLifecycleStrategy implements LifecycleStrategy, Se
 
         if (endpoint instanceof ManagementAware) {
             return ((ManagementAware) endpoint).getManagedObject(endpoint);
+        } else if (endpoint instanceof DataSetEndpoint) {
+            ManagedDataSetEndpoint me = new ManagedDataSetEndpoint((DataSetEndpoint) endpoint);
+            me.init(getManagementStrategy());
+            return me;
         } else if (endpoint instanceof BrowsableEndpoint) {
             ManagedBrowsableEndpoint me = new ManagedBrowsableEndpoint((BrowsableEndpoint) endpoint);
             me.init(getManagementStrategy());
@@ -405,10 +419,14 @@ public class DefaultManagementLifecycleStrategy implements LifecycleStrategy, Se
         } else if (service instanceof Processor) {
             // special for processors
             return getManagedObjectForProcessor(context, (Processor) service, route);
+        } else if (service instanceof Profiler) {
+            answer = new ManagedProfiler(context, (Profiler) service);
         } else if (service instanceof ThrottlingInflightRoutePolicy) {
             answer = new ManagedThrottlingInflightRoutePolicy(context, (ThrottlingInflightRoutePolicy) service);
         } else if (service instanceof ProducerCache) {
             answer = new ManagedProducerCache(context, (ProducerCache) service);
+        } else if (service instanceof StreamCachePool) {
+            answer = new ManagedStreamCachePool(context, (StreamCachePool) service);
         } else if (service != null) {
             // fallback as generic service
             answer = new ManagedService(context, service);
@@ -470,10 +488,14 @@ public class DefaultManagementLifecycleStrategy implements LifecycleStrategy, Se
                 answer = new ManagedDelayer(context, (Delayer) target, definition);
             } else if (target instanceof Throttler) {
                 answer = new ManagedThrottler(context, (Throttler) target, definition);
+            } else if (target instanceof MulticastProcessor) {
+                answer = new ManagedMulticast(context, (MulticastProcessor) target, definition);
             } else if (target instanceof SendProcessor) {
                 answer = new ManagedSendProcessor(context, (SendProcessor) target, definition);
             } else if (target instanceof BeanProcessor) {
                 answer = new ManagedBeanProcessor(context, (BeanProcessor) target, definition);
+            } else if (target instanceof CircuitBreakerLoadBalancer) {
+                answer = new ManagedCircuitBreakerLoadBalancer(context, (CircuitBreakerLoadBalancer) target, definition);
             } else if (target instanceof ManagementAware) {
                 return ((ManagementAware) target).getManagedObject(processor);
             }
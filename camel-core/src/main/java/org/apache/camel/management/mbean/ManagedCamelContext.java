@@ -72,6 +72,16 @@ public class ManagedCamelContext {
         return context.getUptime();
     }
 
+    @ManagedAttribute(description = "Startup time in millis per phase")
+    public Map<String, Long> getStartupTimings() {
+        return context.getStartupTimings();
+    }
+
+    @ManagedAttribute(description = "Whether routes are started in parallel")
+    public Boolean getParallelRouteStartup() {
+        return context.isParallelRouteStartup();
+    }
+
     @ManagedAttribute(description = "Camel Properties")
     public Map<String, String> getProperties() {
         if (context.getProperties().isEmpty()) {
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerProcessor;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * @version $Revision$
+ */
+@ManagedResource(description = "Managed Circuit Breaker LoadBalancer")
+public class ManagedCircuitBreakerLoadBalancer extends ManagedProcessor {
+    private final CircuitBreakerLoadBalancer loadBalancer;
+
+    public ManagedCircuitBreakerLoadBalancer(CamelContext context, CircuitBreakerLoadBalancer loadBalancer, ProcessorDefinition<?> definition) {
+        super(context, loadBalancer, definition);
+        this.loadBalancer = loadBalancer;
+    }
+
+    public CircuitBreakerLoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    @ManagedAttribute(description = "Ratio of failed or slow calls in a window which opens the circuit")
+    public double getFailureRatio() {
+        return getLoadBalancer().getFailureRatio();
+    }
+
+    @ManagedAttribute(description = "Ratio of failed or slow calls in a window which opens the circuit")
+    public void setFailureRatio(double failureRatio) {
+        getLoadBalancer().setFailureRatio(failureRatio);
+    }
+
+    @ManagedAttribute(description = "Number of calls in a window")
+    public int getWindowSize() {
+        return getLoadBalancer().getWindowSize();
+    }
+
+    @ManagedAttribute(description = "Number of calls in a window")
+    public void setWindowSize(int windowSize) {
+        getLoadBalancer().setWindowSize(windowSize);
+    }
+
+    @ManagedAttribute(description = "Time in millis where slower calls are regarded as failed (0 = disabled)")
+    public long getSlowCallThreshold() {
+        return getLoadBalancer().getSlowCallThreshold();
+    }
+
+    @ManagedAttribute(description = "Time in millis where slower calls are regarded as failed (0 = disabled)")
+    public void setSlowCallThreshold(long slowCallThreshold) {
+        getLoadBalancer().setSlowCallThreshold(slowCallThreshold);
+    }
+
+    @ManagedAttribute(description = "Time in millis a circuit stays open before probing")
+    public long getOpenDuration() {
+        return getLoadBalancer().getOpenDuration();
+    }
+
+    @ManagedAttribute(description = "Time in millis a circuit stays open before probing")
+    public void setOpenDuration(long openDuration) {
+        getLoadBalancer().setOpenDuration(openDuration);
+    }
+
+    @ManagedAttribute(description = "Time in millis a probe may take before the circuit opens again (0 = forever)")
+    public long getProbeTimeout() {
+        return getLoadBalancer().getProbeTimeout();
+    }
+
+    @ManagedAttribute(description = "Time in millis a probe may take before the circuit opens again (0 = forever)")
+    public void setProbeTimeout(long probeTimeout) {
+        getLoadBalancer().setProbeTimeout(probeTimeout);
+    }
+
+    @ManagedAttribute(description = "Number of circuits which are open or half open")
+    public int getOpenCircuits() {
+        int answer = 0;
+        for (CircuitBreakerProcessor circuitBreaker : getLoadBalancer().getCircuitBreakers()) {
+            if (circuitBreaker.getState() != CircuitBreakerProcessor.State.Closed) {
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Total number of exchanges which failed fast due an open circuit")
+    public long getRejected() {
+        long answer = 0;
+        for (CircuitBreakerProcessor circuitBreaker : getLoadBalancer().getCircuitBreakers()) {
+            answer += circuitBreaker.getRejected();
+        }
+        return answer;
+    }
+
+    @ManagedOperation(description = "Dumps the state of the circuits")
+    public String dumpCircuitStates() {
+        StringBuilder sb = new StringBuilder();
+        for (CircuitBreakerProcessor circuitBreaker : getLoadBalancer().getCircuitBreakers()) {
+            sb.append(circuitBreaker.getTarget()).append(": ").append(circuitBreaker.getState())
+                .append(" (failures: ").append(circuitBreaker.getFailures())
+                .append(", calls: ").append(circuitBreaker.getCalls())
+                .append(", rejected: ").append(circuitBreaker.getRejected()).append(")\n");
+        }
+        return sb.toString();
+    }
+
+    @ManagedOperation(description = "Resets all the circuits to be closed")
+    public void reset() {
+        getLoadBalancer().reset();
+    }
+}
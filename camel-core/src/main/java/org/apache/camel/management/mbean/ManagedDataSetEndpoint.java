@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.component.dataset.DataSetEndpoint;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * @version $Revision$
+ */
+@ManagedResource(description = "Managed DataSetEndpoint")
+public class ManagedDataSetEndpoint extends ManagedBrowsableEndpoint {
+
+    private DataSetEndpoint endpoint;
+
+    public ManagedDataSetEndpoint(DataSetEndpoint endpoint) {
+        super(endpoint);
+        this.endpoint = endpoint;
+    }
+
+    public DataSetEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @ManagedAttribute(description = "Number of received messages")
+    public int getReceivedCounter() {
+        return endpoint.getReceivedCounter();
+    }
+
+    @ManagedAttribute(description = "Throughput in messages per second")
+    public double getThroughput() {
+        return endpoint.getThroughput();
+    }
+
+    @ManagedAttribute(description = "Mean latency in micros")
+    public double getMeanLatency() {
+        return endpoint.getLatencyHistogram().getMean();
+    }
+
+    @ManagedAttribute(description = "Min latency in micros")
+    public long getMinLatency() {
+        return endpoint.getLatencyHistogram().getMin();
+    }
+
+    @ManagedAttribute(description = "Max latency in micros")
+    public long getMaxLatency() {
+        return endpoint.getLatencyHistogram().getMax();
+    }
+
+    @ManagedAttribute(description = "50th percentile latency in micros")
+    public long getLatency50thPercentile() {
+        return endpoint.getLatencyHistogram().getValueAtPercentile(50);
+    }
+
+    @ManagedAttribute(description = "90th percentile latency in micros")
+    public long getLatency90thPercentile() {
+        return endpoint.getLatencyHistogram().getValueAtPercentile(90);
+    }
+
+    @ManagedAttribute(description = "99th percentile latency in micros")
+    public long getLatency99thPercentile() {
+        return endpoint.getLatencyHistogram().getValueAtPercentile(99);
+    }
+
+    @ManagedAttribute(description = "99.9th percentile latency in micros")
+    public long getLatency999thPercentile() {
+        return endpoint.getLatencyHistogram().getValueAtPercentile(99.9);
+    }
+
+    @ManagedOperation(description = "Latency report")
+    public String latencyReport() {
+        return endpoint.getLatencyReport();
+    }
+
+    @ManagedOperation(description = "Reset the received counter and the latencies")
+    public void reset() {
+        endpoint.reset();
+    }
+}
@@ -427,4 +427,74 @@ public class ManagedErrorHandler {
         redelivery.getRedeliveryPolicy().setUseExponentialBackOff(backoff);
     }
 
+    @ManagedAttribute(description = "RedeliveryPolicy for asynchronous delayed redelivery")
+    public Boolean getAsyncDelayedRedelivery() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getRedeliveryPolicy().isAsyncDelayedRedelivery();
+    }
+
+    @ManagedAttribute(description = "RedeliveryPolicy for asynchronous delayed redelivery")
+    public void setAsyncDelayedRedelivery(Boolean async) {
+        if (!isSupportRedelivery()) {
+            throw new IllegalArgumentException("This error handler does not support redelivery");
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        redelivery.getRedeliveryPolicy().setAsyncDelayedRedelivery(async);
+    }
+
+    @ManagedAttribute(description = "Maximum number of exchanges being redelivered asynchronously")
+    public Integer getMaximumPendingRedeliveries() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getMaximumPendingRedeliveries();
+    }
+
+    @ManagedAttribute(description = "Maximum number of exchanges being redelivered asynchronously")
+    public void setMaximumPendingRedeliveries(Integer maximum) {
+        if (!isSupportRedelivery()) {
+            throw new IllegalArgumentException("This error handler does not support redelivery");
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        redelivery.setMaximumPendingRedeliveries(maximum);
+    }
+
+    @ManagedAttribute(description = "Number of exchanges currently being redelivered asynchronously")
+    public Integer getPendingRedeliveries() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getPendingRedeliveries();
+    }
+
+    @ManagedAttribute(description = "Total number of asynchronous delayed redeliveries scheduled")
+    public Long getScheduledRedeliveries() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getScheduledRedeliveries();
+    }
+
+    @ManagedAttribute(description = "Total number of delayed redeliveries which blocked the current thread")
+    public Long getBlockedRedeliveries() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getBlockedRedeliveries();
+    }
+
 }
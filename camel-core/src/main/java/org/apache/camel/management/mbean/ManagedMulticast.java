@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.MulticastProcessor;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * @version $Revision$
+ */
+@ManagedResource(description = "Managed Multicast")
+public class ManagedMulticast extends ManagedProcessor {
+    private final MulticastProcessor multicast;
+
+    public ManagedMulticast(CamelContext context, MulticastProcessor multicast, ProcessorDefinition<?> definition) {
+        super(context, multicast, definition);
+        this.multicast = multicast;
+    }
+
+    public MulticastProcessor getMulticast() {
+        return multicast;
+    }
+
+    @ManagedAttribute(description = "Parallel processing")
+    public boolean isParallelProcessing() {
+        return getMulticast().isParallelProcessing();
+    }
+
+    @ManagedAttribute(description = "Streaming")
+    public boolean isStreaming() {
+        return getMulticast().isStreaming();
+    }
+
+    @ManagedAttribute(description = "Maximum in flight sub exchanges per exchange when parallel processing (0 = no limit)")
+    public int getMaxInflightExchanges() {
+        return getMulticast().getMaxInflightExchanges();
+    }
+
+    @ManagedAttribute(description = "Maximum in flight sub exchanges per exchange when parallel processing (0 = no limit)")
+    public void setMaxInflightExchanges(int maxInflightExchanges) {
+        getMulticast().setMaxInflightExchanges(maxInflightExchanges);
+    }
+
+    @ManagedAttribute(description = "Current number of in flight sub exchanges occupying the window")
+    public int getInflightExchanges() {
+        return getMulticast().getInflightExchanges();
+    }
+}
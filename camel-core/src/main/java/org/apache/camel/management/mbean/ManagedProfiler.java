@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.processor.interceptor.Profiler;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * @version $Revision$
+ */
+@ManagedResource(description = "Managed Profiler")
+public class ManagedProfiler extends ManagedService {
+    private final Profiler profiler;
+
+    public ManagedProfiler(CamelContext context, Profiler profiler) {
+        super(context, profiler);
+        this.profiler = profiler;
+    }
+
+    public Profiler getProfiler() {
+        return profiler;
+    }
+
+    @ManagedAttribute(description = "Profiler enabled")
+    public boolean getEnabled() {
+        return profiler.isEnabled();
+    }
+
+    @ManagedAttribute(description = "Profiler enabled")
+    public void setEnabled(boolean enabled) {
+        profiler.setEnabled(enabled);
+    }
+
+    @ManagedAttribute(description = "Number of exchanges per sampled exchange")
+    public int getSampleRate() {
+        return profiler.getSampleRate();
+    }
+
+    @ManagedAttribute(description = "Number of exchanges per sampled exchange")
+    public void setSampleRate(int sampleRate) {
+        profiler.setSampleRate(sampleRate);
+    }
+
+    @ManagedAttribute(description = "Maximum number of completed traces kept")
+    public int getBufferSize() {
+        return profiler.getBufferSize();
+    }
+
+    @ManagedAttribute(description = "Number of exchanges which has been considered for sampling")
+    public long getExchangeCount() {
+        return profiler.getExchangeCount();
+    }
+
+    @ManagedAttribute(description = "Number of sampled exchanges")
+    public long getSampledCount() {
+        return profiler.getSampledCount();
+    }
+
+    @ManagedOperation(description = "Dumps the slowest traces, with time in millis spent per node")
+    public String dumpSlowestTraces(int max) {
+        return profiler.dumpSlowestTraces(max);
+    }
+
+    @ManagedOperation(description = "Dumps the time in millis spent per node over all the traces")
+    public String dumpNodeStatistics() {
+        return profiler.dumpNodeStatistics();
+    }
+
+    @ManagedOperation(description = "Clears the traces and resets the counters")
+    public void reset() {
+        profiler.reset();
+    }
+
+}
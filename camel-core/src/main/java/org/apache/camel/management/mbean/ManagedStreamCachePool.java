@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.converter.stream.StreamCachePool;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * @version $Revision$
+ */
+@ManagedResource(description = "Managed StreamCachePool")
+public class ManagedStreamCachePool extends ManagedService {
+    private final StreamCachePool pool;
+
+    public ManagedStreamCachePool(CamelContext context, StreamCachePool pool) {
+        super(context, pool);
+        this.pool = pool;
+    }
+
+    public StreamCachePool getStreamCachePool() {
+        return pool;
+    }
+
+    @ManagedAttribute(description = "Size of the memory chunks in bytes")
+    public Integer getChunkSize() {
+        return pool.getChunkSize();
+    }
+
+    @ManagedAttribute(description = "Maximum number of free chunks kept in the pool")
+    public Integer getMaxPooledChunks() {
+        return pool.getMaxPooledChunks();
+    }
+
+    @ManagedAttribute(description = "Number of free chunks in the pool")
+    public Integer getPooledChunks() {
+        return pool.getPooledChunks();
+    }
+
+    @ManagedAttribute(description = "Maximum number of bytes cached streams can keep in memory")
+    public Long getMemoryBudget() {
+        return pool.getMemoryBudget();
+    }
+
+    @ManagedAttribute(description = "Maximum number of bytes cached streams can keep in memory")
+    public void setMemoryBudget(Long memoryBudget) {
+        pool.setMemoryBudget(memoryBudget);
+    }
+
+    @ManagedAttribute(description = "Number of bytes currently used by cached streams in memory")
+    public Long getMemoryUsed() {
+        return pool.getMemoryUsed();
+    }
+
+    @ManagedAttribute(description = "Highest number of bytes used by cached streams in memory")
+    public Long getPeakMemoryUsed() {
+        return pool.getPeakMemoryUsed();
+    }
+
+    @ManagedAttribute(description = "Number of cached streams spooled to disk")
+    public Long getSpoolCount() {
+        return pool.getSpoolCount();
+    }
+
+    @ManagedAttribute(description = "Number of bytes moved from memory to disk when spooling")
+    public Long getSpoolSize() {
+        return pool.getSpoolSize();
+    }
+
+    @ManagedAttribute(description = "Whether files spooled to disk is read using memory mapped files")
+    public Boolean getMemoryMappedReads() {
+        return pool.isMemoryMappedReads();
+    }
+
+    @ManagedOperation(description = "Reset statistics")
+    public void resetStatistics() {
+        pool.resetStatistics();
+    }
+
+}
@@ -21,7 +21,10 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.spi.ManagementStrategy;
+import org.apache.camel.util.concurrent.AdaptiveThreadPoolExecutor;
+import org.apache.camel.util.concurrent.InstrumentedThreadPoolExecutor;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedResource;
 
 /**
@@ -139,4 +142,68 @@ public class ManagedThreadPool {
         return threadPool.isShutdown();
     }
 
+    @ManagedAttribute(description = "Is instrumented, which keeps queue wait and active time statistics")
+    public boolean isInstrumented() {
+        return threadPool instanceof InstrumentedThreadPoolExecutor;
+    }
+
+    @ManagedAttribute(description = "Mean time in millis tasks waited in the queue")
+    public double getMeanQueueWaitTime() {
+        if (threadPool instanceof InstrumentedThreadPoolExecutor) {
+            return ((InstrumentedThreadPoolExecutor) threadPool).getMeanQueueWaitTime();
+        }
+        return -1;
+    }
+
+    @ManagedAttribute(description = "Max time in millis a task waited in the queue")
+    public double getMaxQueueWaitTime() {
+        if (threadPool instanceof InstrumentedThreadPoolExecutor) {
+            return ((InstrumentedThreadPoolExecutor) threadPool).getMaxQueueWaitTime();
+        }
+        return -1;
+    }
+
+    @ManagedAttribute(description = "Mean time in millis a thread was active running a task")
+    public double getMeanActiveTime() {
+        if (threadPool instanceof InstrumentedThreadPoolExecutor) {
+            return ((InstrumentedThreadPoolExecutor) threadPool).getMeanActiveTime();
+        }
+        return -1;
+    }
+
+    @ManagedAttribute(description = "Max time in millis a thread was active running a task")
+    public double getMaxActiveTime() {
+        if (threadPool instanceof InstrumentedThreadPoolExecutor) {
+            return ((InstrumentedThreadPoolExecutor) threadPool).getMaxActiveTime();
+        }
+        return -1;
+    }
+
+    @ManagedAttribute(description = "Is adaptive, which adjusts the core pool size based on queue wait time")
+    public boolean isAdaptive() {
+        return threadPool instanceof AdaptiveThreadPoolExecutor;
+    }
+
+    @ManagedAttribute(description = "Target mean time in millis tasks should wait in the queue, if adaptive")
+    public long getTargetQueueWaitTime() {
+        if (threadPool instanceof AdaptiveThreadPoolExecutor) {
+            return ((AdaptiveThreadPoolExecutor) threadPool).getTargetQueueWaitTime();
+        }
+        return -1;
+    }
+
+    @ManagedAttribute(description = "Target mean time in millis tasks should wait in the queue, if adaptive")
+    public void setTargetQueueWaitTime(long targetQueueWaitTime) {
+        if (threadPool instanceof AdaptiveThreadPoolExecutor) {
+            ((AdaptiveThreadPoolExecutor) threadPool).setTargetQueueWaitTime(targetQueueWaitTime);
+        }
+    }
+
+    @ManagedOperation(description = "Reset queue wait and active time statistics")
+    public void resetStatistics() {
+        if (threadPool instanceof InstrumentedThreadPoolExecutor) {
+            ((InstrumentedThreadPoolExecutor) threadPool).resetStatistics();
+        }
+    }
+
 }
@@ -32,12 +32,14 @@ import javax.xml.bind.annotation.XmlRootElement;
 import org.apache.camel.Expression;
 import org.apache.camel.Processor;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastOutstandingRequestsLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.TopicLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.WeightedLoadBalancerDefinition;
 import org.apache.camel.processor.loadbalancer.FailOverLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LeastOutstandingRequestsLoadBalancer;
 import org.apache.camel.processor.loadbalancer.LoadBalancer;
 import org.apache.camel.processor.loadbalancer.RandomLoadBalancer;
 import org.apache.camel.processor.loadbalancer.RoundRobinLoadBalancer;
@@ -60,6 +62,7 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
 
     @XmlElements({
             @XmlElement(required = false, name = "failover", type = FailoverLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "leastOutstandingRequests", type = LeastOutstandingRequestsLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "random", type = RandomLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "roundRobin", type = RoundRobinLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "sticky", type = StickyLoadBalancerDefinition.class),
@@ -261,6 +264,16 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         return this;
     }
 
+    /**
+     * Uses least outstanding requests load balancer
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastOutstandingRequests() {
+        setLoadBalancerType(new LoadBalancerDefinition(new LeastOutstandingRequestsLoadBalancer()));
+        return this;
+    }
+
     /**
      * Uses topic load balancer
      * 
@@ -57,6 +57,8 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     private Boolean stopOnException;
     @XmlAttribute(required = false)
     private Long timeout;
+    @XmlAttribute(required = false)
+    private Integer maxInflightExchanges;
 
     public SplitDefinition() {
     }
@@ -98,10 +100,15 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         if (getTimeout() > 0 && !isParallelProcessing()) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        if (getMaxInflightExchanges() > 0 && !isParallelProcessing()) {
+            throw new IllegalArgumentException("MaxInflightExchanges is used but ParallelProcessing has not been enabled.");
+        }
 
         Expression exp = getExpression().createExpression(routeContext);
-        return new Splitter(routeContext.getCamelContext(), exp, childProcessor, aggregationStrategy,
-                            isParallelProcessing(), executorService, isStreaming(), isStopOnException(), getTimeout());
+        Splitter answer = new Splitter(routeContext.getCamelContext(), exp, childProcessor, aggregationStrategy,
+                                       isParallelProcessing(), executorService, isStreaming(), isStopOnException(), getTimeout());
+        answer.setMaxInflightExchanges(getMaxInflightExchanges());
+        return answer;
     }
 
     
@@ -205,6 +212,20 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         return this;
     }
 
+    /**
+     * Sets the maximum number of splitted exchanges which can be in flight when using parallelProcessing.
+     * <p/>
+     * When the maximum is reached the splitter pauses iterating until a splitted exchange is done,
+     * which allows to split huge payloads in parallel and streaming mode with bounded memory.
+     *
+     * @param maxInflightExchanges the maximum, use <tt>0</tt> for no limit
+     * @return the builder
+     */
+    public SplitDefinition maxInflightExchanges(int maxInflightExchanges) {
+        setMaxInflightExchanges(maxInflightExchanges);
+        return this;
+    }
+
     // Properties
     //-------------------------------------------------------------------------
 
@@ -278,4 +299,12 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     public void setTimeout(Long timeout) {
         this.timeout = timeout;
     }
+
+    public Integer getMaxInflightExchanges() {
+        return maxInflightExchanges != null ? maxInflightExchanges : 0;
+    }
+
+    public void setMaxInflightExchanges(Integer maxInflightExchanges) {
+        this.maxInflightExchanges = maxInflightExchanges;
+    }
 }
@@ -43,6 +43,9 @@ public class BindyDataFormat extends DataFormatDefinition {
     @XmlAttribute(required = false)
     private String locale;
 
+    @XmlAttribute(required = false)
+    private Boolean streaming;
+
     public void setPackages(String[] packages) {
         this.packages = packages;
     }
@@ -51,10 +54,26 @@ public class BindyDataFormat extends DataFormatDefinition {
         this.type = type;
     }
 
+    public Boolean getStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Whether to unmarshal the records as a lazy iterator instead of a list.
+     * <p/>
+     * Streaming is only supported by the <tt>Csv</tt> type.
+     */
+    public void setStreaming(Boolean streaming) {
+        this.streaming = streaming;
+    }
+
     protected DataFormat createDataFormat(RouteContext routeContext) {
         if (type == BindyType.Csv) {
             setDataFormatName("bindy-csv");
         } else {
+            if (streaming != null && streaming) {
+                throw new IllegalArgumentException("Streaming is not supported by the Bindy " + type + " data format");
+            }
             setDataFormatName("bindy-kvp");
         }
         return super.createDataFormat(routeContext);
@@ -65,6 +84,9 @@ public class BindyDataFormat extends DataFormatDefinition {
     protected void configureDataFormat(DataFormat dataFormat) {
         setProperty(dataFormat, "packages", packages);
         setProperty(dataFormat, "locale", locale);
+        if (streaming != null) {
+            setProperty(dataFormat, "streaming", streaming);
+        }
     }
 
 }
\ No newline at end of file
@@ -22,15 +22,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -50,6 +50,7 @@ import org.apache.camel.impl.converter.AsyncProcessorTypeConverter;
 import org.apache.camel.processor.aggregate.AggregationStrategy;
 import org.apache.camel.processor.aggregate.TimeoutAwareAggregationStrategy;
 import org.apache.camel.spi.RouteContext;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.spi.TracedRouteNodes;
 import org.apache.camel.util.AsyncProcessorHelper;
 import org.apache.camel.util.CastUtils;
@@ -59,10 +60,7 @@ import org.apache.camel.util.KeyValueHolder;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
 import org.apache.camel.util.StopWatch;
-import org.apache.camel.util.concurrent.AtomicException;
 import org.apache.camel.util.concurrent.AtomicExchange;
-import org.apache.camel.util.concurrent.ExecutorServiceHelper;
-import org.apache.camel.util.concurrent.SubmitOrderedCompletionService;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -144,8 +142,12 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     private final boolean streaming;
     private final boolean stopOnException;
     private final ExecutorService executorService;
-    private ExecutorService aggregateExecutorService;
+    private ScheduledExecutorService timeoutExecutorService;
+    private ExecutorService continuationExecutorService;
+    private boolean shutdownExecutorServices;
     private final long timeout;
+    private volatile int maxInflightExchanges;
+    private final AtomicInteger inflightExchanges = new AtomicInteger();
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<PreparedErrorHandler, Processor>();
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
@@ -206,7 +208,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             if (isParallelProcessing()) {
                 // ensure an executor is set when running in parallel
                 ObjectHelper.notNull(executorService, "executorService", this);
-                doProcessParallel(exchange, result, pairs, isStreaming(), callback);
+                sync = doProcessParallel(exchange, result, pairs, isStreaming(), callback);
             } else {
                 sync = doProcessSequential(exchange, result, pairs, callback);
             }
@@ -230,271 +232,452 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return true;
     }
 
-    protected void doProcessParallel(final Exchange original, final AtomicExchange result, final Iterable<ProcessorExchangePair> pairs,
-                                     final boolean streaming, final AsyncCallback callback) throws Exception {
+    /**
+     * Processes the pairs in parallel.
+     * <p/>
+     * The caller thread only submits the tasks and does not wait for them to complete. Each task aggregates
+     * its own result when it completes, and the task completing the last result invokes the callback,
+     * so no thread is parked waiting for the parallel tasks to complete.
+     *
+     * @return <tt>true</tt> if there was nothing to process and we are done synchronously,
+     *         <tt>false</tt> if the remainder is completed asynchronously
+     */
+    protected boolean doProcessParallel(final Exchange original, final AtomicExchange result, final Iterable<ProcessorExchangePair> pairs,
+                                        final boolean streaming, final AsyncCallback callback) throws Exception {
 
         ObjectHelper.notNull(executorService, "ExecutorService", this);
-        ObjectHelper.notNull(aggregateExecutorService, "AggregateExecutorService", this);
+        ObjectHelper.notNull(continuationExecutorService, "ContinuationExecutorService", this);
 
-        final CompletionService<Exchange> completion;
-        if (streaming) {
-            // execute tasks in parallel+streaming and aggregate in the order they are finished (out of order sequence)
-            completion = new ExecutorCompletionService<Exchange>(executorService);
-        } else {
-            // execute tasks in parallel and aggregate in the order the tasks are submitted (in order sequence)
-            completion = new SubmitOrderedCompletionService<Exchange>(executorService);
+        final Iterator<ProcessorExchangePair> it = pairs.iterator();
+
+        if (!it.hasNext()) {
+            // nothing to process so we are done synchronously
+            LOG.debug("Done parallel processing 0 exchanges");
+            return true;
         }
 
-        // when parallel then aggregate on the fly
-        final AtomicBoolean running = new AtomicBoolean(true);
-        final AtomicInteger total = new AtomicInteger(0);
-        final AtomicBoolean allTasksSubmitted = new AtomicBoolean();
-        final CountDownLatch aggregationOnTheFlyDone = new CountDownLatch(1);
-        final AtomicException executionException = new AtomicException();
+        // the tasks aggregates on-the-fly when they complete, in the order they are submitted
+        // or in the order they complete when streaming
+        ParallelAggregator aggregator = new ParallelAggregator(result, original, streaming, callback);
+        if (timeout > 0) {
+            ObjectHelper.notNull(timeoutExecutorService, "TimeoutExecutorService", this);
+            aggregator.scheduleTimeout();
+        }
 
-        final Iterator<ProcessorExchangePair> it = pairs.iterator();
+        LOG.trace("Starting to submit parallel tasks");
 
-        if (it.hasNext()) {
-            // issue task to execute in separate thread so it can aggregate on-the-fly
-            // while we submit new tasks, and those tasks complete concurrently
-            // this allows us to optimize work and reduce memory consumption
-            AggregateOnTheFlyTask task = new AggregateOnTheFlyTask(result, original, total, completion, running,
-                    aggregationOnTheFlyDone, allTasksSubmitted, executionException);
+        // submit the tasks, bounding the number of in flight sub exchanges so a streaming iterator is not drained
+        // into the executor queue faster than the tasks can be processed. When the window is full the remaining
+        // tasks are submitted by the threads completing the tasks, so the caller thread does not wait for a slot
+        ParallelTaskSubmitter submitter = new ParallelTaskSubmitter(pairs, it, aggregator, maxInflightExchanges);
+        submitter.submit();
 
-            // and start the aggregation task so we can aggregate on-the-fly
-            aggregateExecutorService.submit(task);
+        // the task aggregating the last response will invoke the callback
+        // so the caller thread can return now and is not blocked while the tasks are processed
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Continue parallel processing of exchangeId: " + original.getExchangeId() + " asynchronously.");
         }
+        return false;
+    }
 
-        LOG.trace("Starting to submit parallel tasks");
+    /**
+     * Submits the parallel tasks, keeping at most the maximum number of in flight sub exchanges submitted
+     * but not yet completed.
+     * <p/>
+     * When the window is full the submitter stops iterating, and the iteration is continued by the thread
+     * completing the task which frees a slot. Only one thread at a time is iterating as the iterator is not thread safe.
+     */
+    private final class ParallelTaskSubmitter {
+
+        private final Iterable<ProcessorExchangePair> pairs;
+        private final Iterator<ProcessorExchangePair> it;
+        private final ParallelAggregator aggregator;
+        private final AtomicInteger freeSlots;
+        private final AtomicBoolean submitting = new AtomicBoolean();
+        private final AtomicBoolean allTasksSubmitted = new AtomicBoolean();
+
+        private ParallelTaskSubmitter(Iterable<ProcessorExchangePair> pairs, Iterator<ProcessorExchangePair> it,
+                                      ParallelAggregator aggregator, int maxInflight) {
+            this.pairs = pairs;
+            this.it = it;
+            this.aggregator = aggregator;
+            this.freeSlots = maxInflight > 0 ? new AtomicInteger(maxInflight) : null;
+        }
 
-        while (it.hasNext()) {
-            final ProcessorExchangePair pair = it.next();
-            final Exchange subExchange = pair.getExchange();
-            updateNewExchange(subExchange, total.intValue(), pairs, it);
-
-            completion.submit(new Callable<Exchange>() {
-                public Exchange call() throws Exception {
-                    if (!running.get()) {
-                        // do not start processing the task if we are not running
-                        return subExchange;
-                    }
+        /**
+         * Submits tasks until all tasks has been submitted or the window is full.
+         */
+        void submit() {
+            do {
+                if (!submitting.compareAndSet(false, true)) {
+                    // another thread is submitting and it will check for free slots when its done
+                    return;
+                }
+                try {
+                    submitWhileSlotsFree();
+                } catch (Throwable e) {
+                    // fail the exchange as we cannot submit the remainder of the tasks
+                    LOG.debug("Submitting parallel tasks failed due " + e.getMessage());
+                    signalAllTasksSubmitted();
+                    aggregator.onFailure(e instanceof Exception ? (Exception) e : ObjectHelper.wrapRuntimeCamelException(e));
+                } finally {
+                    submitting.set(false);
+                }
+                // a slot may have been freed after we found the window full but before we stopped submitting
+            } while (!allTasksSubmitted.get() && hasFreeSlot());
+        }
 
-                    try {
-                        doProcessParallel(pair);
-                    } catch (Throwable e) {
-                        subExchange.setException(e);
-                    }
+        private void submitWhileSlotsFree() {
+            while (true) {
+                if (!aggregator.isRunning()) {
+                    LOG.debug("Stopped submitting parallel tasks as processing is no longer running");
+                    signalAllTasksSubmitted();
+                    return;
+                }
+                if (!it.hasNext()) {
+                    signalAllTasksSubmitted();
+                    return;
+                }
+                // acquire a free slot before we pull the next pair, so we do not iterate ahead of the processing
+                if (!tryAcquireSlot()) {
+                    LOG.trace("Window of in flight exchanges is full, the next completed task will continue submitting");
+                    return;
+                }
 
-                    // Decide whether to continue with the multicast or not; similar logic to the Pipeline
-                    Integer number = getExchangeIndex(subExchange);
-                    boolean continueProcessing = PipelineHelper.continueProcessing(subExchange, "Parallel processing failed for number " + number, LOG);
-                    if (stopOnException && !continueProcessing) {
-                        // signal to stop running
-                        running.set(false);
-                        // throw caused exception
-                        if (subExchange.getException() != null) {
-                            // wrap in exception to explain where it failed
-                            throw new CamelExchangeException("Parallel processing failed for number " + number, subExchange, subExchange.getException());
+                final ProcessorExchangePair pair = it.next();
+                final Exchange subExchange = pair.getExchange();
+                final int index = aggregator.taskSubmitted();
+                updateNewExchange(subExchange, index, pairs, it);
+
+                try {
+                    executorService.execute(new Runnable() {
+                        public void run() {
+                            try {
+                                Exchange answer = doProcessParallelTask(pair, aggregator.running);
+                                aggregator.onCompleted(index, answer);
+                            } catch (Throwable e) {
+                                // report the failure the same way as if the task was a future
+                                aggregator.onFailure(new ExecutionException(e));
+                            } finally {
+                                releaseSlot();
+                                // continue submitting if we stopped because the window was full
+                                if (freeSlots != null && !allTasksSubmitted.get()) {
+                                    submit();
+                                }
+                            }
                         }
-                    }
+                    });
+                } catch (RuntimeException e) {
+                    // the task was rejected so it will never release its slot
+                    releaseSlot();
+                    throw e;
+                }
+            }
+        }
 
-                    if (LOG.isTraceEnabled()) {
-                        LOG.trace("Parallel processing complete for exchange: " + subExchange);
-                    }
-                    return subExchange;
+        private void signalAllTasksSubmitted() {
+            if (allTasksSubmitted.compareAndSet(false, true)) {
+                aggregator.allTasksSubmitted();
+            }
+        }
+
+        private boolean hasFreeSlot() {
+            return freeSlots == null || freeSlots.get() > 0;
+        }
+
+        private boolean tryAcquireSlot() {
+            if (freeSlots == null) {
+                return true;
+            }
+            while (true) {
+                int free = freeSlots.get();
+                if (free <= 0) {
+                    return false;
                 }
-            });
+                if (freeSlots.compareAndSet(free, free - 1)) {
+                    inflightExchanges.incrementAndGet();
+                    return true;
+                }
+            }
+        }
 
-            total.incrementAndGet();
+        private void releaseSlot() {
+            if (freeSlots != null) {
+                inflightExchanges.decrementAndGet();
+                freeSlots.incrementAndGet();
+            }
         }
+    }
 
-        // signal all tasks has been submitted
-        if (LOG.isTraceEnabled()) {
-            LOG.trace("Signaling that all " + total.get() + " tasks has been submitted.");
+    private Exchange doProcessParallelTask(ProcessorExchangePair pair, AtomicBoolean running) throws Exception {
+        Exchange subExchange = pair.getExchange();
+        if (!running.get()) {
+            // do not start processing the task if we are not running
+            return subExchange;
         }
-        allTasksSubmitted.set(true);
 
-        // its to hard to do parallel async routing so we let the caller thread be synchronously
-        // and have it pickup the replies and do the aggregation (eg we use a latch to wait)
-        // wait for aggregation to be done
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Waiting for on-the-fly aggregation to complete aggregating " + total.get() + " responses.");
+        try {
+            doProcessParallel(pair);
+        } catch (Throwable e) {
+            subExchange.setException(e);
         }
-        aggregationOnTheFlyDone.await();
 
-        // did we fail for whatever reason, if so throw that caused exception
-        if (executionException.get() != null) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Parallel processing failed due " + executionException.get().getMessage());
+        // Decide whether to continue with the multicast or not; similar logic to the Pipeline
+        Integer number = getExchangeIndex(subExchange);
+        boolean continueProcessing = PipelineHelper.continueProcessing(subExchange, "Parallel processing failed for number " + number, LOG);
+        if (stopOnException && !continueProcessing) {
+            // signal to stop running
+            running.set(false);
+            // throw caused exception
+            if (subExchange.getException() != null) {
+                // wrap in exception to explain where it failed
+                throw new CamelExchangeException("Parallel processing failed for number " + number, subExchange, subExchange.getException());
             }
-            throw executionException.get();
         }
 
-        // no everything is okay so we are done
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Done parallel processing " + total + " exchanges");
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Parallel processing complete for exchange: " + subExchange);
         }
+        return subExchange;
     }
 
     /**
-     * Task to aggregate on-the-fly for completed tasks when using parallel processing.
+     * Aggregates on-the-fly the completed tasks when using parallel processing.
      * <p/>
      * This ensures lower memory consumption as we do not need to keep all completed tasks in memory
-     * before we perform aggregation. Instead this separate thread will run and aggregate when new
-     * completed tasks is done.
+     * before we perform aggregation. The thread completing a task aggregates its result, or when not streaming
+     * and the result is out of order, keeps it until the results before it has been aggregated.
      * <p/>
-     * The logic is fairly complex as this implementation has to keep track how far it got, and also
-     * signal back to the <i>main</t> thread when its done, so the <i>main</t> thread can continue
-     * processing when the entire splitting is done.
+     * The thread aggregating the last result, a failure, or the timeout completes the original exchange by invoking
+     * the callback, so routing can continue when the entire parallel processing is done.
      */
-    private final class AggregateOnTheFlyTask implements Runnable {
+    private final class ParallelAggregator {
 
         private final AtomicExchange result;
         private final Exchange original;
-        private final AtomicInteger total;
-        private final CompletionService<Exchange> completion;
-        private final AtomicBoolean running;
-        private final CountDownLatch aggregationOnTheFlyDone;
-        private final AtomicBoolean allTasksSubmitted;
-        private final AtomicException executionException;
-
-        private AggregateOnTheFlyTask(AtomicExchange result, Exchange original, AtomicInteger total,
-                                      CompletionService<Exchange> completion, AtomicBoolean running,
-                                      CountDownLatch aggregationOnTheFlyDone, AtomicBoolean allTasksSubmitted,
-                                      AtomicException executionException) {
+        private final boolean streaming;
+        private final AsyncCallback callback;
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        // the completed results waiting for the results before them when not streaming
+        private final Map<Integer, Exchange> pending = new HashMap<Integer, Exchange>();
+        private int submitted;
+        private int aggregated;
+        private boolean allSubmitted;
+        private boolean done;
+        private Exception failure;
+        private ScheduledFuture<?> timeoutFuture;
+
+        private ParallelAggregator(AtomicExchange result, Exchange original, boolean streaming, AsyncCallback callback) {
             this.result = result;
             this.original = original;
-            this.total = total;
-            this.completion = completion;
-            this.running = running;
-            this.aggregationOnTheFlyDone = aggregationOnTheFlyDone;
-            this.allTasksSubmitted = allTasksSubmitted;
-            this.executionException = executionException;
+            this.streaming = streaming;
+            this.callback = callback;
         }
 
-        public void run() {
-            LOG.trace("Aggregate on the fly task +++ started +++");
+        boolean isRunning() {
+            return running.get();
+        }
 
-            try {
-                aggregateOnTheFly();
-            } catch (Throwable e) {
-                if (e instanceof Exception) {
-                    executionException.set((Exception) e);
-                } else {
-                    executionException.set(ObjectHelper.wrapRuntimeCamelException(e));
+        synchronized void scheduleTimeout() {
+            timeoutFuture = timeoutExecutorService.schedule(new Runnable() {
+                public void run() {
+                    onTimeout();
                 }
-            } finally {
-                // must signal we are done so the latch can open and let the other thread continue processing
-                LOG.debug("Signaling we are done aggregating on the fly");
-                LOG.trace("Aggregate on the fly task +++ done +++");
-                aggregationOnTheFlyDone.countDown();
-            }
-        }
-
-        private void aggregateOnTheFly() throws InterruptedException, ExecutionException {
-            boolean timedOut = false;
-            boolean stoppedOnException = false;
-            final StopWatch watch = new StopWatch();
-            int aggregated = 0;
-            boolean done = false;
-            // not a for loop as on the fly may still run
-            while (!done) {
-                // check if we have already aggregate everything
-                if (allTasksSubmitted.get() && aggregated >= total.get()) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Done aggregating " + aggregated + " exchanges on the fly.");
-                    }
-                    break;
+            }, timeout, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * A task is about to be submitted.
+         *
+         * @return the index of the task
+         */
+        synchronized int taskSubmitted() {
+            return submitted++;
+        }
+
+        void allTasksSubmitted() {
+            boolean complete;
+            synchronized (this) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Signaling that all " + submitted + " tasks has been submitted.");
                 }
+                allSubmitted = true;
+                complete = checkDone();
+            }
+            if (complete) {
+                complete();
+            }
+        }
 
-                Future<Exchange> future;
-                if (timedOut) {
-                    // we are timed out but try to grab if some tasks has been completed
-                    // poll will return null if no tasks is present
-                    future = completion.poll();
-                    if (LOG.isTraceEnabled()) {
-                        LOG.trace("Polled completion task #" + aggregated + " after timeout to grab already completed tasks: " + future);
-                    }
-                } else if (timeout > 0) {
-                    long left = timeout - watch.taken();
-                    if (left < 0) {
-                        left = 0;
+        void onCompleted(int index, Exchange subExchange) {
+            boolean complete;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                try {
+                    if (streaming) {
+                        // aggregate in the order they are completed
+                        complete = !aggregate(subExchange) || checkDone();
+                    } else {
+                        // aggregate in the order they are submitted
+                        pending.put(index, subExchange);
+                        complete = !aggregatePending() || checkDone();
                     }
-                    if (LOG.isTraceEnabled()) {
-                        LOG.trace("Polling completion task #" + aggregated + " using timeout " + left + " millis.");
+                } catch (Throwable e) {
+                    failure = e instanceof Exception ? (Exception) e : ObjectHelper.wrapRuntimeCamelException(e);
+                    complete = true;
+                    done = true;
+                }
+            }
+            if (complete) {
+                complete();
+            }
+        }
+
+        void onFailure(Exception cause) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                failure = cause;
+                done = true;
+            }
+            complete();
+        }
+
+        void onTimeout() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                AggregationStrategy strategy = getAggregationStrategy(null);
+                if (strategy instanceof TimeoutAwareAggregationStrategy) {
+                    // notify the strategy we timed out
+                    Exchange oldExchange = result.get();
+                    if (oldExchange == null) {
+                        // if they all timed out the result may not have been set yet, so use the original exchange
+                        oldExchange = original;
                     }
-                    future = completion.poll(left, TimeUnit.MILLISECONDS);
+                    ((TimeoutAwareAggregationStrategy) strategy).timeout(oldExchange, aggregated, submitted, timeout);
                 } else {
-                    if (LOG.isTraceEnabled()) {
-                        LOG.trace("Polling completion task #" + aggregated);
-                    }
-                    // we must not block so poll every second
-                    future = completion.poll(1, TimeUnit.SECONDS);
-                    if (future == null) {
-                        // and continue loop which will recheck if we are done
-                        continue;
-                    }
+                    // log a WARN we timed out since it will not be aggregated and the Exchange will be lost
+                    LOG.warn("Parallel processing timed out after " + timeout + " millis for number " + aggregated + ". This task will be cancelled and will not be aggregated.");
+                }
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Timeout occurred after " + timeout + " millis for number " + aggregated + " task.");
                 }
 
-                if (future == null && timedOut) {
-                    // we are timed out and no more tasks complete so break out
-                    break;
-                } else if (future == null) {
-                    // timeout occurred
-                    AggregationStrategy strategy = getAggregationStrategy(null);
-                    if (strategy instanceof TimeoutAwareAggregationStrategy) {
-                        // notify the strategy we timed out
-                        Exchange oldExchange = result.get();
-                        if (oldExchange == null) {
-                            // if they all timed out the result may not have been set yet, so use the original exchange
-                            oldExchange = original;
-                        }
-                        ((TimeoutAwareAggregationStrategy) strategy).timeout(oldExchange, aggregated, total.intValue(), timeout);
-                    } else {
-                        // log a WARN we timed out since it will not be aggregated and the Exchange will be lost
-                        LOG.warn("Parallel processing timed out after " + timeout + " millis for number " + aggregated + ". This task will be cancelled and will not be aggregated.");
-                    }
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Timeout occurred after " + timeout + " millis for number " + aggregated + " task.");
+                if (!streaming) {
+                    // skip the timed out task and grab the tasks after it which has already been completed
+                    aggregated++;
+                    try {
+                        aggregatePending();
+                    } catch (Throwable e) {
+                        failure = e instanceof Exception ? (Exception) e : ObjectHelper.wrapRuntimeCamelException(e);
                     }
-                    timedOut = true;
+                }
+                done = true;
+            }
+            complete();
+        }
 
-                    // mark that index as timed out, which allows us to try to retrieve
-                    // any already completed tasks in the next loop
-                    ExecutorServiceHelper.timeoutTask(completion);
-                } else {
-                    // there is a result to aggregate
-                    Exchange subExchange = future.get();
+        /**
+         * Aggregates the pending results which are next in order.
+         *
+         * @return <tt>false</tt> if we should stop
+         */
+        private boolean aggregatePending() {
+            Exchange subExchange = pending.remove(aggregated);
+            while (subExchange != null) {
+                if (!aggregate(subExchange)) {
+                    return false;
+                }
+                subExchange = pending.remove(aggregated);
+            }
+            return true;
+        }
 
-                    // Decide whether to continue with the multicast or not; similar logic to the Pipeline
-                    Integer number = getExchangeIndex(subExchange);
-                    boolean continueProcessing = PipelineHelper.continueProcessing(subExchange, "Parallel processing failed for number " + number, LOG);
-                    if (stopOnException && !continueProcessing) {
-                        // we want to stop on exception and an exception or failure occurred
-                        // this is similar to what the pipeline does, so we should do the same to not surprise end users
-                        // so we should set the failed exchange as the result and break out
-                        result.set(subExchange);
-                        stoppedOnException = true;
-                        break;
-                    }
+        /**
+         * Aggregates the result.
+         *
+         * @return <tt>false</tt> if we should stop due stop on exception
+         */
+        private boolean aggregate(Exchange subExchange) {
+            // Decide whether to continue with the multicast or not; similar logic to the Pipeline
+            Integer number = getExchangeIndex(subExchange);
+            boolean continueProcessing = PipelineHelper.continueProcessing(subExchange, "Parallel processing failed for number " + number, LOG);
+            if (stopOnException && !continueProcessing) {
+                // we want to stop on exception and an exception or failure occurred
+                // this is similar to what the pipeline does, so we should do the same to not surprise end users
+                // so we should set the failed exchange as the result and stop
+                result.set(subExchange);
+                done = true;
+                return false;
+            }
 
-                    // we got a result so aggregate it
-                    AggregationStrategy strategy = getAggregationStrategy(subExchange);
-                    doAggregate(strategy, result, subExchange);
+            AggregationStrategy strategy = getAggregationStrategy(subExchange);
+            doAggregate(strategy, result, subExchange);
+            aggregated++;
+            return true;
+        }
+
+        private boolean checkDone() {
+            if (!done && allSubmitted && aggregated >= submitted) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Done aggregating " + aggregated + " exchanges on the fly.");
                 }
+                done = true;
+                return true;
+            }
+            return false;
+        }
 
-                aggregated++;
+        /**
+         * Completes the original exchange, must be invoked once and without holding the lock.
+         */
+        private void complete() {
+            // stop submitting and processing the remainder of the tasks (its safe if they are done)
+            running.set(false);
+            ScheduledFuture<?> future;
+            synchronized (this) {
+                pending.clear();
+                future = timeoutFuture;
+            }
+            if (future != null) {
+                future.cancel(false);
             }
 
-            if (timedOut || stoppedOnException) {
-                if (timedOut && LOG.isDebugEnabled()) {
-                    LOG.debug("Cancelling tasks due timeout after " + timeout + " millis.");
+            // continue routing asynchronously, which is done using the continuation thread pool
+            // so the rest of the route does not occupy the thread which completed the last task
+            AsyncCallback continuation = new AsyncCallback() {
+                public void done(final boolean doneSync) {
+                    try {
+                        continuationExecutorService.execute(new Runnable() {
+                            public void run() {
+                                callback.done(doneSync);
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        // the pool cannot accept the task (eg we are shutting down) so continue on this thread
+                        LOG.debug("Cannot hand over continuation of exchangeId: " + original.getExchangeId()
+                                + " to thread pool, will continue on current thread");
+                        callback.done(doneSync);
+                    }
                 }
-                if (stoppedOnException && LOG.isDebugEnabled()) {
-                    LOG.debug("Cancelling tasks due stopOnException.");
+            };
+
+            if (failure != null) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Parallel processing failed due " + failure.getMessage());
+                }
+                original.setException(failure);
+                doDone(original, null, continuation, false, true);
+            } else {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Done parallel processing " + submitted + " exchanges");
                 }
-                // cancel tasks as we timed out (its safe to cancel done tasks)
-                running.set(false);
+                doDone(original, result.get(), continuation, false, true);
             }
         }
     }
@@ -566,7 +749,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
 
         // compute time taken if sending to another endpoint
         StopWatch watch = null;
-        if (producer != null) {
+        if (producer != null && EventHelper.isExchangeSentEventEnabled(exchange.getContext())) {
             watch = new StopWatch();
         }
 
@@ -679,7 +862,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             if (traced != null) {
                 traced.popBlock();
             }
-            if (producer != null) {
+            if (watch != null) {
                 long timeTaken = watch.stop();
                 Endpoint endpoint = producer.getEndpoint();
                 // emit event that the exchange was sent to the endpoint
@@ -699,7 +882,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
 
         // compute time taken if sending to another endpoint
         StopWatch watch = null;
-        if (producer != null) {
+        if (producer != null && EventHelper.isExchangeSentEventEnabled(exchange.getContext())) {
             watch = new StopWatch();
         }
 
@@ -720,7 +903,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             if (traced != null) {
                 traced.popBlock();
             }
-            if (producer != null) {
+            if (watch != null) {
                 long timeTaken = watch.stop();
                 Endpoint endpoint = producer.getEndpoint();
                 // emit event that the exchange was sent to the endpoint
@@ -881,14 +1064,15 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         if (timeout > 0 && !isParallelProcessing()) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled");
         }
-        if (isParallelProcessing() && aggregateExecutorService == null) {
-            // use unbounded thread pool so we ensure the aggregate on-the-fly task always will have assigned a thread
-            // and run the tasks when the task is submitted. If not then the aggregate task may not be able to run
-            // and signal completion during processing, which would lead to a dead-lock
-            // keep at least one thread in the pool so we re-use the thread avoiding to create new threads because
-            // the pool shrank to zero.
-            String name = getClass().getSimpleName() + "-AggregateTask";
-            aggregateExecutorService = camelContext.getExecutorServiceStrategy().newThreadPool(this, name, 1, Integer.MAX_VALUE);
+        if (isParallelProcessing() && timeout > 0 && timeoutExecutorService == null) {
+            // the timeout tasks only completes the exchange, so a single thread is enough
+            String name = getClass().getSimpleName() + "-Timeout";
+            timeoutExecutorService = camelContext.getExecutorServiceStrategy().newScheduledThreadPool(this, name, 1);
+            shutdownExecutorServices = true;
+        }
+        if (isParallelProcessing() && continuationExecutorService == null) {
+            continuationExecutorService = createContinuationExecutorService(camelContext, this, getClass().getSimpleName() + "-Continuation");
+            shutdownExecutorServices = true;
         }
         ServiceHelper.startServices(processors);
     }
@@ -896,6 +1080,36 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     protected void doStop() throws Exception {
         ServiceHelper.stopServices(processors);
         errorHandlers.clear();
+        // shutdown the pools we created on start, so we do not leak threads if we are started again
+        if (shutdownExecutorServices) {
+            if (timeoutExecutorService != null) {
+                camelContext.getExecutorServiceStrategy().shutdownNow(timeoutExecutorService);
+                timeoutExecutorService = null;
+            }
+            if (continuationExecutorService != null) {
+                camelContext.getExecutorServiceStrategy().shutdown(continuationExecutorService);
+                continuationExecutorService = null;
+            }
+            shutdownExecutorServices = false;
+        }
+    }
+
+    /**
+     * Creates the thread pool used for continuing routing the exchanges when the parallel processing is done.
+     * <p/>
+     * The pool is bounded using the sizes of the default thread pool profile. When the pool is saturated, or has been
+     * shutdown, the exchange continues being routed by the thread which completed the parallel processing,
+     * which slows down the parallel tasks and thus applies backpressure. The continuation is never discarded.
+     */
+    static ExecutorService createContinuationExecutorService(CamelContext camelContext, Object source, String name) {
+        ThreadPoolProfile profile = camelContext.getExecutorServiceStrategy().getDefaultThreadPoolProfile();
+        return camelContext.getExecutorServiceStrategy().newThreadPool(source, name, profile.getPoolSize(), profile.getMaxPoolSize(),
+                profile.getKeepAliveTime(), profile.getTimeUnit(), profile.getMaxQueueSize(), new RejectedExecutionHandler() {
+                    public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+                        // continue on the current thread
+                        runnable.run();
+                    }
+                }, false);
     }
 
     protected static void setToEndpoint(Exchange exchange, Processor processor) {
@@ -1003,6 +1217,57 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return parallelProcessing;
     }
 
+    /**
+     * The maximum number of sub exchanges per exchange which can be in flight when using parallel processing,
+     * or <tt>0</tt> for no limit.
+     */
+    public int getMaxInflightExchanges() {
+        return maxInflightExchanges;
+    }
+
+    /**
+     * Sets the maximum number of sub exchanges per exchange which can be in flight (submitted but not yet
+     * completed) when using parallel processing. When the limit is reached no more sub exchanges is pulled
+     * until a slot becomes free, which keeps parallel streaming in bounded memory.
+     *
+     * @param maxInflightExchanges the maximum, use <tt>0</tt> for no limit
+     */
+    public void setMaxInflightExchanges(int maxInflightExchanges) {
+        this.maxInflightExchanges = maxInflightExchanges;
+    }
+
+    /**
+     * Number of sub exchanges currently occupying a slot in the in flight window (across all exchanges).
+     * Is always <tt>0</tt> when no maximum has been set.
+     */
+    public int getInflightExchanges() {
+        return inflightExchanges.get();
+    }
+
+    public ScheduledExecutorService getTimeoutExecutorService() {
+        return timeoutExecutorService;
+    }
+
+    /**
+     * Sets the scheduled thread pool used for completing the exchanges which times out when using parallel processing.
+     * If not set a pool with a single thread is created on start, when a timeout is used.
+     */
+    public void setTimeoutExecutorService(ScheduledExecutorService timeoutExecutorService) {
+        this.timeoutExecutorService = timeoutExecutorService;
+    }
+
+    public ExecutorService getContinuationExecutorService() {
+        return continuationExecutorService;
+    }
+
+    /**
+     * Sets the thread pool used for continuing routing the exchange when the parallel processing is done.
+     * If not set a bounded thread pool is created on start, see {@link #createContinuationExecutorService}.
+     */
+    public void setContinuationExecutorService(ExecutorService continuationExecutorService) {
+        this.continuationExecutorService = continuationExecutorService;
+    }
+
     public List<Processor> next() {
         if (!hasNext()) {
             return null;
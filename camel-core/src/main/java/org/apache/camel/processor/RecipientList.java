@@ -18,6 +18,7 @@ package org.apache.camel.processor;
 
 import java.util.Iterator;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -55,6 +56,8 @@ public class RecipientList extends ServiceSupport implements AsyncProcessor {
     private boolean streaming;
     private long timeout;
     private ExecutorService executorService;
+    private ScheduledExecutorService timeoutExecutorService;
+    private ExecutorService continuationExecutorService;
     private AggregationStrategy aggregationStrategy = new UseLatestAggregationStrategy();
 
     public RecipientList(CamelContext camelContext) {
@@ -110,6 +113,9 @@ public class RecipientList extends ServiceSupport implements AsyncProcessor {
         RecipientListProcessor rlp = new RecipientListProcessor(exchange.getContext(), producerCache, iter, getAggregationStrategy(),
                                                                 isParallelProcessing(), getExecutorService(), isStreaming(), isStopOnException(), getTimeout());
         rlp.setIgnoreInvalidEndpoints(isIgnoreInvalidEndpoints());
+        // share the thread pools as we create a new processor for each exchange
+        rlp.setTimeoutExecutorService(timeoutExecutorService);
+        rlp.setContinuationExecutorService(continuationExecutorService);
 
         // start the service
         try {
@@ -139,10 +145,27 @@ public class RecipientList extends ServiceSupport implements AsyncProcessor {
             camelContext.addService(producerCache);
         }
         ServiceHelper.startService(producerCache);
+        if (isParallelProcessing() || executorService != null) {
+            // a new processor is created per exchange, so we own the thread pools it uses for parallel processing
+            if (timeout > 0 && timeoutExecutorService == null) {
+                timeoutExecutorService = camelContext.getExecutorServiceStrategy().newScheduledThreadPool(this, "RecipientList-Timeout", 1);
+            }
+            if (continuationExecutorService == null) {
+                continuationExecutorService = MulticastProcessor.createContinuationExecutorService(camelContext, this, "RecipientList-Continuation");
+            }
+        }
     }
 
     protected void doStop() throws Exception {
         ServiceHelper.stopService(producerCache);
+        if (timeoutExecutorService != null) {
+            camelContext.getExecutorServiceStrategy().shutdownNow(timeoutExecutorService);
+            timeoutExecutorService = null;
+        }
+        if (continuationExecutorService != null) {
+            camelContext.getExecutorServiceStrategy().shutdown(continuationExecutorService);
+            continuationExecutorService = null;
+        }
     }
     
     public boolean isStreaming() {
@@ -20,6 +20,8 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -44,6 +46,14 @@ import org.apache.camel.util.ServiceHelper;
  * <p/>
  * This implementation should contain all the error handling logic and the sub classes
  * should only configure it according to what they support.
+ * <p/>
+ * Delayed redeliveries block the current thread while waiting, unless asynchronous delayed redelivery
+ * has been enabled on the {@link RedeliveryPolicy}. Then the exchange is parked on a scheduler and the
+ * current thread is released, also when the route is otherwise processed synchronously. The number of
+ * exchanges being redelivered asynchronously is bounded by the maximum pending redeliveries. When the
+ * maximum has been reached, or the exchange is transacted, a synchronously routed exchange is delayed by
+ * blocking the current thread instead, and an asynchronously routed exchange fails with a
+ * {@link RejectedExecutionException} as the thread completing it must not be blocked.
  *
  * @version $Revision$
  */
@@ -61,6 +71,10 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
     protected final Predicate retryWhilePolicy;
     protected final Logger logger;
     protected final boolean useOriginalMessagePolicy;
+    private final AtomicInteger pendingRedeliveries = new AtomicInteger();
+    private final AtomicLong scheduledRedeliveries = new AtomicLong();
+    private final AtomicLong blockedRedeliveries = new AtomicLong();
+    private int maximumPendingRedeliveries = 1000;
 
     /**
      * Contains the current redelivery data
@@ -81,6 +95,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         Predicate continuedPredicate;
         boolean useOriginalInMessage = useOriginalMessagePolicy;
         boolean asyncDelayedRedelivery = redeliveryPolicy.isAsyncDelayedRedelivery();
+        boolean pendingReserved;
     }
 
     /**
@@ -251,7 +266,8 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 if (data.redeliveryDelay > 0) {
                     // okay there is a delay so create a scheduled task to have it executed in the future
 
-                    if (data.currentRedeliveryPolicy.isAsyncDelayedRedelivery() && !exchange.isTransacted()) {
+                    if (data.currentRedeliveryPolicy.isAsyncDelayedRedelivery() && !exchange.isTransacted()
+                            && tryReservePendingRedelivery(data)) {
                         // let the RedeliverTask be the logic which tries to redeliver the Exchange which we can used a scheduler to
                         // have it being executed in the future, or immediately
                         // we are continuing asynchronously
@@ -259,30 +275,37 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                         // mark we are routing async from now and that this redelivery task came from a synchronous routing
                         data.sync = false;
                         data.redeliverFromSync = true;
-                        AsyncRedeliveryTask task = new AsyncRedeliveryTask(exchange, callback, data);
+                        AsyncRedeliveryTask task = new AsyncRedeliveryTask(exchange, releasePendingRedeliveryOnDone(callback, data), data);
 
-                        // schedule the redelivery task
-                        if (log.isTraceEnabled()) {
-                            log.trace("Scheduling redelivery task to run in " + data.redeliveryDelay + " millis for exchangeId: " + exchange.getExchangeId());
-                        }
-                        executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
-
-                        return false;
-                    } else {
-                        // async delayed redelivery was disabled or we are transacted so we must be synchronous
-                        // as the transaction manager requires to execute in the same thread context
                         try {
-                            data.currentRedeliveryPolicy.sleep(data.redeliveryDelay);
-                        } catch (InterruptedException e) {
-                            // we was interrupted so break out
-                            exchange.setException(e);
-                            // mark the exchange to stop continue routing when interrupted
-                            // as we do not want to continue routing (for example a task has been cancelled)
-                            exchange.setProperty(Exchange.ROUTE_STOP, Boolean.TRUE);
-                            callback.done(data.sync);
-                            return data.sync;
+                            scheduleRedeliveryTask(task, exchange, data);
+                            return false;
+                        } catch (RejectedExecutionException e) {
+                            // we still have the current thread so we can continue synchronously
+                            if (log.isDebugEnabled()) {
+                                log.debug("Cannot schedule redelivery task for exchangeId: " + exchange.getExchangeId()
+                                        + ", will use synchronous delayed redelivery", e);
+                            }
+                            data.sync = true;
+                            data.redeliverFromSync = false;
                         }
                     }
+
+                    // async delayed redelivery was disabled, there are too many pending redeliveries, the task could not be
+                    // scheduled, or we are transacted so we must be synchronous as the transaction manager requires to execute
+                    // in the same thread context
+                    blockedRedeliveries.incrementAndGet();
+                    try {
+                        data.currentRedeliveryPolicy.sleep(data.redeliveryDelay);
+                    } catch (InterruptedException e) {
+                        // we was interrupted so break out
+                        exchange.setException(e);
+                        // mark the exchange to stop continue routing when interrupted
+                        // as we do not want to continue routing (for example a task has been cancelled)
+                        exchange.setProperty(Exchange.ROUTE_STOP, Boolean.TRUE);
+                        callback.done(data.sync);
+                        return data.sync;
+                    }
                 }
 
                 // prepare for redelivery
@@ -371,14 +394,48 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         }
 
         if (data.redeliveryCounter > 0) {
+            // calculate the redelivery delay
+            data.redeliveryDelay = data.currentRedeliveryPolicy.calculateRedeliveryDelay(data.redeliveryDelay, data.redeliveryCounter);
+
+            // the maximum pending redeliveries only applies when asynchronous delayed redelivery has been enabled,
+            // and the exchange keeps its reservation for all its asynchronous redeliveries
+            AsyncCallback redeliveryCallback = callback;
+            if (data.currentRedeliveryPolicy.isAsyncDelayedRedelivery() && !data.pendingReserved) {
+                if (!tryReservePendingRedelivery(data)) {
+                    // we are on the callback thread which must not be blocked, so fail the exchange instead
+                    exchange.setException(new RejectedExecutionException("Maximum pending redeliveries "
+                            + maximumPendingRedeliveries + " reached for exchangeId: " + exchange.getExchangeId()));
+                    callback.done(data.sync);
+                    return;
+                }
+                redeliveryCallback = releasePendingRedeliveryOnDone(callback, data);
+            }
+
             // let the RedeliverTask be the logic which tries to redeliver the Exchange which we can used a scheduler to
             // have it being executed in the future, or immediately
             // Note: the data.redeliverFromSync should be kept as is, in case it was enabled previously
             // to ensure the callback will continue routing from where we left
-            AsyncRedeliveryTask task = new AsyncRedeliveryTask(exchange, callback, data);
+            AsyncRedeliveryTask task = new AsyncRedeliveryTask(exchange, redeliveryCallback, data);
 
-            // calculate the redelivery delay
-            data.redeliveryDelay = data.currentRedeliveryPolicy.calculateRedeliveryDelay(data.redeliveryDelay, data.redeliveryCounter);
+            try {
+                scheduleRedeliveryTask(task, exchange, data);
+            } catch (RejectedExecutionException e) {
+                // the scheduler did not accept the task so we cannot redeliver
+                exchange.setException(e);
+                callback.done(data.sync);
+            }
+        }
+    }
+
+    /**
+     * Schedules the redelivery task to be executed after the redelivery delay, or immediately if there is no delay.
+     * <p/>
+     * If the task could not be scheduled then the pending redelivery reserved by the exchange is released.
+     *
+     * @throws RejectedExecutionException if the task could not be scheduled
+     */
+    private void scheduleRedeliveryTask(AsyncRedeliveryTask task, Exchange exchange, RedeliveryData data) {
+        try {
             if (data.redeliveryDelay > 0) {
                 // schedule the redelivery task
                 if (log.isTraceEnabled()) {
@@ -389,6 +446,54 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 // execute the task immediately
                 executorService.submit(task);
             }
+        } catch (RejectedExecutionException e) {
+            releasePendingRedelivery(data);
+            throw e;
+        }
+        scheduledRedeliveries.incrementAndGet();
+    }
+
+    /**
+     * Reserves a slot for the exchange to be redelivered asynchronously, which it keeps until it is done.
+     *
+     * @return <tt>true</tt> if reserved, or <tt>false</tt> if the maximum pending redeliveries has been reached
+     */
+    private boolean tryReservePendingRedelivery(RedeliveryData data) {
+        if (data.pendingReserved) {
+            return true;
+        }
+        while (true) {
+            int pending = pendingRedeliveries.get();
+            if (maximumPendingRedeliveries > 0 && pending >= maximumPendingRedeliveries) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Maximum pending redeliveries " + maximumPendingRedeliveries
+                            + " reached");
+                }
+                return false;
+            }
+            if (pendingRedeliveries.compareAndSet(pending, pending + 1)) {
+                data.pendingReserved = true;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Wraps the callback so the pending redelivery reserved by the exchange is released when the exchange is done.
+     */
+    private AsyncCallback releasePendingRedeliveryOnDone(final AsyncCallback callback, final RedeliveryData data) {
+        return new AsyncCallback() {
+            public void done(boolean doneSync) {
+                releasePendingRedelivery(data);
+                callback.done(doneSync);
+            }
+        };
+    }
+
+    private void releasePendingRedelivery(RedeliveryData data) {
+        if (data.pendingReserved) {
+            data.pendingReserved = false;
+            pendingRedeliveries.decrementAndGet();
         }
     }
 
@@ -472,6 +577,45 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         return logger;
     }
 
+    public int getMaximumPendingRedeliveries() {
+        return maximumPendingRedeliveries;
+    }
+
+    /**
+     * Sets the maximum number of exchanges which can be redelivered asynchronously at the same time.
+     * <p/>
+     * Only applies when asynchronous delayed redelivery has been enabled. When the maximum has been reached
+     * a synchronously routed exchange is delayed by blocking the current thread instead, which slows down the
+     * consumers, and an asynchronously routed exchange fails with a {@link RejectedExecutionException}.
+     * Is default <tt>1000</tt>, use <tt>0</tt> or a negative value for unbounded.
+     *
+     * @param maximumPendingRedeliveries the maximum
+     */
+    public void setMaximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        this.maximumPendingRedeliveries = maximumPendingRedeliveries;
+    }
+
+    /**
+     * Number of exchanges currently being redelivered asynchronously
+     */
+    public int getPendingRedeliveries() {
+        return pendingRedeliveries.get();
+    }
+
+    /**
+     * Total number of redeliveries which has been scheduled asynchronously
+     */
+    public long getScheduledRedeliveries() {
+        return scheduledRedeliveries.get();
+    }
+
+    /**
+     * Total number of delayed redeliveries where the current thread was blocked while waiting
+     */
+    public long getBlockedRedeliveries() {
+        return blockedRedeliveries.get();
+    }
+
     protected void prepareExchangeForContinue(Exchange exchange, RedeliveryData data) {
         Exception caught = exchange.getException();
 
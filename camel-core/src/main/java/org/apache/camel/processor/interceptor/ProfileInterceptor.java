@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.processor.DelegateAsyncProcessor;
+
+/**
+ * An interceptor which records the time spent in the node for exchanges sampled by the {@link Profiler}.
+ *
+ * @version $Revision$
+ */
+public class ProfileInterceptor extends DelegateAsyncProcessor {
+
+    private final Profiler profiler;
+    private final String id;
+    private final String label;
+    private final String routeId;
+
+    /**
+     * Creates the interceptor.
+     *
+     * @param profiler the profiler
+     * @param id       the node id
+     * @param label    the node label
+     * @param routeId  the id of the route, if this is the first node in the route, otherwise <tt>null</tt>
+     * @param target   the node
+     */
+    public ProfileInterceptor(Profiler profiler, String id, String label, String routeId, Processor target) {
+        super(target);
+        this.profiler = profiler;
+        this.id = id;
+        this.label = label;
+        this.routeId = routeId;
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        ProfileTrace trace = exchange.hasProperties() ? exchange.getProperty(Exchange.PROFILE_TRACE, ProfileTrace.class) : null;
+        if (trace == null && routeId != null && routeId.equals(exchange.getFromRouteId())) {
+            // only decide whether to sample at the start of the route the exchange originated from,
+            // so we do not get partial traces or sample the same exchange twice
+            trace = profiler.startTrace(exchange);
+        }
+        if (trace == null) {
+            // not sampled
+            return super.process(exchange, callback);
+        }
+
+        final ProfileTrace target = trace;
+        final long start = System.nanoTime();
+        return super.process(exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                try {
+                    target.record(id, label, start, System.nanoTime());
+                } finally {
+                    callback.done(doneSync);
+                }
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "ProfileInterceptor[" + id + "]";
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The timings recorded by the {@link Profiler} for a single sampled {@link org.apache.camel.Exchange}.
+ * <p/>
+ * The time of each node includes any time spent waiting for asynchronous callbacks, and if the node
+ * is redelivered by the error handler then the node is invoked once per attempt.
+ * The span of a node is from the first time it was invoked until the last time it completed, which
+ * thus also includes the redelivery delays.
+ * <p/>
+ * All times is in nanos.
+ *
+ * @version $Revision$
+ */
+public final class ProfileTrace {
+
+    private final String exchangeId;
+    private final String routeId;
+    private final Date timestamp;
+    private final long start;
+    private final Map<String, NodeTiming> nodes = new LinkedHashMap<String, NodeTiming>();
+    private volatile long elapsed = -1;
+    private volatile boolean failed;
+
+    public ProfileTrace(String exchangeId, String routeId) {
+        this.exchangeId = exchangeId;
+        this.routeId = routeId;
+        this.timestamp = new Date();
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Records the given node was invoked.
+     *
+     * @param id         the node id
+     * @param label      the node label
+     * @param nodeStart  when the node was invoked
+     * @param nodeEnd    when the node was done
+     */
+    public synchronized void record(String id, String label, long nodeStart, long nodeEnd) {
+        NodeTiming timing = nodes.get(id);
+        if (timing == null) {
+            timing = new NodeTiming(id, label, nodeStart - start);
+            nodes.put(id, timing);
+        }
+        timing.record(nodeStart - start, nodeEnd - start);
+    }
+
+    /**
+     * Marks the trace as done.
+     *
+     * @param failed whether the exchange failed
+     */
+    public void done(boolean failed) {
+        this.failed = failed;
+        this.elapsed = System.nanoTime() - start;
+    }
+
+    public String getExchangeId() {
+        return exchangeId;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * The total time the exchange took, or <tt>-1</tt> if its not done yet
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Gets the timings of the nodes in the order they was first invoked.
+     */
+    public synchronized List<NodeTiming> getNodes() {
+        List<NodeTiming> answer = new ArrayList<NodeTiming>(nodes.size());
+        for (NodeTiming timing : nodes.values()) {
+            answer.add(timing.copy());
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the timings of the nodes with the most time spent first.
+     */
+    public List<NodeTiming> getNodesByTime() {
+        List<NodeTiming> answer = getNodes();
+        Collections.sort(answer, new Comparator<NodeTiming>() {
+            public int compare(NodeTiming o1, NodeTiming o2) {
+                return o1.getTotalTime() < o2.getTotalTime() ? 1 : o1.getTotalTime() > o2.getTotalTime() ? -1 : 0;
+            }
+        });
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ProfileTrace[exchangeId=").append(exchangeId).append(", routeId=").append(routeId)
+            .append(", elapsed=").append(Profiler.formatMillis(elapsed)).append(" ms")
+            .append(failed ? ", failed" : "").append("]");
+        for (NodeTiming timing : getNodesByTime()) {
+            sb.append("\n    ").append(timing);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The timing of a single node in the trace.
+     */
+    public static final class NodeTiming {
+        private final String id;
+        private final String label;
+        private long firstStart;
+        private long lastEnd;
+        private int invocations;
+        private long totalTime;
+        private long maxTime;
+
+        private NodeTiming(String id, String label, long firstStart) {
+            this.id = id;
+            this.label = label;
+            this.firstStart = firstStart;
+        }
+
+        private void record(long nodeStart, long nodeEnd) {
+            long time = nodeEnd - nodeStart;
+            invocations++;
+            totalTime += time;
+            maxTime = Math.max(maxTime, time);
+            firstStart = Math.min(firstStart, nodeStart);
+            lastEnd = Math.max(lastEnd, nodeEnd);
+        }
+
+        private NodeTiming copy() {
+            NodeTiming answer = new NodeTiming(id, label, firstStart);
+            answer.lastEnd = lastEnd;
+            answer.invocations = invocations;
+            answer.totalTime = totalTime;
+            answer.maxTime = maxTime;
+            return answer;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Offset from the start of the trace when the node was first invoked
+         */
+        public long getFirstStart() {
+            return firstStart;
+        }
+
+        /**
+         * The time from the node was first invoked until it was last done
+         */
+        public long getSpan() {
+            return lastEnd - firstStart;
+        }
+
+        public int getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * The sum of the time of each invocation
+         */
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        public long getMaxTime() {
+            return maxTime;
+        }
+
+        @Override
+        public String toString() {
+            return id + " (" + label + "): total=" + Profiler.formatMillis(totalTime) + " ms, span="
+                + Profiler.formatMillis(getSpan()) + " ms, invocations=" + invocations
+                + ", start=+" + Profiler.formatMillis(firstStart) + " ms";
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.impl.SynchronizationAdapter;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.spi.InterceptStrategy;
+
+/**
+ * A sampling profiler which records the time spent in each node for 1 out of every <tt>sampleRate</tt> exchanges.
+ * <p/>
+ * Unlike the {@link Tracer} which logs every exchange at every node, the profiler only adds a counter increment
+ * per exchange and a property lookup per node for the exchanges which is not sampled, so it can be left enabled
+ * in production to find the nodes causing high tail latencies.
+ * <p/>
+ * The sampling decision is made when an exchange enters the first node of the route it originated from, and the
+ * exchange is then profiled through all the nodes it visits, including nodes in other routes and sub exchanges
+ * created by the splitter or multicast. The traces of completed exchanges is kept in a ring buffer of <tt>bufferSize</tt>
+ * traces, so only the most recent traces is kept.
+ * <p/>
+ * Enable it by adding it as an intercept strategy on the {@link CamelContext}.
+ *
+ * @version $Revision$
+ * @see ProfileTrace
+ */
+public class Profiler extends ServiceSupport implements InterceptStrategy {
+
+    private volatile boolean enabled = true;
+    private volatile int sampleRate = 100;
+    private int bufferSize = 1000;
+    private final AtomicLong exchangeCounter = new AtomicLong();
+    private final AtomicLong sampledCounter = new AtomicLong();
+    private final AtomicLong completedCounter = new AtomicLong();
+    private volatile AtomicReferenceArray<ProfileTrace> traces;
+
+    /**
+     * A helper method to return the Profiler instance for a given {@link org.apache.camel.CamelContext} if one is enabled
+     *
+     * @param context the camel context the profiler is connected to
+     * @return the profiler or null if none can be found
+     */
+    public static Profiler getProfiler(CamelContext context) {
+        List<InterceptStrategy> list = context.getInterceptStrategies();
+        for (InterceptStrategy interceptStrategy : list) {
+            if (interceptStrategy instanceof Profiler) {
+                return (Profiler) interceptStrategy;
+            }
+        }
+        return null;
+    }
+
+    public Processor wrapProcessorInInterceptors(CamelContext context, ProcessorDefinition<?> definition,
+                                                 Processor target, Processor nextTarget) throws Exception {
+        String id = definition.idOrCreate(context.getNodeIdFactory());
+        String routeId = null;
+        if (isRouteStart(definition)) {
+            routeId = definition.getParent().idOrCreate(context.getNodeIdFactory());
+        }
+        return new ProfileInterceptor(this, id, definition.getLabel(), routeId, target);
+    }
+
+    /**
+     * Decides whether the exchange should be sampled, and if so starts the trace.
+     *
+     * @param exchange the exchange
+     * @return the started trace, or <tt>null</tt> if the exchange should not be sampled
+     */
+    public ProfileTrace startTrace(Exchange exchange) {
+        if (!enabled || exchangeCounter.getAndIncrement() % sampleRate != 0) {
+            return null;
+        }
+
+        final ProfileTrace trace = new ProfileTrace(exchange.getExchangeId(), exchange.getFromRouteId());
+        exchange.setProperty(Exchange.PROFILE_TRACE, trace);
+        exchange.addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange exchange) {
+                completeTrace(trace, exchange.isFailed());
+            }
+        });
+        sampledCounter.incrementAndGet();
+        return trace;
+    }
+
+    protected void completeTrace(ProfileTrace trace, boolean failed) {
+        trace.done(failed);
+        AtomicReferenceArray<ProfileTrace> buffer = traces;
+        if (buffer != null) {
+            long index = completedCounter.getAndIncrement();
+            buffer.set((int) (index % buffer.length()), trace);
+        }
+    }
+
+    /**
+     * Gets the completed traces currently in the buffer.
+     */
+    public List<ProfileTrace> getTraces() {
+        List<ProfileTrace> answer = new ArrayList<ProfileTrace>();
+        AtomicReferenceArray<ProfileTrace> buffer = traces;
+        if (buffer != null) {
+            for (int i = 0; i < buffer.length(); i++) {
+                ProfileTrace trace = buffer.get(i);
+                if (trace != null) {
+                    answer.add(trace);
+                }
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the slowest traces currently in the buffer, slowest first.
+     *
+     * @param max the maximum number of traces to return
+     */
+    public List<ProfileTrace> getSlowestTraces(int max) {
+        List<ProfileTrace> answer = getTraces();
+        Collections.sort(answer, new Comparator<ProfileTrace>() {
+            public int compare(ProfileTrace o1, ProfileTrace o2) {
+                return o1.getElapsed() < o2.getElapsed() ? 1 : o1.getElapsed() > o2.getElapsed() ? -1 : 0;
+            }
+        });
+        return answer.size() > max ? new ArrayList<ProfileTrace>(answer.subList(0, max)) : answer;
+    }
+
+    /**
+     * Gets the statistics per node over the traces currently in the buffer, with the most time spent first.
+     */
+    public List<NodeStatistics> getNodeStatistics() {
+        Map<String, NodeStatistics> map = new LinkedHashMap<String, NodeStatistics>();
+        for (ProfileTrace trace : getTraces()) {
+            for (ProfileTrace.NodeTiming timing : trace.getNodes()) {
+                NodeStatistics stat = map.get(timing.getId());
+                if (stat == null) {
+                    stat = new NodeStatistics(timing.getId(), timing.getLabel());
+                    map.put(timing.getId(), stat);
+                }
+                stat.add(timing);
+            }
+        }
+
+        List<NodeStatistics> answer = new ArrayList<NodeStatistics>(map.values());
+        Collections.sort(answer, new Comparator<NodeStatistics>() {
+            public int compare(NodeStatistics o1, NodeStatistics o2) {
+                return o1.getTotalTime() < o2.getTotalTime() ? 1 : o1.getTotalTime() > o2.getTotalTime() ? -1 : 0;
+            }
+        });
+        return answer;
+    }
+
+    /**
+     * Dumps the slowest traces currently in the buffer as human readable text.
+     *
+     * @param max the maximum number of traces to dump
+     */
+    public String dumpSlowestTraces(int max) {
+        StringBuilder sb = new StringBuilder();
+        for (ProfileTrace trace : getSlowestTraces(max)) {
+            sb.append(trace).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Dumps the statistics per node as human readable text.
+     */
+    public String dumpNodeStatistics() {
+        StringBuilder sb = new StringBuilder();
+        for (NodeStatistics stat : getNodeStatistics()) {
+            sb.append(stat).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Clears the buffer and resets the counters.
+     */
+    public void reset() {
+        exchangeCounter.set(0);
+        sampledCounter.set(0);
+        completedCounter.set(0);
+        if (traces != null) {
+            traces = new AtomicReferenceArray<ProfileTrace>(bufferSize);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Sets how many exchanges there should be per sampled exchange. Use <tt>1</tt> to sample every exchange.
+     * <p/>
+     * Is default <tt>100</tt>.
+     */
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("SampleRate must be >= 1, was " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Sets the maximum number of completed traces to keep.
+     * <p/>
+     * Is default <tt>1000</tt>.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Number of exchanges which has been sampled
+     */
+    public long getSampledCount() {
+        return sampledCounter.get();
+    }
+
+    /**
+     * Number of exchanges which has been considered for sampling while profiling was enabled
+     */
+    public long getExchangeCount() {
+        return exchangeCounter.get();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("BufferSize must be >= 1, was " + bufferSize);
+        }
+        if (traces == null || traces.length() != bufferSize) {
+            traces = new AtomicReferenceArray<ProfileTrace>(bufferSize);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // keep the traces so they can be inspected after stop
+    }
+
+    @Override
+    public String toString() {
+        return "Profiler[sampleRate=" + sampleRate + "]";
+    }
+
+    static String formatMillis(long nanos) {
+        return String.format(Locale.ENGLISH, "%.3f", nanos / 1000000d);
+    }
+
+    private static boolean isRouteStart(ProcessorDefinition<?> definition) {
+        ProcessorDefinition<?> parent = definition.getParent();
+        if (!(parent instanceof RouteDefinition)) {
+            return false;
+        }
+        // skip onException and other abstract definitions which is not processing the exchange
+        for (ProcessorDefinition<?> output : parent.getOutputs()) {
+            if (!output.isAbstract()) {
+                return output == definition;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Statistics for a single node across all the traces in the buffer.
+     */
+    public static final class NodeStatistics {
+        private final String id;
+        private final String label;
+        private int traces;
+        private long invocations;
+        private long totalTime;
+        private long maxTime;
+
+        private NodeStatistics(String id, String label) {
+            this.id = id;
+            this.label = label;
+        }
+
+        private void add(ProfileTrace.NodeTiming timing) {
+            traces++;
+            invocations += timing.getInvocations();
+            totalTime += timing.getTotalTime();
+            maxTime = Math.max(maxTime, timing.getTotalTime());
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Number of traces the node is part of
+         */
+        public int getTraces() {
+            return traces;
+        }
+
+        public long getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * Total time in nanos spent in the node over all the traces
+         */
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        /**
+         * Mean time in nanos spent in the node per trace
+         */
+        public long getMeanTime() {
+            return traces > 0 ? totalTime / traces : 0;
+        }
+
+        /**
+         * Max time in nanos spent in the node in a single trace
+         */
+        public long getMaxTime() {
+            return maxTime;
+        }
+
+        @Override
+        public String toString() {
+            return id + " (" + label + "): traces=" + traces + ", invocations=" + invocations
+                + ", mean=" + formatMillis(getMeanTime()) + " ms, max=" + formatMillis(maxTime)
+                + " ms, total=" + formatMillis(totalTime) + " ms";
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.Navigate;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.processor.Traceable;
+import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * A {@link LoadBalancer} which guards each processor of another load balancer with a {@link CircuitBreakerProcessor},
+ * so exchanges fails fast instead of being sent to a failing processor.
+ * <p/>
+ * Combine it with the {@link FailOverLoadBalancer} to fail over immediately to the next processor when a circuit is open.
+ * The {@link FailOverLoadBalancer} always fails over on a {@link CircuitBreakerOpenException}, also when it is
+ * configured to only fail over for specific exceptions, as the processor was never called.
+ *
+ * @version $Revision$
+ */
+public class CircuitBreakerLoadBalancer extends ServiceSupport implements LoadBalancer, Navigate<Processor>, Traceable {
+
+    private final LoadBalancer delegate;
+    private final List<CircuitBreakerProcessor> circuitBreakers = new CopyOnWriteArrayList<CircuitBreakerProcessor>();
+    private double failureRatio = 0.5;
+    private int windowSize = 10;
+    private long slowCallThreshold;
+    private long openDuration = 30000;
+    private long probeTimeout = 30000;
+
+    public CircuitBreakerLoadBalancer(LoadBalancer delegate) {
+        ObjectHelper.notNull(delegate, "delegate");
+        this.delegate = delegate;
+    }
+
+    public LoadBalancer getDelegate() {
+        return delegate;
+    }
+
+    public void addProcessor(Processor processor) {
+        CircuitBreakerProcessor circuitBreaker = new CircuitBreakerProcessor(this, processor);
+        circuitBreakers.add(circuitBreaker);
+        delegate.addProcessor(circuitBreaker);
+    }
+
+    public void removeProcessor(Processor processor) {
+        for (CircuitBreakerProcessor circuitBreaker : circuitBreakers) {
+            if (circuitBreaker.getTarget() == processor) {
+                circuitBreakers.remove(circuitBreaker);
+                delegate.removeProcessor(circuitBreaker);
+            }
+        }
+    }
+
+    public List<Processor> getProcessors() {
+        List<Processor> answer = new ArrayList<Processor>(circuitBreakers.size());
+        for (CircuitBreakerProcessor circuitBreaker : circuitBreakers) {
+            answer.add(circuitBreaker.getTarget());
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the circuit breakers, one per processor
+     */
+    public List<CircuitBreakerProcessor> getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * Resets all the circuits to be closed
+     */
+    public void reset() {
+        for (CircuitBreakerProcessor circuitBreaker : circuitBreakers) {
+            circuitBreaker.reset();
+        }
+    }
+
+    public void process(Exchange exchange) throws Exception {
+        AsyncProcessorHelper.process(this, exchange);
+    }
+
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        return delegate.process(exchange, callback);
+    }
+
+    public List<Processor> next() {
+        if (!hasNext()) {
+            return null;
+        }
+        return new ArrayList<Processor>(circuitBreakers);
+    }
+
+    public boolean hasNext() {
+        return circuitBreakers.size() > 0;
+    }
+
+    public double getFailureRatio() {
+        return failureRatio;
+    }
+
+    /**
+     * Sets the ratio of failed or slow calls in a window which opens the circuit.
+     * <p/>
+     * Is default <tt>0.5</tt>.
+     */
+    public void setFailureRatio(double failureRatio) {
+        this.failureRatio = failureRatio;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Sets the number of calls in the window the failure ratio is computed from.
+     * <p/>
+     * Is default <tt>10</tt>.
+     */
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public long getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    /**
+     * Sets a time in millis where calls which takes longer are regarded as failed.
+     * <p/>
+     * Is default <tt>0</tt> which means disabled.
+     */
+    public void setSlowCallThreshold(long slowCallThreshold) {
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Sets the time in millis a circuit stays open before a probe is let through.
+     * <p/>
+     * Is default <tt>30000</tt>.
+     */
+    public void setOpenDuration(long openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    public long getProbeTimeout() {
+        return probeTimeout;
+    }
+
+    /**
+     * Sets the time in millis a probe may take to complete when the circuit is half open. A probe which
+     * does not complete in time is regarded as failed and the circuit opens again.
+     * <p/>
+     * Is default <tt>30000</tt>. Use <tt>0</tt> to wait for the probe forever.
+     */
+    public void setProbeTimeout(long probeTimeout) {
+        this.probeTimeout = probeTimeout;
+    }
+
+    protected void doStart() throws Exception {
+        if (failureRatio <= 0 || failureRatio > 1) {
+            throw new IllegalArgumentException("FailureRatio must be between 0 and 1, was: " + failureRatio);
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("WindowSize must be a positive number, was: " + windowSize);
+        }
+        ServiceHelper.startService(delegate);
+    }
+
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(delegate);
+        // keep in sync with the delegate as it may remove its processors when stopping
+        List<Processor> processors = delegate.getProcessors();
+        for (CircuitBreakerProcessor circuitBreaker : circuitBreakers) {
+            if (!processors.contains(circuitBreaker)) {
+                circuitBreakers.remove(circuitBreaker);
+            }
+        }
+    }
+
+    public String toString() {
+        return "CircuitBreakerLoadBalancer[" + delegate + "]";
+    }
+
+    public String getTraceLabel() {
+        return "circuitBreaker";
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * The circuit of a {@link CircuitBreakerProcessor} is not closed, so the Exchange failed fast
+ * without being sent to the processor.
+ *
+ * @version $Revision$
+ */
+public class CircuitBreakerOpenException extends CamelExchangeException {
+    private final transient Processor processor;
+
+    public CircuitBreakerOpenException(CircuitBreakerProcessor.State state, Processor processor, Exchange exchange) {
+        super("Circuit breaker is " + state + " for processor: " + processor, exchange);
+        this.processor = processor;
+    }
+
+    /**
+     * Gets the processor the Exchange was not sent to
+     */
+    public Processor getProcessor() {
+        return processor;
+    }
+}
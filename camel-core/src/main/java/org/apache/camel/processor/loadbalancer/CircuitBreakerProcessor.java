@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.processor.DelegateAsyncProcessor;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A circuit breaker in front of a single processor of a {@link CircuitBreakerLoadBalancer}.
+ * <p/>
+ * The circuit is <tt>Closed</tt> while the processor is healthy. When the ratio of failed or slow calls
+ * in a window of calls reaches the failure ratio of the load balancer, the circuit is <tt>Open</tt> and
+ * exchanges fails fast with a {@link CircuitBreakerOpenException} without calling the processor.
+ * After the open duration the circuit is <tt>HalfOpen</tt> and a single exchange is let through as a probe,
+ * which either closes the circuit again or opens it for another period. If the probe does not complete within
+ * the probe timeout of the load balancer, it is regarded as failed and the circuit opens again, so a hanging
+ * probe cannot keep the circuit half open forever.
+ *
+ * @version $Revision$
+ */
+public class CircuitBreakerProcessor extends DelegateAsyncProcessor {
+
+    /**
+     * The states of a circuit
+     */
+    public enum State {
+        Closed, HalfOpen, Open
+    }
+
+    private static final transient Log LOG = LogFactory.getLog(CircuitBreakerProcessor.class);
+    private final CircuitBreakerLoadBalancer loadBalancer;
+    private final Processor target;
+    private volatile State state = State.Closed;
+    private boolean probing;
+    private long probeStartedAt;
+    private long probeId;
+    private long openedAt;
+    private int calls;
+    private int failures;
+    private long rejected;
+
+    public CircuitBreakerProcessor(CircuitBreakerLoadBalancer loadBalancer, Processor processor) {
+        super(processor);
+        this.loadBalancer = loadBalancer;
+        this.target = processor;
+    }
+
+    /**
+     * Gets the processor this circuit breaker protects
+     */
+    public Processor getTarget() {
+        return target;
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        final long probe = state == State.Closed ? 0 : tryProbe();
+        if (probe < 0) {
+            // fail fast as the circuit is open
+            exchange.setException(new CircuitBreakerOpenException(state, target, exchange));
+            callback.done(true);
+            return true;
+        }
+
+        final long start = System.currentTimeMillis();
+        return processNext(exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                onDone(exchange, System.currentTimeMillis() - start, probe);
+                callback.done(doneSync);
+            }
+        });
+    }
+
+    /**
+     * Whether the exchange can be let through as a probe, when the circuit is not closed.
+     *
+     * @return the id of the probe, <tt>0</tt> if the circuit was closed in the mean time,
+     *         or <tt>-1</tt> if the exchange must be rejected
+     */
+    private synchronized long tryProbe() {
+        if (state == State.Closed) {
+            // closed in the mean time
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        long probeTimeout = loadBalancer.getProbeTimeout();
+        if (state == State.HalfOpen && probing && probeTimeout > 0 && now - probeStartedAt >= probeTimeout) {
+            // the probe is hanging so regard it as failed, its late completion is ignored
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Probe did not complete within " + probeTimeout + " millis for processor: " + target);
+            }
+            probing = false;
+            open();
+        }
+        if (state == State.Open && now - openedAt >= loadBalancer.getOpenDuration()) {
+            state = State.HalfOpen;
+        }
+        if (state == State.HalfOpen && !probing) {
+            probing = true;
+            probeStartedAt = now;
+            return ++probeId;
+        }
+        rejected++;
+        return -1;
+    }
+
+    private synchronized void onDone(Exchange exchange, long timeTaken, long probe) {
+        long slowCallThreshold = loadBalancer.getSlowCallThreshold();
+        boolean failed = exchange.getException() != null || (slowCallThreshold > 0 && timeTaken > slowCallThreshold);
+
+        if (probe > 0) {
+            // ignore a probe which timed out or completes after the circuit was reset
+            if (probe == probeId && probing && state == State.HalfOpen) {
+                probing = false;
+                if (failed) {
+                    open();
+                } else {
+                    close();
+                }
+            }
+            return;
+        }
+
+        if (state != State.Closed) {
+            // a call which was started before the circuit was opened
+            return;
+        }
+
+        calls++;
+        if (failed) {
+            failures++;
+        }
+        int windowSize = loadBalancer.getWindowSize();
+        if (failures >= loadBalancer.getFailureRatio() * windowSize) {
+            open();
+        } else if (calls >= windowSize) {
+            // start a new window
+            calls = 0;
+            failures = 0;
+        }
+    }
+
+    private void open() {
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Opening circuit after " + failures + " failures in " + calls + " calls for processor: " + target);
+        }
+        state = State.Open;
+        openedAt = System.currentTimeMillis();
+        calls = 0;
+        failures = 0;
+    }
+
+    private void close() {
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Closing circuit for processor: " + target);
+        }
+        state = State.Closed;
+        calls = 0;
+        failures = 0;
+    }
+
+    /**
+     * Resets the circuit to be closed
+     */
+    public synchronized void reset() {
+        state = State.Closed;
+        probing = false;
+        calls = 0;
+        failures = 0;
+        rejected = 0;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Number of calls in the current window
+     */
+    public synchronized int getCalls() {
+        return calls;
+    }
+
+    /**
+     * Number of failed or slow calls in the current window
+     */
+    public synchronized int getFailures() {
+        return failures;
+    }
+
+    /**
+     * Total number of exchanges which failed fast because the circuit was not closed
+     */
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker[" + target + "]";
+    }
+}
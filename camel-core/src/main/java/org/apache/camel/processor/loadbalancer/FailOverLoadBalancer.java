@@ -92,6 +92,9 @@ public class FailOverLoadBalancer extends LoadBalancerSupport implements Traceab
             if (exceptions == null || exceptions.isEmpty()) {
                 // always failover if no exceptions defined
                 answer = true;
+            } else if (exchange.getException(CircuitBreakerOpenException.class) != null) {
+                // the processor was not called as its circuit is open, so its always safe to failover
+                answer = true;
             } else {
                 for (Class<?> exception : exceptions) {
                     // will look in exception hierarchy
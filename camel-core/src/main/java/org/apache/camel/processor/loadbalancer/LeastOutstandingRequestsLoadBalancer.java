@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.converter.AsyncProcessorTypeConverter;
+import org.apache.camel.util.AsyncProcessorHelper;
+
+/**
+ * Implements the least outstanding requests load balancing policy, which chooses the processor
+ * currently processing the fewest exchanges. Ties are broken in a round robin fashion.
+ * <p/>
+ * This load balancer is well suited when the processors have different or varying response times,
+ * as slow processors will receive fewer exchanges.
+ *
+ * @version $Revision$
+ */
+public class LeastOutstandingRequestsLoadBalancer extends LoadBalancerSupport {
+
+    private final Map<Processor, AtomicInteger> outstanding = new ConcurrentHashMap<Processor, AtomicInteger>();
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public void addProcessor(Processor processor) {
+        outstanding.put(processor, new AtomicInteger());
+        super.addProcessor(processor);
+    }
+
+    @Override
+    public void removeProcessor(Processor processor) {
+        super.removeProcessor(processor);
+        outstanding.remove(processor);
+    }
+
+    /**
+     * Gets the number of exchanges currently being processed by the given processor
+     */
+    public int getOutstandingRequests(Processor processor) {
+        AtomicInteger count = outstanding.get(processor);
+        return count != null ? count.get() : 0;
+    }
+
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        List<Processor> list = getProcessors();
+        if (list.isEmpty()) {
+            // no processors but indicate we are done
+            callback.done(true);
+            return true;
+        }
+
+        Processor processor = chooseProcessor(list);
+        final AtomicInteger count = getCount(processor);
+        count.incrementAndGet();
+
+        AsyncProcessor albp = AsyncProcessorTypeConverter.convert(processor);
+        boolean sync = AsyncProcessorHelper.process(albp, exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                count.decrementAndGet();
+
+                // only handle the async case
+                if (doneSync) {
+                    return;
+                }
+
+                callback.done(false);
+            }
+        });
+
+        if (!sync) {
+            // will continue routing asynchronously
+            return false;
+        }
+
+        callback.done(true);
+        return true;
+    }
+
+    protected Processor chooseProcessor(List<Processor> processors) {
+        int size = processors.size();
+        // start from a rotating offset so ties are spread evenly
+        int start = (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+
+        Processor answer = null;
+        int least = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Processor processor = processors.get((start + i) % size);
+            int count = getOutstandingRequests(processor);
+            if (count < least) {
+                least = count;
+                answer = processor;
+            }
+        }
+        return answer;
+    }
+
+    private AtomicInteger getCount(Processor processor) {
+        AtomicInteger count = outstanding.get(processor);
+        if (count == null) {
+            // the processor was removed concurrently so use a detached counter
+            count = new AtomicInteger();
+        }
+        return count;
+    }
+
+    public String toString() {
+        return "LeastOutstandingRequestsLoadBalancer";
+    }
+}
@@ -42,8 +42,18 @@ public abstract class WeightedLoadBalancer extends QueueLoadBalancer {
             throw new IllegalArgumentException("Loadbalacing with " + getProcessors().size()
                 + " should match number of distributions " + getDistributionRatioList().size());
         }
+        for (Integer weight : getDistributionRatioList()) {
+            if (weight == null || weight < 0) {
+                throw new IllegalArgumentException("Distribution weight must not be negative, was " + weight);
+            }
+        }
     }
 
+    /**
+     * @deprecated the runtime ratios are no longer used by the weighted load balancers,
+     * will be removed in a future release.
+     */
+    @Deprecated
     protected void loadRuntimeRatios(List<Integer> distributionRatios) {
         int position = 0;
         
@@ -52,6 +62,11 @@ public abstract class WeightedLoadBalancer extends QueueLoadBalancer {
         }
     }
     
+    /**
+     * @deprecated the runtime ratios are no longer used by the weighted load balancers,
+     * will be removed in a future release.
+     */
+    @Deprecated
     protected boolean isRuntimeRatiosZeroed() {
         boolean cleared = true;
         
@@ -63,6 +78,11 @@ public abstract class WeightedLoadBalancer extends QueueLoadBalancer {
         return cleared; 
     }
     
+    /**
+     * @deprecated the runtime ratios are no longer used by the weighted load balancers,
+     * will be removed in a future release.
+     */
+    @Deprecated
     protected void resetRuntimeRatios() {
         for (DistributionRatio runtimeRatio : runtimeRatios) {
             runtimeRatio.setRuntimeWeight(runtimeRatio.getDistributionWeight());
@@ -77,12 +97,22 @@ public abstract class WeightedLoadBalancer extends QueueLoadBalancer {
         this.distributionRatioList = distributionRatioList;
     }
 
+    /**
+     * @deprecated the runtime ratios are no longer used by the weighted load balancers,
+     * will be removed in a future release.
+     */
+    @Deprecated
     public ArrayList<DistributionRatio> getRuntimeRatios() {
         return runtimeRatios;
     }
 
+    /**
+     * @deprecated the runtime ratios are no longer used by the weighted load balancers,
+     * will be removed in a future release.
+     */
+    @Deprecated
     public void setRuntimeRatios(ArrayList<DistributionRatio> runtimeRatios) {
         this.runtimeRatios = runtimeRatios;
-    }    
-    
+    }
+
 }
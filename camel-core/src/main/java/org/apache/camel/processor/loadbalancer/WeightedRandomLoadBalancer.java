@@ -18,12 +18,27 @@ package org.apache.camel.processor.loadbalancer;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 
+/**
+ * Weighted random load balancer which sends exactly as many messages to each processor
+ * per round as its weight, in a random order.
+ * <p/>
+ * Each round is a shuffled list of processor positions which is consumed using an atomic
+ * counter. When a round is used up the first thread to claim it creates a new shuffled round
+ * which replaces it, so threads can choose processors concurrently without locking.
+ *
+ * @version $Revision$
+ */
 public class WeightedRandomLoadBalancer extends WeightedLoadBalancer {
-    private int randomCounter;
+    // Random is thread safe so it can be shared among the threads creating rounds
+    private final Random random = new Random();
+    private final AtomicReference<Round> round = new AtomicReference<Round>();
     
     public WeightedRandomLoadBalancer(List<Integer> distributionRatioList) {
         super(distributionRatioList);
@@ -31,26 +46,84 @@ public class WeightedRandomLoadBalancer extends WeightedLoadBalancer {
     
     @Override
     protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
-        boolean found = false;
-        while (!found) {
-            if (getRuntimeRatios().isEmpty())  {
-                loadRuntimeRatios(getDistributionRatioList());
+        while (true) {
+            Round current = round.get();
+            if (current == null) {
+                // not started
+                round.compareAndSet(null, createRound());
+                continue;
             }
-            
-            randomCounter = 0;
-            if (getRuntimeRatios().size() > 0) {
-                randomCounter = new Random().nextInt(getRuntimeRatios().size());
-            } 
-                
-            if (getRuntimeRatios().get(randomCounter).getRuntimeWeight() > 0) {
-                getRuntimeRatios().get(randomCounter).setRuntimeWeight((getRuntimeRatios().get(randomCounter).getRuntimeWeight()) - 1);
-                found = true;
+
+            int index = current.next.getAndIncrement();
+            if (index < current.positions.length) {
+                return processors.get(current.positions[index]);
+            }
+
+            // the round is used up, only the thread which claims it creates the next round
+            if (current.claimed.compareAndSet(false, true)) {
+                try {
+                    round.set(createRound());
+                } catch (RuntimeException e) {
+                    // let another thread try again
+                    current.claimed.set(false);
+                    throw e;
+                }
             } else {
-                getRuntimeRatios().remove(randomCounter);
+                // another thread is creating the next round
+                Thread.yield();
             }
         }
+    }
 
-        return processors.get(getRuntimeRatios().get(randomCounter).getProcessorPosition());
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        round.set(createRound());
+    }
+
+    /**
+     * Creates a new round with each processor position occurring as many times as its weight,
+     * shuffled in random order.
+     */
+    protected Round createRound() {
+        List<Integer> weights = getDistributionRatioList();
+        int total = 0;
+        for (Integer weight : weights) {
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one distribution weight must be positive: " + weights);
+        }
+
+        int[] positions = new int[total];
+        int index = 0;
+        for (int position = 0; position < weights.size(); position++) {
+            for (int i = 0; i < weights.get(position); i++) {
+                positions[index++] = position;
+            }
+        }
+
+        // Fisher-Yates shuffle
+        for (int i = positions.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = positions[i];
+            positions[i] = positions[j];
+            positions[j] = tmp;
+        }
+        return new Round(positions);
+    }
+
+    /**
+     * A round of processor positions to be consumed by the threads choosing processors.
+     */
+    protected static final class Round {
+        private final int[] positions;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Round(int[] positions) {
+            this.positions = positions;
+        }
     }
     
 }
@@ -17,12 +17,25 @@
 package org.apache.camel.processor.loadbalancer;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 
+/**
+ * Weighted round robin load balancer which uses a smooth weighted round robin schedule,
+ * so the processors are interleaved according to their weights instead of sending a burst
+ * of messages to the heaviest processor first.
+ * <p/>
+ * The schedule is computed once when starting, and choosing a processor is then only
+ * an atomic increment of a counter, which allows many threads to use the load balancer
+ * concurrently without locking.
+ *
+ * @version $Revision$
+ */
 public class WeightedRoundRobinLoadBalancer extends WeightedLoadBalancer {
-    private int counter;
+    private final AtomicInteger counter = new AtomicInteger();
+    private volatile int[] schedule;
     
     public WeightedRoundRobinLoadBalancer(List<Integer> distributionRatios) {
         super(distributionRatios);
@@ -30,26 +43,74 @@ public class WeightedRoundRobinLoadBalancer extends WeightedLoadBalancer {
     
     @Override
     protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
-        if (isRuntimeRatiosZeroed())  {
-            resetRuntimeRatios();
-            counter = 0;
+        int[] positions = schedule;
+        if (positions == null) {
+            positions = createSchedule(getDistributionRatioList());
+            schedule = positions;
         }
-        
-        boolean found = false;
-        while (!found) {
-            if (counter >= getRuntimeRatios().size()) {
-                counter = 0;
-            }
-            
-            if (getRuntimeRatios().get(counter).getRuntimeWeight() > 0) {
-                getRuntimeRatios().get(counter).setRuntimeWeight((getRuntimeRatios().get(counter).getRuntimeWeight()) - 1);
-                found = true;
-            } else {
-                counter++;
+        // mask the sign bit so the counter keeps rotating when it overflows
+        int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % positions.length;
+        return processors.get(positions[index]);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        schedule = createSchedule(getDistributionRatioList());
+        counter.set(0);
+    }
+
+    /**
+     * Creates the smooth weighted round robin schedule for the given weights.
+     * <p/>
+     * For each pick every position gains its weight, the position with the highest current weight
+     * is chosen and its current weight is reduced by the total weight. The weights are divided by
+     * their greatest common divisor first to keep the schedule as short as possible.
+     *
+     * @param weights the weights of the processors
+     * @return the processor positions, one round of the schedule
+     */
+    protected static int[] createSchedule(List<Integer> weights) {
+        int size = weights.size();
+        int gcd = 0;
+        int total = 0;
+        for (Integer weight : weights) {
+            gcd = gcd(gcd, weight);
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one distribution weight must be positive: " + weights);
+        }
+
+        int[] reduced = new int[size];
+        for (int i = 0; i < size; i++) {
+            reduced[i] = weights.get(i) / gcd;
+        }
+        total = total / gcd;
+
+        int[] current = new int[size];
+        int[] answer = new int[total];
+        for (int pick = 0; pick < total; pick++) {
+            int best = -1;
+            for (int i = 0; i < size; i++) {
+                current[i] += reduced[i];
+                if (reduced[i] > 0 && (best == -1 || current[i] > current[best])) {
+                    best = i;
+                }
             }
+            current[best] -= total;
+            answer[pick] = best;
         }
-       
-        return processors.get(counter++);
+        return answer;
     }
-    
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
 }
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.camel.impl.DefaultExchangeHolder;
+
+/**
+ * A pluggable codec to write and read a {@link DefaultExchangeHolder} to and from a stream of bytes.
+ * <p/>
+ * Used by components which need to persist or transfer an exchange, such as the persistent
+ * {@link AggregationRepository} implementations.
+ *
+ * @version $Revision$
+ */
+public interface ExchangeCodec {
+
+    /**
+     * Encodes the holder to the given stream.
+     *
+     * @param holder the holder to encode
+     * @param out    the stream to write to, the stream is <b>not</b> closed
+     * @throws IOException is thrown if error writing to the stream
+     */
+    void encode(DefaultExchangeHolder holder, OutputStream out) throws IOException;
+
+    /**
+     * Decodes a holder from the given stream.
+     *
+     * @param in the stream to read from, the stream is <b>not</b> closed
+     * @return the decoded holder
+     * @throws IOException is thrown if error reading from the stream or the data is not valid
+     * @throws ClassNotFoundException is thrown if a class in the data could not be loaded
+     */
+    DefaultExchangeHolder decode(InputStream in) throws IOException, ClassNotFoundException;
+}
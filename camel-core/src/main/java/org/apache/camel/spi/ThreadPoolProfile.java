@@ -20,6 +20,7 @@ import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 
 /**
  * A profile which defines thread pool settings.
@@ -144,4 +145,18 @@ public interface ThreadPoolProfile {
      */
     void setRejectedPolicy(ThreadPoolRejectedPolicy rejectedPolicy);
 
+    /**
+     * Gets the kind of thread pool to create.
+     *
+     * @return the kind of thread pool, or <tt>null</tt> if none defined
+     */
+    ThreadPoolType getPoolType();
+
+    /**
+     * Sets the kind of thread pool to create.
+     *
+     * @param poolType the kind of thread pool
+     */
+    void setPoolType(ThreadPoolType poolType);
+
 }
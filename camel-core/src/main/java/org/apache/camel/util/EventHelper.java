@@ -32,6 +32,9 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * Helper for easily sending event notifications in a single line of code
+ * <p/>
+ * The event is only created if at least one of the {@link EventNotifier}s is interested in the kind of event,
+ * as declared by its <tt>ignoreXXX</tt> options, and the created event is shared among all those notifiers.
  *
  * @version $Revision$
  */
@@ -42,24 +45,49 @@ public final class EventHelper {
     private EventHelper() {
     }
 
+    /**
+     * Whether any of the event notifiers is interested in {@link org.apache.camel.management.event.ExchangeSentEvent}s.
+     * <p/>
+     * Allows callers to avoid the overhead of timing the exchange when nobody listens.
+     *
+     * @param context the camel context
+     * @return <tt>true</tt> if at least one notifier accepts exchange sent events
+     */
+    public static boolean isExchangeSentEventEnabled(CamelContext context) {
+        List<EventNotifier> notifiers = context.getManagementStrategy().getEventNotifiers();
+        if (notifiers == null || notifiers.isEmpty()) {
+            return false;
+        }
+
+        for (EventNotifier notifier : notifiers) {
+            if (!notifier.isIgnoreExchangeEvents() && !notifier.isIgnoreExchangeSentEvents()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static void notifyCamelContextStarting(CamelContext context) {
         List<EventNotifier> notifiers = context.getManagementStrategy().getEventNotifiers();
         if (notifiers == null || notifiers.isEmpty()) {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStartingEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStartingEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -71,18 +99,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStartedEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStartedEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -94,18 +125,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStartupFailureEvent(context, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStartupFailureEvent(context, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -117,18 +151,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
-                return;
+                continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStoppingEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStoppingEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -140,18 +177,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStoppedEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStoppedEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -163,18 +203,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStopFailureEvent(context, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStopFailureEvent(context, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -186,18 +229,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreServiceEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createServiceStopFailureEvent(context, service, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createServiceStopFailureEvent(context, service, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -209,18 +255,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreServiceEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createServiceStartupFailureEvent(context, service, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createServiceStartupFailureEvent(context, service, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -232,18 +281,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreRouteEvents()) {
-                return;
+                continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createRouteStartedEvent(route);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createRouteStartedEvent(route);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -255,102 +307,111 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreRouteEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createRouteStoppedEvent(route);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createRouteStoppedEvent(route);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
     }
 
     public static void notifyExchangeCreated(CamelContext context, Exchange exchange) {
-        if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
-            // do not generate events for an notify event
-            return;
-        }
-
         List<EventNotifier> notifiers = context.getManagementStrategy().getEventNotifiers();
         if (notifiers == null || notifiers.isEmpty()) {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeCreatedEvent()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeCreatedEvent(exchange);
             if (event == null) {
-                return;
+                if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
+                    // do not generate events for an notify event
+                    return;
+                }
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeCreatedEvent(exchange);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
     }
 
     public static void notifyExchangeDone(CamelContext context, Exchange exchange) {
-        if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
-            // do not generate events for an notify event
-            return;
-        }
-
         List<EventNotifier> notifiers = context.getManagementStrategy().getEventNotifiers();
         if (notifiers == null || notifiers.isEmpty()) {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeCompletedEvent()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeCompletedEvent(exchange);
             if (event == null) {
-                return;
+                if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
+                    // do not generate events for an notify event
+                    return;
+                }
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeCompletedEvent(exchange);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
     }
 
     public static void notifyExchangeFailed(CamelContext context, Exchange exchange) {
-        if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
-            // do not generate events for an notify event
-            return;
-        }
-
         List<EventNotifier> notifiers = context.getManagementStrategy().getEventNotifiers();
         if (notifiers == null || notifiers.isEmpty()) {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeFailedEvent(exchange);
             if (event == null) {
-                return;
+                if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
+                    // do not generate events for an notify event
+                    return;
+                }
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeFailedEvent(exchange);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -358,84 +419,90 @@ public final class EventHelper {
 
     public static void notifyExchangeFailureHandled(CamelContext context, Exchange exchange, Processor failureHandler,
                                                     boolean deadLetterChannel) {
-        if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
-            // do not generate events for an notify event
-            return;
-        }
-
         List<EventNotifier> notifiers = context.getManagementStrategy().getEventNotifiers();
         if (notifiers == null || notifiers.isEmpty()) {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeFailureHandledEvent(exchange, failureHandler, deadLetterChannel);
             if (event == null) {
-                return;
+                if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
+                    // do not generate events for an notify event
+                    return;
+                }
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeFailureHandledEvent(exchange, failureHandler, deadLetterChannel);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
     }
 
     public static void notifyExchangeRedelivery(CamelContext context, Exchange exchange, int attempt) {
-        if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
-            // do not generate events for an notify event
-            return;
-        }
-
         List<EventNotifier> notifiers = context.getManagementStrategy().getEventNotifiers();
         if (notifiers == null || notifiers.isEmpty()) {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
-            if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents()) {
+            if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeRedeliveryEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeRedeliveryEvent(exchange, attempt);
             if (event == null) {
-                return;
+                if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
+                    // do not generate events for an notify event
+                    return;
+                }
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeRedeliveryEvent(exchange, attempt);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
     }
 
     public static void notifyExchangeSent(CamelContext context, Exchange exchange, Endpoint endpoint, long timeTaken) {
-        if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
-            // do not generate events for an notify event
-            return;
-        }
-
         List<EventNotifier> notifiers = context.getManagementStrategy().getEventNotifiers();
         if (notifiers == null || notifiers.isEmpty()) {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeSentEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeSentEvent(exchange, endpoint, timeTaken);
             if (event == null) {
-                return;
+                if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
+                    // do not generate events for an notify event
+                    return;
+                }
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeSentEvent(exchange, endpoint, timeTaken);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -447,18 +514,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextSuspendingEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextSuspendingEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -470,18 +540,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextSuspendedEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextSuspendedEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -493,18 +566,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextResumingEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextResumingEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -516,18 +592,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextResumedEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextResumedEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -539,18 +618,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextResumeFailureEvent(context, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextResumeFailureEvent(context, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A bounded pool of {@link Deflater} and {@link Inflater} instances.
+ * <p/>
+ * Creating a new deflater or inflater allocates native zlib memory which is only released
+ * when <tt>end()</tt> is invoked or when the instance is garbage collected. This pool reuses the
+ * instances and ends any instances which cannot be pooled, so the native memory in use is bounded.
+ *
+ * @version $Revision$
+ */
+public final class ZlibPool {
+
+    /**
+     * The default maximum number of idle instances kept in the pool
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final int level;
+    private final boolean nowrap;
+    private final BlockingQueue<Deflater> deflaters;
+    private final BlockingQueue<Inflater> inflaters;
+
+    /**
+     * Creates a pool
+     *
+     * @param level    the compression level of the deflaters
+     * @param nowrap   whether to use the raw deflate format without the zlib header and checksum, as used by GZIP
+     * @param capacity the maximum number of idle instances to keep in the pool
+     */
+    public ZlibPool(int level, boolean nowrap, int capacity) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.deflaters = new ArrayBlockingQueue<Deflater>(capacity);
+        this.inflaters = new ArrayBlockingQueue<Inflater>(capacity);
+    }
+
+    /**
+     * Gets a deflater from the pool, or creates a new deflater if the pool is empty.
+     */
+    public Deflater acquireDeflater() {
+        Deflater deflater = deflaters.poll();
+        return deflater != null ? deflater : new Deflater(level, nowrap);
+    }
+
+    /**
+     * Returns the deflater to the pool, the deflater is ended if the pool is full.
+     */
+    public void releaseDeflater(Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Gets an inflater from the pool, or creates a new inflater if the pool is empty.
+     */
+    public Inflater acquireInflater() {
+        Inflater inflater = inflaters.poll();
+        return inflater != null ? inflater : new Inflater(nowrap);
+    }
+
+    /**
+     * Returns the inflater to the pool, the inflater is ended if the pool is full.
+     */
+    public void releaseInflater(Inflater inflater) {
+        inflater.reset();
+        if (!inflaters.offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Ends and removes all the idle instances in the pool.
+     */
+    public void clear() {
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+        Inflater inflater;
+        while ((inflater = inflaters.poll()) != null) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Number of idle deflaters in the pool
+     */
+    public int getDeflaterSize() {
+        return deflaters.size();
+    }
+
+    /**
+     * Number of idle inflaters in the pool
+     */
+    public int getInflaterSize() {
+        return inflaters.size();
+    }
+
+}
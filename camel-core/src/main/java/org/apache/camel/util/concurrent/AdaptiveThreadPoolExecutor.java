@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A thread pool which adapts its core pool size to the load, by looking at how long tasks wait in the task queue.
+ * <p/>
+ * A regular thread pool with an unbounded (or large) task queue never grows beyond its core pool size,
+ * as new threads is only created when the queue is full. This pool will instead grow the core pool size
+ * towards the maximum pool size when the mean queue wait time exceeds the target queue wait time,
+ * and shrink it back towards the original core pool size when the tasks hardly wait at all.
+ * <p/>
+ * The pool size is adjusted at most once per adjust interval, when a task is submitted or taken from the task queue.
+ * Tasks still waiting in the queue count as well, so the pool also grows when all its threads are blocked
+ * and no tasks is taken from the queue.
+ *
+ * @version $Revision$
+ */
+public class AdaptiveThreadPoolExecutor extends InstrumentedThreadPoolExecutor {
+
+    private static final transient Log LOG = LogFactory.getLog(AdaptiveThreadPoolExecutor.class);
+
+    private final int minPoolSize;
+    private volatile long targetQueueWaitTime = 10;
+    private volatile long adjustInterval = 1000;
+    private final AtomicLong lastAdjust = new AtomicLong(System.nanoTime());
+    private final AtomicLong windowCount = new AtomicLong();
+    private final AtomicLong windowQueueWaitTime = new AtomicLong();
+
+    public AdaptiveThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                      BlockingQueue<Runnable> workQueue) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue);
+        this.minPoolSize = corePoolSize;
+    }
+
+    /**
+     * Gets the target mean time in millis tasks should wait in the queue.
+     */
+    public long getTargetQueueWaitTime() {
+        return targetQueueWaitTime;
+    }
+
+    /**
+     * Sets the target mean time in millis tasks should wait in the queue.
+     * If the tasks wait longer then the core pool size is increased.
+     * <p/>
+     * Is default 10 millis.
+     */
+    public void setTargetQueueWaitTime(long targetQueueWaitTime) {
+        this.targetQueueWaitTime = targetQueueWaitTime;
+    }
+
+    public long getAdjustInterval() {
+        return adjustInterval;
+    }
+
+    /**
+     * Sets the minimum interval in millis between adjusting the pool size.
+     * <p/>
+     * Is default 1000 millis.
+     */
+    public void setAdjustInterval(long adjustInterval) {
+        this.adjustInterval = adjustInterval;
+    }
+
+    /**
+     * The core pool size the pool was created with, which is the lowest size it will shrink to.
+     */
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(command);
+
+        // if all threads are blocked then no tasks is taken from the queue, so check when submitting as well
+        tryAdjust();
+    }
+
+    @Override
+    protected void onQueueWait(long queueWaitTime) {
+        super.onQueueWait(queueWaitTime);
+
+        windowCount.incrementAndGet();
+        windowQueueWaitTime.addAndGet(queueWaitTime);
+
+        tryAdjust();
+    }
+
+    private void tryAdjust() {
+        long now = System.nanoTime();
+        long last = lastAdjust.get();
+        // only one thread should adjust per interval
+        if (now - last >= TimeUnit.MILLISECONDS.toNanos(adjustInterval) && lastAdjust.compareAndSet(last, now)) {
+            long count = windowCount.getAndSet(0);
+            long total = windowQueueWaitTime.getAndSet(0);
+            long mean = count > 0 ? total / count : 0;
+            // the task at the head of the queue has waited the longest of the tasks still waiting
+            adjust(Math.max(mean, getHeadQueueWaitTime()));
+        }
+    }
+
+    /**
+     * Adjusts the core pool size based on the queue wait time of the tasks run in the last interval,
+     * and of the tasks still waiting in the queue.
+     *
+     * @param queueWaitTime the queue wait time in nanos
+     */
+    protected void adjust(long queueWaitTime) {
+        long target = TimeUnit.MILLISECONDS.toNanos(targetQueueWaitTime);
+        int core = getCorePoolSize();
+        int max = getMaximumPoolSize();
+
+        int newSize = core;
+        if (queueWaitTime > target && core < max) {
+            // grow by 50% so we can catch up on a burst fairly quick
+            newSize = Math.min(max, core + Math.max(1, core / 2));
+        } else if (queueWaitTime < target / 4 && core > minPoolSize) {
+            // shrink slowly to avoid thrashing
+            newSize = core - 1;
+        }
+
+        if (newSize != core) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Queue wait time " + TimeUnit.NANOSECONDS.toMillis(queueWaitTime) + " millis, target "
+                        + targetQueueWaitTime + " millis. Adjusting core pool size from " + core + " to " + newSize + " on " + this);
+            }
+            setCorePoolSize(newSize);
+        }
+    }
+
+}
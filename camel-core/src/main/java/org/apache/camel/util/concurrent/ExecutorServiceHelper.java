@@ -29,6 +29,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.model.ExecutorServiceAwareDefinition;
 import org.apache.camel.spi.ExecutorServiceStrategy;
 import org.apache.camel.spi.RouteContext;
@@ -230,6 +231,84 @@ public final class ExecutorServiceHelper {
     public static ExecutorService newThreadPool(final String pattern, final String name, int corePoolSize, int maxPoolSize,
                                                 long keepAliveTime, TimeUnit timeUnit, int maxQueueSize,
                                                 RejectedExecutionHandler rejectedExecutionHandler, final boolean daemon) {
+        return newThreadPool(pattern, name, corePoolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize,
+                rejectedExecutionHandler, daemon, ThreadPoolType.Default);
+    }
+
+    /**
+     * Creates a new custom thread pool which keeps statistics about how long the tasks wait in the task queue
+     * and how long the threads are active running them.
+     *
+     * @param pattern                  pattern of the thread name
+     * @param name                     ${name} in the pattern name
+     * @param corePoolSize             the core pool size
+     * @param maxPoolSize              the maximum pool size
+     * @param keepAliveTime            keep alive time
+     * @param timeUnit                 keep alive time unit
+     * @param maxQueueSize             the maximum number of tasks in the queue, use <tt>Integer.MAX_VALUE</tt> or <tt>-1</tt> to indicate unbounded
+     * @param rejectedExecutionHandler the handler for tasks which cannot be executed by the thread pool.
+     *                                 If <tt>null</tt> is provided then {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy CallerRunsPolicy} is used.
+     * @param daemon                   whether the threads is daemon or not
+     * @return the created pool
+     * @throws IllegalArgumentException if parameters is not valid
+     * @see org.apache.camel.util.concurrent.InstrumentedThreadPoolExecutor
+     */
+    public static ExecutorService newInstrumentedThreadPool(final String pattern, final String name, int corePoolSize, int maxPoolSize,
+                                                            long keepAliveTime, TimeUnit timeUnit, int maxQueueSize,
+                                                            RejectedExecutionHandler rejectedExecutionHandler, final boolean daemon) {
+        return newThreadPool(pattern, name, corePoolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize,
+                rejectedExecutionHandler, daemon, ThreadPoolType.Instrumented);
+    }
+
+    /**
+     * Creates a new custom thread pool which adapts its core pool size, between the given core pool size
+     * and max pool size, depending on how long the tasks wait in the task queue.
+     *
+     * @param pattern                  pattern of the thread name
+     * @param name                     ${name} in the pattern name
+     * @param corePoolSize             the core pool size, which is also the minimum size the pool shrinks to
+     * @param maxPoolSize              the maximum pool size
+     * @param keepAliveTime            keep alive time
+     * @param timeUnit                 keep alive time unit
+     * @param maxQueueSize             the maximum number of tasks in the queue, use <tt>Integer.MAX_VALUE</tt> or <tt>-1</tt> to indicate unbounded
+     * @param rejectedExecutionHandler the handler for tasks which cannot be executed by the thread pool.
+     *                                 If <tt>null</tt> is provided then {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy CallerRunsPolicy} is used.
+     * @param daemon                   whether the threads is daemon or not
+     * @return the created pool
+     * @throws IllegalArgumentException if parameters is not valid
+     * @see org.apache.camel.util.concurrent.AdaptiveThreadPoolExecutor
+     */
+    public static ExecutorService newAdaptiveThreadPool(final String pattern, final String name, int corePoolSize, int maxPoolSize,
+                                                        long keepAliveTime, TimeUnit timeUnit, int maxQueueSize,
+                                                        RejectedExecutionHandler rejectedExecutionHandler, final boolean daemon) {
+        return newThreadPool(pattern, name, corePoolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize,
+                rejectedExecutionHandler, daemon, ThreadPoolType.Adaptive);
+    }
+
+    /**
+     * Creates a new work stealing thread pool, where each thread has its own task queue.
+     *
+     * @param poolSize the fixed pool size
+     * @param pattern  pattern of the thread name
+     * @param name     ${name} in the pattern name
+     * @param daemon   whether the threads is daemon or not
+     * @return the created pool
+     * @see org.apache.camel.util.concurrent.WorkStealingExecutorService
+     */
+    public static ExecutorService newWorkStealingThreadPool(final int poolSize, final String pattern, final String name, final boolean daemon) {
+        return new WorkStealingExecutorService(poolSize, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread answer = new Thread(r, getThreadName(pattern, name));
+                answer.setDaemon(daemon);
+                return answer;
+            }
+        });
+    }
+
+    private static ExecutorService newThreadPool(final String pattern, final String name, int corePoolSize, int maxPoolSize,
+                                                 long keepAliveTime, TimeUnit timeUnit, int maxQueueSize,
+                                                 RejectedExecutionHandler rejectedExecutionHandler, final boolean daemon,
+                                                 ThreadPoolType poolType) {
 
         // validate max >= core
         if (maxPoolSize < corePoolSize) {
@@ -250,7 +329,14 @@ public final class ExecutorServiceHelper {
             // bounded task queue
             queue = new LinkedBlockingQueue<Runnable>(maxQueueSize);
         }
-        ThreadPoolExecutor answer = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, timeUnit, queue);
+        ThreadPoolExecutor answer;
+        if (poolType == ThreadPoolType.Adaptive) {
+            answer = new AdaptiveThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, timeUnit, queue);
+        } else if (poolType == ThreadPoolType.Instrumented) {
+            answer = new InstrumentedThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, timeUnit, queue);
+        } else {
+            answer = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, timeUnit, queue);
+        }
         answer.setThreadFactory(new ThreadFactory() {
             public Thread newThread(Runnable r) {
                 Thread answer = new Thread(r, getThreadName(pattern, name));
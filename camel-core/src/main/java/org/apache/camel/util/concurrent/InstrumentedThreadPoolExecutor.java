@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ThreadPoolExecutor} which keeps statistics about how long tasks wait in the task queue
+ * before a thread picks them up, and how long the threads are active running them.
+ * <p/>
+ * The statistics is exposed in JMX by the {@link org.apache.camel.management.mbean.ManagedThreadPool}.
+ * Keeping the statistics costs a bit of overhead per task, so Camel only creates this kind of pool
+ * when the thread pool profile asks for an {@link org.apache.camel.ThreadPoolType#Instrumented} pool.
+ *
+ * @version $Revision$
+ */
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong totalQueueWaitTime = new AtomicLong();
+    private final AtomicLong maxQueueWaitTime = new AtomicLong();
+    private final AtomicLong totalActiveTime = new AtomicLong();
+    private final AtomicLong maxActiveTime = new AtomicLong();
+
+    public InstrumentedThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                          BlockingQueue<Runnable> workQueue) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        super.execute(new TimedTask(command, System.nanoTime()));
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        // return the tasks as they were given to us
+        List<Runnable> tasks = super.shutdownNow();
+        List<Runnable> answer = new ArrayList<Runnable>(tasks.size());
+        for (Runnable task : tasks) {
+            answer.add(task instanceof TimedTask ? ((TimedTask) task).task : task);
+        }
+        return answer;
+    }
+
+    /**
+     * Callback when a task has been taken from the task queue and is about to run.
+     *
+     * @param queueWaitTime the time in nanos the task waited in the queue
+     */
+    protected void onQueueWait(long queueWaitTime) {
+        totalQueueWaitTime.addAndGet(queueWaitTime);
+        updateMax(maxQueueWaitTime, queueWaitTime);
+    }
+
+    /**
+     * Callback when a task has been run.
+     *
+     * @param activeTime the time in nanos the thread was running the task
+     */
+    protected void onActive(long activeTime) {
+        taskCount.incrementAndGet();
+        totalActiveTime.addAndGet(activeTime);
+        updateMax(maxActiveTime, activeTime);
+    }
+
+    /**
+     * Gets how long the task at the head of the task queue has been waiting so far.
+     *
+     * @return the time in nanos, or <tt>0</tt> if no task is waiting
+     */
+    protected long getHeadQueueWaitTime() {
+        Runnable head = getQueue().peek();
+        if (head instanceof TimedTask) {
+            return Math.max(0, System.nanoTime() - ((TimedTask) head).submitted);
+        }
+        return 0;
+    }
+
+    /**
+     * Number of tasks which has been run since the statistics was reset
+     */
+    public long getInstrumentedTaskCount() {
+        return taskCount.get();
+    }
+
+    /**
+     * Mean time in millis the tasks waited in the task queue
+     */
+    public double getMeanQueueWaitTime() {
+        return mean(totalQueueWaitTime.get(), taskCount.get());
+    }
+
+    /**
+     * Max time in millis a task waited in the task queue
+     */
+    public double getMaxQueueWaitTime() {
+        return toMillis(maxQueueWaitTime.get());
+    }
+
+    /**
+     * Mean time in millis the threads was active running a task
+     */
+    public double getMeanActiveTime() {
+        return mean(totalActiveTime.get(), taskCount.get());
+    }
+
+    /**
+     * Max time in millis a thread was active running a task
+     */
+    public double getMaxActiveTime() {
+        return toMillis(maxActiveTime.get());
+    }
+
+    /**
+     * Resets the statistics
+     */
+    public void resetStatistics() {
+        taskCount.set(0);
+        totalQueueWaitTime.set(0);
+        maxQueueWaitTime.set(0);
+        totalActiveTime.set(0);
+        maxActiveTime.set(0);
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    private static double mean(long total, long count) {
+        return count > 0 ? toMillis(total) / count : 0;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000d;
+    }
+
+    /**
+     * Task which remembers when it was submitted, so we can tell how long it waited in the queue.
+     */
+    private final class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long submitted;
+
+        private TimedTask(Runnable task, long submitted) {
+            this.task = task;
+            this.submitted = submitted;
+        }
+
+        public void run() {
+            long start = System.nanoTime();
+            onQueueWait(start - submitted);
+            try {
+                task.run();
+            } finally {
+                onActive(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A fixed size thread pool where each thread has its own task queue, and threads which runs out of tasks
+ * steals tasks from the other threads.
+ * <p/>
+ * Tasks submitted from outside the pool is spread round robin over the threads, and tasks submitted
+ * by a thread in the pool (for example when a parallel splitter is nested inside another) is added to
+ * the front of that threads own queue, so its processed while the data is still hot in the CPU caches.
+ * Threads stealing tasks takes from the back of the queue, so they contend as little as possible with
+ * the owning thread. This avoids the contention on a single shared task queue a regular thread pool
+ * suffers from, when many threads is processing short CPU bound tasks.
+ * <p/>
+ * Neither submitting, taking nor stealing tasks uses locks. Each thread has a work stealing deque
+ * (as in the Fork/Join framework) for the tasks it submits itself, and a lock-free queue for the tasks
+ * submitted from outside the pool. Idle threads are parked and woken up individually.
+ * <p/>
+ * The task queues is unbounded and tasks is never rejected, unless the pool has been shutdown.
+ *
+ * @version $Revision$
+ */
+public class WorkStealingExecutorService extends AbstractExecutorService {
+
+    private static final transient Log LOG = LogFactory.getLog(WorkStealingExecutorService.class);
+    private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(1000);
+
+    private final Worker[] workers;
+    private final ThreadLocal<Worker> currentWorker = new ThreadLocal<Worker>();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<Worker>();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong completedTaskCount = new AtomicLong();
+    private final AtomicLong stealCount = new AtomicLong();
+    private final CountDownLatch terminated;
+    private volatile boolean shutdown;
+
+    public WorkStealingExecutorService(int parallelism, ThreadFactory threadFactory) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be >= 1, was " + parallelism);
+        }
+        this.workers = new Worker[parallelism];
+        this.terminated = new CountDownLatch(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            Thread thread = threadFactory.newThread(worker);
+            worker.thread = thread;
+            thread.start();
+        }
+    }
+
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            throw new RejectedExecutionException("Cannot execute task as executor is shutdown: " + this);
+        }
+
+        Worker worker = currentWorker.get();
+        if (worker != null) {
+            // submitted from one of our own threads so keep it local, the thread runs it before it terminates
+            worker.tasks.push(task);
+        } else {
+            worker = workers[(nextWorker.getAndIncrement() & Integer.MAX_VALUE) % workers.length];
+            worker.submissions.offer(task);
+
+            // we may have raced with shutdown, and if so the task may never be run
+            if (shutdown && worker.submissions.remove(task)) {
+                throw new RejectedExecutionException("Cannot execute task as executor is shutdown: " + this);
+            }
+        }
+
+        // wakeup an idle thread so it can steal the task if the owner is busy
+        signalIdleWorker();
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> answer = new ArrayList<Runnable>();
+        for (Worker worker : workers) {
+            worker.drainTo(answer);
+            worker.thread.interrupt();
+        }
+        return answer;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Number of threads in the pool
+     */
+    public int getPoolSize() {
+        return workers.length;
+    }
+
+    /**
+     * Number of threads currently running a task
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * Number of tasks which has been run
+     */
+    public long getCompletedTaskCount() {
+        return completedTaskCount.get();
+    }
+
+    /**
+     * Number of tasks which has been stolen by another thread than the one it was queued for
+     */
+    public long getStealCount() {
+        return stealCount.get();
+    }
+
+    /**
+     * Number of tasks waiting to be run
+     */
+    public int getQueueSize() {
+        int answer = 0;
+        for (Worker worker : workers) {
+            answer += worker.size();
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkStealingExecutorService[poolSize=" + workers.length + ", activeCount=" + activeCount.get()
+                + ", queueSize=" + getQueueSize() + ", completedTaskCount=" + completedTaskCount.get()
+                + ", stealCount=" + stealCount.get() + ", shutdown=" + shutdown + "]";
+    }
+
+    private Runnable steal(Worker thief) {
+        // start with the next worker so the thieves do not all hit the same worker
+        for (int i = 1; i < workers.length; i++) {
+            Worker victim = workers[(thief.index + i) % workers.length];
+            Runnable task = victim.tasks.steal();
+            if (task == null) {
+                task = victim.submissions.poll();
+            }
+            if (task != null) {
+                stealCount.incrementAndGet();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasQueuedTasks() {
+        for (Worker worker : workers) {
+            if (worker.size() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void signalIdleWorker() {
+        Worker idle;
+        while ((idle = idleWorkers.poll()) != null) {
+            // skip workers which woke up by themselves in the mean time
+            if (idle.idle.compareAndSet(true, false)) {
+                LockSupport.unpark(idle.thread);
+                return;
+            }
+        }
+    }
+
+    private void awaitWork(Worker worker) {
+        worker.idle.set(true);
+        idleWorkers.offer(worker);
+        // check again after we have been queued as idle, as execute only wakes up queued threads
+        if (!shutdown && !hasQueuedTasks()) {
+            // we are unparked on execute, shutdown and interrupted on shutdownNow, so just loop and check again
+            LockSupport.parkNanos(IDLE_WAIT);
+        }
+        if (worker.idle.compareAndSet(true, false)) {
+            // we was not woken up by execute, so we are still in the idle queue
+            idleWorkers.remove(worker);
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final int index;
+        private final WorkStealingDeque tasks = new WorkStealingDeque();
+        private final Queue<Runnable> submissions = new ConcurrentLinkedQueue<Runnable>();
+        private final AtomicBoolean idle = new AtomicBoolean();
+        private Thread thread;
+
+        private Worker(int index) {
+            this.index = index;
+        }
+
+        public void run() {
+            currentWorker.set(this);
+            try {
+                while (true) {
+                    // read the flag before looking for tasks, so we do not miss tasks added before we was shutdown
+                    boolean stopping = shutdown;
+                    Runnable task = tasks.pop();
+                    if (task == null) {
+                        task = submissions.poll();
+                    }
+                    if (task == null) {
+                        task = steal(this);
+                    }
+                    if (task != null) {
+                        runTask(task);
+                    } else if (stopping) {
+                        break;
+                    } else {
+                        awaitWork(this);
+                    }
+                }
+            } finally {
+                currentWorker.remove();
+                terminated.countDown();
+            }
+        }
+
+        private void runTask(Runnable task) {
+            activeCount.incrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                LOG.warn("Error running task " + task + ". This exception will be ignored.", e);
+            } finally {
+                activeCount.decrementAndGet();
+                completedTaskCount.incrementAndGet();
+                // clear interrupted flag so it does not affect the next task, unless we are being shutdown
+                if (!shutdown) {
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private int size() {
+            return tasks.size() + submissions.size();
+        }
+
+        private void drainTo(List<Runnable> list) {
+            Runnable task;
+            while ((task = tasks.steal()) != null || tasks.size() > 0) {
+                if (task != null) {
+                    list.add(task);
+                }
+            }
+            while ((task = submissions.poll()) != null) {
+                list.add(task);
+            }
+        }
+    }
+
+    /**
+     * A lock-free work stealing deque (Chase-Lev) as used by the Fork/Join framework.
+     * <p/>
+     * Only the owning thread may {@link #push(Runnable)} and {@link #pop()} tasks at the bottom,
+     * while any thread may {@link #steal()} tasks from the top.
+     */
+    static final class WorkStealingDeque {
+        private static final int INITIAL_CAPACITY = 32;
+
+        private final AtomicLong top = new AtomicLong();
+        private volatile long bottom;
+        private volatile AtomicReferenceArray<Runnable> array = new AtomicReferenceArray<Runnable>(INITIAL_CAPACITY);
+
+        void push(Runnable task) {
+            long b = bottom;
+            long t = top.get();
+            AtomicReferenceArray<Runnable> a = array;
+            if (b - t >= a.length() - 1) {
+                a = grow(a, t, b);
+            }
+            a.set(index(a, b), task);
+            // publishes the task to the thieves
+            bottom = b + 1;
+        }
+
+        Runnable pop() {
+            long b = bottom - 1;
+            AtomicReferenceArray<Runnable> a = array;
+            bottom = b;
+            long t = top.get();
+            if (b < t) {
+                // empty
+                bottom = t;
+                return null;
+            }
+            int i = index(a, b);
+            Runnable task = a.get(i);
+            if (b > t) {
+                // more than one task left so no thief can take this one
+                a.set(i, null);
+                return task;
+            }
+            // the last task so race with the thieves for it
+            if (top.compareAndSet(t, t + 1)) {
+                a.set(i, null);
+            } else {
+                task = null;
+            }
+            bottom = t + 1;
+            return task;
+        }
+
+        Runnable steal() {
+            long t = top.get();
+            long b = bottom;
+            if (t >= b) {
+                return null;
+            }
+            AtomicReferenceArray<Runnable> a = array;
+            int i = index(a, t);
+            Runnable task = a.get(i);
+            if (task == null || !top.compareAndSet(t, t + 1)) {
+                // lost the race with the owner or another thief
+                return null;
+            }
+            a.compareAndSet(i, task, null);
+            return task;
+        }
+
+        int size() {
+            long size = bottom - top.get();
+            return size > 0 ? (int) size : 0;
+        }
+
+        private AtomicReferenceArray<Runnable> grow(AtomicReferenceArray<Runnable> old, long t, long b) {
+            AtomicReferenceArray<Runnable> answer = new AtomicReferenceArray<Runnable>(old.length() * 2);
+            for (long i = t; i < b; i++) {
+                answer.set(index(answer, i), old.get(index(old, i)));
+            }
+            array = answer;
+            return answer;
+        }
+
+        private static int index(AtomicReferenceArray<Runnable> a, long position) {
+            return (int) position & (a.length() - 1);
+        }
+    }
+}
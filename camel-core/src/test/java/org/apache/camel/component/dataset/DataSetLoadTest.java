@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.dataset;
+
+import javax.naming.Context;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version $Revision$
+ */
+public class DataSetLoadTest extends ContextTestSupport {
+
+    public void testClosedLoop() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            public void configure() throws Exception {
+                from("dataset:foo?concurrency=4&produceDelay=0&initialDelay=0").to("seda:test");
+                from("seda:test?concurrentConsumers=4").to("dataset:foo?ordered=false");
+            }
+        });
+
+        DataSetEndpoint endpoint = getMandatoryEndpoint("dataset:foo?ordered=false", DataSetEndpoint.class);
+        assertFalse(endpoint.isOrdered());
+        endpoint.assertIsSatisfied();
+
+        LatencyHistogram latency = endpoint.getLatencyHistogram();
+        assertEquals(500, latency.getCount());
+        assertTrue(latency.getValueAtPercentile(50) <= latency.getValueAtPercentile(99));
+        assertTrue(latency.getValueAtPercentile(99) <= latency.getMax());
+        assertTrue(endpoint.getThroughput() > 0);
+    }
+
+    public void testOpenLoop() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            public void configure() throws Exception {
+                from("dataset:foo?targetRate=500&concurrency=2&initialDelay=0").to("seda:test");
+                from("seda:test?concurrentConsumers=2").to("dataset:foo?ordered=false");
+            }
+        });
+
+        DataSetEndpoint endpoint = getMandatoryEndpoint("dataset:foo?ordered=false", DataSetEndpoint.class);
+        endpoint.assertIsSatisfied();
+
+        assertEquals(500, endpoint.getLatencyHistogram().getCount());
+        // 500 messages at 500 msg/sec takes about a second
+        assertTrue("Should be paced at the target rate, was " + endpoint.getThroughput(), endpoint.getThroughput() < 700);
+    }
+
+    public void testOrderedByDefault() throws Exception {
+        assertTrue(getMandatoryEndpoint("dataset:foo", DataSetEndpoint.class).isOrdered());
+        assertFalse(getMandatoryEndpoint("dataset:foo?ordered=false", DataSetEndpoint.class).isOrdered());
+        // sending using more than one thread is never ordered
+        assertFalse(getMandatoryEndpoint("dataset:foo?concurrency=2", DataSetEndpoint.class).isOrdered());
+    }
+
+    @Override
+    protected Context createJndiContext() throws Exception {
+        Context context = super.createJndiContext();
+        context.bind("foo", new SimpleDataSet(500));
+        return context;
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.TestSupport;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultPackageScanClassResolver;
+import org.apache.camel.impl.converter.AnnotationTypeConverterLoader;
+import org.apache.camel.spi.Injector;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.util.ReflectionInjector;
+
+/**
+ * Tests that the converter classes listed in a type converter index are loaded without scanning their packages.
+ *
+ * @version $Revision$
+ */
+public class TypeConverterIndexTest extends TestSupport {
+
+    private final List<String> scannedPackages = new ArrayList<String>();
+    private final Map<String, TypeConverter> converters = new HashMap<String, TypeConverter>();
+
+    public void testLoadFromIndex() throws Exception {
+        deleteDirectory("target/converterindex");
+        File dir = new File("target/converterindex/META-INF/services/org/apache/camel");
+        dir.mkdirs();
+        write(new File(dir, "TypeConverter"), "org.apache.camel.converter.indexed\n");
+        write(new File(dir, "TypeConverterIndex"), "# generated index\n" + PurchaseOrderConverter.class.getName() + "\n");
+
+        ClassLoader old = Thread.currentThread().getContextClassLoader();
+        URLClassLoader cl = new URLClassLoader(new URL[]{new File("target/converterindex").toURI().toURL()}, getClass().getClassLoader());
+        Thread.currentThread().setContextClassLoader(cl);
+        try {
+            AnnotationTypeConverterLoader loader = new AnnotationTypeConverterLoader(new DefaultPackageScanClassResolver() {
+                @Override
+                public Set<Class<?>> findAnnotated(Class<? extends Annotation> annotation, String... packageNames) {
+                    scannedPackages.addAll(Arrays.asList(packageNames));
+                    return super.findAnnotated(annotation, packageNames);
+                }
+            });
+            loader.load(new RecordingTypeConverterRegistry());
+        } finally {
+            Thread.currentThread().setContextClassLoader(old);
+        }
+
+        // the indexed converter should be loaded
+        assertNotNull(converters.get(PurchaseOrder.class.getName() + "<-" + byte[].class.getName()));
+        // and the packages from the jar with the index should not be scanned
+        assertFalse("Should not scan indexed packages: " + scannedPackages, scannedPackages.contains("org.apache.camel.converter.indexed"));
+        // but the packages from jars without an index should still be scanned
+        assertTrue("Should scan packages without an index: " + scannedPackages, scannedPackages.contains("org.apache.camel.converter"));
+    }
+
+    public void testScanPackagesWhenIndexCannotBeRead() throws Exception {
+        deleteDirectory("target/converterindex");
+        File dir = new File("target/converterindex/META-INF/services/org/apache/camel");
+        dir.mkdirs();
+        final File file = new File(dir, "TypeConverter");
+        write(file, "org.apache.camel.converter.indexed\n");
+
+        // a url handler which fails reading the index
+        final URLStreamHandler handler = new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL u) throws IOException {
+                if (u.getPath().endsWith("TypeConverterIndex")) {
+                    throw new IOException("Forced");
+                }
+                return new URL(u.toExternalForm()).openConnection();
+            }
+        };
+        ClassLoader cl = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                if (AnnotationTypeConverterLoader.META_INF_SERVICES.equals(name)) {
+                    URL url = new URL("file", null, -1, file.getAbsolutePath(), handler);
+                    return Collections.enumeration(Collections.singletonList(url));
+                }
+                return super.getResources(name);
+            }
+        };
+
+        ClassLoader old = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(cl);
+        try {
+            AnnotationTypeConverterLoader loader = new AnnotationTypeConverterLoader(new DefaultPackageScanClassResolver() {
+                @Override
+                public Set<Class<?>> findAnnotated(Class<? extends Annotation> annotation, String... packageNames) {
+                    scannedPackages.addAll(Arrays.asList(packageNames));
+                    return super.findAnnotated(annotation, packageNames);
+                }
+            });
+            loader.load(new RecordingTypeConverterRegistry());
+        } finally {
+            Thread.currentThread().setContextClassLoader(old);
+        }
+
+        // the packages should be scanned instead
+        assertTrue("Should scan packages: " + scannedPackages, scannedPackages.contains("org.apache.camel.converter.indexed"));
+    }
+
+    private static void write(File file, String text) throws Exception {
+        Writer writer = new FileWriter(file);
+        try {
+            writer.write(text);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private class RecordingTypeConverterRegistry implements TypeConverterRegistry {
+        private Injector injector = new ReflectionInjector();
+
+        public void addTypeConverter(Class<?> toType, Class<?> fromType, TypeConverter typeConverter) {
+            converters.put(toType.getName() + "<-" + fromType.getName(), typeConverter);
+        }
+
+        public void addFallbackTypeConverter(TypeConverter typeConverter, boolean canPromote) {
+            // noop
+        }
+
+        public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
+            return converters.get(toType.getName() + "<-" + fromType.getName());
+        }
+
+        public void setInjector(Injector injector) {
+            this.injector = injector;
+        }
+
+        public Injector getInjector() {
+            return injector;
+        }
+    }
+
+}
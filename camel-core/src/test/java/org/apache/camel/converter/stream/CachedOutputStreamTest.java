@@ -151,4 +151,97 @@ public class CachedOutputStreamTest extends ContextTestSupport {
 
         exchange.getUnitOfWork().done(exchange);
     }
+
+    public void testCacheStreamToFileAsMemoryBudgetIsUsed() throws IOException {
+        // only use the memory budget of the pool
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "0");
+        StreamCachePool pool = context.getStreamCachePool();
+        pool.setMemoryBudget(pool.getChunkSize());
+
+        // the first stream fits in the budget
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        assertTrue(cos.isInMemory());
+        assertEquals(pool.getChunkSize(), pool.getMemoryUsed());
+
+        // but the second stream does not
+        CachedOutputStream cos2 = new CachedOutputStream(exchange);
+        cos2.write(TEST_STRING.getBytes("UTF-8"));
+        assertFalse(cos2.isInMemory());
+        assertEquals(1, pool.getSpoolCount());
+
+        File file = new File("./target/cachedir");
+        assertEquals("we should have a temp file", 1, file.list().length);
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cos.getStreamCache(), null));
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cos2.getStreamCache(), null));
+
+        exchange.getUnitOfWork().done(exchange);
+
+        // the memory should be released back to the pool
+        assertEquals(0, pool.getMemoryUsed());
+        assertEquals(1, pool.getPooledChunks());
+        assertEquals("we should have no temp file", 0, file.list().length);
+    }
+
+    public void testCacheStreamSpanningChunks() throws IOException {
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "-1");
+        StreamCachePool pool = context.getStreamCachePool();
+
+        // write more than a chunk using single bytes and arrays
+        byte[] data = TEST_STRING.getBytes("UTF-8");
+        CollectionStringBuffer expected = new CollectionStringBuffer("");
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        while (cos.isInMemory() && pool.getMemoryUsed() < pool.getChunkSize() * 3) {
+            cos.write(data);
+            cos.write('x');
+            expected.append(TEST_STRING + "x");
+        }
+        assertTrue(cos.isInMemory());
+
+        assertEquals(expected.toString(), IOConverter.toString(cos.getInputStream(), null));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, pool.getMemoryUsed());
+    }
+
+    public void testReleaseMemoryOnCompletionWhenNotClosedOnCompletion() throws IOException {
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "-1");
+        StreamCachePool pool = context.getStreamCachePool();
+
+        // the stream is not closed on completion, and the caller forgets to close it
+        CachedOutputStream cos = new CachedOutputStream(exchange, false);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        assertTrue(cos.isInMemory());
+        assertEquals(pool.getChunkSize(), pool.getMemoryUsed());
+
+        exchange.getUnitOfWork().done(exchange);
+
+        // the memory should still be released back to the pool
+        assertEquals(0, pool.getMemoryUsed());
+    }
+
+    public void testGetCachedContentAfterClose() throws IOException {
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "-1");
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        InputStream is = cos.getInputStream();
+        cos.close();
+
+        // the input stream got before closing still has the content
+        assertEquals(TEST_STRING, IOConverter.toString(is, null));
+
+        try {
+            cos.getInputStream();
+            fail("Should have thrown an exception");
+        } catch (IllegalStateException e) {
+            // expected as the memory has been released
+        }
+        try {
+            cos.getStreamCache();
+            fail("Should have thrown an exception");
+        } catch (IllegalStateException e) {
+            // expected as the memory has been released
+        }
+    }
 }
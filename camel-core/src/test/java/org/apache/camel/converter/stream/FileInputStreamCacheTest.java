@@ -18,6 +18,7 @@ package org.apache.camel.converter.stream;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
@@ -43,4 +44,28 @@ public class FileInputStreamCacheTest extends ContextTestSupport {
         assertTrue(s.contains("<firstName>James</firstName>"));
     }
 
+    public void testMemoryMappedFileInputStreamCache() throws Exception {
+        File file = new File(TEST_FILE).getAbsoluteFile();
+        FileInputStreamCache cache = new FileInputStreamCache(file, true);
+
+        String s = context.getTypeConverter().convertTo(String.class, cache);
+        assertTrue(s.contains("<firstName>James</firstName>"));
+
+        // reset should be able to read again
+        cache.reset();
+        assertEquals(file.length(), cache.available());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals(s, context.getTypeConverter().convertTo(String.class, bos));
+
+        cache.close();
+        try {
+            cache.read();
+            fail("Should have thrown exception");
+        } catch (IOException e) {
+            // expected as the cache is closed
+        }
+    }
+
 }
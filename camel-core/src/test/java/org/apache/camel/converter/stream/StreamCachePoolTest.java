@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ */
+public class StreamCachePoolTest extends TestCase {
+
+    public void testAcquireAndRelease() throws Exception {
+        StreamCachePool pool = new StreamCachePool();
+        pool.setChunkSize(1024);
+        pool.setMemoryBudget(2048);
+
+        byte[] a = pool.acquireChunk();
+        byte[] b = pool.acquireChunk();
+        assertEquals(1024, a.length);
+        assertEquals(2048, pool.getMemoryUsed());
+
+        // budget is used
+        assertNull(pool.acquireChunk());
+        assertEquals(2048, pool.getMemoryUsed());
+
+        pool.releaseChunk(a);
+        assertEquals(1024, pool.getMemoryUsed());
+        assertEquals(1, pool.getPooledChunks());
+
+        // should reuse the released chunk
+        assertSame(a, pool.acquireChunk());
+        assertEquals(0, pool.getPooledChunks());
+
+        pool.releaseChunk(a);
+        pool.releaseChunk(b);
+        assertEquals(0, pool.getMemoryUsed());
+        assertEquals(2048, pool.getPeakMemoryUsed());
+        assertEquals(2, pool.getPooledChunks());
+
+        pool.stop();
+        assertEquals(0, pool.getPooledChunks());
+    }
+
+    public void testMaxPooledChunks() throws Exception {
+        StreamCachePool pool = new StreamCachePool();
+        pool.setMaxPooledChunks(1);
+
+        byte[] a = pool.acquireChunk();
+        byte[] b = pool.acquireChunk();
+        pool.releaseChunk(a);
+        pool.releaseChunk(b);
+
+        assertEquals(1, pool.getPooledChunks());
+        assertEquals(0, pool.getMemoryUsed());
+    }
+
+    public void testNoBudget() throws Exception {
+        StreamCachePool pool = new StreamCachePool();
+        pool.setChunkSize(16);
+        pool.setMemoryBudget(0);
+
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(pool.acquireChunk());
+        }
+        assertEquals(1600, pool.getMemoryUsed());
+    }
+
+}
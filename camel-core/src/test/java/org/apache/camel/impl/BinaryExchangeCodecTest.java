@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.ExchangeCodec;
+
+/**
+ * @version $Revision$
+ */
+public class BinaryExchangeCodecTest extends ContextTestSupport {
+
+    private ExchangeCodec codec = new BinaryExchangeCodec();
+
+    public void testEncodeDecode() throws Exception {
+        Date now = new Date();
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("string", "Camel rocks");
+        exchange.getIn().setHeader("int", 123);
+        exchange.getIn().setHeader("long", 456L);
+        exchange.getIn().setHeader("boolean", Boolean.TRUE);
+        exchange.getIn().setHeader("double", 1.5d);
+        exchange.getIn().setHeader("float", 2.5f);
+        exchange.getIn().setHeader("short", (short) 7);
+        exchange.getIn().setHeader("byte", (byte) 8);
+        exchange.getIn().setHeader("char", 'c');
+        exchange.getIn().setHeader("date", now);
+        exchange.getIn().setHeader("bytes", new byte[]{1, 2, 3});
+        exchange.getIn().setHeader("decimal", new BigDecimal("12.34"));
+        exchange.getIn().setHeader("unicode", "\u00e6\u00f8\u00e5");
+        exchange.setProperty("bar", 444);
+        exchange.getOut().setBody(new byte[]{4, 5});
+        exchange.getOut().setHeader("foo", "out");
+        exchange.getOut().setFault(true);
+        exchange.setException(new IllegalArgumentException("Damn"));
+
+        Exchange answer = roundtrip(codec, exchange);
+
+        assertEquals(exchange.getExchangeId(), answer.getExchangeId());
+        assertEquals("Hello World", answer.getIn().getBody());
+        assertEquals("Camel rocks", answer.getIn().getHeader("string"));
+        assertEquals(123, answer.getIn().getHeader("int"));
+        assertEquals(456L, answer.getIn().getHeader("long"));
+        assertEquals(Boolean.TRUE, answer.getIn().getHeader("boolean"));
+        assertEquals(1.5d, answer.getIn().getHeader("double"));
+        assertEquals(2.5f, answer.getIn().getHeader("float"));
+        assertEquals((short) 7, answer.getIn().getHeader("short"));
+        assertEquals((byte) 8, answer.getIn().getHeader("byte"));
+        assertEquals('c', answer.getIn().getHeader("char"));
+        assertEquals(now, answer.getIn().getHeader("date"));
+        byte[] bytes = answer.getIn().getHeader("bytes", byte[].class);
+        assertEquals(3, bytes.length);
+        assertEquals(3, bytes[2]);
+        assertEquals(new BigDecimal("12.34"), answer.getIn().getHeader("decimal"));
+        assertEquals("\u00e6\u00f8\u00e5", answer.getIn().getHeader("unicode"));
+        assertEquals(444, answer.getProperty("bar"));
+        assertEquals(2, answer.getOut().getBody(byte[].class).length);
+        assertEquals("out", answer.getOut().getHeader("foo"));
+        assertTrue(answer.getOut().isFault());
+        assertIsInstanceOf(IllegalArgumentException.class, answer.getException());
+        assertEquals("Damn", answer.getException().getMessage());
+    }
+
+    public void testEncodeDecodeEmpty() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+
+        Exchange answer = roundtrip(codec, exchange);
+
+        assertEquals(exchange.getExchangeId(), answer.getExchangeId());
+        assertNull(answer.getIn().getBody());
+        assertFalse(answer.getIn().hasHeaders());
+        assertFalse(answer.hasOut());
+        assertNull(answer.getException());
+    }
+
+    public void testDecodeSerializedData() throws Exception {
+        Exchange exchange = createExchange();
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        new SerializationExchangeCodec().encode(DefaultExchangeHolder.marshal(exchange), bos);
+
+        DefaultExchangeHolder holder = codec.decode(new ByteArrayInputStream(bos.toByteArray()));
+        Exchange answer = new DefaultExchange(context);
+        DefaultExchangeHolder.unmarshal(answer, holder);
+
+        assertEquals("Hello World", answer.getIn().getBody());
+        assertEquals(123, answer.getIn().getHeader("foo"));
+    }
+
+    public void testDecodeInvalidData() throws Exception {
+        try {
+            codec.decode(new ByteArrayInputStream("Hello World".getBytes()));
+            fail("Should have thrown an exception");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Invalid header"));
+        }
+    }
+
+    public void testDecodeUnsupportedVersion() throws Exception {
+        byte[] data = encode(codec, createExchange());
+        data[2] = (byte) (BinaryExchangeCodec.VERSION + 1);
+        try {
+            codec.decode(new ByteArrayInputStream(data));
+            fail("Should have thrown an exception");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Unsupported version"));
+        }
+    }
+
+    public void testIsBinaryFormat() throws Exception {
+        byte[] data = encode(codec, createExchange());
+        assertTrue(BinaryExchangeCodec.isBinaryFormat(data, 0, data.length));
+
+        data = encode(new SerializationExchangeCodec(), createExchange());
+        assertFalse(BinaryExchangeCodec.isBinaryFormat(data, 0, data.length));
+        assertFalse(BinaryExchangeCodec.isBinaryFormat(new byte[]{(byte) 0xCA}, 0, 1));
+    }
+
+    public void testSmallerThanSerialization() throws Exception {
+        Exchange exchange = createExchange();
+
+        int binary = encode(codec, exchange).length;
+        int serialized = encode(new SerializationExchangeCodec(), exchange).length;
+        log.info("Encoded size binary: " + binary + " bytes, serialized: " + serialized + " bytes");
+
+        assertTrue("Binary size " + binary + " should be smaller than " + serialized, binary < serialized);
+    }
+
+    private Exchange createExchange() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("foo", 123);
+        exchange.getIn().setHeader("bar", "Camel rocks");
+        exchange.getIn().setHeader("date", new Date());
+        exchange.setProperty(Exchange.AGGREGATED_SIZE, 5);
+        return exchange;
+    }
+
+    private static byte[] encode(ExchangeCodec codec, Exchange exchange) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        codec.encode(DefaultExchangeHolder.marshal(exchange), bos);
+        return bos.toByteArray();
+    }
+
+    private Exchange roundtrip(ExchangeCodec codec, Exchange exchange) throws Exception {
+        byte[] data = encode(codec, exchange);
+        DefaultExchangeHolder holder = codec.decode(new ByteArrayInputStream(data));
+        Exchange answer = new DefaultExchange(context);
+        DefaultExchangeHolder.unmarshal(answer, holder);
+        return answer;
+    }
+
+}
@@ -22,6 +22,10 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.util.concurrent.AdaptiveThreadPoolExecutor;
+import org.apache.camel.util.concurrent.InstrumentedThreadPoolExecutor;
+import org.apache.camel.util.concurrent.WorkStealingExecutorService;
 
 /**
  * @version $Revision$
@@ -127,6 +131,8 @@ public class DefaultExecutorServiceStrategyTest extends ContextTestSupport {
         assertEquals(20, executor.getMaximumPoolSize());
         assertEquals(60, executor.getKeepAliveTime(TimeUnit.SECONDS));
         assertEquals(1000, executor.getQueue().remainingCapacity());
+        // instrumentation is opt-in
+        assertFalse(executor instanceof InstrumentedThreadPoolExecutor);
 
         context.stop();
         assertEquals(true, myPool.isShutdown());
@@ -339,4 +345,87 @@ public class DefaultExecutorServiceStrategyTest extends ContextTestSupport {
         assertTrue(tp.isShutdown());
     }
 
+    public void testWorkStealingThreadPoolProfile() throws Exception {
+        ThreadPoolProfileSupport foo = new ThreadPoolProfileSupport("foo");
+        foo.setPoolSize(4);
+        foo.setPoolType(ThreadPoolType.WorkStealing);
+        context.getExecutorServiceStrategy().registerThreadPoolProfile(foo);
+
+        ExecutorService pool = context.getExecutorServiceStrategy().newThreadPool(this, "Cool", "foo");
+        WorkStealingExecutorService ws = assertIsInstanceOf(WorkStealingExecutorService.class, pool);
+        assertEquals(4, ws.getPoolSize());
+        assertFalse(ws.isShutdown());
+
+        context.stop();
+
+        assertTrue(ws.isShutdown());
+    }
+
+    public void testWorkStealingThreadPoolProfileMaxQueueSize() throws Exception {
+        ThreadPoolProfileSupport foo = new ThreadPoolProfileSupport("foo");
+        foo.setPoolSize(4);
+        foo.setMaxQueueSize(100);
+        foo.setPoolType(ThreadPoolType.WorkStealing);
+        context.getExecutorServiceStrategy().registerThreadPoolProfile(foo);
+
+        try {
+            context.getExecutorServiceStrategy().newThreadPool(this, "Cool", "foo");
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("The maxQueueSize option is not supported by a WorkStealing thread pool"));
+        }
+    }
+
+    public void testWorkStealingThreadPoolProfileRejectedPolicy() throws Exception {
+        ThreadPoolProfileSupport foo = new ThreadPoolProfileSupport("foo");
+        foo.setPoolSize(4);
+        foo.setRejectedPolicy(ThreadPoolRejectedPolicy.Abort);
+        foo.setPoolType(ThreadPoolType.WorkStealing);
+
+        try {
+            context.getExecutorServiceStrategy().setDefaultThreadPoolProfile(foo);
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("The rejectedPolicy option is not supported by a WorkStealing thread pool"));
+        }
+    }
+
+    public void testInstrumentedThreadPoolProfile() throws Exception {
+        ThreadPoolProfileSupport foo = new ThreadPoolProfileSupport("foo");
+        foo.setPoolSize(2);
+        foo.setPoolType(ThreadPoolType.Instrumented);
+        context.getExecutorServiceStrategy().registerThreadPoolProfile(foo);
+
+        ExecutorService pool = context.getExecutorServiceStrategy().newThreadPool(this, "Cool", "foo");
+        InstrumentedThreadPoolExecutor tp = assertIsInstanceOf(InstrumentedThreadPoolExecutor.class, pool);
+        assertFalse(tp instanceof AdaptiveThreadPoolExecutor);
+        assertEquals(2, tp.getCorePoolSize());
+
+        pool.submit(new Runnable() {
+            public void run() {
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        tp.shutdown();
+        assertTrue(tp.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, tp.getInstrumentedTaskCount());
+    }
+
+    public void testAdaptiveThreadPoolProfile() throws Exception {
+        ThreadPoolProfileSupport foo = new ThreadPoolProfileSupport("foo");
+        foo.setPoolSize(2);
+        foo.setMaxPoolSize(8);
+        foo.setPoolType(ThreadPoolType.Adaptive);
+        context.getExecutorServiceStrategy().registerThreadPoolProfile(foo);
+
+        ExecutorService pool = context.getExecutorServiceStrategy().newThreadPool(this, "Cool", "foo");
+        AdaptiveThreadPoolExecutor tp = assertIsInstanceOf(AdaptiveThreadPoolExecutor.class, pool);
+        assertEquals(2, tp.getCorePoolSize());
+        assertEquals(2, tp.getMinPoolSize());
+        assertEquals(8, tp.getMaximumPoolSize());
+        // should inherit the default values
+        assertEquals(60, tp.getKeepAliveTime(TimeUnit.SECONDS));
+        assertIsInstanceOf(ThreadPoolExecutor.CallerRunsPolicy.class, tp.getRejectedExecutionHandler());
+    }
+
 }
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.InputStream;
+
+import junit.framework.TestCase;
+import org.apache.camel.NoFactoryAvailableException;
+
+/**
+ * @version $Revision$
+ */
+public class DefaultFactoryFinderTest extends TestCase {
+
+    private int lookups;
+
+    public void testCacheFactories() throws Exception {
+        DefaultFactoryFinder finder = new DefaultFactoryFinder(new CountingClassResolver(), "META-INF/services/org/apache/camel/component/");
+
+        assertNotNull(finder.findClass("mock"));
+        assertNotNull(finder.findClass("mock"));
+        assertEquals(1, lookups);
+    }
+
+    public void testCacheNotFound() throws Exception {
+        DefaultFactoryFinder finder = new DefaultFactoryFinder(new CountingClassResolver(), "META-INF/services/org/apache/camel/component/");
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                finder.findClass("unknown");
+                fail("Should have thrown exception");
+            } catch (NoFactoryAvailableException e) {
+                // expected
+            }
+        }
+        assertEquals(1, lookups);
+
+        // clearing the cache should lookup again
+        finder.clearCache();
+        try {
+            finder.findClass("unknown");
+            fail("Should have thrown exception");
+        } catch (NoFactoryAvailableException e) {
+            // expected
+        }
+        assertEquals(2, lookups);
+    }
+
+    private class CountingClassResolver extends DefaultClassResolver {
+        @Override
+        public InputStream loadResourceAsStream(String uri) {
+            lookups++;
+            return super.loadResourceAsStream(uri);
+        }
+    }
+
+}
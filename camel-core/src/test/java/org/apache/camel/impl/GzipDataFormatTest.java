@@ -17,9 +17,14 @@
 package org.apache.camel.impl;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
 
+import org.apache.camel.CamelExecutionException;
 import org.apache.camel.ContextTestSupport;
+import org.apache.camel.StreamCache;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.converter.IOConverter;
@@ -72,4 +77,85 @@ public class GzipDataFormatTest extends ContextTestSupport {
         sendText();
         result.assertIsSatisfied();
     }
+
+    public void testUnMarshalGzipFromJdk() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            public void configure() {
+                from("direct:start").unmarshal().gzip().convertBodyTo(String.class).to("mock:result");
+            }
+        });
+        context.start();
+
+        getMockEndpoint("mock:result").expectedBodiesReceived(TEXT);
+        template.sendBody("direct:start", gzip(TEXT));
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testUnMarshalConcatenatedGzipMembers() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            public void configure() {
+                from("direct:start").unmarshal().gzip().convertBodyTo(String.class).to("mock:result");
+            }
+        });
+        context.start();
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        bos.write(gzip("Hello "));
+        bos.write(gzip(TEXT));
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello " + TEXT);
+        template.sendBody("direct:start", bos.toByteArray());
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testUnMarshalCorruptGzipTrailer() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            public void configure() {
+                from("direct:start").unmarshal().gzip();
+            }
+        });
+        context.start();
+
+        byte[] data = gzip(TEXT);
+        // corrupt the checksum
+        data[data.length - 8] ^= 0xff;
+        try {
+            template.sendBody("direct:start", data);
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(ZipException.class, e.getCause());
+        }
+    }
+
+    private static byte[] gzip(String text) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        GZIPOutputStream zip = new GZIPOutputStream(bos);
+        zip.write(text.getBytes("UTF-8"));
+        zip.close();
+        return bos.toByteArray();
+    }
+
+    public void testUnMarshalLargeTextToGzip() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            public void configure() {
+                from("direct:start").marshal().gzip().unmarshal().gzip()
+                    .to("mock:unzipped").convertBodyTo(String.class).to("mock:result");
+            }
+        });
+        context.start();
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(TEXT);
+        }
+        String large = sb.toString();
+
+        // large payloads should be paged to disk and not kept as a byte array in memory
+        getMockEndpoint("mock:unzipped").message(0).body().isInstanceOf(StreamCache.class);
+        getMockEndpoint("mock:result").expectedBodiesReceived(large);
+
+        template.sendBody("direct:start", large);
+
+        assertMockEndpointsSatisfied();
+    }
 }
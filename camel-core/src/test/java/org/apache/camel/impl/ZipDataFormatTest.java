@@ -24,6 +24,7 @@ import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.Processor;
+import org.apache.camel.StreamCache;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.mock.MockEndpoint;
 
@@ -110,6 +111,30 @@ public class ZipDataFormatTest extends ContextTestSupport {
         result.assertIsSatisfied();
     }    
     
+    public void testUnMarshalLargeTextToZip() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            public void configure() {
+                from("direct:start").marshal().zip().unmarshal().zip()
+                    .to("mock:unzipped").convertBodyTo(String.class).to("mock:result");
+            }
+        });
+        context.start();
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(TEXT);
+        }
+        String large = sb.toString();
+
+        // large payloads should be paged to disk and not kept as a byte array in memory
+        getMockEndpoint("mock:unzipped").message(0).body().isInstanceOf(StreamCache.class);
+        getMockEndpoint("mock:result").expectedBodiesReceived(large);
+
+        template.sendBody("direct:start", large);
+
+        assertMockEndpointsSatisfied();
+    }
+
     private class ZippedMessageProcessor implements Processor {
 
         public void process(Exchange exchange) throws Exception {
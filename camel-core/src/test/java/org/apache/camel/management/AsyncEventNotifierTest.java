@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.management.event.ExchangeSentEvent;
+import org.apache.camel.spi.EventNotifier;
+
+/**
+ * @version $Revision$
+ */
+public class AsyncEventNotifierTest extends ContextTestSupport {
+
+    private final List<EventObject> events = new CopyOnWriteArrayList<EventObject>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile String notifyThread;
+    private AsyncEventNotifier async;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext(createRegistry());
+
+        EventNotifierSupport slow = new EventNotifierSupport() {
+            public void notify(EventObject event) throws Exception {
+                // block until the test releases us
+                release.await(5, TimeUnit.SECONDS);
+                notifyThread = Thread.currentThread().getName();
+                events.add(event);
+            }
+
+            public boolean isEnabled(EventObject event) {
+                return true;
+            }
+
+            @Override
+            protected void doStart() throws Exception {
+            }
+
+            @Override
+            protected void doStop() throws Exception {
+            }
+        };
+        slow.setIgnoreCamelContextEvents(true);
+        slow.setIgnoreRouteEvents(true);
+        slow.setIgnoreServiceEvents(true);
+        slow.setIgnoreExchangeCreatedEvent(true);
+        slow.setIgnoreExchangeCompletedEvent(true);
+
+        async = new AsyncEventNotifier(context, slow);
+        async.setBufferSize(5);
+        context.getManagementStrategy().addEventNotifier(async);
+        return context;
+    }
+
+    public void testAsyncEventNotifier() throws Exception {
+        assertTrue(async.isIgnoreCamelContextEvents());
+        assertFalse(async.isIgnoreExchangeSentEvents());
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        // the slow notifier must not block the routing
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, events.size());
+
+        release.countDown();
+
+        // give time for the events to be dispatched
+        for (int i = 0; i < 50 && events.size() < 2; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(2, events.size());
+        ExchangeSentEvent e0 = assertIsInstanceOf(ExchangeSentEvent.class, events.get(0));
+        ExchangeSentEvent e1 = assertIsInstanceOf(ExchangeSentEvent.class, events.get(1));
+        assertEquals("mock://result", e0.getEndpoint().getEndpointUri());
+        assertEquals("direct://start", e1.getEndpoint().getEndpointUri());
+        assertTrue("Should notify from background thread: " + notifyThread, notifyThread.contains("AsyncEventNotifier"));
+        assertEquals(0, async.getDroppedEvents());
+    }
+
+    public void testDropEventsWhenBufferFull() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // 20 events in total, one is being dispatched and 5 are buffered
+        assertTrue("Should drop events, was: " + async.getDroppedEvents(), async.getDroppedEvents() >= 14);
+
+        release.countDown();
+        context.stop();
+
+        // the remainder should be dispatched on stop
+        assertEquals(20 - async.getDroppedEvents(), events.size());
+        assertEquals(0, async.getPendingEvents());
+    }
+
+    public void testIgnoreOptionsFromDelegate() throws Exception {
+        EventNotifier delegate = async.getDelegate();
+        assertFalse(async.isIgnoreExchangeFailedEvents());
+
+        // changing the delegate should take effect on the async notifier
+        delegate.setIgnoreExchangeFailedEvents(true);
+        assertTrue(async.isIgnoreExchangeFailedEvents());
+
+        // and the other way around
+        async.setIgnoreExchangeSentEvents(true);
+        assertTrue(delegate.isIgnoreExchangeSentEvents());
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+
+        release.countDown();
+        context.stop();
+
+        assertEquals(0, events.size());
+    }
+
+    public void testNotifyBeforeStarted() throws Exception {
+        release.countDown();
+
+        AsyncEventNotifier notStarted = new AsyncEventNotifier(async.getDelegate());
+        EventObject event = new EventObject(this);
+        notStarted.notify(event);
+
+        // should be dispatched directly as there is no background thread
+        assertEquals(1, events.size());
+        assertSame(event, events.get(0));
+        assertEquals(Thread.currentThread().getName(), notifyThread);
+        assertEquals(0, notStarted.getDroppedEvents());
+    }
+
+    public void testCamelContextIsMandatory() throws Exception {
+        AsyncEventNotifier notifier = new AsyncEventNotifier(async.getDelegate());
+        try {
+            notifier.start();
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("camelContext must be specified"));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.management.event.ExchangeRedeliveryEvent;
+import org.apache.camel.management.event.ExchangeSentEvent;
+import org.apache.camel.management.event.RouteStartedEvent;
+import org.apache.camel.management.event.RouteStoppedEvent;
+import org.apache.camel.util.EventHelper;
+
+/**
+ * @version $Revision$
+ */
+public class EventNotifierSharedEventTest extends ContextTestSupport {
+
+    private MyNotifier first;
+    private MyNotifier second;
+    private MyNotifier redelivery;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext(createRegistry());
+
+        first = new MyNotifier();
+        first.setIgnoreExchangeCreatedEvent(true);
+        first.setIgnoreExchangeCompletedEvent(true);
+        first.setIgnoreExchangeFailedEvents(true);
+        first.setIgnoreExchangeRedeliveryEvents(true);
+
+        second = new MyNotifier();
+        second.setIgnoreExchangeCreatedEvent(true);
+        second.setIgnoreExchangeCompletedEvent(true);
+        second.setIgnoreExchangeFailedEvents(true);
+        second.setIgnoreExchangeRedeliveryEvents(true);
+
+        // only interested in redelivery events
+        redelivery = new MyNotifier();
+        redelivery.setIgnoreExchangeCreatedEvent(true);
+        redelivery.setIgnoreExchangeCompletedEvent(true);
+        redelivery.setIgnoreExchangeFailedEvents(true);
+        redelivery.setIgnoreExchangeSentEvents(true);
+
+        context.getManagementStrategy().addEventNotifier(first);
+        context.getManagementStrategy().addEventNotifier(second);
+        context.getManagementStrategy().addEventNotifier(redelivery);
+        return context;
+    }
+
+    public void testEventIsShared() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(2, first.events.size());
+        assertEquals(2, second.events.size());
+        for (int i = 0; i < first.events.size(); i++) {
+            assertIsInstanceOf(ExchangeSentEvent.class, first.events.get(i));
+            assertSame("The same event should be shared", first.events.get(i), second.events.get(i));
+        }
+        assertEquals(0, redelivery.events.size());
+    }
+
+    public void testRedeliveryEventNotFilteredByFailedEvents() throws Exception {
+        getMockEndpoint("mock:dead").expectedMessageCount(1);
+
+        template.sendBody("direct:fail", "Hello World");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(2, redelivery.events.size());
+        assertIsInstanceOf(ExchangeRedeliveryEvent.class, redelivery.events.get(0));
+        assertIsInstanceOf(ExchangeRedeliveryEvent.class, redelivery.events.get(1));
+    }
+
+    public void testExchangeSentEventEnabled() throws Exception {
+        assertTrue(EventHelper.isExchangeSentEventEnabled(context));
+
+        first.setIgnoreExchangeSentEvents(true);
+        assertTrue(EventHelper.isExchangeSentEventEnabled(context));
+
+        second.setIgnoreExchangeEvents(true);
+        assertFalse(EventHelper.isExchangeSentEventEnabled(context));
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(0, first.events.size());
+        assertEquals(0, second.events.size());
+    }
+
+    public void testRouteStartedNotSkippedWhenFirstNotifierIgnoresRouteEvents() throws Exception {
+        // the first notifier ignores route events, but the second should still be notified
+        second.setIgnoreRouteEvents(false);
+
+        context.stopRoute("start");
+        context.startRoute("start");
+
+        assertEquals(0, first.events.size());
+        assertEquals(2, second.events.size());
+        assertIsInstanceOf(RouteStoppedEvent.class, second.events.get(0));
+        assertIsInstanceOf(RouteStartedEvent.class, second.events.get(1));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("start").to("mock:result");
+
+                from("direct:fail")
+                    .errorHandler(deadLetterChannel("mock:dead").maximumRedeliveries(2).redeliveryDelay(0))
+                    .throwException(new IllegalArgumentException("Damn"));
+            }
+        };
+    }
+
+    private static final class MyNotifier extends EventNotifierSupport {
+
+        private final List<EventObject> events = new ArrayList<EventObject>();
+
+        private MyNotifier() {
+            setIgnoreCamelContextEvents(true);
+            setIgnoreRouteEvents(true);
+            setIgnoreServiceEvents(true);
+        }
+
+        public void notify(EventObject event) throws Exception {
+            events.add(event);
+        }
+
+        public boolean isEnabled(EventObject event) {
+            return true;
+        }
+
+        @Override
+        protected void doStart() throws Exception {
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
+import org.apache.camel.processor.loadbalancer.FailOverLoadBalancer;
+
+/**
+ * @version $Revision$
+ */
+public class ManagedCircuitBreakerLoadBalancerTest extends ManagementTestSupport {
+
+    public void testManageCircuitBreaker() throws Exception {
+        getMockEndpoint("mock:good").expectedMessageCount(3);
+
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "C");
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName name = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=processors,name=\"mybalancer\"");
+
+        Integer open = (Integer) mbeanServer.getAttribute(name, "OpenCircuits");
+        assertEquals(1, open.intValue());
+        Long rejected = (Long) mbeanServer.getAttribute(name, "Rejected");
+        assertEquals(2, rejected.longValue());
+
+        String dump = (String) mbeanServer.invoke(name, "dumpCircuitStates", null, null);
+        assertTrue(dump, dump.contains("Open"));
+
+        mbeanServer.setAttribute(name, new Attribute("OpenDuration", 5000L));
+        Long duration = (Long) mbeanServer.getAttribute(name, "OpenDuration");
+        assertEquals(5000, duration.longValue());
+
+        mbeanServer.invoke(name, "reset", null, null);
+        open = (Integer) mbeanServer.getAttribute(name, "OpenCircuits");
+        assertEquals(0, open.intValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                CircuitBreakerLoadBalancer loadBalancer = new CircuitBreakerLoadBalancer(new FailOverLoadBalancer());
+                loadBalancer.setWindowSize(2);
+
+                from("direct:start")
+                    .loadBalance(loadBalancer).id("mybalancer")
+                        .to("direct:bad", "mock:good");
+
+                from("direct:bad")
+                    .throwException(new IllegalArgumentException("Damn"));
+            }
+        };
+    }
+
+}
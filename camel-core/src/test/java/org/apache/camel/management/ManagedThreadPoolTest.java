@@ -61,6 +61,16 @@ public class ManagedThreadPoolTest extends ManagementTestSupport {
 
         Long completed = (Long) mbeanServer.getAttribute(on, "CompletedTaskCount");
         assertEquals(1, completed.intValue());
+
+        // the thread pool is not instrumented by default
+        Boolean instrumented = (Boolean) mbeanServer.getAttribute(on, "Instrumented");
+        assertEquals(false, instrumented.booleanValue());
+
+        Double meanActive = (Double) mbeanServer.getAttribute(on, "MeanActiveTime");
+        assertEquals(-1d, meanActive.doubleValue());
+
+        Boolean adaptive = (Boolean) mbeanServer.getAttribute(on, "Adaptive");
+        assertEquals(false, adaptive.booleanValue());
     }
 
     @Override
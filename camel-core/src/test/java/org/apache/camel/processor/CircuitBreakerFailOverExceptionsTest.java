@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerOpenException;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerProcessor;
+import org.apache.camel.processor.loadbalancer.FailOverLoadBalancer;
+
+/**
+ * @version $Revision$
+ */
+public class CircuitBreakerFailOverExceptionsTest extends ContextTestSupport {
+
+    private CircuitBreakerLoadBalancer loadBalancer;
+
+    @Override
+    public void setUp() throws Exception {
+        // only failover on IOException
+        List<Class<?>> exceptions = new ArrayList<Class<?>>();
+        exceptions.add(IOException.class);
+        loadBalancer = new CircuitBreakerLoadBalancer(new FailOverLoadBalancer(exceptions));
+        loadBalancer.setWindowSize(2);
+        loadBalancer.setFailureRatio(0.5);
+        loadBalancer.setOpenDuration(60000);
+        super.setUp();
+    }
+
+    public void testFailOverWhenCircuitIsOpen() throws Exception {
+        // the open circuit should failover even though only IOException is configured
+        getMockEndpoint("mock:bad").expectedBodiesReceived("A");
+        getMockEndpoint("mock:good").expectedBodiesReceived("A", "B");
+
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+
+        assertMockEndpointsSatisfied();
+
+        CircuitBreakerProcessor bad = loadBalancer.getCircuitBreakers().get(0);
+        assertEquals(CircuitBreakerProcessor.State.Open, bad.getState());
+        assertEquals(1, bad.getRejected());
+    }
+
+    public void testCircuitBreakerOpenException() throws Exception {
+        Exchange exchange = context.getEndpoint("direct:bad").createExchange();
+        CircuitBreakerProcessor bad = loadBalancer.getCircuitBreakers().get(0);
+
+        // open the circuit
+        bad.process(exchange);
+        assertIsInstanceOf(IOException.class, exchange.getException());
+
+        exchange = context.getEndpoint("direct:bad").createExchange();
+        bad.process(exchange);
+        CircuitBreakerOpenException e = assertIsInstanceOf(CircuitBreakerOpenException.class, exchange.getException());
+        assertSame(bad.getTarget(), e.getProcessor());
+        assertSame(exchange, e.getExchange());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance(loadBalancer)
+                        .to("direct:bad", "direct:good");
+
+                from("direct:bad")
+                    .to("mock:bad")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            throw new IOException("Damn");
+                        }
+                    });
+
+                from("direct:good")
+                    .to("mock:good");
+            }
+        };
+    }
+}
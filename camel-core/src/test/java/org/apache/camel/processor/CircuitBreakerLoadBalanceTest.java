@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerOpenException;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerProcessor;
+import org.apache.camel.processor.loadbalancer.FailOverLoadBalancer;
+import org.apache.camel.util.AsyncProcessorHelper;
+
+/**
+ * @version $Revision$
+ */
+public class CircuitBreakerLoadBalanceTest extends ContextTestSupport {
+
+    private static volatile boolean healthy;
+    private CircuitBreakerLoadBalancer loadBalancer;
+
+    @Override
+    public void setUp() throws Exception {
+        healthy = false;
+        loadBalancer = new CircuitBreakerLoadBalancer(new FailOverLoadBalancer());
+        loadBalancer.setWindowSize(2);
+        loadBalancer.setFailureRatio(0.5);
+        loadBalancer.setOpenDuration(500);
+        super.setUp();
+    }
+
+    public void testCircuitOpensAndCloses() throws Exception {
+        // only the first message is sent to bad, then the circuit is open
+        getMockEndpoint("mock:bad").expectedBodiesReceived("A");
+        getMockEndpoint("mock:good").expectedBodiesReceived("A", "B", "C", "D");
+
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "C");
+        template.sendBody("direct:start", "D");
+
+        assertMockEndpointsSatisfied();
+
+        CircuitBreakerProcessor bad = loadBalancer.getCircuitBreakers().get(0);
+        CircuitBreakerProcessor good = loadBalancer.getCircuitBreakers().get(1);
+        assertEquals(CircuitBreakerProcessor.State.Open, bad.getState());
+        assertEquals(CircuitBreakerProcessor.State.Closed, good.getState());
+        assertEquals(3, bad.getRejected());
+
+        // let the bad recover and wait for the circuit to be half open
+        healthy = true;
+        Thread.sleep(600);
+
+        resetMocks();
+        getMockEndpoint("mock:bad").expectedBodiesReceived("E", "F");
+        getMockEndpoint("mock:good").expectedMessageCount(0);
+
+        // the probe closes the circuit
+        template.sendBody("direct:start", "E");
+        assertEquals(CircuitBreakerProcessor.State.Closed, bad.getState());
+        template.sendBody("direct:start", "F");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testFailedProbeOpensCircuitAgain() throws Exception {
+        getMockEndpoint("mock:bad").expectedBodiesReceived("A", "C");
+        getMockEndpoint("mock:good").expectedBodiesReceived("A", "B", "C", "D");
+
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+
+        Thread.sleep(600);
+
+        // the probe fails so the circuit opens again
+        template.sendBody("direct:start", "C");
+        template.sendBody("direct:start", "D");
+
+        assertMockEndpointsSatisfied();
+
+        CircuitBreakerProcessor bad = loadBalancer.getCircuitBreakers().get(0);
+        assertEquals(CircuitBreakerProcessor.State.Open, bad.getState());
+
+        loadBalancer.reset();
+        assertEquals(CircuitBreakerProcessor.State.Closed, bad.getState());
+        assertEquals(0, bad.getRejected());
+    }
+
+    public void testHangingProbeTimesOut() throws Exception {
+        loadBalancer.setProbeTimeout(200);
+        final List<AsyncCallback> hanging = new ArrayList<AsyncCallback>();
+        CircuitBreakerProcessor breaker = new CircuitBreakerProcessor(loadBalancer, new AsyncProcessor() {
+            public void process(Exchange exchange) throws Exception {
+                AsyncProcessorHelper.process(this, exchange);
+            }
+
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                if (exchange.getIn().getHeader("hang") != null) {
+                    // never complete the callback
+                    hanging.add(callback);
+                    return false;
+                }
+                if (!healthy) {
+                    exchange.setException(new IllegalArgumentException("Damn"));
+                }
+                callback.done(true);
+                return true;
+            }
+        });
+
+        // a failure opens the circuit
+        breaker.process(createExchangeWithBody("A"));
+        assertEquals(CircuitBreakerProcessor.State.Open, breaker.getState());
+
+        Thread.sleep(600);
+
+        // the probe hangs
+        Exchange probe = createExchangeWithBody("B");
+        probe.getIn().setHeader("hang", true);
+        breaker.process(probe, new AsyncCallback() {
+            public void done(boolean doneSync) {
+            }
+        });
+        assertEquals(1, hanging.size());
+        assertEquals(CircuitBreakerProcessor.State.HalfOpen, breaker.getState());
+
+        // while the probe is in progress other exchanges are rejected
+        Exchange exchange = createExchangeWithBody("C");
+        breaker.process(exchange);
+        assertIsInstanceOf(CircuitBreakerOpenException.class, exchange.getException());
+
+        // the probe times out which opens the circuit again
+        Thread.sleep(300);
+        exchange = createExchangeWithBody("D");
+        breaker.process(exchange);
+        assertIsInstanceOf(CircuitBreakerOpenException.class, exchange.getException());
+        assertEquals(CircuitBreakerProcessor.State.Open, breaker.getState());
+
+        // and a new probe closes the circuit
+        healthy = true;
+        Thread.sleep(600);
+        exchange = createExchangeWithBody("E");
+        breaker.process(exchange);
+        assertNull(exchange.getException());
+        assertEquals(CircuitBreakerProcessor.State.Closed, breaker.getState());
+
+        // the late completion of the hanging probe is ignored
+        probe.setException(new IllegalArgumentException("Damn"));
+        hanging.get(0).done(false);
+        assertEquals(CircuitBreakerProcessor.State.Closed, breaker.getState());
+    }
+
+    public void testSlowCallThreshold() throws Exception {
+        loadBalancer.setSlowCallThreshold(100);
+        loadBalancer.setFailureRatio(1.0);
+        healthy = true;
+
+        getMockEndpoint("mock:bad").expectedBodiesReceived("Slow", "Slow");
+        getMockEndpoint("mock:good").expectedBodiesReceived("A");
+
+        // two slow calls opens the circuit
+        template.sendBodyAndHeader("direct:start", "Slow", "delay", 200);
+        CircuitBreakerProcessor bad = loadBalancer.getCircuitBreakers().get(0);
+        assertEquals(CircuitBreakerProcessor.State.Closed, bad.getState());
+        template.sendBodyAndHeader("direct:start", "Slow", "delay", 200);
+        assertEquals(CircuitBreakerProcessor.State.Open, bad.getState());
+
+        template.sendBody("direct:start", "A");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance(loadBalancer)
+                        .to("direct:bad", "direct:good");
+
+                from("direct:bad")
+                    .to("mock:bad")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            Integer delay = exchange.getIn().getHeader("delay", Integer.class);
+                            if (delay != null) {
+                                Thread.sleep(delay);
+                            }
+                            if (!healthy) {
+                                throw new IllegalArgumentException("Damn");
+                            }
+                        }
+                    });
+
+                from("direct:good")
+                    .to("mock:good");
+            }
+        };
+    }
+}
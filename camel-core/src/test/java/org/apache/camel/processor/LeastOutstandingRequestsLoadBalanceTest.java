@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version $Revision$
+ */
+public class LeastOutstandingRequestsLoadBalanceTest extends ContextTestSupport {
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    public void testLeastOutstandingRequests() throws Exception {
+        getMockEndpoint("mock:slow").expectedBodiesReceived("A");
+        getMockEndpoint("mock:fast").expectedBodiesReceived("B", "C", "D");
+
+        // A goes to the slow which is blocked until we release it
+        Future<Object> future = template.asyncRequestBody("direct:start", "A");
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // the fast has no outstanding requests so it should get all of them
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "C");
+        template.sendBody("direct:start", "D");
+
+        release.countDown();
+        future.get(5, TimeUnit.SECONDS);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSpreadEvenlyWhenNoOutstandingRequests() throws Exception {
+        release.countDown();
+
+        getMockEndpoint("mock:slow").expectedMessageCount(2);
+        getMockEndpoint("mock:fast").expectedMessageCount(2);
+
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "C");
+        template.sendBody("direct:start", "D");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance().leastOutstandingRequests()
+                        .to("direct:slow", "mock:fast");
+
+                from("direct:slow")
+                    .to("mock:slow")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            entered.countDown();
+                            release.await(5, TimeUnit.SECONDS);
+                        }
+                    });
+            }
+        };
+    }
+}
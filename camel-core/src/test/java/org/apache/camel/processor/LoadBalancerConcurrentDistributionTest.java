@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Tests that the load balancers distribute exactly according to their policy
+ * when many threads are sending at the same time.
+ *
+ * @version $Revision$
+ */
+public class LoadBalancerConcurrentDistributionTest extends ContextTestSupport {
+
+    private static final int THREADS = 10;
+
+    protected MockEndpoint x;
+    protected MockEndpoint y;
+    protected MockEndpoint z;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        x = getMockEndpoint("mock:x");
+        y = getMockEndpoint("mock:y");
+        z = getMockEndpoint("mock:z");
+    }
+
+    public void testRoundRobinConcurrent() throws Exception {
+        x.expectedMessageCount(300);
+        y.expectedMessageCount(300);
+        z.expectedMessageCount(300);
+
+        sendConcurrent("direct:roundrobin", 900);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWeightedRoundRobinConcurrent() throws Exception {
+        x.expectedMessageCount(400);
+        y.expectedMessageCount(200);
+        z.expectedMessageCount(100);
+
+        sendConcurrent("direct:weightedroundrobin", 700);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWeightedRandomConcurrent() throws Exception {
+        x.expectedMessageCount(400);
+        y.expectedMessageCount(200);
+        z.expectedMessageCount(100);
+
+        sendConcurrent("direct:weightedrandom", 700);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWeightedRoundRobinIsSmooth() throws Exception {
+        // the heaviest processor is interleaved with the others instead of getting its share in a burst
+        x.expectedBodiesReceived(1, 3, 5, 7);
+        y.expectedBodiesReceived(2, 6);
+        z.expectedBodiesReceived(4);
+
+        for (int i = 1; i <= 7; i++) {
+            template.sendBody("direct:weightedroundrobin", i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testRandomUsesAllProcessors() throws Exception {
+        x.expectedMinimumMessageCount(1);
+        y.expectedMinimumMessageCount(1);
+        z.expectedMinimumMessageCount(1);
+
+        sendConcurrent("direct:random", 300);
+
+        assertMockEndpointsSatisfied();
+        assertEquals(300, x.getReceivedCounter() + y.getReceivedCounter() + z.getReceivedCounter());
+    }
+
+    protected void sendConcurrent(final String uri, int messages) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(messages);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < messages; i++) {
+                final int counter = i;
+                executor.execute(new Runnable() {
+                    public void run() {
+                        try {
+                            template.sendBody(uri, counter);
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+            }
+            assertTrue("Should send all messages", latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:roundrobin").loadBalance().roundRobin().to("mock:x", "mock:y", "mock:z");
+
+                from("direct:random").loadBalance().random().to("mock:x", "mock:y", "mock:z");
+
+                from("direct:weightedroundrobin").loadBalance().weighted(true, "4,2,1").to("mock:x", "mock:y", "mock:z");
+
+                from("direct:weightedrandom").loadBalance().weighted(false, "4,2,1").to("mock:x", "mock:y", "mock:z");
+            }
+        };
+    }
+}
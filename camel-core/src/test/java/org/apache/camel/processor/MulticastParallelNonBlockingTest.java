@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * Tests that parallel multicast does not block the caller thread while the parallel tasks are being processed.
+ *
+ * @version $Revision$
+ */
+public class MulticastParallelNonBlockingTest extends ContextTestSupport {
+
+    private final CountDownLatch arrived = new CountDownLatch(5);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch continued = new CountDownLatch(5);
+
+    public void testCallerThreadNotBlocked() throws Exception {
+        getMockEndpoint("mock:a").expectedMessageCount(5);
+        getMockEndpoint("mock:b").expectedMessageCount(5);
+        getMockEndpoint("mock:result").expectedMessageCount(5);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("seda:start", "Hello " + i);
+        }
+
+        // the single seda consumer thread is not blocked by the multicast in progress
+        // so all the messages should be multicasted before any of them is allowed to complete
+        assertTrue("All messages should be multicasted", arrived.await(10, TimeUnit.SECONDS));
+        assertEquals(0, getMockEndpoint("mock:result").getReceivedCounter());
+
+        // and no thread should be parked waiting for the in flight exchanges to be aggregated
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            assertFalse("Should not have a thread waiting for the in flight exchanges: " + thread.getName(),
+                    thread.getName().contains("MulticastProcessor"));
+        }
+
+        release.countDown();
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testContinueRoutingConcurrently() throws Exception {
+        getMockEndpoint("mock:continued").expectedMessageCount(5);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("seda:continue", "Hello " + i);
+        }
+
+        // the rest of the route for each exchange waits for the others, which only works
+        // if the exchanges continue routing concurrently and not one at a time
+        assertMockEndpointsSatisfied();
+        for (Exchange exchange : getMockEndpoint("mock:continued").getReceivedExchanges()) {
+            String name = exchange.getIn().getHeader("threadName", String.class);
+            assertTrue("Should continue on continuation thread but was " + name, name.contains("Continuation"));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:start")
+                    .multicast().parallelProcessing().to("direct:a", "direct:b").end()
+                    .to("mock:result");
+
+                from("direct:a").process(new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        arrived.countDown();
+                        release.await(10, TimeUnit.SECONDS);
+                    }
+                }).to("mock:a");
+
+                from("direct:b").to("mock:b");
+
+                from("seda:continue")
+                    .multicast().parallelProcessing().to("log:a", "log:b").end()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            exchange.getIn().setHeader("threadName", Thread.currentThread().getName());
+                            continued.countDown();
+                            continued.await(10, TimeUnit.SECONDS);
+                        }
+                    })
+                    .to("mock:continued");
+            }
+        };
+    }
+}
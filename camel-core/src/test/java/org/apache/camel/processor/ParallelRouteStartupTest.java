@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.RouteStartupOrder;
+
+/**
+ * @version $Revision$
+ */
+public class ParallelRouteStartupTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setParallelRouteStartup(true);
+        return context;
+    }
+
+    public void testParallelRouteStartup() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        getMockEndpoint("mock:default").expectedMessageCount(10);
+
+        template.sendBody("direct:start", "Hello World");
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:default" + i, "Bye World");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // routes with startup order should still be started in that order before the others
+        DefaultCamelContext dcc = (DefaultCamelContext) context;
+        List<RouteStartupOrder> order = dcc.getRouteStartupOrder();
+
+        assertEquals(12, order.size());
+        assertEquals("seda://foo", order.get(0).getRoute().getEndpoint().getEndpointUri());
+        assertEquals("direct://start", order.get(1).getRoute().getEndpoint().getEndpointUri());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("direct://default" + i, order.get(i + 2).getRoute().getEndpoint().getEndpointUri());
+        }
+    }
+
+    public void testStartupTimings() throws Exception {
+        Map<String, Long> timings = context.getStartupTimings();
+        assertTrue(timings.containsKey("Components"));
+        assertTrue(timings.containsKey("RouteDefinitions"));
+        assertTrue(timings.containsKey("Routes"));
+        for (Long taken : timings.values()) {
+            assertTrue(taken >= 0);
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").startupOrder(2).to("seda:foo");
+
+                from("seda:foo").startupOrder(1).to("mock:result");
+
+                // these has no startup order and can be started in parallel
+                for (int i = 0; i < 10; i++) {
+                    from("direct:default" + i).to("log:default" + i).to("mock:default");
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.DefaultErrorHandlerBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.RouteContext;
+
+/**
+ * @version $Revision$
+ */
+public class RedeliveryErrorHandlerMaximumPendingRedeliveriesTest extends ContextTestSupport {
+
+    private final List<RedeliveryErrorHandler> handlers = new CopyOnWriteArrayList<RedeliveryErrorHandler>();
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<String, Integer>();
+    private final AtomicInteger maxPending = new AtomicInteger();
+
+    public void testMaximumPendingRedeliveries() throws Exception {
+        // World is redelivered asynchronously, but the pending redeliveries is full when Bye fails
+        // so it blocks the consumer thread and thus Camel must arrive after Bye
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello Bye", "Hello Camel", "Hello World");
+
+        template.sendBody("seda:start", "World");
+        template.sendBody("seda:start", "Bye");
+        template.sendBody("seda:start", "Camel");
+
+        assertMockEndpointsSatisfied();
+
+        // the exchange keeps its reservation while it is redelivered asynchronously
+        assertEquals(1, maxPending.get());
+
+        long scheduled = 0;
+        long blocked = 0;
+        for (RedeliveryErrorHandler handler : handlers) {
+            assertEquals(1, handler.getMaximumPendingRedeliveries());
+            scheduled += handler.getScheduledRedeliveries();
+            blocked += handler.getBlockedRedeliveries();
+        }
+        assertEquals(2, scheduled);
+        assertEquals(1, blocked);
+
+        // the reservation is released when the exchange is done
+        for (int i = 0; i < 50 && getPendingRedeliveries() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, getPendingRedeliveries());
+    }
+
+    private int getPendingRedeliveries() {
+        int pending = 0;
+        for (RedeliveryErrorHandler handler : handlers) {
+            pending += handler.getPendingRedeliveries();
+        }
+        return pending;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                DefaultErrorHandlerBuilder builder = new DefaultErrorHandlerBuilder() {
+                    @Override
+                    public Processor createErrorHandler(RouteContext routeContext, Processor processor) throws Exception {
+                        Processor answer = super.createErrorHandler(routeContext, processor);
+                        handlers.add((RedeliveryErrorHandler) answer);
+                        return answer;
+                    }
+                };
+                errorHandler(builder.maximumRedeliveries(5).redeliveryDelay(500).asyncDelayedRedelivery().maximumPendingRedeliveries(1));
+
+                from("seda:start")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            int pending = getPendingRedeliveries();
+                            if (pending > maxPending.get()) {
+                                maxPending.set(pending);
+                            }
+
+                            String body = exchange.getIn().getBody(String.class);
+                            Integer attempt = attempts.get(body);
+                            attempt = attempt == null ? 1 : attempt + 1;
+                            attempts.put(body, attempt);
+
+                            // World fails twice and Bye fails once
+                            if ((body.equals("World") && attempt <= 2) || (body.equals("Bye") && attempt <= 1)) {
+                                throw new IllegalArgumentException("Damn");
+                            }
+                            exchange.getIn().setBody("Hello " + body);
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+}
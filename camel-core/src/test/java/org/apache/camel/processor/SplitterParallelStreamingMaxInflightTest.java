@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * Tests that parallel streaming split does not iterate further ahead than the max in flight exchanges.
+ *
+ * @version $Revision$
+ */
+public class SplitterParallelStreamingMaxInflightTest extends ContextTestSupport {
+
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger maxAhead = new AtomicInteger();
+    private final CountDownLatch arrived = new CountDownLatch(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    public void testMaxInflightExchanges() throws Exception {
+        getMockEndpoint("mock:split").expectedMessageCount(200);
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", new CountingIterator(200));
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(200, pulled.get());
+        assertTrue("Should not iterate more than 5 ahead, was " + maxAhead.get(), maxAhead.get() <= 5);
+    }
+
+    public void testCallerNotBlockedWhenWindowIsFull() throws Exception {
+        getMockEndpoint("mock:window").expectedMessageCount(2);
+
+        template.sendBody("seda:window", Arrays.asList("A", "B", "C"));
+        template.sendBody("seda:window", Arrays.asList("D", "E", "F"));
+
+        // the window of the first message is full, but the single seda consumer thread
+        // is not waiting for a free slot so it can start splitting the second message
+        assertTrue("Both messages should be split", arrived.await(10, TimeUnit.SECONDS));
+        release.countDown();
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body()).streaming().parallelProcessing().maxInflightExchanges(5)
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                Thread.sleep(5);
+                                processed.incrementAndGet();
+                            }
+                        })
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+
+                from("seda:window")
+                    .split(body()).streaming().parallelProcessing().maxInflightExchanges(1)
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                String body = exchange.getIn().getBody(String.class);
+                                if ("A".equals(body) || "D".equals(body)) {
+                                    arrived.countDown();
+                                    release.await(10, TimeUnit.SECONDS);
+                                }
+                            }
+                        })
+                    .end()
+                    .to("mock:window");
+            }
+        };
+    }
+
+    private final class CountingIterator implements Iterator<Integer> {
+        private final int size;
+
+        private CountingIterator(int size) {
+            this.size = size;
+        }
+
+        public boolean hasNext() {
+            return pulled.get() < size;
+        }
+
+        public Integer next() {
+            int ahead = pulled.incrementAndGet() - processed.get();
+            int max = maxAhead.get();
+            while (ahead > max && !maxAhead.compareAndSet(max, ahead)) {
+                max = maxAhead.get();
+            }
+            return pulled.get();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
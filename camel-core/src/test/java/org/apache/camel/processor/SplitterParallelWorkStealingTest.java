@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.ThreadPoolProfileSupport;
+
+/**
+ * @version $Revision$
+ */
+public class SplitterParallelWorkStealingTest extends ContextTestSupport {
+
+    public void testSplitParallelWorkStealing() throws Exception {
+        List<Integer> body = new ArrayList<Integer>();
+        for (int i = 0; i < 200; i++) {
+            body.add(i);
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:split");
+        mock.expectedMessageCount(200);
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", body);
+
+        assertMockEndpointsSatisfied();
+
+        // the work stealing pool from the profile has 4 threads
+        Set<String> threads = new HashSet<String>();
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            threads.add(exchange.getIn().getHeader("threadName", String.class));
+        }
+        assertTrue("Should use at most 4 threads, was " + threads, threads.size() <= 4);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThreadPoolProfileSupport profile = new ThreadPoolProfileSupport("cpuBound");
+                profile.setPoolSize(4);
+                profile.setPoolType(ThreadPoolType.WorkStealing);
+                context.getExecutorServiceStrategy().registerThreadPoolProfile(profile);
+
+                from("direct:start")
+                    .split(body()).parallelProcessing().executorServiceRef("cpuBound")
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                exchange.getIn().setHeader("threadName", Thread.currentThread().getName());
+                            }
+                        })
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+}
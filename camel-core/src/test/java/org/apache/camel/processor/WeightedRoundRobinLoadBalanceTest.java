@@ -59,15 +59,16 @@ public class WeightedRoundRobinLoadBalanceTest extends ContextTestSupport {
         sendMessages(1, 2, 3, 4, 5, 6, 7, 8);
         
         assertMockEndpointsSatisfied();
-        x.expectedBodiesReceived(1, 4, 6, 7, 8);
-        y.expectedBodiesReceived(2, 5);
-        z.expectedBodiesReceived(3);
+        x.expectedBodiesReceived(1, 3, 5, 7, 8);
+        y.expectedBodiesReceived(2, 6);
+        z.expectedBodiesReceived(4);
     }
 
     public void testRoundRobin2() throws Exception {
-        x.expectedMessageCount(3);
+        // the smooth schedule starts with the heaviest processor, so z also gets the 7th message
+        x.expectedMessageCount(2);
         y.expectedMessageCount(1);
-        z.expectedMessageCount(3);
+        z.expectedMessageCount(4);
 
         context.addRoutes(new RouteBuilder() {
             public void configure() {
@@ -84,9 +85,9 @@ public class WeightedRoundRobinLoadBalanceTest extends ContextTestSupport {
         sendMessages(1, 2, 3, 4, 5, 6, 7);
         
         assertMockEndpointsSatisfied();
-        x.expectedBodiesReceived(1, 4, 7);
-        y.expectedBodiesReceived(2);
-        z.expectedBodiesReceived(3, 5, 6);
+        x.expectedBodiesReceived(2, 5);
+        y.expectedBodiesReceived(3);
+        z.expectedBodiesReceived(1, 4, 6, 7);
     }
 
     public void testRoundRobinBulk() throws Exception {
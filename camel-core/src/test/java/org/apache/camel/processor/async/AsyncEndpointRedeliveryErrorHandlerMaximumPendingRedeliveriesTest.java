@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.async;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.DefaultErrorHandlerBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.RedeliveryErrorHandler;
+import org.apache.camel.spi.RouteContext;
+
+/**
+ * @version $Revision$
+ */
+public class AsyncEndpointRedeliveryErrorHandlerMaximumPendingRedeliveriesTest extends ContextTestSupport {
+
+    private final List<RedeliveryErrorHandler> handlers = new CopyOnWriteArrayList<RedeliveryErrorHandler>();
+
+    public void testMaximumPendingRedeliveries() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Bye Camel");
+
+        // the first exchange fails asynchronously and is waiting to be redelivered
+        Future<Object> future = template.asyncRequestBody("direct:start", "Hello World");
+        for (int i = 0; i < 50 && getPendingRedeliveries() == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, getPendingRedeliveries());
+
+        // the second exchange fails asynchronously as well, but the maximum pending redeliveries has been
+        // reached, and as the callback thread must not be blocked the exchange fails instead
+        Exchange out = template.send("direct:start", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Hello Camel");
+            }
+        });
+        assertIsInstanceOf(RejectedExecutionException.class, out.getException());
+
+        assertEquals("Bye Camel", future.get());
+        assertMockEndpointsSatisfied();
+
+        long blocked = 0;
+        for (RedeliveryErrorHandler handler : handlers) {
+            blocked += handler.getBlockedRedeliveries();
+        }
+        assertEquals(0, blocked);
+
+        // the reservation is released when the exchange is done
+        for (int i = 0; i < 50 && getPendingRedeliveries() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, getPendingRedeliveries());
+    }
+
+    private int getPendingRedeliveries() {
+        int pending = 0;
+        for (RedeliveryErrorHandler handler : handlers) {
+            pending += handler.getPendingRedeliveries();
+        }
+        return pending;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                context.addComponent("async", new MyAsyncComponent());
+
+                DefaultErrorHandlerBuilder builder = new DefaultErrorHandlerBuilder() {
+                    @Override
+                    public Processor createErrorHandler(RouteContext routeContext, Processor processor) throws Exception {
+                        Processor answer = super.createErrorHandler(routeContext, processor);
+                        handlers.add((RedeliveryErrorHandler) answer);
+                        return answer;
+                    }
+                };
+                errorHandler(builder.maximumRedeliveries(5).redeliveryDelay(1000).asyncDelayedRedelivery().maximumPendingRedeliveries(1));
+
+                from("direct:start")
+                    .to("async:Bye Camel?failFirstAttempts=2")
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version $Revision$
+ */
+public class ProfilerTest extends ContextTestSupport {
+
+    private Profiler profiler;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+
+        profiler = new Profiler();
+        profiler.setSampleRate(1);
+        profiler.setBufferSize(5);
+        context.addInterceptStrategy(profiler);
+
+        return context;
+    }
+
+    public void testSlowestNode() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+
+        template.sendBody("direct:start", "Hello World");
+        template.sendBody("direct:start", "Bye World");
+        template.sendBody("direct:start", "Hello Camel");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(3, profiler.getSampledCount());
+        List<ProfileTrace> traces = profiler.getSlowestTraces(2);
+        assertEquals(2, traces.size());
+        assertTrue(traces.get(0).getElapsed() >= traces.get(1).getElapsed());
+
+        ProfileTrace trace = traces.get(0);
+        assertEquals("start", trace.getRouteId());
+        assertFalse(trace.isFailed());
+        // the nodes in the sub route is part of the trace as well
+        assertEquals(4, trace.getNodes().size());
+        assertEquals("slow", trace.getNodesByTime().get(1).getId());
+        assertEquals("sub", trace.getNodesByTime().get(0).getId());
+        assertTrue(trace.getNodesByTime().get(1).getTotalTime() >= 50 * 1000000L);
+
+        List<Profiler.NodeStatistics> stats = profiler.getNodeStatistics();
+        assertEquals("sub", stats.get(0).getId());
+        assertEquals(3, stats.get(0).getTraces());
+        assertEquals("slow", stats.get(1).getId());
+
+        String dump = profiler.dumpSlowestTraces(1);
+        assertTrue(dump, dump.contains("slow"));
+    }
+
+    public void testSampleRate() throws Exception {
+        profiler.setSampleRate(3);
+
+        getMockEndpoint("mock:result").expectedMessageCount(6);
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+        assertMockEndpointsSatisfied();
+
+        assertEquals(6, profiler.getExchangeCount());
+        assertEquals(2, profiler.getSampledCount());
+        assertEquals(2, profiler.getTraces().size());
+    }
+
+    public void testRingBuffer() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(8);
+        for (int i = 0; i < 8; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+        assertMockEndpointsSatisfied();
+
+        assertEquals(8, profiler.getSampledCount());
+        // only the latest 5 is kept
+        assertEquals(5, profiler.getTraces().size());
+
+        profiler.reset();
+        assertEquals(0, profiler.getTraces().size());
+    }
+
+    public void testDisabled() throws Exception {
+        profiler.setEnabled(false);
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+
+        assertEquals(0, profiler.getSampledCount());
+        assertEquals(0, profiler.getTraces().size());
+    }
+
+    public void testSplit() throws Exception {
+        getMockEndpoint("mock:line").expectedMessageCount(3);
+        template.sendBody("direct:split", "A,B,C");
+        assertMockEndpointsSatisfied();
+
+        ProfileTrace trace = profiler.getTraces().get(0);
+        ProfileTrace.NodeTiming line = null;
+        for (ProfileTrace.NodeTiming timing : trace.getNodes()) {
+            if ("line".equals(timing.getId())) {
+                line = timing;
+            }
+        }
+        assertNotNull(line);
+        assertEquals(3, line.getInvocations());
+    }
+
+    public void testRedelivery() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        template.sendBody("direct:redeliver", "Hello World");
+        assertMockEndpointsSatisfied();
+
+        ProfileTrace trace = profiler.getTraces().get(0);
+        ProfileTrace.NodeTiming flaky = trace.getNodesByTime().get(0);
+        assertEquals("flaky", flaky.getId());
+        assertEquals(3, flaky.getInvocations());
+        // the span includes the 2 redelivery delays
+        assertTrue("Span was " + flaky.getSpan(), flaky.getSpan() >= 2 * 100 * 1000000L);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("start")
+                    .to("log:foo").id("log")
+                    .to("direct:sub").id("sub")
+                    .to("mock:result").id("result");
+
+                from("direct:sub").routeId("sub")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            Thread.sleep(50);
+                        }
+                    }).id("slow");
+
+                from("direct:split")
+                    .split(body().tokenize(",")).id("split")
+                        .to("mock:line").id("line");
+
+                from("direct:redeliver")
+                    .errorHandler(defaultErrorHandler().maximumRedeliveries(2).redeliveryDelay(100))
+                    .process(new Processor() {
+                        private int counter;
+
+                        public void process(Exchange exchange) throws Exception {
+                            if (++counter < 3) {
+                                throw new IllegalArgumentException("Damn");
+                            }
+                        }
+                    }).id("flaky")
+                    .to("mock:result").id("result2");
+            }
+        };
+    }
+}
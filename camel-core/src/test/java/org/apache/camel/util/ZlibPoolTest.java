@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ */
+public class ZlibPoolTest extends TestCase {
+
+    public void testReuseDeflater() throws Exception {
+        ZlibPool pool = new ZlibPool(Deflater.BEST_SPEED, false, 2);
+
+        Deflater deflater = pool.acquireDeflater();
+        assertEquals(0, pool.getDeflaterSize());
+        pool.releaseDeflater(deflater);
+        assertEquals(1, pool.getDeflaterSize());
+
+        assertSame(deflater, pool.acquireDeflater());
+        assertEquals(0, pool.getDeflaterSize());
+    }
+
+    public void testReuseInflater() throws Exception {
+        ZlibPool pool = new ZlibPool(Deflater.BEST_SPEED, false, 2);
+
+        Inflater inflater = pool.acquireInflater();
+        pool.releaseInflater(inflater);
+        assertEquals(1, pool.getInflaterSize());
+
+        assertSame(inflater, pool.acquireInflater());
+    }
+
+    public void testBounded() throws Exception {
+        ZlibPool pool = new ZlibPool(Deflater.BEST_SPEED, false, 2);
+
+        Deflater d1 = pool.acquireDeflater();
+        Deflater d2 = pool.acquireDeflater();
+        Deflater d3 = pool.acquireDeflater();
+        pool.releaseDeflater(d1);
+        pool.releaseDeflater(d2);
+        pool.releaseDeflater(d3);
+
+        // the pool is full so the last deflater should have been ended
+        assertEquals(2, pool.getDeflaterSize());
+
+        pool.clear();
+        assertEquals(0, pool.getDeflaterSize());
+        assertEquals(0, pool.getInflaterSize());
+    }
+
+    public void testReusedDeflaterIsReset() throws Exception {
+        ZlibPool pool = new ZlibPool(Deflater.BEST_SPEED, false, 2);
+
+        byte[] first = compress(pool, "Hello World");
+        byte[] second = compress(pool, "Hello World");
+        assertEquals(first.length, second.length);
+
+        Inflater inflater = pool.acquireInflater();
+        inflater.setInput(second);
+        byte[] result = new byte[100];
+        int len = inflater.inflate(result);
+        pool.releaseInflater(inflater);
+        assertEquals("Hello World", new String(result, 0, len));
+    }
+
+    private static byte[] compress(ZlibPool pool, String text) {
+        Deflater deflater = pool.acquireDeflater();
+        try {
+            deflater.setInput(text.getBytes());
+            deflater.finish();
+            byte[] buf = new byte[100];
+            int len = deflater.deflate(buf);
+            byte[] answer = new byte[len];
+            System.arraycopy(buf, 0, answer, 0, len);
+            return answer;
+        } finally {
+            pool.releaseDeflater(deflater);
+        }
+    }
+
+}
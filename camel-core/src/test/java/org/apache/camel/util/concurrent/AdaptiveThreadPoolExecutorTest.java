@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ */
+public class AdaptiveThreadPoolExecutorTest extends TestCase {
+
+    public void testGrowOnQueueWait() throws Exception {
+        AdaptiveThreadPoolExecutor pool = (AdaptiveThreadPoolExecutor) ExecutorServiceHelper.newAdaptiveThreadPool(
+                "MyPool ${name}", "foo", 1, 4, 60, TimeUnit.SECONDS, -1, null, true);
+        pool.setTargetQueueWaitTime(1);
+        pool.setAdjustInterval(20);
+
+        final CountDownLatch latch = new CountDownLatch(200);
+        for (int i = 0; i < 200; i++) {
+            pool.execute(new Runnable() {
+                public void run() {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(4, pool.getCorePoolSize());
+        assertEquals(4, pool.getLargestPoolSize());
+
+        // wait for the threads to finish updating statistics
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(200, pool.getInstrumentedTaskCount());
+        assertTrue(pool.getMeanQueueWaitTime() > 1);
+        assertTrue(pool.getMaxQueueWaitTime() >= pool.getMeanQueueWaitTime());
+        assertTrue(pool.getMeanActiveTime() >= 4);
+
+        pool.resetStatistics();
+        assertEquals(0, pool.getInstrumentedTaskCount());
+        assertEquals(0d, pool.getMaxQueueWaitTime());
+    }
+
+    public void testGrowWhenAllThreadsBlocked() throws Exception {
+        AdaptiveThreadPoolExecutor pool = (AdaptiveThreadPoolExecutor) ExecutorServiceHelper.newAdaptiveThreadPool(
+                "MyPool ${name}", "foo", 1, 4, 60, TimeUnit.SECONDS, -1, null, true);
+        pool.setTargetQueueWaitTime(1);
+        pool.setAdjustInterval(20);
+
+        // the tasks block until all of them have started, so no task is taken from the queue until the pool grows
+        final CountDownLatch started = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            pool.execute(new Runnable() {
+                public void run() {
+                    started.countDown();
+                    try {
+                        started.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                }
+            });
+        }
+
+        // the pool should grow when new tasks is submitted
+        for (int i = 0; i < 100 && started.getCount() > 0; i++) {
+            Thread.sleep(25);
+            pool.execute(new Runnable() {
+                public void run() {
+                }
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(4, pool.getCorePoolSize());
+        pool.shutdown();
+    }
+
+    public void testShrinkWhenIdle() throws Exception {
+        AdaptiveThreadPoolExecutor pool = (AdaptiveThreadPoolExecutor) ExecutorServiceHelper.newAdaptiveThreadPool(
+                "MyPool ${name}", "foo", 1, 4, 60, TimeUnit.SECONDS, -1, null, true);
+        pool.setAdjustInterval(10);
+        pool.setCorePoolSize(3);
+
+        // tasks run one at a time so they never wait in the queue
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(15);
+            pool.submit(new Runnable() {
+                public void run() {
+                }
+            }).get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, pool.getCorePoolSize());
+        pool.shutdown();
+    }
+}
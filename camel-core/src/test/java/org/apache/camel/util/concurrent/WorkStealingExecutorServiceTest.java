@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+/**
+ * @version $Revision$
+ */
+public class WorkStealingExecutorServiceTest extends TestCase {
+
+    public void testExecuteTasks() throws Exception {
+        ExecutorService pool = ExecutorServiceHelper.newWorkStealingThreadPool(4, "MyPool ${name}", "foo", true);
+
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < 1000; i++) {
+            final int number = i;
+            futures.add(pool.submit(new Callable<Integer>() {
+                public Integer call() throws Exception {
+                    return number * 2;
+                }
+            }));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 2, futures.get(i).get(5, TimeUnit.SECONDS).intValue());
+        }
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(pool.isTerminated());
+    }
+
+    public void testNestedTasksAreStolen() throws Exception {
+        final WorkStealingExecutorService pool = (WorkStealingExecutorService)
+                ExecutorServiceHelper.newWorkStealingThreadPool(4, "MyPool ${name}", "foo", true);
+        final CountDownLatch latch = new CountDownLatch(100);
+
+        // a single task which fans out, so the other threads can only get work by stealing
+        pool.execute(new Runnable() {
+            public void run() {
+                for (int i = 0; i < 100; i++) {
+                    pool.execute(new Runnable() {
+                        public void run() {
+                            try {
+                                Thread.sleep(5);
+                            } catch (InterruptedException e) {
+                                // ignore
+                            }
+                            latch.countDown();
+                        }
+                    });
+                }
+            }
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue("Should have stolen tasks", pool.getStealCount() > 0);
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(101, pool.getCompletedTaskCount());
+    }
+
+    public void testConcurrentSubmitters() throws Exception {
+        final WorkStealingExecutorService pool = (WorkStealingExecutorService)
+                ExecutorServiceHelper.newWorkStealingThreadPool(4, "MyPool ${name}", "foo", true);
+        final AtomicInteger counter = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(8 * 1000 * 2);
+
+        // submit from several threads outside the pool, where each task also submits a nested task
+        List<Thread> submitters = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        pool.execute(new Runnable() {
+                            public void run() {
+                                counter.incrementAndGet();
+                                latch.countDown();
+                                pool.execute(new Runnable() {
+                                    public void run() {
+                                        counter.incrementAndGet();
+                                        latch.countDown();
+                                    }
+                                });
+                            }
+                        });
+                    }
+                }
+            });
+            submitters.add(thread);
+            thread.start();
+        }
+        for (Thread thread : submitters) {
+            thread.join();
+        }
+
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+        assertEquals(8 * 1000 * 2, counter.get());
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(8 * 1000 * 2, pool.getCompletedTaskCount());
+        assertEquals(0, pool.getQueueSize());
+    }
+
+    public void testDequeGrowsAndStealsInOrder() throws Exception {
+        WorkStealingExecutorService.WorkStealingDeque deque = new WorkStealingExecutorService.WorkStealingDeque();
+        List<Runnable> tasks = new ArrayList<Runnable>();
+        for (int i = 0; i < 100; i++) {
+            Runnable task = new Runnable() {
+                public void run() {
+                }
+            };
+            tasks.add(task);
+            deque.push(task);
+        }
+        assertEquals(100, deque.size());
+
+        // thieves take the oldest, the owner takes the newest
+        assertSame(tasks.get(0), deque.steal());
+        assertSame(tasks.get(99), deque.pop());
+        assertEquals(98, deque.size());
+
+        for (int i = 98; i >= 1; i--) {
+            assertSame(tasks.get(i), deque.pop());
+        }
+        assertNull(deque.pop());
+        assertNull(deque.steal());
+        assertEquals(0, deque.size());
+    }
+
+    public void testShutdownRunsQueuedTasks() throws Exception {
+        ExecutorService pool = ExecutorServiceHelper.newWorkStealingThreadPool(2, "MyPool ${name}", "foo", true);
+        final AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 50; i++) {
+            pool.execute(new Runnable() {
+                public void run() {
+                    counter.incrementAndGet();
+                }
+            });
+        }
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(50, counter.get());
+
+        try {
+            pool.execute(new Runnable() {
+                public void run() {
+                }
+            });
+            fail("Should have thrown an exception");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    public void testShutdownNow() throws Exception {
+        ExecutorService pool = ExecutorServiceHelper.newWorkStealingThreadPool(1, "MyPool ${name}", "foo", true);
+        final CountDownLatch started = new CountDownLatch(1);
+        pool.execute(new Runnable() {
+            public void run() {
+                started.countDown();
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Runnable waiting = new Runnable() {
+            public void run() {
+            }
+        };
+        pool.execute(waiting);
+
+        List<Runnable> tasks = pool.shutdownNow();
+        assertEquals(1, tasks.size());
+        assertSame(waiting, tasks.get(0));
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+}
@@ -38,6 +38,7 @@ public class SqsConfiguration {
     private Integer visibilityTimeout;
     private Collection<String> attributeNames;
     private Integer defaultVisibilityTimeout;
+    private int concurrentConsumers = 1;
 
     public String getQueueName() {
         return queueName;
@@ -103,6 +104,20 @@ public class SqsConfiguration {
         this.defaultVisibilityTimeout = defaultVisibilityTimeout;
     }
 
+    public int getConcurrentConsumers() {
+        return concurrentConsumers;
+    }
+
+    /**
+     * Sets the number of receive requests which are issued in parallel on each poll.
+     * A single receive request returns at most 10 messages, so using more consumers
+     * hides the round trip to SQS when the queue has a backlog. The received messages are
+     * processed concurrently by the same number of threads.
+     */
+    public void setConcurrentConsumers(int concurrentConsumers) {
+        this.concurrentConsumers = concurrentConsumers;
+    }
+
     @Override
     public String toString() {
         return "SqsConfiguration[queueName=" + queueName
@@ -113,6 +128,7 @@ public class SqsConfiguration {
             + ", visibilityTimeout=" + visibilityTimeout
             + ", attributeNames=" + attributeNames
             + ", defaultVisibilityTimeout=" + defaultVisibilityTimeout
+            + ", concurrentConsumers=" + concurrentConsumers
             + "]";
     }
 }
\ No newline at end of file
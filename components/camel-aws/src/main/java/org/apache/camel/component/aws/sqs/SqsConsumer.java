@@ -16,16 +16,20 @@
  */
 package org.apache.camel.component.aws.sqs;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.sqs.AmazonSQSClient;
 import com.amazonaws.services.sqs.model.DeleteMessageRequest;
 import com.amazonaws.services.sqs.model.Message;
 import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
-import com.amazonaws.services.sqs.model.ReceiveMessageResult;
 
 import org.apache.camel.BatchConsumer;
 import org.apache.camel.Exchange;
@@ -49,10 +53,16 @@ import org.apache.commons.logging.LogFactory;
  */
 public class SqsConsumer extends ScheduledPollConsumer implements BatchConsumer, ShutdownAware {
     
+    /**
+     * The maximum number of messages SQS returns for a single receive request
+     */
+    public static final int MAX_NUMBER_OF_MESSAGES = 10;
+    
     private static final transient Log LOG = LogFactory.getLog(SqsConsumer.class);
     
     private volatile ShutdownRunningTask shutdownRunningTask;
     private volatile int pendingExchanges;
+    private ExecutorService executorService;
 
     public SqsConsumer(SqsEndpoint endpoint, Processor processor) throws NoFactoryAvailableException {
         super(endpoint, processor);
@@ -64,14 +74,76 @@ public class SqsConsumer extends ScheduledPollConsumer implements BatchConsumer,
         shutdownRunningTask = null;
         pendingExchanges = 0;
         
+        List<Message> messages;
+        if (executorService != null) {
+            messages = receiveMessagesConcurrently();
+        } else {
+            messages = receiveMessages(getMaxMessagesPerPoll());
+        }
+        
+        Queue<Exchange> exchanges = createExchanges(messages);
+        return processBatch(CastUtils.cast(exchanges));
+    }
+    
+    /**
+     * Receives messages from the queue using a single receive request.
+     *
+     * @param maxNumberOfMessages the maximum number of messages to receive, <tt>0</tt> to use the SQS default
+     * @return the received messages
+     */
+    protected List<Message> receiveMessages(int maxNumberOfMessages) {
         ReceiveMessageRequest request = new ReceiveMessageRequest(getQueueUrl());
-        request.setMaxNumberOfMessages(getMaxMessagesPerPoll() > 0 ? getMaxMessagesPerPoll() : null);
+        request.setMaxNumberOfMessages(maxNumberOfMessages > 0 ? maxNumberOfMessages : null);
         request.setVisibilityTimeout(getConfiguration().getVisibilityTimeout() != null ? getConfiguration().getVisibilityTimeout() : null);
         request.setAttributeNames(getConfiguration().getAttributeNames() != null ? getConfiguration().getAttributeNames() : null);
-        ReceiveMessageResult messageResult = getClient().receiveMessage(request);
         
-        Queue<Exchange> exchanges = createExchanges(messageResult.getMessages());
-        return processBatch(CastUtils.cast(exchanges));
+        return getClient().receiveMessage(request).getMessages();
+    }
+    
+    /**
+     * Receives messages by issuing a receive request per concurrent consumer in parallel,
+     * spreading the <tt>maxMessagesPerPoll</tt> limit over the requests.
+     *
+     * @return the messages received by all requests
+     */
+    protected List<Message> receiveMessagesConcurrently() throws Exception {
+        int consumers = getConfiguration().getConcurrentConsumers();
+        int max = getMaxMessagesPerPoll();
+        
+        List<Future<List<Message>>> futures = new ArrayList<Future<List<Message>>>(consumers);
+        for (int i = 0; i < consumers; i++) {
+            final int size = max > 0 ? max / consumers + (i < max % consumers ? 1 : 0) : 0;
+            if (max > 0 && size == 0) {
+                // no more messages to spread
+                break;
+            }
+            futures.add(executorService.submit(new Callable<List<Message>>() {
+                public List<Message> call() throws Exception {
+                    return receiveMessages(size);
+                }
+            }));
+        }
+        
+        List<Message> answer = new ArrayList<Message>();
+        Exception failure = null;
+        for (Future<List<Message>> future : futures) {
+            try {
+                answer.addAll(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = ObjectHelper.wrapRuntimeCamelException(e.getCause());
+                }
+            }
+        }
+        
+        if (failure != null) {
+            if (answer.isEmpty()) {
+                throw failure;
+            }
+            // the messages we did receive are invisible to others now so process them anyway
+            LOG.warn("Error occurred during receiving messages, continue processing " + answer.size() + " received messages", failure);
+        }
+        return answer;
     }
     
     protected Queue<Exchange> createExchanges(List<Message> messages) {
@@ -90,6 +162,7 @@ public class SqsConsumer extends ScheduledPollConsumer implements BatchConsumer,
     
     public int processBatch(Queue<Object> exchanges) throws Exception {
         int total = exchanges.size();
+        List<Future<?>> futures = new ArrayList<Future<?>>(total);
 
         for (int index = 0; index < total && isBatchAllowed(); index++) {
             // only loop if we are started (allowed to run)
@@ -122,7 +195,33 @@ public class SqsConsumer extends ScheduledPollConsumer implements BatchConsumer,
                 LOG.trace("Processing exchange [" + exchange + "]...");
             }
 
-            getProcessor().process(exchange);
+            if (executorService != null) {
+                // process the messages concurrently as they was received
+                final Exchange current = exchange;
+                futures.add(executorService.submit(new Callable<Object>() {
+                    public Object call() throws Exception {
+                        getProcessor().process(current);
+                        return null;
+                    }
+                }));
+            } else {
+                getProcessor().process(exchange);
+            }
+        }
+
+        // wait for the concurrent processing to complete before the next poll
+        Exception failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = ObjectHelper.wrapRuntimeCamelException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
 
         return total;
@@ -201,6 +300,33 @@ public class SqsConsumer extends ScheduledPollConsumer implements BatchConsumer,
      // noop
     }
     
+    @Override
+    protected void doStart() throws Exception {
+        int consumers = getConfiguration().getConcurrentConsumers();
+        // each concurrent consumer receives its share of the messages using a single receive request
+        if (getMaxMessagesPerPoll() > MAX_NUMBER_OF_MESSAGES * Math.max(consumers, 1)) {
+            throw new IllegalArgumentException("The maxMessagesPerPoll option must be at most " + MAX_NUMBER_OF_MESSAGES
+                    + " per concurrent consumer as SQS returns at most " + MAX_NUMBER_OF_MESSAGES
+                    + " messages per receive request, was: " + getMaxMessagesPerPoll());
+        }
+        if (consumers > 1) {
+            executorService = getEndpoint().getCamelContext().getExecutorServiceStrategy()
+                    .newFixedThreadPool(this, "AWS SQS Consumer[" + getConfiguration().getQueueName() + "]", consumers);
+        }
+        
+        super.doStart();
+    }
+    
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        
+        if (executorService != null) {
+            getEndpoint().getCamelContext().getExecutorServiceStrategy().shutdownNow(executorService);
+            executorService = null;
+        }
+    }
+    
     protected SqsConfiguration getConfiguration() {
         return getEndpoint().getConfiguration();
     }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
@@ -36,6 +37,11 @@ import com.amazonaws.services.sqs.model.SendMessageResult;
 public class AmazonSQSClientMock extends AmazonSQSClient {
     
     List<Message> messages = new ArrayList<Message>();
+    List<String> deletedReceiptHandles = new ArrayList<String>();
+    AtomicInteger receiveRequests = new AtomicInteger();
+    AtomicInteger activeReceiveRequests = new AtomicInteger();
+    AtomicInteger maxActiveReceiveRequests = new AtomicInteger();
+    long receiveLatency;
     
     public AmazonSQSClientMock() {
         super(null);
@@ -69,6 +75,23 @@ public class AmazonSQSClientMock extends AmazonSQSClient {
 
     @Override
     public ReceiveMessageResult receiveMessage(ReceiveMessageRequest receiveMessageRequest) throws AmazonServiceException, AmazonClientException {
+        receiveRequests.incrementAndGet();
+        int active = activeReceiveRequests.incrementAndGet();
+        try {
+            int max = maxActiveReceiveRequests.get();
+            while (active > max && !maxActiveReceiveRequests.compareAndSet(max, active)) {
+                max = maxActiveReceiveRequests.get();
+            }
+            if (receiveLatency > 0) {
+                // simulate the round trip to SQS
+                Thread.sleep(receiveLatency);
+            }
+        } catch (InterruptedException e) {
+            throw new AmazonClientException("Interrupted", e);
+        } finally {
+            activeReceiveRequests.decrementAndGet();
+        }
+        
         Integer maxNumberOfMessages = receiveMessageRequest.getMaxNumberOfMessages() != null ? receiveMessageRequest.getMaxNumberOfMessages() : Integer.MAX_VALUE;
         ReceiveMessageResult result = new ReceiveMessageResult();
         Collection<Message> resultMessages = new ArrayList<Message>();
@@ -87,6 +110,8 @@ public class AmazonSQSClientMock extends AmazonSQSClient {
 
     @Override
     public void deleteMessage(DeleteMessageRequest deleteMessageRequest) throws AmazonServiceException, AmazonClientException {
-        // noop
+        synchronized (deletedReceiptHandles) {
+            deletedReceiptHandles.add(deleteMessageRequest.getReceiptHandle());
+        }
     }
 }
\ No newline at end of file
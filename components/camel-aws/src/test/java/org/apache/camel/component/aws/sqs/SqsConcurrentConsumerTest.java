@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.aws.sqs;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import com.amazonaws.services.sqs.model.Message;
+
+import org.apache.camel.EndpointInject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+public class SqsConcurrentConsumerTest extends CamelTestSupport {
+    
+    @EndpointInject(uri = "mock:result")
+    private MockEndpoint mock;
+    
+    private AmazonSQSClientMock clientMock;
+    
+    private final Set<String> threadNames = new CopyOnWriteArraySet<String>();
+        
+    @Test
+    public void receiveConcurrently() throws Exception {
+        mock.expectedMessageCount(30);
+        assertMockEndpointsSatisfied();
+        
+        // 3 receive requests of 10 messages each, issued in parallel
+        assertEquals(3, clientMock.receiveRequests.get());
+        assertTrue("Should receive concurrently", clientMock.maxActiveReceiveRequests.get() > 1);
+        assertTrue("Should process concurrently", threadNames.size() > 1);
+        
+        // the deletes happen when the exchanges are done
+        for (int i = 0; i < 50 && deletedSize() < 30; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(30, deletedSize());
+        assertTrue(clientMock.deletedReceiptHandles.contains("receipt-0"));
+        assertTrue(clientMock.deletedReceiptHandles.contains("receipt-29"));
+    }
+    
+    private int deletedSize() {
+        synchronized (clientMock.deletedReceiptHandles) {
+            return clientMock.deletedReceiptHandles.size();
+        }
+    }
+    
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry registry = super.createRegistry();
+        
+        clientMock = new AmazonSQSClientMock();
+        clientMock.receiveLatency = 200;
+        for (int counter = 0; counter < 30; counter++) {
+            Message message = new Message();
+            message.setBody("Message " + counter);
+            message.setMD5OfBody("6a1559560f67c5e7a7d5d838bf0272ee");
+            message.setMessageId("f6fb6f99-5eb2-4be4-9b15-144774141458");
+            message.setReceiptHandle("receipt-" + counter);
+            
+            clientMock.messages.add(message);
+        }
+        
+        registry.bind("amazonSQSClient", clientMock);
+        
+        return registry;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("aws-sqs://MyQueue?amazonSQSClient=#amazonSQSClient&delay=5000&maxMessagesPerPoll=30"
+                        + "&concurrentConsumers=3")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            threadNames.add(Thread.currentThread().getName());
+                            Thread.sleep(10);
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.aws.sqs;
+
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.impl.PropertyPlaceholderDelegateRegistry;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+public class SqsConcurrentConsumersConfigurationTest extends CamelTestSupport {
+    
+    @Test
+    public void createEndpointWithDefaultConcurrentConsumers() throws Exception {
+        SqsComponent component = new SqsComponent(context);
+        SqsEndpoint endpoint = (SqsEndpoint) component.createEndpoint("aws-sqs://MyQueue?accessKey=xxx&secretKey=yyy");
+        
+        assertEquals(1, endpoint.getConfiguration().getConcurrentConsumers());
+    }
+    
+    @Test
+    public void createEndpointWithConcurrentConsumers() throws Exception {
+        SqsComponent component = new SqsComponent(context);
+        SqsEndpoint endpoint = (SqsEndpoint) component.createEndpoint("aws-sqs://MyQueue?accessKey=xxx&secretKey=yyy&concurrentConsumers=3");
+        
+        assertEquals(3, endpoint.getConfiguration().getConcurrentConsumers());
+    }
+    
+    @Test
+    public void startConsumerWithMaxMessagesPerPollWithinReceiveLimit() throws Exception {
+        SqsConsumer consumer = createConsumer("maxMessagesPerPoll=30&concurrentConsumers=3");
+        consumer.start();
+        consumer.stop();
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void startConsumerWithMaxMessagesPerPollAboveReceiveLimit() throws Exception {
+        SqsConsumer consumer = createConsumer("maxMessagesPerPoll=11");
+        consumer.start();
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void startConcurrentConsumersWithMaxMessagesPerPollAboveReceiveLimit() throws Exception {
+        SqsConsumer consumer = createConsumer("maxMessagesPerPoll=50&concurrentConsumers=3");
+        consumer.start();
+    }
+    
+    private SqsConsumer createConsumer(String options) throws Exception {
+        ((JndiRegistry) ((PropertyPlaceholderDelegateRegistry) context.getRegistry()).getRegistry())
+            .bind("amazonSQSClient", new AmazonSQSClientMock());
+        
+        SqsComponent component = new SqsComponent(context);
+        SqsEndpoint endpoint = (SqsEndpoint) component.createEndpoint("aws-sqs://MyQueue?amazonSQSClient=#amazonSQSClient&delay=5000&" + options);
+        endpoint.start();
+        return (SqsConsumer) endpoint.createConsumer(null);
+    }
+}
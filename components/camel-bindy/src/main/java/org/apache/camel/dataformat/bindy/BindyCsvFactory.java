@@ -33,6 +33,7 @@ import org.apache.camel.dataformat.bindy.annotation.OneToMany;
 import org.apache.camel.dataformat.bindy.annotation.Section;
 import org.apache.camel.dataformat.bindy.format.FormatException;
 import org.apache.camel.dataformat.bindy.util.Converter;
+import org.apache.camel.dataformat.bindy.util.CsvTokenizer;
 import org.apache.camel.spi.PackageScanClassResolver;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.commons.logging.Log;
@@ -55,6 +56,7 @@ public class BindyCsvFactory extends BindyAbstractFactory implements BindyFactor
     private Map<String, Integer> sections = new HashMap<String, Integer>();
 
     private Map<Integer, List> results;
+    private volatile FieldBinder[] binders;
 
     private int numberOptionalFields;
     private int numberMandatoryFields;
@@ -145,14 +147,16 @@ public class BindyCsvFactory extends BindyAbstractFactory implements BindyFactor
 
     public void bind(List<String> tokens, Map<String, Object> model, int line) throws Exception {
 
+        FieldBinder[] fieldBinders = getFieldBinders();
         int pos = 1;
         int counterMandatoryFields = 0;
 
         for (String data : tokens) {
 
-            // Get DataField from model
-            DataField dataField = dataFields.get(pos);
-            ObjectHelper.notNull(dataField, "No position " + pos + " defined for the field : " + data + ", line : " + line);
+            // Get binder of the DataField from model
+            FieldBinder binder = pos <= fieldBinders.length ? fieldBinders[pos - 1] : null;
+            ObjectHelper.notNull(binder, "No position " + pos + " defined for the field : " + data + ", line : " + line);
+            DataField dataField = binder.getDataField();
 
             if (dataField.trim()) {
                 data = data.trim();
@@ -170,37 +174,28 @@ public class BindyCsvFactory extends BindyAbstractFactory implements BindyFactor
             }
 
             // Get Field to be setted
-            Field field = annotedFields.get(pos);
-            field.setAccessible(true);
+            Field field = binder.getField();
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Pos : " + pos + ", Data : " + data + ", Field type : " + field.getType());
             }
 
-            Format<?> format;
-
-            // Get pattern defined for the field
-            String pattern = dataField.pattern();
-
-            // Create format object to format the field
-            format = FormatFactory.getFormat(field.getType(), pattern, getLocale(), dataField.precision());
-
             // field object to be set
-            Object modelField = model.get(field.getDeclaringClass().getName());
+            Object modelField = model.get(binder.getClassName());
 
             // format the data received
             Object value = null;
 
             if (!data.equals("")) {
                 try {
-                    value = format.parse(data);
+                    value = binder.getFormat().parse(data);
                 } catch (FormatException ie) {
                     throw new IllegalArgumentException(ie.getMessage() + ", position : " + pos + ", line : " + line, ie);
                 } catch (Exception e) {
                     throw new IllegalArgumentException("Parsing error detected for field defined at the position : " + pos + ", line : " + line, e);
                 }
             } else {
-                value = getDefaultValueForPrimitive(field.getType());
+                value = binder.getDefaultValue();
             }
 
             field.set(modelField, value);
@@ -223,6 +218,45 @@ public class BindyCsvFactory extends BindyAbstractFactory implements BindyFactor
 
     }
 
+    /**
+     * Gets the binders of the data fields indexed by their position, which are created on first use
+     * as they depend on the locale.
+     */
+    protected FieldBinder[] getFieldBinders() throws Exception {
+        FieldBinder[] answer = binders;
+        if (answer == null) {
+            // concurrent threads may create the binders at the same time which is harmless
+            int max = 0;
+            for (Integer pos : annotedFields.keySet()) {
+                max = Math.max(max, pos);
+            }
+            answer = new FieldBinder[max];
+            for (Map.Entry<Integer, Field> entry : annotedFields.entrySet()) {
+                int pos = entry.getKey();
+                if (pos > 0) {
+                    answer[pos - 1] = new FieldBinder(dataFields.get(pos), entry.getValue(), getLocale());
+                }
+            }
+            binders = answer;
+        }
+        return answer;
+    }
+
+    @Override
+    public void setLocale(String locale) {
+        super.setLocale(locale);
+        // the formats depends on the locale so the binders must be created again
+        binders = null;
+    }
+
+    /**
+     * Creates a tokenizer to split the records using the separator
+     */
+    public CsvTokenizer createTokenizer() {
+        ObjectHelper.notNull(separator, "The separator has not been defined in the annotation @CsvRecord or not instantiated during initModel.");
+        return new CsvTokenizer(separator);
+    }
+
     public String unbind(Map<String, Object> model) throws Exception {
 
         StringBuilder buffer = new StringBuilder();
@@ -18,9 +18,7 @@ package org.apache.camel.dataformat.bindy;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -52,6 +50,7 @@ public class BindyFixedLengthFactory extends BindyAbstractFactory implements Bin
     private Map<Integer, Field> annotatedFields = new LinkedHashMap<Integer, Field>();
 
     private Map<Integer, List> results;
+    private volatile List<FieldBinder> binders;
 
     private int numberOptionalFields;
     private int numberMandatoryFields;
@@ -151,27 +150,19 @@ public class BindyFixedLengthFactory extends BindyAbstractFactory implements Bin
         int pos = 1;
         int counterMandatoryFields = 0;
         DataField dataField;
-        StringBuilder result = new StringBuilder();
         String token;
         int offset;
         int length;
         Field field;
-        String pattern;
 
         // Iterate through the list of positions
         // defined in the @DataField
         // and grab the data from the line
-        Collection c = dataFields.values();
-        Iterator itr = c.iterator();
-
-        while (itr.hasNext()) {
-            dataField = (DataField)itr.next();
+        for (FieldBinder binder : getFieldBinders()) {
+            dataField = binder.getDataField();
             offset = dataField.pos();
             length = dataField.length();
 
-            ObjectHelper.notNull(offset, "Position/offset is not defined for the field: " + dataField.toString());
-            ObjectHelper.notNull(offset, "Length is not defined for the field: " + dataField.toString());
-
             if (offset - 1 <= -1) {
                 throw new IllegalArgumentException("Offset/Position of the field " + dataField.toString()
                                                    + " cannot be negative!");
@@ -198,37 +189,28 @@ public class BindyFixedLengthFactory extends BindyAbstractFactory implements Bin
             }
             
             // Get Field to be setted
-            field = annotatedFields.get(offset);
-            field.setAccessible(true);
+            field = binder.getField();
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Pos/Offset: " + offset + ", Data: " + token + ", Field type: " + field.getType());
             }
-            
-            Format<?> format;
-
-            // Get pattern defined for the field
-            pattern = dataField.pattern();
-
-            // Create format object to format the field
-            format = FormatFactory.getFormat(field.getType(), pattern, getLocale(), dataField.precision());
 
             // field object to be set
-            Object modelField = model.get(field.getDeclaringClass().getName());
+            Object modelField = model.get(binder.getClassName());
 
             // format the data received
             Object value = null;
 
             if (!token.equals("")) {
                 try {
-                    value = format.parse(token);
+                    value = binder.getFormat().parse(token);
                 } catch (FormatException ie) {
                     throw new IllegalArgumentException(ie.getMessage() + ", position: " + offset + ", line: " + line, ie);
                 } catch (Exception e) {
                     throw new IllegalArgumentException("Parsing error detected for field defined at the position/offset: " + offset + ", line: " + line, e);
                 }
             } else {
-                value = getDefaultValueForPrimitive(field.getType());
+                value = binder.getDefaultValue();
             }
 
             field.set(modelField, value);
@@ -251,6 +233,30 @@ public class BindyFixedLengthFactory extends BindyAbstractFactory implements Bin
         
     }
 
+    /**
+     * Gets the binders of the data fields in the order they are declared, which are created on first use
+     * as they depend on the locale.
+     */
+    protected List<FieldBinder> getFieldBinders() throws Exception {
+        List<FieldBinder> answer = binders;
+        if (answer == null) {
+            // concurrent threads may create the binders at the same time which is harmless
+            answer = new ArrayList<FieldBinder>(dataFields.size());
+            for (Map.Entry<Integer, DataField> entry : dataFields.entrySet()) {
+                answer.add(new FieldBinder(entry.getValue(), annotatedFields.get(entry.getKey()), getLocale()));
+            }
+            binders = answer;
+        }
+        return answer;
+    }
+
+    @Override
+    public void setLocale(String locale) {
+        super.setLocale(locale);
+        // the formats depends on the locale so the binders must be created again
+        binders = null;
+    }
+
     public String unbind(Map<String, Object> model) throws Exception {
 
         StringBuilder buffer = new StringBuilder();
@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.SynchronizationAdapter;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Reads the records of a stream line by line and binds each record to the model objects.
+ * <p/>
+ * Only the current record is held in memory, so big files can be unmarshalled as a stream
+ * of model objects. The stream is closed when the last record has been read, when an error occurs
+ * or when {@link #close()} is invoked.
+ */
+public abstract class BindyRecordIterator implements Iterator<Map<String, Object>>, Closeable {
+
+    private static final transient Log LOG = LogFactory.getLog(BindyRecordIterator.class);
+
+    private final BufferedReader reader;
+    private boolean skipFirstLine;
+    private boolean closed;
+    private int count;
+    private Map<String, Object> next;
+
+    public BindyRecordIterator(InputStream inputStream, boolean skipFirstLine) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream));
+        this.skipFirstLine = skipFirstLine;
+    }
+
+    /**
+     * Unmarshals the records.
+     * <p/>
+     * When streaming this iterator is returned, so the records are read while iterating, and the stream
+     * is closed when the exchange is done at the latest. Otherwise all the records are read into a list.
+     *
+     * @param exchange the exchange
+     * @param streaming whether to stream the records
+     * @param noRecordsMessage the error message if there is no records
+     * @return the iterator or list of the graph of model objects
+     * @throws Exception is thrown if a record could not be read or bound
+     */
+    public Object unmarshal(Exchange exchange, boolean streaming, String noRecordsMessage) throws Exception {
+        if (streaming) {
+            // read the first record to fail early if there is no records
+            next = nextRecord();
+            if (next == null) {
+                throw new IllegalArgumentException(noRecordsMessage);
+            }
+            exchange.addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onDone(Exchange exchange) {
+                    IOHelper.close(BindyRecordIterator.this, "records", LOG);
+                }
+            });
+            return this;
+        }
+
+        // List of Pojos
+        List<Map<String, Object>> models = new ArrayList<Map<String, Object>>();
+        try {
+            Map<String, Object> model = nextRecord();
+            while (model != null) {
+                models.add(model);
+                model = nextRecord();
+            }
+        } finally {
+            close();
+        }
+
+        // Test if models list is empty or not
+        // If this is the case (correspond to an empty stream, ...)
+        if (models.isEmpty()) {
+            throw new IllegalArgumentException(noRecordsMessage);
+        }
+        return models;
+    }
+
+    /**
+     * Reads the next record
+     *
+     * @return the graph of model objects, or <tt>null</tt> if there is no more records
+     * @throws Exception is thrown if the record could not be read or bound
+     */
+    public Map<String, Object> nextRecord() throws Exception {
+        if (next != null) {
+            Map<String, Object> answer = next;
+            next = null;
+            return answer;
+        }
+        if (closed) {
+            return null;
+        }
+
+        try {
+            if (skipFirstLine) {
+                skipFirstLine = false;
+                reader.readLine();
+            }
+
+            String line = reader.readLine();
+            while (line != null) {
+                if (ObjectHelper.isNotEmpty(line)) {
+                    Map<String, Object> model = bindRecord(line, ++count);
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Graph of objects created : " + model);
+                    }
+                    return model;
+                }
+                // skip if line is empty
+                line = reader.readLine();
+            }
+        } catch (Exception e) {
+            close();
+            throw e;
+        }
+
+        close();
+        return null;
+    }
+
+    /**
+     * Binds the record to a new graph of model objects
+     *
+     * @param line the line of the record
+     * @param count the record number
+     * @return the graph of model objects
+     * @throws Exception is thrown if the record could not be bound
+     */
+    protected abstract Map<String, Object> bindRecord(String line, int count) throws Exception;
+
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = nextRecord();
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+        return next != null;
+    }
+
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> answer = next;
+        next = null;
+        return answer;
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException("Remove is not supported");
+    }
+
+    /**
+     * Number of records read so far
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            IOHelper.close(reader, "reader", LOG);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy;
+
+import java.lang.reflect.Field;
+
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+
+/**
+ * The {@link FieldBinder} holds what is needed to bind the data of a {@link DataField}
+ * to the field of the model object.
+ * <p/>
+ * The binders are created once per model, so the field is only made accessible once
+ * and the {@link Format} is created once instead of for every record.
+ */
+public final class FieldBinder {
+
+    private final DataField dataField;
+    private final Field field;
+    private final String className;
+    private final Format<?> format;
+    private final Object defaultValue;
+
+    public FieldBinder(DataField dataField, Field field, String locale) throws Exception {
+        this.dataField = dataField;
+        this.field = field;
+        this.className = field.getDeclaringClass().getName();
+        this.format = FormatFactory.getFormat(field.getType(), dataField.pattern(), locale, dataField.precision());
+        this.defaultValue = BindyAbstractFactory.getDefaultValueForPrimitive(field.getType());
+        field.setAccessible(true);
+    }
+
+    public DataField getDataField() {
+        return dataField;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * The name of the model class declaring the field, which is the key of the model object
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    public Format<?> getFormat() {
+        return format;
+    }
+
+    /**
+     * The value to set when the data is empty
+     */
+    public Object getDefaultValue() {
+        return defaultValue;
+    }
+}
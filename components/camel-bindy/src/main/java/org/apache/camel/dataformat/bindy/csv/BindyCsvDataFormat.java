@@ -17,25 +17,22 @@
 package org.apache.camel.dataformat.bindy.csv;
 
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.dataformat.bindy.BindyAbstractDataFormat;
 import org.apache.camel.dataformat.bindy.BindyAbstractFactory;
 import org.apache.camel.dataformat.bindy.BindyCsvFactory;
-import org.apache.camel.dataformat.bindy.BindyKeyValuePairFactory;
+import org.apache.camel.dataformat.bindy.BindyRecordIterator;
 import org.apache.camel.dataformat.bindy.util.Converter;
+import org.apache.camel.dataformat.bindy.util.CsvTokenizer;
 import org.apache.camel.spi.DataFormat;
 import org.apache.camel.spi.PackageScanClassResolver;
-import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -46,6 +43,7 @@ import org.apache.commons.logging.LogFactory;
  */
 public class BindyCsvDataFormat extends BindyAbstractDataFormat {
     private static final transient Log LOG = LogFactory.getLog(BindyCsvDataFormat.class);
+    private boolean streaming;
 
     public BindyCsvDataFormat() {
     }
@@ -104,104 +102,44 @@ public class BindyCsvDataFormat extends BindyAbstractDataFormat {
     }
 
     public Object unmarshal(Exchange exchange, InputStream inputStream) throws Exception {
-        BindyCsvFactory factory = (BindyCsvFactory)getFactory(exchange.getContext().getPackageScanClassResolver());
+        final BindyCsvFactory factory = (BindyCsvFactory)getFactory(exchange.getContext().getPackageScanClassResolver());
         ObjectHelper.notNull(factory, "not instantiated");
 
-        // List of Pojos
-        List<Map<String, Object>> models = new ArrayList<Map<String, Object>>();
-
-        // Pojos of the model
-        Map<String, Object> model;
-
-        InputStreamReader in = new InputStreamReader(inputStream);
-
-        // Scanner is used to read big file
-        Scanner scanner = new Scanner(in);
-
         // Retrieve the separator defined to split the record
-        String separator = factory.getSeparator();
-        ObjectHelper.notNull(separator, "The separator has not been defined in the annotation @CsvRecord or not instantiated during initModel.");
-
-        int count = 0;
-        try {
-            // If the first line of the CSV file contains columns name, then we
-            // skip this line
-            if (factory.getSkipFirstLine()) {
-                // Check if scanner is empty
-                if (scanner.hasNextLine()) {
-                    scanner.nextLine();
-                }
-            }
-
-            while (scanner.hasNextLine()) {
-
-                // Read the line
-                String line = scanner.nextLine().trim();
-
-                if (ObjectHelper.isEmpty(line)) {
-                    // skip if line is empty
-                    continue;
-                }
-
-                // Increment counter
-                count++;
+        // the tokenizer does not use regular expressions for single character separators
+        final CsvTokenizer tokenizer = factory.createTokenizer();
 
+        BindyRecordIterator records = new BindyRecordIterator(inputStream, factory.getSkipFirstLine()) {
+            protected Map<String, Object> bindRecord(String line, int count) throws Exception {
                 // Create POJO where CSV data will be stored
-                model = factory.factory();
-                
+                Map<String, Object> model = factory.factory();
+
                 // Split the CSV record according to the separator defined in
                 // annotated class @CSVRecord
-                String[] tokens = line.split(separator, -1);
-                List<String> result = Arrays.asList(tokens);
                 // must unquote tokens before use
-                result = unquoteTokens(result);
+                List<String> result = unquoteTokens(tokenizer.tokenize(line.trim()));
 
-                if (result.size() == 0 || result.isEmpty()) {
-                    throw new java.lang.IllegalArgumentException("No records have been defined in the CSV !");
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Size of the record splitted : " + result.size());
                 }
 
-                if (result.size() > 0) {
-
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Size of the record splitted : " + result.size());
-                    }
-
-                    // Bind data from CSV record with model classes
-                    factory.bind(result, model, count);
+                // Bind data from CSV record with model classes
+                factory.bind(result, model, count);
 
-                    // Link objects together
-                    factory.link(model);
-
-                    // Add objects graph to the list
-                    models.add(model);
-
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Graph of objects created : " + model);
-                    }
-
-                }
+                // Link objects together
+                factory.link(model);
 
+                return model;
             }
+        };
 
-            // Test if models list is empty or not
-            // If this is the case (correspond to an empty stream, ...)
-            if (models.size() == 0) {
-                throw new java.lang.IllegalArgumentException("No records have been defined in the CSV !");
-            } else {
-                return models;
-            }
-
-        } finally {
-            scanner.close();
-            IOHelper.close(in, "in", LOG);
-        }
-
+        return records.unmarshal(exchange, isStreaming(), "No records have been defined in the CSV !");
     }
 
     /**
      * Unquote the tokens, by removing leading and trailing quote chars
      */
-    private List<String> unquoteTokens(List<String> result) {
+    private static List<String> unquoteTokens(List<String> result) {
         List<String> answer = new ArrayList<String>(result.size());
         for (String s : result) {
             if (s.startsWith("\"") || s.startsWith("'")) {
@@ -215,6 +153,18 @@ public class BindyCsvDataFormat extends BindyAbstractDataFormat {
         return answer;
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets whether to unmarshal as a lazy {@link Iterator} of the records instead of a {@link List},
+     * so big files can be processed with the streaming splitter without reading all the records into memory.
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     protected BindyAbstractFactory createModelFactory(PackageScanClassResolver resolver) throws Exception {
         return new BindyCsvFactory(resolver, getPackages());
     }
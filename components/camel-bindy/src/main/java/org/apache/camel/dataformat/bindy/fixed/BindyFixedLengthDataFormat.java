@@ -17,34 +17,30 @@
 package org.apache.camel.dataformat.bindy.fixed;
 
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.dataformat.bindy.BindyFixedLengthFactory;
+import org.apache.camel.dataformat.bindy.BindyRecordIterator;
 import org.apache.camel.dataformat.bindy.util.Converter;
 import org.apache.camel.spi.DataFormat;
 import org.apache.camel.spi.PackageScanClassResolver;
-import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
 
 /**
  * A <a href="http://camel.apache.org/data-format.html">data format</a> (
  * {@link DataFormat}) using Bindy to marshal to and from Fixed Length
  */
 public class BindyFixedLengthDataFormat implements DataFormat {
-    private static final transient Log LOG = LogFactory.getLog(BindyFixedLengthDataFormat.class);
 
     private String[] packages;
     private BindyFixedLengthFactory modelFactory;
+    private boolean streaming;
 
     public BindyFixedLengthDataFormat() {
     }
@@ -93,41 +89,16 @@ public class BindyFixedLengthDataFormat implements DataFormat {
     }
 
     public Object unmarshal(Exchange exchange, InputStream inputStream) throws Exception {
-        BindyFixedLengthFactory factory = getFactory(exchange.getContext().getPackageScanClassResolver());
+        final BindyFixedLengthFactory factory = getFactory(exchange.getContext().getPackageScanClassResolver());
         ObjectHelper.notNull(factory, "not instantiated");
 
-        // List of Pojos
-        List<Map<String, Object>> models = new ArrayList<Map<String, Object>>();
-
-        // Pojos of the model
-        Map<String, Object> model;
-
-        InputStreamReader in = new InputStreamReader(inputStream);
-
-        // Scanner is used to read big file
-        Scanner scanner = new Scanner(in);
-
-        int count = 0;
-
-        try {
+        // TODO Test if we have a Header
+        // TODO Test if we have a Footer (containing by example checksum)
 
-            // TODO Test if we have a Header
-            // TODO Test if we have a Footer (containing by example checksum)
+        BindyRecordIterator records = new BindyRecordIterator(inputStream, false) {
+            protected Map<String, Object> bindRecord(String line, int count) throws Exception {
+                // the line should not be trimmed as its fixed length
 
-            while (scanner.hasNextLine()) {
-                String line;
-                
-                // Read the line (should not trim as its fixed length)
-                line = scanner.nextLine();
-
-                if (ObjectHelper.isEmpty(line)) {
-                    // skip if line is empty
-                    continue;
-                }
-
-                // Increment counter
-                count++;
-                
                 // Check if the record length corresponds to the parameter
                 // provided in the @FixedLengthRecord
                 if ((line.length() < factory.recordLength()) || (line.length() > factory.recordLength())) {
@@ -135,36 +106,19 @@ public class BindyFixedLengthDataFormat implements DataFormat {
                 }
 
                 // Create POJO where Fixed data will be stored
-                model = factory.factory();
-                
+                Map<String, Object> model = factory.factory();
+
                 // Bind data from Fixed record with model classes
                 factory.bind(line, model, count);
 
                 // Link objects together
                 factory.link(model);
 
-                // Add objects graph to the list
-                models.add(model);
-
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Graph of objects created : " + model);
-                }
-
-            }
-
-            // Test if models list is empty or not
-            // If this is the case (correspond to an empty stream, ...)
-            if (models.size() == 0) {
-                throw new java.lang.IllegalArgumentException("No records have been defined in the message !");
-            } else {
-                return models;
+                return model;
             }
+        };
 
-        } finally {
-            scanner.close();
-            IOHelper.close(in, "in", LOG);
-        }
-
+        return records.unmarshal(exchange, streaming, "No records have been defined in the message !");
     }
 
     /**
@@ -181,6 +135,18 @@ public class BindyFixedLengthDataFormat implements DataFormat {
         this.modelFactory = modelFactory;
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets whether to unmarshal as a lazy {@link Iterator} of the records instead of a {@link List},
+     * so big files can be processed with the streaming splitter without reading all the records into memory.
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     public String[] getPackages() {
         return packages;
     }
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Splits a CSV record into tokens using the separator defined in the
+ * {@link org.apache.camel.dataformat.bindy.annotation.CsvRecord} annotation.
+ * <p/>
+ * The separator is a regular expression, however in most cases it denotes a single character
+ * such as <tt>,</tt> or <tt>\\|</tt>. In that case the record is split without using regular expressions,
+ * otherwise the separator is compiled once and reused for all the records.
+ */
+public final class CsvTokenizer {
+
+    private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+
+    private final char separatorChar;
+    private final Pattern pattern;
+
+    public CsvTokenizer(String separator) {
+        // must not use notEmpty as a whitespace separator such as tab is valid
+        ObjectHelper.notNull(separator, "separator");
+        if (separator.length() == 0) {
+            throw new IllegalArgumentException("separator must not be empty");
+        }
+        Character literal = getLiteralSeparator(separator);
+        if (literal != null) {
+            this.separatorChar = literal;
+            this.pattern = null;
+        } else {
+            this.separatorChar = 0;
+            this.pattern = Pattern.compile(separator);
+        }
+    }
+
+    /**
+     * Splits the record the same way as <tt>record.split(separator, -1)</tt>, keeping trailing empty tokens
+     *
+     * @param record the record
+     * @return the tokens
+     */
+    public List<String> tokenize(String record) {
+        if (pattern != null) {
+            return Arrays.asList(pattern.split(record, -1));
+        }
+
+        List<String> answer = new ArrayList<String>();
+        int start = 0;
+        int index = record.indexOf(separatorChar);
+        while (index != -1) {
+            answer.add(record.substring(start, index));
+            start = index + 1;
+            index = record.indexOf(separatorChar, start);
+        }
+        answer.add(record.substring(start));
+        return answer;
+    }
+
+    /**
+     * Whether the separator is split without using regular expressions
+     */
+    public boolean isLiteral() {
+        return pattern == null;
+    }
+
+    /**
+     * Gets the single character the separator regular expression matches.
+     *
+     * @param separator the separator
+     * @return the character, or <tt>null</tt> if the separator is not a single literal character
+     */
+    static Character getLiteralSeparator(String separator) {
+        if (separator.length() == 1) {
+            char ch = separator.charAt(0);
+            return REGEX_META_CHARS.indexOf(ch) == -1 ? ch : null;
+        }
+
+        if (separator.charAt(0) != '\\') {
+            return null;
+        }
+
+        if (separator.length() == 2) {
+            char ch = separator.charAt(1);
+            if (ch == 't') {
+                return '\t';
+            }
+            // an escaped character which is not a letter or digit matches the character itself
+            return Character.isLetterOrDigit(ch) ? null : ch;
+        }
+
+        if (separator.length() == 6 && separator.charAt(1) == 'u') {
+            try {
+                return (char) Integer.parseInt(separator.substring(2), 16);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+}
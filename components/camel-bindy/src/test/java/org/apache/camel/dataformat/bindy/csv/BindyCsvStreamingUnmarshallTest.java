@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.csv;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.dataformat.bindy.model.simple.oneclass.Order;
+import org.apache.camel.test.CamelTestSupport;
+import org.junit.Test;
+
+/**
+ * @version $Revision$
+ */
+public class BindyCsvStreamingUnmarshallTest extends CamelTestSupport {
+
+    @Test
+    public void testStreamingUnmarshal() throws Exception {
+        MockEndpoint iterator = getMockEndpoint("mock:iterator");
+        iterator.expectedMessageCount(1);
+        iterator.message(0).body().isInstanceOf(Iterator.class);
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10000);
+
+        assertMockEndpointsSatisfied();
+
+        Map<?, ?> model = mock.getReceivedExchanges().get(0).getIn().getBody(Map.class);
+        Order order = (Order) model.get(Order.class.getName());
+        assertEquals(1, order.getOrderNr());
+        assertEquals("BUY", order.getOrderType());
+    }
+
+    @Test
+    public void testStreamingUnmarshalNoRecords() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:empty");
+        mock.expectedMessageCount(0);
+
+        try {
+            template.sendBody("direct:empty", "\n\n");
+            fail("Should have thrown an exception");
+        } catch (Exception e) {
+            IllegalArgumentException iae = assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertEquals("No records have been defined in the CSV !", iae.getMessage());
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                BindyCsvDataFormat bindy = new BindyCsvDataFormat("org.apache.camel.dataformat.bindy.model.simple.oneclass");
+                bindy.setStreaming(true);
+
+                from("file://src/test/data/big?noop=true")
+                    .unmarshal(bindy)
+                    .to("mock:iterator")
+                    .split(body()).streaming()
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                // only the current record is available
+                                assertIsInstanceOf(Map.class, exchange.getIn().getBody());
+                            }
+                        })
+                        .to("mock:result");
+
+                from("direct:empty").unmarshal(bindy).to("mock:empty");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.fixed.unmarshall.simple.streaming;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.dataformat.bindy.annotation.DataField;
+import org.apache.camel.dataformat.bindy.annotation.FixedLengthRecord;
+import org.apache.camel.dataformat.bindy.fixed.BindyFixedLengthDataFormat;
+import org.apache.camel.test.CamelTestSupport;
+import org.junit.Test;
+
+/**
+ * @version $Revision$
+ */
+public class BindyFixedLengthStreamingUnmarshallTest extends CamelTestSupport {
+
+    @Test
+    public void testStreamingUnmarshal() throws Exception {
+        MockEndpoint iterator = getMockEndpoint("mock:iterator");
+        iterator.expectedMessageCount(1);
+        iterator.message(0).body().isInstanceOf(Iterator.class);
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+
+        template.sendBody("direct:start", "01Pauline\r\n02Claus  \r\n\r\n03James  \r\n");
+
+        assertMockEndpointsSatisfied();
+
+        assertOrder(mock, 0, 1, "Pauline");
+        assertOrder(mock, 1, 2, "Claus");
+        assertOrder(mock, 2, 3, "James");
+    }
+
+    @Test
+    public void testStreamingUnmarshalBadRecordLength() throws Exception {
+        try {
+            template.sendBody("direct:start", "01Pauline\r\n02Clau\r\n");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            // the iterator wraps the exception as it is thrown while iterating
+            IllegalArgumentException cause = assertIsInstanceOf(IllegalArgumentException.class, e.getCause().getCause());
+            assertEquals("Size of the record : 6 is not equal to the value provided in the model : 9 !", cause.getMessage());
+        }
+    }
+
+    @Test
+    public void testStreamingUnmarshalNoRecords() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(0);
+
+        try {
+            template.sendBody("direct:start", "\r\n\r\n");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            IllegalArgumentException cause = assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+            assertEquals("No records have been defined in the message !", cause.getMessage());
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private static void assertOrder(MockEndpoint mock, int index, int orderNr, String name) {
+        Map<?, ?> model = mock.getReceivedExchanges().get(index).getIn().getBody(Map.class);
+        Order order = (Order) model.get(Order.class.getName());
+        assertEquals(orderNr, order.getOrderNr());
+        assertEquals(name, order.getName());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                BindyFixedLengthDataFormat bindy = new BindyFixedLengthDataFormat("org.apache.camel.dataformat.bindy.fixed.unmarshall.simple.streaming");
+                bindy.setStreaming(true);
+
+                from("direct:start")
+                    .unmarshal(bindy)
+                    .to("mock:iterator")
+                    .split(body()).streaming()
+                        .to("mock:result");
+            }
+        };
+    }
+
+    @FixedLengthRecord(length = 9)
+    public static class Order {
+
+        @DataField(pos = 1, length = 2)
+        private int orderNr;
+
+        @DataField(pos = 3, length = 7, trim = true)
+        private String name;
+
+        public int getOrderNr() {
+            return orderNr;
+        }
+
+        public void setOrderNr(int orderNr) {
+            this.orderNr = orderNr;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return "Model : " + Order.class.getName() + " : " + this.orderNr + ", " + this.name;
+        }
+    }
+
+}
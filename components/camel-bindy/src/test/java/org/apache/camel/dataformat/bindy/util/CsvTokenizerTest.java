@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dataformat.bindy.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @version $Revision$
+ */
+public class CsvTokenizerTest extends Assert {
+
+    @Test
+    public void testLiteralSeparators() throws Exception {
+        assertTrue(new CsvTokenizer(",").isLiteral());
+        assertTrue(new CsvTokenizer(";").isLiteral());
+        assertTrue(new CsvTokenizer("\\|").isLiteral());
+        assertTrue(new CsvTokenizer("\\t").isLiteral());
+        assertTrue(new CsvTokenizer("\t").isLiteral());
+        assertTrue(new CsvTokenizer("\\u0001").isLiteral());
+
+        assertFalse(new CsvTokenizer("|").isLiteral());
+        assertFalse(new CsvTokenizer("\\s").isLiteral());
+        assertFalse(new CsvTokenizer(",;").isLiteral());
+        assertFalse(new CsvTokenizer("[,;]").isLiteral());
+    }
+
+    @Test
+    public void testTokenize() throws Exception {
+        assertTokens(",", "a,b,c", "a", "b", "c");
+        assertTokens("\\|", "a|b|c", "a", "b", "c");
+        assertTokens("\\t", "a\tb\tc", "a", "b", "c");
+        assertTokens("\\u0001", "a\u0001b", "a", "b");
+        assertTokens("[,;]", "a,b;c", "a", "b", "c");
+        assertTokens(",", "abc", "abc");
+    }
+
+    @Test
+    public void testEmptyFields() throws Exception {
+        assertTokens(",", "", "");
+        assertTokens(",", ",", "", "");
+        assertTokens(",", "a,,c", "a", "", "c");
+        assertTokens(",", ",b,", "", "b", "");
+        // trailing empty fields are kept
+        assertTokens(",", "a,b,,", "a", "b", "", "");
+        assertTokens("\\|", "a||", "a", "", "");
+    }
+
+    @Test
+    public void testQuotedFields() throws Exception {
+        // the quotes are kept as unquoting is done by the data format
+        assertTokens(",", "\"a\",'b',c", "\"a\"", "'b'", "c");
+        assertTokens(",", "\"\",b", "\"\"", "b");
+        assertTokens(",", "\"a \"\"quoted\"\" value\",b", "\"a \"\"quoted\"\" value\"", "b");
+    }
+
+    @Test
+    public void testSeparatorInsideQuotes() throws Exception {
+        // the record is split on every separator, also inside quotes, the same as String.split does
+        assertTokens(",", "\"a,b\",c", "\"a", "b\"", "c");
+        assertTokens("\\|", "'a|b'|c", "'a", "b'", "c");
+    }
+
+    @Test
+    public void testSameAsSplit() throws Exception {
+        String[] separators = {",", ";", "\\|", "\\t", "\\.", "[,;]", ",\\s*"};
+        String[] records = {"", "a", "a,b", ",", ",,", "a;b,c", "a|b|", "a\tb\t", "a.b.", "a, b,  c", "\"a,b\",'c;d'"};
+        for (String separator : separators) {
+            CsvTokenizer tokenizer = new CsvTokenizer(separator);
+            for (String record : records) {
+                assertEquals("Separator " + separator + " record " + record,
+                        Arrays.asList(record.split(separator, -1)), tokenizer.tokenize(record));
+            }
+        }
+    }
+
+    @Test
+    public void testEmptySeparatorNotAllowed() throws Exception {
+        try {
+            new CsvTokenizer("");
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("separator must not be empty", e.getMessage());
+        }
+    }
+
+    private static void assertTokens(String separator, String record, String... expected) {
+        List<String> tokens = new CsvTokenizer(separator).tokenize(record);
+        assertEquals(Arrays.asList(expected), tokens);
+    }
+
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.file.remote;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.camel.FailedToCreateConsumerException;
@@ -90,17 +91,19 @@ public class FtpEndpoint<T extends FTPFile> extends RemoteFileEndpoint<FTPFile>
 
         // then lookup ftp client parameters and set those
         if (ftpClientParameters != null) {
+            // use a copy as the parameters is removed when set, and a new client is created for each pooled connection
+            Map<String, Object> parameters = new HashMap<String, Object>(ftpClientParameters);
             // setting soTimeout has to be done later on FTPClient (after it has connected)
-            Object timeout = ftpClientParameters.remove("soTimeout");
+            Object timeout = parameters.remove("soTimeout");
             if (timeout != null) {
                 soTimeout = getCamelContext().getTypeConverter().convertTo(int.class, timeout);
             }
             // and we want to keep data timeout so we can log it later
-            timeout = ftpClientParameters.remove("dataTimeout");
+            timeout = parameters.remove("dataTimeout");
             if (timeout != null) {
                 dataTimeout = getCamelContext().getTypeConverter().convertTo(int.class, dataTimeout);
             }
-            IntrospectionSupport.setProperties(client, ftpClientParameters);
+            IntrospectionSupport.setProperties(client, parameters);
         }
         
         if (ftpClientConfigParameters != null) {
@@ -124,6 +127,15 @@ public class FtpEndpoint<T extends FTPFile> extends RemoteFileEndpoint<FTPFile>
         return operations;
     }
 
+    @Override
+    protected void afterPropertiesSet() throws Exception {
+        super.afterPropertiesSet();
+        if (ftpClient != null && getConnectionPoolSize() > 0) {
+            // each pooled connection must use its own client, as the commands on one connection cannot be interleaved
+            throw new IllegalArgumentException("Cannot use a custom ftpClient together with connectionPoolSize on endpoint: " + this);
+        }
+    }
+
     protected FTPClient createFtpClient() throws Exception {
         return new FTPClient();
     }
@@ -53,6 +53,9 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
     protected final FTPClient client;
     protected final FTPClientConfig clientConfig;
     protected RemoteFileEndpoint<FTPFile> endpoint;
+    private InputStream downloadStream;
+    private String downloadDirectory;
+    private String downloadExchangeId;
 
     public FtpOperations(FTPClient client, FTPClientConfig clientConfig) {
         this.client = client;
@@ -200,6 +203,12 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
     }
 
     public void disconnect() throws GenericFileOperationFailedException {
+        // abandon any streamed download as the connection is closed
+        IOHelper.close(downloadStream, "retrieve stream", log);
+        downloadStream = null;
+        downloadDirectory = null;
+        downloadExchangeId = null;
+
         // logout before disconnecting
         try {
             client.logout();
@@ -277,15 +286,113 @@ public class FtpOperations implements RemoteFileOperations<FTPFile> {
         if (log.isTraceEnabled()) {
             log.trace("retrieveFile(" + name + ")");
         }
+        // a previous streamed download must be completed before we can use the connection
+        if (downloadStream != null) {
+            log.warn("Completing streamed download of exchange: " + downloadExchangeId
+                    + " before it is done, as the connection is needed to retrieve: " + name);
+            releaseRetrievedFileResources(null);
+        }
+
         if (ObjectHelper.isNotEmpty(endpoint.getLocalWorkDirectory())) {
             // local work directory is configured so we should store file content as files in this local directory
             return retrieveFileToFileInLocalWorkDirectory(name, exchange);
+        } else if (endpoint.getConfiguration().isStreamDownload()) {
+            // use the data connection as the body
+            return retrieveFileAsStreamInBody(name, exchange);
         } else {
             // store file content directory as stream on the body
             return retrieveFileToStreamInBody(name, exchange);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private boolean retrieveFileAsStreamInBody(String name, Exchange exchange) throws GenericFileOperationFailedException {
+        GenericFile<FTPFile> target = (GenericFile<FTPFile>) exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE);
+        ObjectHelper.notNull(target, "Exchange should have the " + FileComponent.FILE_EXCHANGE_FILE + " set");
+
+        try {
+            String remoteName = name;
+            String currentDir = null;
+            if (endpoint.getConfiguration().isStepwise()) {
+                // remember current directory
+                currentDir = getCurrentDirectory();
+
+                // change directory to path where the file is to be retrieved
+                // (must do this as some FTP servers cannot retrieve using absolute path)
+                String path = FileUtil.onlyPath(name);
+                if (path != null) {
+                    changeCurrentDirectory(path);
+                }
+                // remote name is now only the file name as we just changed directory
+                remoteName = FileUtil.stripPath(name);
+            }
+
+            InputStream is = client.retrieveFileStream(remoteName);
+            if (is == null) {
+                // the transfer could not be started
+                if (currentDir != null) {
+                    changeCurrentDirectory(currentDir);
+                }
+                return false;
+            }
+
+            // the transfer is completed and the directory changed back when the exchange is done
+            downloadStream = is;
+            downloadDirectory = currentDir;
+            downloadExchangeId = exchange.getExchangeId();
+            target.setBody(is);
+            exchange.addOnCompletion(new RemoteFileDownloadOnCompletion(this));
+            return true;
+        } catch (IOException e) {
+            throw new GenericFileOperationFailedException(client.getReplyCode(), client.getReplyString(), e.getMessage(), e);
+        }
+    }
+
+    public void releaseRetrievedFileResources(Exchange exchange) throws GenericFileOperationFailedException {
+        if (downloadStream == null || (exchange != null && !exchange.getExchangeId().equals(downloadExchangeId))) {
+            // no download in progress for the exchange
+            return;
+        }
+
+        InputStream is = downloadStream;
+        String currentDir = downloadDirectory;
+        downloadStream = null;
+        downloadDirectory = null;
+        downloadExchangeId = null;
+
+        if (log.isTraceEnabled()) {
+            log.trace("Completing streamed download for exchange: " + exchange);
+        }
+        try {
+            // the data connection must be read to the end, as the server aborts the transfer if its closed
+            // early, and then the download cannot be completed and the file would be picked up again and again
+            drain(is);
+        } catch (IOException e) {
+            IOHelper.close(is, "retrieve stream", log);
+            throw new GenericFileOperationFailedException(client.getReplyCode(), client.getReplyString(), e.getMessage(), e);
+        }
+        IOHelper.close(is, "retrieve stream", log);
+        try {
+            boolean completed = client.completePendingCommand();
+            if (currentDir != null) {
+                changeCurrentDirectory(currentDir);
+            }
+            if (!completed) {
+                throw new GenericFileOperationFailedException(client.getReplyCode(), client.getReplyString(),
+                        "Cannot complete the download of the file");
+            }
+        } catch (IOException e) {
+            throw new GenericFileOperationFailedException(client.getReplyCode(), client.getReplyString(), e.getMessage(), e);
+        }
+    }
+
+    private static void drain(InputStream is) throws IOException {
+        byte[] buffer = new byte[4096];
+        while (is.read(buffer) != -1) {
+            // discard the remainder of the file
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private boolean retrieveFileToStreamInBody(String name, Exchange exchange) throws GenericFileOperationFailedException {
         OutputStream os = null;
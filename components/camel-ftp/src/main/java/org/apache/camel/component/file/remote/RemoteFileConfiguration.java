@@ -48,6 +48,7 @@ public abstract class RemoteFileConfiguration extends GenericFileConfiguration {
     private boolean throwExceptionOnConnectFailed;
     private String siteCommand;
     private boolean stepwise = true;
+    private boolean streamDownload;
     private PathSeparator separator = PathSeparator.Auto;
 
     public RemoteFileConfiguration() {
@@ -246,6 +247,26 @@ public abstract class RemoteFileConfiguration extends GenericFileConfiguration {
         this.stepwise = stepwise;
     }
 
+    public boolean isStreamDownload() {
+        return streamDownload;
+    }
+
+    /**
+     * Sets whether the consumer should set the data connection of the download as the message body,
+     * instead of downloading the entire file into memory first.
+     * <p/>
+     * The file is then downloaded while the route reads the body, and the download is completed when the
+     * exchange is done. As the connection is busy until then, the exchange must be processed synchronously.
+     * If the route only reads part of the body, the remainder of the file is read and discarded when the
+     * download is completed.
+     * This option is not used when a <tt>localWorkDirectory</tt> is configured.
+     *
+     * @param streamDownload whether to stream the download
+     */
+    public void setStreamDownload(boolean streamDownload) {
+        this.streamDownload = streamDownload;
+    }
+
     public PathSeparator getSeparator() {
         return separator;
     }
@@ -17,16 +17,31 @@
 package org.apache.camel.component.file.remote;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.component.file.FileComponent;
+import org.apache.camel.component.file.GenericFile;
 import org.apache.camel.component.file.GenericFileConsumer;
 import org.apache.camel.component.file.GenericFileOperationFailedException;
+import org.apache.camel.spi.Synchronization;
+import org.apache.camel.util.Ordered;
 
 /**
  * Base class for remote file consumers.
  */
 public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
     protected boolean loggedIn;
+    private volatile RemoteFileOperationsPool<T> connectionPool;
+    private ExecutorService downloadExecutor;
+    private final List<Future<?>> downloads = new ArrayList<Future<?>>();
 
     public RemoteFileConsumer(RemoteFileEndpoint<T> endpoint, Processor processor, RemoteFileOperations<T> operations) {
         super(endpoint, processor, operations);
@@ -79,10 +94,105 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
         }
     }
 
+    @Override
+    public int processBatch(Queue<Object> exchanges) {
+        int total = super.processBatch(exchanges);
+        if (connectionPool != null) {
+            // the files are retrieved concurrently so wait for them before the poll is complete
+            waitForDownloads();
+        }
+        return total;
+    }
+
+    @Override
+    protected void processExchange(final Exchange exchange) {
+        if (connectionPool == null) {
+            super.processExchange(exchange);
+            return;
+        }
+
+        downloads.add(downloadExecutor.submit(new Runnable() {
+            public void run() {
+                processPooledExchange(exchange);
+            }
+        }));
+    }
+
+    /**
+     * Processes the exchange using a connection borrowed from the connection pool.
+     * <p/>
+     * The connection is given back to the pool when the exchange is done, as its needed to commit or rollback the file.
+     *
+     * @param exchange the exchange
+     */
+    protected void processPooledExchange(Exchange exchange) {
+        // the pool is released when we are stopping, and the exchange must give back its connection to the same pool
+        RemoteFileOperationsPool<T> pool = connectionPool;
+        RemoteFileOperations<T> pooled;
+        try {
+            if (pool == null) {
+                throw new IllegalStateException("Connection pool is not started for: " + endpoint);
+            }
+            pooled = pool.acquire();
+        } catch (Exception e) {
+            GenericFile<?> file = (GenericFile<?>) exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE);
+            endpoint.getInProgressRepository().remove(file.getAbsoluteFilePath());
+            handleException(e);
+            return;
+        }
+
+        ReleaseConnectionOnCompletion release = new ReleaseConnectionOnCompletion(pool, pooled);
+        exchange.addOnCompletion(release);
+        boolean routed = false;
+        try {
+            routed = processExchange(exchange, pooled);
+        } finally {
+            if (!routed) {
+                // the exchange was not routed so the on completion will not be executed
+                release.release();
+            }
+        }
+    }
+
+    private void waitForDownloads() {
+        try {
+            for (Future<?> download : downloads) {
+                try {
+                    download.get();
+                } catch (ExecutionException e) {
+                    handleException(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            log.debug("Interrupted while waiting for downloads to complete");
+            Thread.currentThread().interrupt();
+        } finally {
+            downloads.clear();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        connectionPool = getEndpoint().acquireConnectionPool();
+        if (connectionPool != null) {
+            downloadExecutor = getEndpoint().getCamelContext().getExecutorServiceStrategy()
+                    .newFixedThreadPool(this, "RemoteFileDownload", connectionPool.getSize());
+        }
+        super.doStart();
+    }
+
     @Override
     protected void doStop() throws Exception {
         super.doStop();
+        if (downloadExecutor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceStrategy().shutdownNow(downloadExecutor);
+            downloadExecutor = null;
+        }
         disconnect();
+        if (connectionPool != null) {
+            connectionPool = null;
+            getEndpoint().releaseConnectionPool();
+        }
     }
 
     protected void disconnect() {
@@ -139,4 +249,43 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
     protected String remoteServer() {
         return ((RemoteFileEndpoint) endpoint).remoteServerInformation();
     }
+
+    /**
+     * Gives the borrowed connection back to the pool when the exchange is done.
+     * <p/>
+     * Has the lowest order so its executed after the file has been committed or rolled back.
+     */
+    private final class ReleaseConnectionOnCompletion implements Synchronization, Ordered {
+        private final RemoteFileOperationsPool<T> pool;
+        private final RemoteFileOperations<T> operations;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseConnectionOnCompletion(RemoteFileOperationsPool<T> pool, RemoteFileOperations<T> operations) {
+            this.pool = pool;
+            this.operations = operations;
+        }
+
+        public void onComplete(Exchange exchange) {
+            release();
+        }
+
+        public void onFailure(Exchange exchange) {
+            release();
+        }
+
+        public int getOrder() {
+            return Ordered.LOWEST;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                pool.release(operations);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ReleaseConnectionOnCompletion";
+        }
+    }
 }
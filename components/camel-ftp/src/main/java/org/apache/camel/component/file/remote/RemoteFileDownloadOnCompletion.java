@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.Synchronization;
+import org.apache.camel.util.Ordered;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * On completion strategy which completes a streamed download when the exchange is done.
+ * <p/>
+ * This must happen before the {@link org.apache.camel.component.file.GenericFileOnCompletion} is executed,
+ * as it needs the connection to commit or rollback the file, so this synchronization has the highest order.
+ *
+ * @version $Revision$
+ */
+public class RemoteFileDownloadOnCompletion implements Synchronization, Ordered {
+
+    private static final transient Log LOG = LogFactory.getLog(RemoteFileDownloadOnCompletion.class);
+    private final RemoteFileOperations<?> operations;
+
+    public RemoteFileDownloadOnCompletion(RemoteFileOperations<?> operations) {
+        this.operations = operations;
+    }
+
+    public void onComplete(Exchange exchange) {
+        release(exchange);
+    }
+
+    public void onFailure(Exchange exchange) {
+        release(exchange);
+    }
+
+    public int getOrder() {
+        return Ordered.HIGHEST;
+    }
+
+    private void release(Exchange exchange) {
+        try {
+            operations.releaseRetrievedFileResources(exchange);
+        } catch (Exception e) {
+            LOG.warn("Error completing streamed download for exchange: " + exchange + " due " + e.getMessage(), e);
+            if (exchange.getException() == null) {
+                exchange.setException(e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteFileDownloadOnCompletion";
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.camel.component.file.GenericFileProducer;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
 
 /**
  * Remote file endpoint.
@@ -33,6 +34,12 @@ public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
     private int maximumReconnectAttempts = 3;
     private long reconnectDelay = 1000;
     private boolean disconnect;
+    private int connectionPoolSize;
+    private long connectionPoolKeepAliveInterval = 30000;
+    private boolean connectionPoolTestOnBorrow = true;
+    private long connectionPoolBorrowTimeout = 30000;
+    private RemoteFileOperationsPool<T> connectionPool;
+    private int connectionPoolUsers;
 
     public RemoteFileEndpoint() {
         // no args constructor for spring bean endpoint configuration
@@ -124,6 +131,59 @@ public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
      */
     public abstract RemoteFileOperations<T> createRemoteFileOperations() throws Exception;
 
+    /**
+     * Gets the connection pool used for retrieving and storing files concurrently.
+     *
+     * @return the pool, or <tt>null</tt> if connection pooling is not enabled or no consumer or producer is started
+     */
+    public synchronized RemoteFileOperationsPool<T> getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Acquires the connection pool when a consumer or producer of this endpoint is started.
+     * <p/>
+     * The pool is shared by the consumer and producers of this endpoint. It is created and started
+     * by the first one starting, and stopped by the last one stopping using {@link #releaseConnectionPool()},
+     * so a new pool is used if the routes are started again.
+     *
+     * @return the started pool, or <tt>null</tt> if connection pooling is not enabled
+     * @throws Exception is thrown if the pool could not be started
+     */
+    protected synchronized RemoteFileOperationsPool<T> acquireConnectionPool() throws Exception {
+        if (connectionPoolSize <= 0) {
+            return null;
+        }
+        if (connectionPool == null) {
+            RemoteFileOperationsPool<T> pool = new RemoteFileOperationsPool<T>(this, connectionPoolSize);
+            pool.setKeepAliveInterval(connectionPoolKeepAliveInterval);
+            pool.setTestOnBorrow(connectionPoolTestOnBorrow);
+            pool.setBorrowTimeout(connectionPoolBorrowTimeout);
+            ServiceHelper.startService(pool);
+            connectionPool = pool;
+        }
+        connectionPoolUsers++;
+        return connectionPool;
+    }
+
+    /**
+     * Releases the connection pool when a consumer or producer of this endpoint is stopped,
+     * stopping the pool if it is no longer in use.
+     *
+     * @throws Exception is thrown if the pool could not be stopped
+     */
+    protected synchronized void releaseConnectionPool() throws Exception {
+        if (connectionPool == null) {
+            return;
+        }
+        if (--connectionPoolUsers <= 0) {
+            RemoteFileOperationsPool<T> pool = connectionPool;
+            connectionPool = null;
+            connectionPoolUsers = 0;
+            ServiceHelper.stopService(pool);
+        }
+    }
+
     /**
      * Returns human readable server information for logging purpose
      */
@@ -164,4 +224,52 @@ public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
     public void setDisconnect(boolean disconnect) {
         this.disconnect = disconnect;
     }
+
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    /**
+     * Sets the number of pooled connections used to retrieve and store files concurrently.
+     * <p/>
+     * Is default 0 which means each consumer and producer uses its own single connection.
+     */
+    public void setConnectionPoolSize(int connectionPoolSize) {
+        this.connectionPoolSize = connectionPoolSize;
+    }
+
+    public long getConnectionPoolKeepAliveInterval() {
+        return connectionPoolKeepAliveInterval;
+    }
+
+    /**
+     * Sets the interval in millis for sending noop commands on idle pooled connections.
+     * Use 0 to disable the keep alive.
+     */
+    public void setConnectionPoolKeepAliveInterval(long connectionPoolKeepAliveInterval) {
+        this.connectionPoolKeepAliveInterval = connectionPoolKeepAliveInterval;
+    }
+
+    public boolean isConnectionPoolTestOnBorrow() {
+        return connectionPoolTestOnBorrow;
+    }
+
+    /**
+     * Sets whether an idle pooled connection is validated using a noop command before it is used.
+     */
+    public void setConnectionPoolTestOnBorrow(boolean connectionPoolTestOnBorrow) {
+        this.connectionPoolTestOnBorrow = connectionPoolTestOnBorrow;
+    }
+
+    public long getConnectionPoolBorrowTimeout() {
+        return connectionPoolBorrowTimeout;
+    }
+
+    /**
+     * Sets the maximum time in millis to wait for a pooled connection when all the connections are in use,
+     * after which the operation fails. Use 0 to wait forever.
+     */
+    public void setConnectionPoolBorrowTimeout(long connectionPoolBorrowTimeout) {
+        this.connectionPoolBorrowTimeout = connectionPoolBorrowTimeout;
+    }
 }
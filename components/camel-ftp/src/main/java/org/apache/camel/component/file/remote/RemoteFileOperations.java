@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.file.remote;
 
+import org.apache.camel.Exchange;
 import org.apache.camel.component.file.GenericFileOperationFailedException;
 import org.apache.camel.component.file.GenericFileOperations;
 
@@ -65,4 +66,15 @@ public interface RemoteFileOperations<T> extends GenericFileOperations<T> {
      */
     boolean sendSiteCommand(String command) throws GenericFileOperationFailedException;
 
+    /**
+     * Completes a streamed download which was started by {@link #retrieveFile(String, org.apache.camel.Exchange)},
+     * so the connection can be used for other operations again.
+     * <p/>
+     * Does nothing if there is no streamed download in progress.
+     *
+     * @param exchange the exchange of the download, or <tt>null</tt> if the download is abandoned
+     * @throws GenericFileOperationFailedException can be thrown
+     */
+    void releaseRetrievedFileResources(Exchange exchange) throws GenericFileOperationFailedException;
+
 }
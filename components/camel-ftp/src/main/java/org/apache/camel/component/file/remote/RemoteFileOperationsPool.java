@@ -0,0 +1,345 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.component.file.GenericFileOperationFailedException;
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A bounded pool of connected {@link RemoteFileOperations} for a remote file endpoint.
+ * <p/>
+ * The operations is not thread safe, so each connection is borrowed by a single thread at a time
+ * using {@link #acquire()}, and must be given back using {@link #release(RemoteFileOperations)}.
+ * At most <tt>size</tt> connections are borrowed at any time, callers will block until a connection is released,
+ * or fail when the <tt>borrowTimeout</tt> has elapsed. The timeout prevents a deadlock when all the connections
+ * are held by exchanges which are waiting for a connection themselves, for instance when a consumer sends
+ * to a producer of the same endpoint.
+ * <p/>
+ * Idle connections are validated by sending a noop command when they are borrowed, and periodically
+ * by a keep alive task, so connections which has been closed by the server are discarded.
+ *
+ * @version $Revision$
+ */
+public class RemoteFileOperationsPool<T> extends ServiceSupport {
+
+    private static final transient Log LOG = LogFactory.getLog(RemoteFileOperationsPool.class);
+    private final RemoteFileEndpoint<T> endpoint;
+    private final int size;
+    private final Semaphore permits;
+    private final BlockingQueue<IdleOperations<T>> idle = new LinkedBlockingQueue<IdleOperations<T>>();
+    private final AtomicInteger borrowed = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private long keepAliveInterval;
+    private long borrowTimeout = 30000;
+    private boolean testOnBorrow = true;
+    private ScheduledExecutorService keepAliveExecutor;
+
+    public RemoteFileOperationsPool(RemoteFileEndpoint<T> endpoint, int size) {
+        ObjectHelper.notNull(endpoint, "endpoint");
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive, was: " + size);
+        }
+        this.endpoint = endpoint;
+        this.size = size;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Borrows a connected operations from the pool, connecting a new one if no idle connection is available.
+     * <p/>
+     * Blocks until a connection is available if all the connections are in use, waiting at most the borrow timeout.
+     *
+     * @return the connected operations, must be released after use
+     * @throws InterruptedException is thrown if interrupted while waiting for a connection
+     * @throws GenericFileOperationFailedException is thrown if no connection was available within the borrow timeout,
+     *                                             or a new connection could not be established
+     */
+    public RemoteFileOperations<T> acquire() throws InterruptedException, GenericFileOperationFailedException {
+        if (!isRunAllowed()) {
+            throw new IllegalStateException("Connection pool is not started for: " + endpoint);
+        }
+
+        if (borrowTimeout > 0) {
+            if (!permits.tryAcquire(borrowTimeout, TimeUnit.MILLISECONDS)) {
+                throw new GenericFileOperationFailedException("Timeout waiting " + borrowTimeout
+                        + " millis for a pooled connection to: " + endpoint.remoteServerInformation()
+                        + " as all " + size + " connections are in use");
+            }
+        } else {
+            permits.acquire();
+        }
+        boolean done = false;
+        try {
+            RemoteFileOperations<T> answer = pollIdle();
+            if (answer == null) {
+                answer = connect();
+            }
+            borrowed.incrementAndGet();
+            done = true;
+            return answer;
+        } finally {
+            if (!done) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Gives back a borrowed operations to the pool.
+     * <p/>
+     * Operations which is no longer connected is discarded.
+     *
+     * @param operations the operations
+     */
+    public void release(RemoteFileOperations<T> operations) {
+        try {
+            if (isRunAllowed() && isConnected(operations) && idle.size() < size) {
+                idle.offer(new IdleOperations<T>(operations));
+            } else {
+                close(operations);
+            }
+        } finally {
+            borrowed.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    /**
+     * Discards a borrowed operations which has failed, for instance due to a broken connection.
+     *
+     * @param operations the operations
+     */
+    public void invalidate(RemoteFileOperations<T> operations) {
+        try {
+            close(operations);
+        } finally {
+            borrowed.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    /**
+     * Validates the idle connections which has not been used since the keep alive interval.
+     */
+    protected void keepAlive() {
+        long threshold = System.currentTimeMillis() - keepAliveInterval;
+        // only visit the connections which was idle when we started, borrowed connections are not touched
+        for (int i = idle.size(); i > 0 && isRunAllowed(); i--) {
+            IdleOperations<T> entry = idle.poll();
+            if (entry == null) {
+                break;
+            }
+            if (entry.lastUsed <= threshold) {
+                if (!validate(entry.operations)) {
+                    close(entry.operations);
+                    continue;
+                }
+                entry.lastUsed = System.currentTimeMillis();
+            }
+            idle.offer(entry);
+        }
+    }
+
+    private RemoteFileOperations<T> pollIdle() {
+        IdleOperations<T> entry = idle.poll();
+        while (entry != null) {
+            if (!testOnBorrow || validate(entry.operations)) {
+                return entry.operations;
+            }
+            close(entry.operations);
+            entry = idle.poll();
+        }
+        return null;
+    }
+
+    private RemoteFileOperations<T> connect() throws GenericFileOperationFailedException {
+        RemoteFileOperations<T> operations;
+        try {
+            operations = endpoint.createRemoteFileOperations();
+        } catch (Exception e) {
+            throw new GenericFileOperationFailedException("Cannot create operations for: " + endpoint, e);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Connecting pooled connection to: " + endpoint.remoteServerInformation());
+        }
+        boolean loggedIn = operations.connect(endpoint.getConfiguration());
+        if (!loggedIn) {
+            close(operations);
+            throw new GenericFileOperationFailedException("Cannot connect/login to: " + endpoint.remoteServerInformation());
+        }
+        created.incrementAndGet();
+        return operations;
+    }
+
+    private boolean validate(RemoteFileOperations<T> operations) {
+        try {
+            return operations.isConnected() && operations.sendNoop();
+        } catch (Exception e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Pooled connection to: " + endpoint.remoteServerInformation() + " is no longer valid due " + e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private boolean isConnected(RemoteFileOperations<T> operations) {
+        try {
+            return operations.isConnected();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void close(RemoteFileOperations<T> operations) {
+        discarded.incrementAndGet();
+        try {
+            if (operations.isConnected()) {
+                operations.disconnect();
+            }
+        } catch (Exception e) {
+            // ignore as we are discarding the connection
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Error disconnecting pooled connection to: " + endpoint.remoteServerInformation() + " due " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (keepAliveInterval > 0) {
+            keepAliveExecutor = endpoint.getCamelContext().getExecutorServiceStrategy()
+                    .newScheduledThreadPool(this, "RemoteFileConnectionPoolKeepAlive", 1);
+            keepAliveExecutor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        keepAlive();
+                    } catch (Throwable e) {
+                        LOG.warn("Error during keep alive of connections to: " + endpoint.remoteServerInformation(), e);
+                    }
+                }
+            }, keepAliveInterval, keepAliveInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (keepAliveExecutor != null) {
+            endpoint.getCamelContext().getExecutorServiceStrategy().shutdownNow(keepAliveExecutor);
+            keepAliveExecutor = null;
+        }
+        // borrowed connections are closed when they are released
+        IdleOperations<T> entry = idle.poll();
+        while (entry != null) {
+            close(entry.operations);
+            entry = idle.poll();
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Number of connections currently borrowed
+     */
+    public int getBorrowedCount() {
+        return borrowed.get();
+    }
+
+    /**
+     * Number of idle connections in the pool
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Total number of connections which has been created
+     */
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * Total number of connections which has been discarded
+     */
+    public long getDiscardedCount() {
+        return discarded.get();
+    }
+
+    public long getKeepAliveInterval() {
+        return keepAliveInterval;
+    }
+
+    /**
+     * Interval in millis for sending a noop command on idle connections to keep them alive.
+     * Use 0 or a negative value to disable.
+     */
+    public void setKeepAliveInterval(long keepAliveInterval) {
+        this.keepAliveInterval = keepAliveInterval;
+    }
+
+    public long getBorrowTimeout() {
+        return borrowTimeout;
+    }
+
+    /**
+     * Maximum time in millis to wait for a connection when all the connections are in use.
+     * Is default 30000, use 0 or a negative value to wait forever.
+     */
+    public void setBorrowTimeout(long borrowTimeout) {
+        this.borrowTimeout = borrowTimeout;
+    }
+
+    public boolean isTestOnBorrow() {
+        return testOnBorrow;
+    }
+
+    /**
+     * Whether to send a noop command to validate an idle connection before it is borrowed.
+     */
+    public void setTestOnBorrow(boolean testOnBorrow) {
+        this.testOnBorrow = testOnBorrow;
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteFileOperationsPool[" + endpoint.remoteServerInformation() + ", size=" + size + "]";
+    }
+
+    private static final class IdleOperations<T> {
+        private final RemoteFileOperations<T> operations;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private IdleOperations(RemoteFileOperations<T> operations) {
+            this.operations = operations;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.camel.component.file.remote;
 import org.apache.camel.Exchange;
 import org.apache.camel.ServicePoolAware;
 import org.apache.camel.component.file.GenericFileOperationFailedException;
+import org.apache.camel.component.file.GenericFileOperations;
 import org.apache.camel.component.file.GenericFileProducer;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -29,6 +30,8 @@ import org.apache.camel.util.ObjectHelper;
 public class RemoteFileProducer<T> extends GenericFileProducer<T> implements ServicePoolAware {
 
     private boolean loggedIn;
+    private boolean pooled;
+    private volatile RemoteFileOperationsPool<T> connectionPool;
     
     protected RemoteFileProducer(RemoteFileEndpoint<T> endpoint, RemoteFileOperations<T> operations) {
         super(endpoint, operations);
@@ -46,10 +49,38 @@ public class RemoteFileProducer<T> extends GenericFileProducer<T> implements Ser
 
     public void process(Exchange exchange) throws Exception {
         Exchange remoteExchange = getEndpoint().createExchange(exchange);
-        processExchange(remoteExchange);
+        RemoteFileOperationsPool<T> pool = connectionPool;
+        if (pool != null) {
+            processPooledExchange(pool, remoteExchange);
+        } else {
+            processExchange(remoteExchange);
+        }
         ExchangeHelper.copyResults(exchange, remoteExchange);
     }
 
+    /**
+     * Stores the file using a connection borrowed from the connection pool.
+     * <p/>
+     * This producer is not a singleton, so it is only used by one thread at a time, and
+     * concurrent uploads to the same endpoint uses different producers and connections from the pool.
+     */
+    protected void processPooledExchange(RemoteFileOperationsPool<T> pool, Exchange exchange) throws Exception {
+        RemoteFileOperations<T> connection = pool.acquire();
+        GenericFileOperations<T> previous = operations;
+        setOperations(connection);
+        loggedIn = true;
+        pooled = true;
+        try {
+            processExchange(exchange);
+        } finally {
+            pooled = false;
+            loggedIn = false;
+            setOperations(previous);
+            // a failed write has disconnected the connection so the pool will discard it
+            pool.release(connection);
+        }
+    }
+
     protected RemoteFileOperations getOperations() {
         return (RemoteFileOperations) operations;
     }
@@ -93,6 +124,11 @@ public class RemoteFileProducer<T> extends GenericFileProducer<T> implements Ser
 
     @Override
     public void preWriteCheck() throws Exception {
+        if (pooled) {
+            // the pool has already validated the connection
+            return;
+        }
+
         // before writing send a noop to see if the connection is alive and works
         boolean noop = false;
         if (loggedIn) {
@@ -146,6 +182,7 @@ public class RemoteFileProducer<T> extends GenericFileProducer<T> implements Ser
         log.debug("Starting");
         // do not connect when component starts, just wait until we process as we will
         // connect at that time if needed
+        connectionPool = getEndpoint().acquireConnectionPool();
         super.doStart();
     }
 
@@ -156,6 +193,10 @@ public class RemoteFileProducer<T> extends GenericFileProducer<T> implements Ser
         } catch (Exception e) {
             log.debug("Exception occurred during disconnecting from: " + getEndpoint() + " " + e.getMessage());
         }
+        if (connectionPool != null) {
+            connectionPool = null;
+            getEndpoint().releaseConnectionPool();
+        }
         super.doStop();
     }
 
@@ -56,6 +56,9 @@ public class SftpOperations implements RemoteFileOperations<ChannelSftp.LsEntry>
     private RemoteFileEndpoint endpoint;
     private ChannelSftp channel;
     private Session session;
+    private InputStream downloadStream;
+    private String downloadDirectory;
+    private String downloadExchangeId;
 
     public void setEndpoint(GenericFileEndpoint endpoint) {
         this.endpoint = (RemoteFileEndpoint) endpoint;
@@ -234,6 +237,12 @@ public class SftpOperations implements RemoteFileOperations<ChannelSftp.LsEntry>
     }
 
     public void disconnect() throws GenericFileOperationFailedException {
+        // abandon any streamed download as the connection is closed
+        IOHelper.close(downloadStream, "retrieve stream", LOG);
+        downloadStream = null;
+        downloadDirectory = null;
+        downloadExchangeId = null;
+
         if (session != null && session.isConnected()) {
             session.disconnect();
         }
@@ -454,15 +463,97 @@ public class SftpOperations implements RemoteFileOperations<ChannelSftp.LsEntry>
         if (LOG.isTraceEnabled()) {
             LOG.trace("retrieveFile(" + name + ")");
         }
+        // a previous streamed download must be completed before we can use the channel
+        if (downloadStream != null) {
+            LOG.warn("Completing streamed download of exchange: " + downloadExchangeId
+                    + " before it is done, as the channel is needed to retrieve: " + name);
+            releaseRetrievedFileResources(null);
+        }
+
         if (ObjectHelper.isNotEmpty(endpoint.getLocalWorkDirectory())) {
             // local work directory is configured so we should store file content as files in this local directory
             return retrieveFileToFileInLocalWorkDirectory(name, exchange);
+        } else if (endpoint.getConfiguration().isStreamDownload()) {
+            // use the channel stream as the body
+            return retrieveFileAsStreamInBody(name, exchange);
         } else {
             // store file content directory as stream on the body
             return retrieveFileToStreamInBody(name, exchange);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private boolean retrieveFileAsStreamInBody(String name, Exchange exchange) throws GenericFileOperationFailedException {
+        GenericFile<ChannelSftp.LsEntry> target =
+                (GenericFile<ChannelSftp.LsEntry>) exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE);
+        ObjectHelper.notNull(target, "Exchange should have the " + FileComponent.FILE_EXCHANGE_FILE + " set");
+
+        try {
+            String remoteName = name;
+            String currentDir = null;
+            if (endpoint.getConfiguration().isStepwise()) {
+                // remember current directory
+                currentDir = getCurrentDirectory();
+
+                // change directory to path where the file is to be retrieved
+                // (must do this as some FTP servers cannot retrieve using absolute path)
+                String path = FileUtil.onlyPath(name);
+                if (path != null) {
+                    changeCurrentDirectory(path);
+                }
+                // remote name is now only the file name as we just changed directory
+                remoteName = FileUtil.stripPath(name);
+            }
+
+            // the download is completed and the directory changed back when the exchange is done
+            InputStream is = channel.get(remoteName);
+            downloadStream = is;
+            downloadDirectory = currentDir;
+            downloadExchangeId = exchange.getExchangeId();
+            target.setBody(is);
+            exchange.addOnCompletion(new RemoteFileDownloadOnCompletion(this));
+            return true;
+        } catch (SftpException e) {
+            throw new GenericFileOperationFailedException("Cannot retrieve file: " + name, e);
+        }
+    }
+
+    public void releaseRetrievedFileResources(Exchange exchange) throws GenericFileOperationFailedException {
+        if (downloadStream == null || (exchange != null && !exchange.getExchangeId().equals(downloadExchangeId))) {
+            // no download in progress for the exchange
+            return;
+        }
+
+        InputStream is = downloadStream;
+        String currentDir = downloadDirectory;
+        downloadStream = null;
+        downloadDirectory = null;
+        downloadExchangeId = null;
+
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Completing streamed download for exchange: " + exchange);
+        }
+        try {
+            // the stream must be read to the end, as the remaining responses for the file would otherwise
+            // be left pending on the channel and break the next operation, so the file is picked up again and again
+            drain(is);
+        } catch (IOException e) {
+            throw new GenericFileOperationFailedException("Cannot complete the download of the file", e);
+        } finally {
+            IOHelper.close(is, "retrieve stream", LOG);
+        }
+        if (currentDir != null) {
+            changeCurrentDirectory(currentDir);
+        }
+    }
+
+    private static void drain(InputStream is) throws IOException {
+        byte[] buffer = new byte[4096];
+        while (is.read(buffer) != -1) {
+            // discard the remainder of the file
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private boolean retrieveFileToStreamInBody(String name, Exchange exchange) throws GenericFileOperationFailedException {
         OutputStream os = null;
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.io.File;
+import java.io.InputStream;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test to test the streamDownload option when the stream is only partly read.
+ */
+public class FromFtpStreamDownloadPartialReadTest extends FtpServerTestSupport {
+
+    protected String getFtpUrl() {
+        return "ftp://admin@localhost:" + getPort() + "/partial?password=admin&binary=true"
+                + "&streamDownload=true&delete=true";
+    }
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        prepareFtpServer();
+    }
+
+    @Test
+    public void testStreamDownloadPartialRead() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.expectedHeaderReceived(Exchange.FILE_NAME, "big.txt");
+
+        assertMockEndpointsSatisfied();
+
+        Thread.sleep(1000);
+
+        // the download should be completed so the file is deleted and not picked up again
+        assertFalse("The file should have been deleted", new File(FTP_ROOT_DIR + "partial/big.txt").exists());
+        mock.assertIsSatisfied();
+    }
+
+    private void prepareFtpServer() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("Line ").append(i).append("\n");
+        }
+        template.sendBodyAndHeader("file://" + FTP_ROOT_DIR + "partial", sb.toString(), Exchange.FILE_NAME, "big.txt");
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(getFtpUrl())
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            // only read the first bytes of the file
+                            InputStream is = exchange.getIn().getBody(InputStream.class);
+                            assertEquals('L', is.read());
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.io.File;
+import java.io.InputStream;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test to test the streamDownload option.
+ */
+public class FromFtpStreamDownloadTest extends FtpServerTestSupport {
+
+    protected String getFtpUrl() {
+        return "ftp://admin@localhost:" + getPort() + "/streamdownload?password=admin&binary=true"
+                + "&streamDownload=true&delete=true";
+    }
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        prepareFtpServer();
+    }
+
+    @Test
+    public void testStreamDownload() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(2);
+        mock.expectedFileExists("target/streamdownload/hello.txt", "Hello World");
+        mock.expectedFileExists("target/streamdownload/bye.txt", "Bye World");
+
+        assertMockEndpointsSatisfied();
+
+        Thread.sleep(500);
+
+        // the files should be deleted as the downloads was completed
+        assertFalse("The file should have been deleted", new File(FTP_ROOT_DIR + "streamdownload/hello.txt").exists());
+        assertFalse("The file should have been deleted", new File(FTP_ROOT_DIR + "streamdownload/bye.txt").exists());
+    }
+
+    private void prepareFtpServer() throws Exception {
+        deleteDirectory("target/streamdownload");
+        template.sendBodyAndHeader(getFtpUrl(), "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(getFtpUrl(), "Bye World", Exchange.FILE_NAME, "bye.txt");
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(getFtpUrl())
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            // the body should be the live stream from the FTP server
+                            Object body = exchange.getIn().getBody();
+                            assertIsInstanceOf(InputStream.class, body);
+                        }
+                    })
+                    .to("file://target/streamdownload", "mock:result");
+            }
+        };
+    }
+}
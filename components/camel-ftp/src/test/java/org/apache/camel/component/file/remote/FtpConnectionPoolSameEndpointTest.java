@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.file.GenericFileOperationFailedException;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+/**
+ * Unit test for a consumer sending to a producer of the same endpoint, which must not deadlock
+ * when the consumer holds all the pooled connections.
+ */
+public class FtpConnectionPoolSameEndpointTest extends FtpServerTestSupport {
+
+    private String getFtpUrl() {
+        return "ftp://admin@localhost:" + getPort() + "/poolsame?password=admin&connectionPoolSize=1"
+                + "&connectionPoolBorrowTimeout=1000&consumer.delay=5000";
+    }
+
+    @Test
+    public void testConsumerSendingToProducerOfSameEndpoint() throws Exception {
+        sendFile("ftp://admin@localhost:" + getPort() + "/poolsame?password=admin", "Hello World", "hello.txt");
+
+        MockEndpoint dead = getMockEndpoint("mock:dead");
+        dead.expectedMessageCount(1);
+
+        context.startRoute("copy");
+
+        // the consumer holds the only connection so the producer must fail within the borrow timeout
+        assertMockEndpointsSatisfied();
+
+        Exchange exchange = dead.getReceivedExchanges().get(0);
+        Exception cause = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+        assertIsInstanceOf(GenericFileOperationFailedException.class, cause);
+        assertTrue(cause.getMessage().startsWith("Timeout waiting 1000 millis for a pooled connection"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(deadLetterChannel("mock:dead"));
+
+                from(getFtpUrl()).routeId("copy").noAutoStartup()
+                    .setHeader(Exchange.FILE_NAME, simple("copy/${file:name}"))
+                    .to(getFtpUrl());
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.commons.net.ftp.FTPClient;
+import org.junit.Test;
+
+/**
+ * Unit test for the connectionPoolSize option, retrieving and storing files concurrently.
+ */
+public class FtpConnectionPoolTest extends FtpServerTestSupport {
+
+    private static final int FILES = 10;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    private String getFtpUrl() {
+        return "ftp://admin@localhost:" + getPort() + "/pool?password=admin&connectionPoolSize=3";
+    }
+
+    @Test
+    public void testConcurrentUpload() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<Object>> futures = new ArrayList<Future<Object>>();
+        for (int i = 0; i < FILES; i++) {
+            final int index = i;
+            futures.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    sendFile(getFtpUrl(), "Hello " + index, "upload/file-" + index + ".txt");
+                    return null;
+                }
+            }));
+        }
+        for (Future<Object> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < FILES; i++) {
+            File file = new File(FTP_ROOT_DIR + "pool/upload/file-" + i + ".txt").getAbsoluteFile();
+            assertTrue("The file should exists: " + file, file.exists());
+        }
+
+        RemoteFileOperationsPool<?> pool = ((RemoteFileEndpoint<?>) context.getEndpoint(getFtpUrl())).getConnectionPool();
+        assertEquals(0, pool.getBorrowedCount());
+        assertTrue("Should not create more connections than the pool size", pool.getCreatedCount() <= 3);
+    }
+
+    @Test
+    public void testConcurrentDownload() throws Exception {
+        for (int i = 0; i < FILES; i++) {
+            sendFile("ftp://admin@localhost:" + getPort() + "/pool?password=admin", "Hello " + i, "hello-" + i + ".txt");
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(FILES);
+
+        context.startRoute("download");
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue("Should retrieve files concurrently, was: " + maxActive.get(), maxActive.get() > 1);
+        assertTrue("Should not use more connections than the pool size, was: " + maxActive.get(), maxActive.get() <= 3);
+
+        Thread.sleep(500);
+
+        // the files should be deleted using the pooled connections
+        for (int i = 0; i < FILES; i++) {
+            File file = new File(FTP_ROOT_DIR + "pool/hello-" + i + ".txt").getAbsoluteFile();
+            assertFalse("The file should have been deleted: " + file, file.exists());
+        }
+    }
+
+    @Test
+    public void testDownloadAfterRouteRestart() throws Exception {
+        RemoteFileEndpoint<?> endpoint = (RemoteFileEndpoint<?>) context.getEndpoint(getDownloadUrl());
+
+        context.startRoute("download");
+        assertNotNull(endpoint.getConnectionPool());
+        context.stopRoute("download");
+        // the pool is stopped together with the last consumer or producer using it
+        assertNull(endpoint.getConnectionPool());
+
+        for (int i = 0; i < FILES; i++) {
+            sendFile("ftp://admin@localhost:" + getPort() + "/pool?password=admin", "Hello " + i, "hello-" + i + ".txt");
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(FILES);
+
+        // and a new pool is used when starting again
+        context.startRoute("download");
+
+        assertMockEndpointsSatisfied();
+        assertNotNull(endpoint.getConnectionPool());
+    }
+
+    @Test
+    public void testCustomFtpClientNotAllowed() throws Exception {
+        FtpEndpoint<?> endpoint = (FtpEndpoint<?>) context.getEndpoint(getFtpUrl() + "&fileName=custom.txt");
+        endpoint.setFtpClient(new FTPClient());
+        try {
+            endpoint.createProducer();
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Cannot use a custom ftpClient together with connectionPoolSize"));
+        }
+    }
+
+    private String getDownloadUrl() {
+        return getFtpUrl() + "&delete=true&consumer.delay=5000";
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(getDownloadUrl()).routeId("download").noAutoStartup()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            int current = active.incrementAndGet();
+                            if (current > maxActive.get()) {
+                                maxActive.set(current);
+                            }
+                            Thread.sleep(200);
+                            active.decrementAndGet();
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote.sftp;
+
+import java.io.File;
+import java.io.InputStream;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+/**
+ * Unit test to test the streamDownload option when the stream is only partly read.
+ *
+ * @version $Revision$
+ */
+public class SftpStreamDownloadPartialReadTest extends SftpServerTestSupport {
+
+    @Test
+    public void testStreamDownloadPartialRead() throws Exception {
+        if (!canTest()) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("Line ").append(i).append("\n");
+        }
+        template.sendBodyAndHeader("file://" + FTP_ROOT_DIR, sb.toString(), Exchange.FILE_NAME, "big.txt");
+        template.sendBodyAndHeader("file://" + FTP_ROOT_DIR, "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        // the next file on the same connection should be downloaded as well
+        mock.expectedBodiesReceivedInAnyOrder("L", "H");
+
+        context.startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        Thread.sleep(1000);
+
+        // the downloads should be completed so the files is deleted and not picked up again
+        assertFalse("The file should have been deleted", new File(FTP_ROOT_DIR + "/big.txt").exists());
+        assertFalse("The file should have been deleted", new File(FTP_ROOT_DIR + "/hello.txt").exists());
+        mock.assertIsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("sftp://localhost:" + getPort() + "/" + FTP_ROOT_DIR + "?username=admin&password=admin"
+                        + "&streamDownload=true&delete=true&delay=500")
+                    .routeId("foo").noAutoStartup()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            // only read the first byte of the file
+                            InputStream is = exchange.getIn().getBody(InputStream.class);
+                            exchange.getIn().setBody(String.valueOf((char) is.read()));
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+}
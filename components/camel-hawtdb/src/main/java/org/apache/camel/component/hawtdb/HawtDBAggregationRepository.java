@@ -28,6 +28,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.spi.ExchangeCodec;
 import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
@@ -460,6 +461,20 @@ public class HawtDBAggregationRepository extends ServiceSupport implements Recov
         this.deadLetterUri = deadLetterUri;
     }
 
+    public ExchangeCodec getExchangeCodec() {
+        return codec.getExchangeCodec();
+    }
+
+    /**
+     * Sets the codec to use for writing the exchanges to the store.
+     * <p/>
+     * By default the compact {@link org.apache.camel.impl.BinaryExchangeCodec} is used, which
+     * can also read exchanges which was stored using Java serialization.
+     */
+    public void setExchangeCodec(ExchangeCodec exchangeCodec) {
+        codec.setExchangeCodec(exchangeCodec);
+    }
+
     public short getPageSize() {
         return pageSize;
     }
@@ -17,13 +17,15 @@
 package org.apache.camel.component.hawtdb;
 
 import java.io.IOException;
-import java.io.Serializable;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.impl.BinaryExchangeCodec;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.DefaultExchangeHolder;
+import org.apache.camel.spi.ExchangeCodec;
+import org.apache.camel.util.IOHelper;
 import org.fusesource.hawtbuf.Buffer;
 import org.fusesource.hawtbuf.DataByteArrayInputStream;
 import org.fusesource.hawtbuf.DataByteArrayOutputStream;
@@ -37,7 +39,9 @@ import org.fusesource.hawtbuf.codec.StringCodec;
 public final class HawtDBCamelCodec {
 
     private Codec<String> keyCodec = new StringCodec();
-    private Codec<DefaultExchangeHolder> exchangeCodec = new ObjectCodec<DefaultExchangeHolder>();
+    private ExchangeCodec exchangeCodec = new BinaryExchangeCodec();
+    // used for reading exchanges which was stored using Java serialization in older versions
+    private Codec<DefaultExchangeHolder> legacyExchangeCodec = new ObjectCodec<DefaultExchangeHolder>();
 
     public Buffer marshallKey(String key) throws IOException {
         DataByteArrayOutputStream baos = new DataByteArrayOutputStream();
@@ -53,7 +57,7 @@ public final class HawtDBCamelCodec {
 
     public Buffer marshallExchange(CamelContext camelContext, Exchange exchange) throws IOException {
         DataByteArrayOutputStream baos = new DataByteArrayOutputStream();
-        // use DefaultExchangeHolder to marshal to a serialized object
+        // use DefaultExchangeHolder to hold the information to persist
         DefaultExchangeHolder pe = DefaultExchangeHolder.marshal(exchange, false);
         // add the aggregated size property as the only property we want to retain
         DefaultExchangeHolder.addProperty(pe, Exchange.AGGREGATED_SIZE, exchange.getProperty(Exchange.AGGREGATED_SIZE, Integer.class));
@@ -71,7 +75,16 @@ public final class HawtDBCamelCodec {
 
     public Exchange unmarshallExchange(CamelContext camelContext, Buffer buffer) throws IOException {
         DataByteArrayInputStream bais = new DataByteArrayInputStream(buffer);
-        DefaultExchangeHolder pe = exchangeCodec.decode(bais);
+        DefaultExchangeHolder pe;
+        if (isLegacyFormat(buffer)) {
+            pe = legacyExchangeCodec.decode(bais);
+        } else {
+            try {
+                pe = exchangeCodec.decode(bais);
+            } catch (ClassNotFoundException e) {
+                throw IOHelper.createIOException("Cannot decode exchange", e);
+            }
+        }
         Exchange answer = new DefaultExchange(camelContext);
         DefaultExchangeHolder.unmarshal(answer, pe);
         // restore the from endpoint
@@ -85,4 +98,28 @@ public final class HawtDBCamelCodec {
         return answer;
     }
 
+    /**
+     * Whether the buffer was stored using Java serialization by older versions, which is a length followed by
+     * the header of a Java serialization stream.
+     * <p/>
+     * The magic header of the binary format is checked first, so data in the binary format is never
+     * mistaken for the legacy format.
+     */
+    private static boolean isLegacyFormat(Buffer buffer) {
+        if (BinaryExchangeCodec.isBinaryFormat(buffer.data, buffer.offset, buffer.length)) {
+            return false;
+        }
+        return buffer.length > 6
+                && (buffer.data[buffer.offset + 4] & 0xFF) == 0xAC
+                && (buffer.data[buffer.offset + 5] & 0xFF) == 0xED;
+    }
+
+    public ExchangeCodec getExchangeCodec() {
+        return exchangeCodec;
+    }
+
+    public void setExchangeCodec(ExchangeCodec exchangeCodec) {
+        this.exchangeCodec = exchangeCodec;
+    }
+
 }
@@ -21,7 +21,11 @@ import java.util.Date;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultExchangeHolder;
 import org.apache.camel.test.junit4.CamelTestSupport;
+import org.fusesource.hawtbuf.Buffer;
+import org.fusesource.hawtbuf.DataByteArrayOutputStream;
+import org.fusesource.hawtbuf.codec.ObjectCodec;
 import org.junit.Test;
 
 public class HawtDBExchangeSerializationTest extends CamelTestSupport {
@@ -88,4 +92,29 @@ public class HawtDBExchangeSerializationTest extends CamelTestSupport {
         assertSame(context, actual.getContext());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testReadLegacyFormat() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("name", "Claus");
+        exchange.getIn().setHeader("number", 123);
+
+        // store the exchange as older versions did using Java serialization
+        DataByteArrayOutputStream baos = new DataByteArrayOutputStream();
+        new ObjectCodec<DefaultExchangeHolder>().encode(DefaultExchangeHolder.marshal(exchange, false), baos);
+        Buffer legacy = baos.toBuffer();
+
+        HawtDBCamelCodec codec = new HawtDBCamelCodec();
+        Exchange actual = codec.unmarshallExchange(context, legacy);
+        assertEquals("Hello World", actual.getIn().getBody());
+        assertEquals("Claus", actual.getIn().getHeader("name"));
+        assertEquals(123, actual.getIn().getHeader("number"));
+
+        // and the binary format can be read as well
+        actual = codec.unmarshallExchange(context, codec.marshallExchange(context, exchange));
+        assertEquals("Hello World", actual.getIn().getBody());
+        assertEquals("Claus", actual.getIn().getHeader("name"));
+        assertEquals(123, actual.getIn().getHeader("number"));
+    }
+
+}
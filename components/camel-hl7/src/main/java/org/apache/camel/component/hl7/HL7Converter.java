@@ -16,6 +16,9 @@
  */
 package org.apache.camel.component.hl7;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
 import ca.uhn.hl7v2.HL7Exception;
 import ca.uhn.hl7v2.model.Message;
 import ca.uhn.hl7v2.parser.Parser;
@@ -25,10 +28,16 @@ import org.apache.camel.Converter;
 
 /**
  * HL7 converters.
+ * <p/>
+ * The HAPI parsers are pooled and reused, as creating a parser and its validation context is expensive.
  */
 @Converter
 public final class HL7Converter {
 
+    private static final int PARSER_POOL_SIZE = 16;
+    private static final BlockingQueue<Parser> VALIDATING_PARSERS = new ArrayBlockingQueue<Parser>(PARSER_POOL_SIZE);
+    private static final BlockingQueue<Parser> NON_VALIDATING_PARSERS = new ArrayBlockingQueue<Parser>(PARSER_POOL_SIZE);
+
     private HL7Converter() {
         // Helper class
     }
@@ -47,19 +56,46 @@ public final class HL7Converter {
         // replace \n with \r as HL7 uses 0x0d = \r as segment terminators and HAPI only parses with \r
         body = body.replace('\n', '\r');
 
-        Parser parser = new PipeParser();
-        if (!validate) {
-            parser.setValidationContext(new NoValidation());
+        Parser parser = acquireParser(validate);
+        try {
+            return parser.parse(body);
+        } finally {
+            releaseParser(parser, validate);
         }
-        return parser.parse(body);
     }
 
     static String encode(Message message, boolean validate) throws HL7Exception {
-        Parser parser = new PipeParser();
-        if (!validate) {
-            parser.setValidationContext(new NoValidation());
+        Parser parser = acquireParser(validate);
+        try {
+            return parser.encode(message);
+        } finally {
+            releaseParser(parser, validate);
+        }
+    }
+
+    /**
+     * Gets an idle parser from the pool or creates a new parser if there is no idle parsers.
+     * <p/>
+     * The parser is not shared between threads as HAPI does not guarantee the parsers are thread safe.
+     */
+    private static Parser acquireParser(boolean validate) {
+        Parser parser = validate ? VALIDATING_PARSERS.poll() : NON_VALIDATING_PARSERS.poll();
+        if (parser == null) {
+            parser = new PipeParser();
+            if (!validate) {
+                parser.setValidationContext(new NoValidation());
+            }
+        }
+        return parser;
+    }
+
+    private static void releaseParser(Parser parser, boolean validate) {
+        // the parser is discarded if the pool is full
+        if (validate) {
+            VALIDATING_PARSERS.offer(parser);
+        } else {
+            NON_VALIDATING_PARSERS.offer(parser);
         }
-        return parser.encode(message);
     }
 
 }
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.hl7;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import ca.uhn.hl7v2.HL7Exception;
+import ca.uhn.hl7v2.model.Message;
+import ca.uhn.hl7v2.util.Terser;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.ExpressionAdapter;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Expression which evaluates a field of the HL7 message, such as <tt>MSH-9-1</tt> or <tt>PID-5-2</tt>.
+ * <p/>
+ * The syntax is <tt>SEGMENT[(repetition)]-FIELD[(repetition)][-COMPONENT[-SUBCOMPONENT]]</tt>, where
+ * the repetitions starts from 0 as with the HAPI {@link Terser}.
+ * <p/>
+ * If the body is a HAPI {@link Message} the field is read using a {@link Terser}, otherwise the body is
+ * read as a String using a {@link HL7SegmentIndex}, so the message is not parsed. The index is stored as
+ * an exchange property so it is reused when evaluating more fields of the same message.
+ */
+public class HL7FieldExpression extends ExpressionAdapter {
+
+    private static final Pattern FIELD_PATTERN = Pattern.compile("([A-Z][A-Z0-9]{2})(?:\\((\\d+)\\))?-(\\d+)(?:\\((\\d+)\\))?(?:-(\\d+))?(?:-(\\d+))?");
+
+    private final String field;
+    private final String segmentName;
+    private final int segmentRepetition;
+    private final int fieldNumber;
+    private final int fieldRepetition;
+    private final int component;
+    private final int subcomponent;
+
+    public HL7FieldExpression(String field) {
+        ObjectHelper.notEmpty(field, "field");
+        this.field = field.trim();
+        Matcher matcher = FIELD_PATTERN.matcher(this.field);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid HL7 field: " + field + ". Expected syntax: SEGMENT[(rep)]-FIELD[(rep)][-COMPONENT[-SUBCOMPONENT]]");
+        }
+        this.segmentName = matcher.group(1);
+        this.segmentRepetition = toInt(matcher.group(2), 0);
+        this.fieldNumber = toInt(matcher.group(3), 0);
+        this.fieldRepetition = toInt(matcher.group(4), 0);
+        this.component = toInt(matcher.group(5), 1);
+        this.subcomponent = toInt(matcher.group(6), 1);
+    }
+
+    public Object evaluate(Exchange exchange) {
+        Object body = exchange.getIn().getBody();
+        if (body instanceof Message) {
+            try {
+                return new Terser((Message) body).get(field);
+            } catch (HL7Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+
+        HL7SegmentIndex index = getSegmentIndex(exchange);
+        if (index == null) {
+            return null;
+        }
+        return index.get(segmentName, segmentRepetition, fieldNumber, fieldRepetition, component, subcomponent);
+    }
+
+    /**
+     * Gets the segment index of the message body, which is created on first use
+     *
+     * @param exchange the exchange
+     * @return the index, or <tt>null</tt> if the body is <tt>null</tt>
+     */
+    public static HL7SegmentIndex getSegmentIndex(Exchange exchange) {
+        String body = exchange.getIn().getBody(String.class);
+        if (body == null) {
+            return null;
+        }
+
+        HL7SegmentIndex index = exchange.getProperty(HL7Constants.HL7_SEGMENT_INDEX, HL7SegmentIndex.class);
+        if (index == null || !body.equals(index.getMessage())) {
+            index = new HL7SegmentIndex(body);
+            exchange.setProperty(HL7Constants.HL7_SEGMENT_INDEX, index);
+        }
+        return index;
+    }
+
+    private static int toInt(String value, int defaultValue) {
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return "hl7field(" + field + ")";
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.hl7;
+
+import org.apache.camel.Expression;
+import org.apache.camel.IsSingleton;
+import org.apache.camel.Predicate;
+import org.apache.camel.builder.PredicateBuilder;
+import org.apache.camel.builder.ValueBuilder;
+import org.apache.camel.spi.Language;
+
+/**
+ * A language for reading fields of HL7 messages without parsing the message, see {@link HL7FieldExpression}.
+ * <p/>
+ * For example <tt>.when().language("hl7field", "MSH-9-1")</tt> or using the Java DSL
+ * <tt>.when(hl7Field("MSH-9-1").isEqualTo("ADT"))</tt>.
+ */
+public class HL7FieldLanguage implements Language, IsSingleton {
+
+    public static ValueBuilder hl7Field(String field) {
+        return new ValueBuilder(new HL7FieldExpression(field));
+    }
+
+    public Predicate createPredicate(String expression) {
+        return PredicateBuilder.toPredicate(createExpression(expression));
+    }
+
+    public Expression createExpression(String expression) {
+        return new HL7FieldExpression(expression);
+    }
+
+    public boolean isSingleton() {
+        return true;
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.hl7;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A lightweight index of the segments and fields of a pipe encoded HL7 message, such as the String
+ * decoded by the HL7 MLLP codec.
+ * <p/>
+ * Unlike parsing the message using HAPI no object graph is created. The segments are indexed on first use
+ * and the fields of a segment are only split when they are accessed. Routes which only need a couple of fields,
+ * such as MSH-9 and MSH-10, can therefore route the message without the cost of parsing it.
+ * <p/>
+ * The fields are accessed the same way as the HAPI {@link ca.uhn.hl7v2.util.Terser}, where the component and
+ * subcomponent is default 1, so <tt>MSH-9</tt> is the message type (MSH-9-1). Escape sequences are not decoded.
+ * <p/>
+ * This class is not thread safe.
+ */
+public class HL7SegmentIndex {
+
+    private final String message;
+    private char fieldSeparator = '|';
+    private String encodingCharacters = "^~\\&";
+    private char componentSeparator = '^';
+    private char repetitionSeparator = '~';
+    private char subcomponentSeparator = '&';
+    private Map<String, List<Segment>> segments;
+
+    public HL7SegmentIndex(String message) {
+        ObjectHelper.notNull(message, "message");
+        this.message = message;
+    }
+
+    /**
+     * The message which is indexed
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the value of a field
+     *
+     * @param segmentName  the name of the segment such as <tt>PID</tt>
+     * @param segmentRepetition the segment repetition, starting from 0
+     * @param field the field number, starting from 1
+     * @param fieldRepetition the field repetition, starting from 0
+     * @param component the component, starting from 1
+     * @param subcomponent the subcomponent, starting from 1
+     * @return the value, or <tt>null</tt> if the value does not exist or is empty
+     */
+    public String get(String segmentName, int segmentRepetition, int field, int fieldRepetition, int component, int subcomponent) {
+        Segment segment = getSegment(segmentName, segmentRepetition);
+        if (segment == null) {
+            return null;
+        }
+
+        boolean msh = "MSH".equals(segmentName);
+        if (msh && field == 1) {
+            return String.valueOf(fieldSeparator);
+        } else if (msh && field == 2) {
+            return encodingCharacters;
+        }
+
+        // the field separator is MSH-1 so the fields of the MSH segment starts at the 2nd field
+        String value = segment.getField(msh ? field - 1 : field);
+        value = token(value, repetitionSeparator, fieldRepetition);
+        value = token(value, componentSeparator, component - 1);
+        value = token(value, subcomponentSeparator, subcomponent - 1);
+        return ObjectHelper.isEmpty(value) ? null : value;
+    }
+
+    /**
+     * Number of repetitions of the given segment
+     */
+    public int getSegmentCount(String segmentName) {
+        List<Segment> list = getSegments().get(segmentName);
+        return list != null ? list.size() : 0;
+    }
+
+    private Segment getSegment(String segmentName, int repetition) {
+        List<Segment> list = getSegments().get(segmentName);
+        if (list == null || repetition < 0 || repetition >= list.size()) {
+            return null;
+        }
+        return list.get(repetition);
+    }
+
+    private Map<String, List<Segment>> getSegments() {
+        if (segments == null) {
+            segments = indexSegments();
+        }
+        return segments;
+    }
+
+    private Map<String, List<Segment>> indexSegments() {
+        Map<String, List<Segment>> answer = new LinkedHashMap<String, List<Segment>>();
+
+        int length = message.length();
+        int start = 0;
+        while (start < length) {
+            // segments are terminated by \r however \n is also accepted
+            int end = start;
+            while (end < length && message.charAt(end) != '\r' && message.charAt(end) != '\n') {
+                end++;
+            }
+
+            if (end > start) {
+                String raw = message.substring(start, end);
+                if (answer.isEmpty() && raw.startsWith("MSH") && raw.length() > 3) {
+                    initEncodingCharacters(raw);
+                }
+
+                int pos = raw.indexOf(fieldSeparator);
+                String name = pos == -1 ? raw : raw.substring(0, pos);
+                List<Segment> list = answer.get(name);
+                if (list == null) {
+                    list = new ArrayList<Segment>(1);
+                    answer.put(name, list);
+                }
+                list.add(new Segment(raw));
+            }
+            start = end + 1;
+        }
+
+        return answer;
+    }
+
+    private void initEncodingCharacters(String msh) {
+        fieldSeparator = msh.charAt(3);
+        int end = msh.indexOf(fieldSeparator, 4);
+        encodingCharacters = end == -1 ? msh.substring(4) : msh.substring(4, end);
+        if (encodingCharacters.length() > 0) {
+            componentSeparator = encodingCharacters.charAt(0);
+        }
+        if (encodingCharacters.length() > 1) {
+            repetitionSeparator = encodingCharacters.charAt(1);
+        }
+        if (encodingCharacters.length() > 3) {
+            subcomponentSeparator = encodingCharacters.charAt(3);
+        }
+    }
+
+    /**
+     * Gets the token at the given index, without splitting more of the value than needed
+     */
+    private static String token(String value, char separator, int index) {
+        if (value == null || index < 0) {
+            return null;
+        }
+        int start = 0;
+        for (int i = 0; i < index; i++) {
+            start = value.indexOf(separator, start);
+            if (start == -1) {
+                return null;
+            }
+            start++;
+        }
+        int end = value.indexOf(separator, start);
+        return end == -1 ? value.substring(start) : value.substring(start, end);
+    }
+
+    /**
+     * A segment which splits its fields on first access
+     */
+    private final class Segment {
+        private final String raw;
+        private String[] fields;
+
+        private Segment(String raw) {
+            this.raw = raw;
+        }
+
+        private String getField(int index) {
+            if (fields == null) {
+                List<String> list = new ArrayList<String>();
+                int start = 0;
+                int end = raw.indexOf(fieldSeparator);
+                while (end != -1) {
+                    list.add(raw.substring(start, end));
+                    start = end + 1;
+                    end = raw.indexOf(fieldSeparator, start);
+                }
+                list.add(raw.substring(start));
+                fields = list.toArray(new String[list.size()]);
+            }
+            return index >= 0 && index < fields.length ? fields[index] : null;
+        }
+    }
+
+}
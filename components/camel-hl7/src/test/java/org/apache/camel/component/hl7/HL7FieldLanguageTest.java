@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.hl7;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+import static org.apache.camel.component.hl7.HL7FieldLanguage.hl7Field;
+
+/**
+ * Unit test for the hl7field language which reads fields without parsing the message.
+ */
+public class HL7FieldLanguageTest extends CamelTestSupport {
+
+    @Test
+    public void testRouteOnRawMessage() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:qry");
+        mock.expectedMessageCount(1);
+        mock.message(0).body().isInstanceOf(String.class);
+        mock.expectedHeaderReceived("control", "1234");
+        mock.expectedHeaderReceived("subject", "0101701234");
+        getMockEndpoint("mock:other").expectedMessageCount(0);
+
+        template.sendBody("direct:start", createHL7AsString());
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testRouteOnParsedMessage() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:qry");
+        mock.expectedMessageCount(1);
+        mock.expectedHeaderReceived("control", "1234");
+
+        template.sendBody("direct:start", HL7Converter.toMessage(createHL7AsString()));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testSegmentIndex() throws Exception {
+        String msh = "MSH|^~\\&|MYSENDER|MYSENDERAPP|MYCLIENT|MYCLIENTAPP|200612211200||ADT^A01|5678|P|2.4";
+        String pid1 = "PID|1||123^^^MRN~456^^^SSN||Doe^John^Q&Jr";
+        String pid2 = "PID|2||789";
+        HL7SegmentIndex index = new HL7SegmentIndex(msh + "\r" + pid1 + "\r" + pid2 + "\r");
+
+        assertEquals("|", index.get("MSH", 0, 1, 0, 1, 1));
+        assertEquals("^~\\&", index.get("MSH", 0, 2, 0, 1, 1));
+        assertEquals("MYSENDER", index.get("MSH", 0, 3, 0, 1, 1));
+        assertEquals("ADT", index.get("MSH", 0, 9, 0, 1, 1));
+        assertEquals("A01", index.get("MSH", 0, 9, 0, 2, 1));
+        assertEquals("123", index.get("PID", 0, 3, 0, 1, 1));
+        assertEquals("456", index.get("PID", 0, 3, 1, 1, 1));
+        assertEquals("SSN", index.get("PID", 0, 3, 1, 4, 1));
+        assertEquals("John", index.get("PID", 0, 5, 0, 2, 1));
+        assertEquals("Jr", index.get("PID", 0, 5, 0, 3, 2));
+        assertEquals("789", index.get("PID", 1, 3, 0, 1, 1));
+        assertEquals(2, index.getSegmentCount("PID"));
+
+        assertNull(index.get("PID", 0, 2, 0, 1, 1));
+        assertNull(index.get("PID", 0, 20, 0, 1, 1));
+        assertNull(index.get("PID", 2, 3, 0, 1, 1));
+        assertNull(index.get("NK1", 0, 1, 0, 1, 1));
+    }
+
+    @Test
+    public void testInvalidField() throws Exception {
+        try {
+            new HL7FieldExpression("PID");
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("direct:start")
+                    .setHeader("control", hl7Field("MSH-10"))
+                    .setHeader("subject").language("hl7field", "QRD-8-1")
+                    .choice()
+                        .when(hl7Field("MSH-9-1").isEqualTo("QRY")).to("mock:qry")
+                        .otherwise().to("mock:other");
+            }
+        };
+    }
+
+    private static String createHL7AsString() {
+        String line1 = "MSH|^~\\&|MYSENDER|MYSENDERAPP|MYCLIENT|MYCLIENTAPP|200612211200||QRY^A19|1234|P|2.4";
+        String line2 = "QRD|200612211200|R|I|GetPatient|||1^RD|0101701234|DEM||";
+
+        StringBuilder body = new StringBuilder();
+        body.append(line1);
+        body.append("\n");
+        body.append(line2);
+        return body.toString();
+    }
+
+}
@@ -212,6 +212,7 @@ public class HttpComponent extends HeaderFilterStrategyComponent {
         Boolean bridgeEndpoint = getAndRemoveParameter(parameters, "bridgeEndpoint", Boolean.class);
         Boolean matchOnUriPrefix = getAndRemoveParameter(parameters, "matchOnUriPrefix", Boolean.class);
         Boolean disableStreamCache = getAndRemoveParameter(parameters, "disableStreamCache", Boolean.class);
+        Boolean streamResponse = getAndRemoveParameter(parameters, "streamResponse", Boolean.class);
         String proxyHost = getAndRemoveParameter(parameters, "proxyHost", String.class);
         Integer proxyPort = getAndRemoveParameter(parameters, "proxyPort", Integer.class);
         String authMethodPriority = getAndRemoveParameter(parameters, "authMethodPriority", String.class);
@@ -268,6 +269,9 @@ public class HttpComponent extends HeaderFilterStrategyComponent {
         if (disableStreamCache != null) {
             endpoint.setDisableStreamCache(disableStreamCache);
         }
+        if (streamResponse != null) {
+            endpoint.setStreamResponse(streamResponse);
+        }
         if (proxyHost != null) {
             endpoint.setProxyHost(proxyHost);
             endpoint.setProxyPort(proxyPort);
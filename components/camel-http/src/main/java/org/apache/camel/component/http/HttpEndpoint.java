@@ -59,6 +59,7 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
     private int proxyPort;
     private String authMethodPriority;
     private boolean transferException;
+    private boolean streamResponse;
 
     public HttpEndpoint() {
     }
@@ -321,4 +322,17 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
     public void setTransferException(boolean transferException) {
         this.transferException = transferException;
     }
+
+    public boolean isStreamResponse() {
+        return streamResponse;
+    }
+
+    /**
+     * Whether the producer should set the live stream of the HTTP connection as the response body,
+     * instead of caching the response first. The connection is released when the stream has been read
+     * to the end or closed, or at the latest when the exchange is done.
+     */
+    public void setStreamResponse(boolean streamResponse) {
+        this.streamResponse = streamResponse;
+    }
 }
@@ -37,6 +37,7 @@ import org.apache.camel.converter.IOConverter;
 import org.apache.camel.converter.stream.CachedOutputStream;
 import org.apache.camel.impl.DefaultProducer;
 import org.apache.camel.spi.HeaderFilterStrategy;
+import org.apache.camel.spi.Synchronization;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.IOHelper;
 import org.apache.commons.httpclient.Header;
@@ -92,6 +93,9 @@ public class HttpProducer extends DefaultProducer {
             }
         }
 
+        // when streaming the response the connection is released when the exchange is done
+        boolean releaseConnection = true;
+
         // lets store the result in the output message.
         try {
             if (LOG.isDebugEnabled()) {
@@ -105,20 +109,33 @@ public class HttpProducer extends DefaultProducer {
             if (!throwException) {
                 // if we do not use failed exception then populate response for all response codes
                 populateResponse(exchange, method, in, strategy, responseCode);
+                releaseConnection = !isStreamingResponse(exchange);
             } else {
                 if (responseCode >= 100 && responseCode < 300) {
                     // only populate response for OK response
                     populateResponse(exchange, method, in, strategy, responseCode);
+                    releaseConnection = !isStreamingResponse(exchange);
                 } else {
                     // operation failed so populate exception to throw
                     throw populateHttpOperationFailedException(exchange, method, responseCode);
                 }
             }
         } finally {
-            method.releaseConnection();
+            if (releaseConnection) {
+                method.releaseConnection();
+            } else {
+                exchange.addOnCompletion(new ReleaseConnectionOnCompletion(method));
+            }
         }
     }
 
+    /**
+     * Whether the response body of the exchange is the live stream of the HTTP connection
+     */
+    private boolean isStreamingResponse(Exchange exchange) {
+        return getEndpoint().isStreamResponse() && exchange.getOut().getBody() instanceof InputStream;
+    }
+
     @Override
     public HttpEndpoint getEndpoint() {
         return (HttpEndpoint) super.getEndpoint();
@@ -129,7 +146,7 @@ public class HttpProducer extends DefaultProducer {
 
         answer.setHeaders(in.getHeaders());
         answer.setHeader(Exchange.HTTP_RESPONSE_CODE, responseCode);
-        answer.setBody(extractResponseBody(method, exchange));
+        answer.setBody(extractResponseBody(method, exchange, getEndpoint().isStreamResponse()));
 
         // propagate HTTP response headers
         Header[] headers = method.getResponseHeaders();
@@ -220,6 +237,20 @@ public class HttpProducer extends DefaultProducer {
      * @throws IOException can be thrown
      */
     protected static Object extractResponseBody(HttpMethod method, Exchange exchange) throws IOException, ClassNotFoundException {
+        return extractResponseBody(method, exchange, false);
+    }
+
+    /**
+     * Extracts the response from the method as a InputStream.
+     *
+     * @param method the method that was executed
+     * @param exchange the exchange
+     * @param stream whether to return the live stream of the connection instead of caching the response,
+     *               the caller is then responsible for releasing the connection
+     * @return the response either as a stream, or as a deserialized java object
+     * @throws IOException can be thrown
+     */
+    protected static Object extractResponseBody(HttpMethod method, Exchange exchange, boolean stream) throws IOException, ClassNotFoundException {
         InputStream is = method.getResponseBodyAsStream();
         if (is == null) {
             return null;
@@ -240,12 +271,14 @@ public class HttpProducer extends DefaultProducer {
             // find the charset and set it to the Exchange
             HttpHelper.setCharsetFromContentType(contentType, exchange);
         }
-        InputStream response = doExtractResponseBodyAsStream(is, exchange);
         // if content type is a serialized java object then de-serialize it back to a Java object
         if (contentType != null && contentType.equals(HttpConstants.CONTENT_TYPE_JAVA_SERIALIZED_OBJECT)) {
-            return HttpHelper.deserializeJavaObjectFromStream(response);
+            return HttpHelper.deserializeJavaObjectFromStream(doExtractResponseBodyAsStream(is, exchange));
+        } else if (stream) {
+            // the stream reads directly from the connection
+            return is;
         } else {
-            return response;
+            return doExtractResponseBodyAsStream(is, exchange);
         }
     }
 
@@ -358,6 +391,33 @@ public class HttpProducer extends DefaultProducer {
         return answer;
     }
 
+    /**
+     * Releases the connection of a streamed response when the exchange is done,
+     * in case the stream was not read to the end or closed.
+     */
+    private static final class ReleaseConnectionOnCompletion implements Synchronization {
+        private final HttpMethod method;
+
+        private ReleaseConnectionOnCompletion(HttpMethod method) {
+            this.method = method;
+        }
+
+        public void onComplete(Exchange exchange) {
+            method.releaseConnection();
+        }
+
+        public void onFailure(Exchange exchange) {
+            // abort so the remainder of the response is not read when the connection is released
+            method.abort();
+            method.releaseConnection();
+        }
+
+        @Override
+        public String toString() {
+            return "ReleaseConnectionOnCompletion";
+        }
+    }
+
     public HttpClient getHttpClient() {
         return httpClient;
     }
@@ -0,0 +1,674 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http4;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.http.impl.nio.DefaultClientIOEventDispatch;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.nio.NHttpClientConnection;
+import org.apache.http.nio.NHttpConnection;
+import org.apache.http.nio.protocol.BufferingHttpClientHandler;
+import org.apache.http.nio.protocol.EventListener;
+import org.apache.http.nio.protocol.HttpRequestExecutionHandler;
+import org.apache.http.nio.reactor.ConnectingIOReactor;
+import org.apache.http.nio.reactor.IOEventDispatch;
+import org.apache.http.nio.reactor.SessionRequest;
+import org.apache.http.nio.reactor.SessionRequestCallback;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.BasicHttpProcessor;
+import org.apache.http.protocol.ExecutionContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.RequestConnControl;
+import org.apache.http.protocol.RequestContent;
+import org.apache.http.protocol.RequestExpectContinue;
+import org.apache.http.protocol.RequestTargetHost;
+import org.apache.http.protocol.RequestUserAgent;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * A non blocking HTTP client based on the HttpCore NIO I/O reactor, used by the {@link HttpAsyncProducer}.
+ * <p/>
+ * The connections are pooled per route (target host) and at most <tt>maxConnectionsPerRoute</tt> connections
+ * are opened to the same host. Requests which cannot be sent right away are queued until a connection
+ * becomes available, and at most <tt>maxPendingRequests</tt> requests are queued per host, after which the
+ * requests are rejected with a {@link RejectedExecutionException}. The responses are buffered and handed over
+ * to a thread pool, so the I/O reactor threads never run the routes.
+ * <p/>
+ * The connect and socket timeouts are the <tt>http.connection.timeout</tt> and <tt>http.socket.timeout</tt>
+ * parameters, which defaults to 30 and 60 seconds. The <tt>requestTimeout</tt> limits the total time of a request,
+ * including the time waiting for a connection, and is disabled by default.
+ * <p/>
+ * <b>Notice:</b> the entire response is buffered in memory before the callback is invoked, so this client is not
+ * suited for large responses. Only plain http is supported, as the connections are not secured using SSL.
+ *
+ * @version $Revision$
+ */
+public class HttpAsyncClient extends ServiceSupport {
+
+    /**
+     * Callback invoked when a request has completed
+     */
+    public interface Callback {
+
+        /**
+         * The response has been received and its entity is buffered
+         */
+        void completed(HttpResponse response);
+
+        /**
+         * The request failed
+         */
+        void failed(Exception cause);
+    }
+
+    private static final transient Log LOG = LogFactory.getLog(HttpAsyncClient.class);
+    private static final String STATE = "camel.http4.state";
+
+    private final CamelContext camelContext;
+    private final HttpParams params;
+    private final Map<HttpHost, RoutePool> pools = new HashMap<HttpHost, RoutePool>();
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private int maxConnectionsPerRoute = 20;
+    private int maxPendingRequests = 1000;
+    private long requestTimeout;
+    private int ioThreadCount = 2;
+    private ConnectingIOReactor ioReactor;
+    private ExecutorService reactorExecutor;
+    private ExecutorService responseExecutor;
+    private ScheduledExecutorService timeoutExecutor;
+
+    public HttpAsyncClient(CamelContext camelContext, HttpParams params) {
+        this.camelContext = camelContext;
+        this.params = params.copy();
+        if (this.params.getParameter(CoreConnectionPNames.SOCKET_BUFFER_SIZE) == null) {
+            HttpConnectionParams.setSocketBufferSize(this.params, 8 * 1024);
+        }
+        if (this.params.getParameter(CoreConnectionPNames.CONNECTION_TIMEOUT) == null) {
+            HttpConnectionParams.setConnectionTimeout(this.params, 30000);
+        }
+        if (this.params.getParameter(CoreConnectionPNames.SO_TIMEOUT) == null) {
+            HttpConnectionParams.setSoTimeout(this.params, 60000);
+        }
+    }
+
+    /**
+     * Executes the request asynchronously.
+     *
+     * @param host     the target host
+     * @param request  the request to send, the request URI must be relative to the target host
+     * @param callback invoked from a thread of the response thread pool when the request is done
+     */
+    public void execute(HttpHost host, HttpRequest request, Callback callback) {
+        if (!isStarted()) {
+            callback.failed(new RejectedExecutionException("HttpAsyncClient is not started"));
+            return;
+        }
+
+        RoutePool pool;
+        synchronized (pools) {
+            pool = pools.get(host);
+            if (pool == null) {
+                pool = new RoutePool(host);
+                pools.put(host, pool);
+            }
+        }
+
+        RequestEntry entry = new RequestEntry(request, callback);
+        NHttpClientConnection idle = null;
+        boolean connect = false;
+        synchronized (pool) {
+            if (maxPendingRequests > 0 && pool.pending.size() >= maxPendingRequests) {
+                entry = null;
+            } else {
+                inflight.incrementAndGet();
+                pool.pending.add(entry);
+                if (!pool.idle.isEmpty()) {
+                    idle = pool.idle.removeFirst();
+                } else if (pool.connections < maxConnectionsPerRoute) {
+                    pool.connections++;
+                    connect = true;
+                }
+            }
+        }
+
+        if (entry == null) {
+            failed.incrementAndGet();
+            callback.failed(new RejectedExecutionException("Maximum " + maxPendingRequests
+                    + " pending requests reached for " + host));
+            return;
+        }
+        ScheduledExecutorService executor = timeoutExecutor;
+        if (requestTimeout > 0 && executor != null) {
+            entry.timeout = executor.schedule(new RequestTimeoutTask(pool, entry), requestTimeout, TimeUnit.MILLISECONDS);
+        }
+
+        if (idle != null) {
+            // wake up the idle connection which will then submit the next pending request
+            idle.requestOutput();
+        } else if (connect) {
+            connect(pool);
+        }
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public int getMaxPendingRequests() {
+        return maxPendingRequests;
+    }
+
+    /**
+     * Sets the maximum number of requests waiting for a connection to the same target host, before new
+     * requests are rejected. Is default <tt>1000</tt>, use <tt>0</tt> or a negative value for unbounded.
+     */
+    public void setMaxPendingRequests(int maxPendingRequests) {
+        this.maxPendingRequests = maxPendingRequests;
+    }
+
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Sets the maximum time in millis from a request is executed until its response has been received,
+     * after which the request fails with a {@link TimeoutException}. Is default <tt>0</tt> which is disabled.
+     */
+    public void setRequestTimeout(long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public int getIoThreadCount() {
+        return ioThreadCount;
+    }
+
+    public void setIoThreadCount(int ioThreadCount) {
+        this.ioThreadCount = ioThreadCount;
+    }
+
+    /**
+     * Number of open and opening connections
+     */
+    public int getConnections() {
+        int answer = 0;
+        for (RoutePool pool : getPools()) {
+            synchronized (pool) {
+                answer += pool.connections;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Number of open connections which are not in use
+     */
+    public int getIdleConnections() {
+        int answer = 0;
+        for (RoutePool pool : getPools()) {
+            synchronized (pool) {
+                answer += pool.idle.size();
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Number of requests waiting for a connection
+     */
+    public int getPendingRequests() {
+        int answer = 0;
+        for (RoutePool pool : getPools()) {
+            synchronized (pool) {
+                answer += pool.pending.size();
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Number of requests which have not completed yet, including the pending requests
+     */
+    public int getInflightRequests() {
+        return inflight.get();
+    }
+
+    public long getCompletedRequests() {
+        return completed.get();
+    }
+
+    public long getFailedRequests() {
+        return failed.get();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        BasicHttpProcessor processor = new BasicHttpProcessor();
+        processor.addInterceptor(new RequestContent());
+        processor.addInterceptor(new RequestTargetHost());
+        processor.addInterceptor(new RequestConnControl());
+        processor.addInterceptor(new RequestUserAgent());
+        processor.addInterceptor(new RequestExpectContinue());
+
+        BufferingHttpClientHandler handler = new BufferingHttpClientHandler(processor, new ExecutionHandler(),
+                new DefaultConnectionReuseStrategy(), params);
+        handler.setEventListener(new ConnectionListener());
+
+        final IOEventDispatch dispatch = new DefaultClientIOEventDispatch(handler, params);
+        ioReactor = new DefaultConnectingIOReactor(ioThreadCount, params);
+
+        responseExecutor = camelContext.getExecutorServiceStrategy().newDefaultThreadPool(this, "HttpAsyncClient");
+        if (requestTimeout > 0) {
+            timeoutExecutor = camelContext.getExecutorServiceStrategy().newScheduledThreadPool(this, "HttpAsyncClient timeout", 1);
+        }
+        reactorExecutor = camelContext.getExecutorServiceStrategy().newSingleThreadExecutor(this, "HttpAsyncClient I/O reactor");
+        reactorExecutor.submit(new Runnable() {
+            public void run() {
+                try {
+                    ioReactor.execute(dispatch);
+                } catch (InterruptedIOException e) {
+                    LOG.debug("I/O reactor interrupted");
+                } catch (IOException e) {
+                    LOG.warn("I/O reactor terminated due " + e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (ioReactor != null) {
+            ioReactor.shutdown();
+            ioReactor = null;
+        }
+
+        // fail the requests which did not get a connection
+        List<RequestEntry> rejected = new ArrayList<RequestEntry>();
+        for (RoutePool pool : getPools()) {
+            synchronized (pool) {
+                rejected.addAll(pool.pending);
+                pool.pending.clear();
+                pool.idle.clear();
+                pool.connections = 0;
+            }
+        }
+        for (RequestEntry entry : rejected) {
+            fail(entry, new RejectedExecutionException("HttpAsyncClient is stopped"));
+        }
+        synchronized (pools) {
+            pools.clear();
+        }
+
+        if (reactorExecutor != null) {
+            camelContext.getExecutorServiceStrategy().shutdownNow(reactorExecutor);
+            reactorExecutor = null;
+        }
+        if (timeoutExecutor != null) {
+            camelContext.getExecutorServiceStrategy().shutdownNow(timeoutExecutor);
+            timeoutExecutor = null;
+        }
+        if (responseExecutor != null) {
+            camelContext.getExecutorServiceStrategy().shutdown(responseExecutor);
+            responseExecutor = null;
+        }
+    }
+
+    private List<RoutePool> getPools() {
+        synchronized (pools) {
+            return new ArrayList<RoutePool>(pools.values());
+        }
+    }
+
+    private void connect(RoutePool pool) {
+        HttpHost host = pool.host;
+        int port = host.getPort() > 0 ? host.getPort() : 80;
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Opening connection to " + host);
+        }
+        try {
+            SessionRequest request = ioReactor.connect(new InetSocketAddress(host.getHostName(), port), null, pool, new ConnectCallback());
+            request.setConnectTimeout(HttpConnectionParams.getConnectionTimeout(params));
+        } catch (RuntimeException e) {
+            connectFailed(pool, e);
+        }
+    }
+
+    private void connectFailed(RoutePool pool, Exception cause) {
+        List<RequestEntry> rejected = new ArrayList<RequestEntry>();
+        synchronized (pool) {
+            pool.connections--;
+            if (pool.connections == 0) {
+                // no other connections will pick up the pending requests
+                rejected.addAll(pool.pending);
+                pool.pending.clear();
+            }
+        }
+        for (RequestEntry entry : rejected) {
+            fail(entry, cause);
+        }
+    }
+
+    private void complete(final RequestEntry entry, final HttpResponse response) {
+        if (!entry.done()) {
+            // the request has already timed out
+            return;
+        }
+        inflight.decrementAndGet();
+        completed.incrementAndGet();
+        dispatch(new Runnable() {
+            public void run() {
+                entry.callback.completed(response);
+            }
+        }, entry);
+    }
+
+    private void fail(final RequestEntry entry, final Exception cause) {
+        if (!entry.done()) {
+            return;
+        }
+        inflight.decrementAndGet();
+        failed.incrementAndGet();
+        dispatch(new Runnable() {
+            public void run() {
+                entry.callback.failed(cause);
+            }
+        }, entry);
+    }
+
+    private void dispatch(Runnable task, RequestEntry entry) {
+        ExecutorService executor = responseExecutor;
+        try {
+            if (executor == null) {
+                throw new RejectedExecutionException("HttpAsyncClient is stopped");
+            }
+            executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            // run in the current thread as the callback must always be invoked
+            task.run();
+        }
+    }
+
+    /**
+     * The connections and pending requests to a target host
+     */
+    private static final class RoutePool {
+        private final HttpHost host;
+        private final LinkedList<RequestEntry> pending = new LinkedList<RequestEntry>();
+        private final LinkedList<NHttpClientConnection> idle = new LinkedList<NHttpClientConnection>();
+        private int connections;
+
+        private RoutePool(HttpHost host) {
+            this.host = host;
+        }
+    }
+
+    private static final class RequestEntry {
+        private final HttpRequest request;
+        private final Callback callback;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile NHttpClientConnection connection;
+        private volatile ScheduledFuture<?> timeout;
+
+        private RequestEntry(HttpRequest request, Callback callback) {
+            this.request = request;
+            this.callback = callback;
+        }
+
+        /**
+         * Marks the request as done
+         *
+         * @return <tt>true</tt> if the request was marked, or <tt>false</tt> if it was already done
+         */
+        private boolean done() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            ScheduledFuture<?> future = timeout;
+            if (future != null) {
+                future.cancel(false);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Fails the request when the request timeout has elapsed, closing its connection if it has been sent
+     */
+    private final class RequestTimeoutTask implements Runnable {
+        private final RoutePool pool;
+        private final RequestEntry entry;
+
+        private RequestTimeoutTask(RoutePool pool, RequestEntry entry) {
+            this.pool = pool;
+            this.entry = entry;
+        }
+
+        public void run() {
+            NHttpClientConnection connection;
+            synchronized (pool) {
+                pool.pending.remove(entry);
+                connection = entry.connection;
+            }
+
+            fail(entry, new TimeoutException("Request timeout after " + requestTimeout + " millis to " + pool.host));
+            if (connection != null) {
+                // the response may still arrive so the connection cannot be reused
+                try {
+                    connection.shutdown();
+                } catch (IOException e) {
+                    LOG.debug("Error closing connection: " + connection + " due " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of a connection, stored in its context
+     */
+    private static final class ConnectionState {
+        private final RoutePool pool;
+        private NHttpClientConnection connection;
+        private RequestEntry current;
+        private boolean timedOut;
+
+        private ConnectionState(RoutePool pool) {
+            this.pool = pool;
+        }
+    }
+
+    private final class ConnectCallback implements SessionRequestCallback {
+
+        public void completed(SessionRequest request) {
+            // the connection is opened and the execution handler is invoked
+        }
+
+        public void failed(SessionRequest request) {
+            IOException cause = request.getException();
+            connectFailed((RoutePool) request.getAttachment(), cause != null ? cause : new IOException("Connect failed"));
+        }
+
+        public void timeout(SessionRequest request) {
+            connectFailed((RoutePool) request.getAttachment(), new IOException("Connect timeout"));
+        }
+
+        public void cancelled(SessionRequest request) {
+            connectFailed((RoutePool) request.getAttachment(), new IOException("Connect cancelled"));
+        }
+    }
+
+    private final class ExecutionHandler implements HttpRequestExecutionHandler {
+
+        public void initalizeContext(HttpContext context, Object attachment) {
+            RoutePool pool = (RoutePool) attachment;
+            context.setAttribute(ExecutionContext.HTTP_TARGET_HOST, pool.host);
+            context.setAttribute(STATE, new ConnectionState(pool));
+        }
+
+        public HttpRequest submitRequest(HttpContext context) {
+            ConnectionState state = (ConnectionState) context.getAttribute(STATE);
+            if (state.connection == null) {
+                state.connection = (NHttpClientConnection) context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+            }
+
+            RoutePool pool = state.pool;
+            synchronized (pool) {
+                if (state.current != null) {
+                    // still waiting for the response of the current request
+                    return null;
+                }
+                if (pool.pending.isEmpty()) {
+                    if (state.connection != null && !pool.idle.contains(state.connection)) {
+                        pool.idle.add(state.connection);
+                    }
+                    return null;
+                }
+                state.current = pool.pending.removeFirst();
+                state.current.connection = state.connection;
+                pool.idle.remove(state.connection);
+            }
+
+            return state.current.request;
+        }
+
+        public void handleResponse(HttpResponse response, HttpContext context) throws IOException {
+            ConnectionState state = (ConnectionState) context.getAttribute(STATE);
+            RequestEntry entry;
+            synchronized (state.pool) {
+                entry = state.current;
+                state.current = null;
+            }
+            if (entry == null) {
+                return;
+            }
+
+            // the entity is backed by the connection buffer which is reused for the next response
+            HttpEntity entity = response.getEntity();
+            if (entity != null) {
+                ByteArrayEntity copy = new ByteArrayEntity(EntityUtils.toByteArray(entity));
+                copy.setContentType(entity.getContentType());
+                copy.setContentEncoding(entity.getContentEncoding());
+                response.setEntity(copy);
+            }
+
+            complete(entry, response);
+        }
+
+        public void finalizeContext(HttpContext context) {
+            // the connection is closed
+            ConnectionState state = (ConnectionState) context.getAttribute(STATE);
+            if (state == null) {
+                return;
+            }
+
+            RoutePool pool = state.pool;
+            RequestEntry entry;
+            boolean timedOut;
+            boolean reconnect = false;
+            synchronized (pool) {
+                entry = state.current;
+                timedOut = state.timedOut;
+                state.current = null;
+                pool.idle.remove(state.connection);
+                pool.connections--;
+                if (!pool.pending.isEmpty() && pool.connections < maxConnectionsPerRoute && isRunAllowed()) {
+                    pool.connections++;
+                    reconnect = true;
+                }
+            }
+            context.removeAttribute(STATE);
+
+            if (entry != null && timedOut) {
+                fail(entry, new SocketTimeoutException("Socket timeout waiting for the response from " + pool.host));
+            } else if (entry != null) {
+                fail(entry, new IOException("Connection closed before the response was received from " + pool.host));
+            }
+            if (reconnect) {
+                connect(pool);
+            }
+        }
+    }
+
+    private final class ConnectionListener implements EventListener {
+
+        public void connectionOpen(NHttpConnection connection) {
+            ConnectionState state = (ConnectionState) connection.getContext().getAttribute(STATE);
+            if (state != null && state.connection == null) {
+                state.connection = (NHttpClientConnection) connection;
+            }
+        }
+
+        public void connectionClosed(NHttpConnection connection) {
+            // handled when the context is finalized
+        }
+
+        public void connectionTimeout(NHttpConnection connection) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Connection timeout: " + connection);
+            }
+            ConnectionState state = (ConnectionState) connection.getContext().getAttribute(STATE);
+            if (state != null) {
+                synchronized (state.pool) {
+                    state.timedOut = true;
+                }
+            }
+        }
+
+        public void fatalIOException(IOException e, NHttpConnection connection) {
+            LOG.warn("I/O error on connection: " + connection + " due " + e.getMessage(), e);
+        }
+
+        public void fatalProtocolException(HttpException e, NHttpConnection connection) {
+            LOG.warn("HTTP protocol error on connection: " + connection + " due " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http4;
+
+import java.net.URI;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.message.BasicHttpEntityEnclosingRequest;
+import org.apache.http.message.BasicHttpRequest;
+
+/**
+ * A non blocking {@link AsyncProcessor} producer which sends the requests using the {@link HttpAsyncClient}
+ * of the endpoint, so the caller thread is not blocked while waiting for the response.
+ * <p/>
+ * The response is buffered in memory, and https is not supported, which fails the producer on startup,
+ * or the exchange if the https URI is provided by the message.
+ *
+ * @version $Revision$
+ */
+public class HttpAsyncProducer extends HttpProducer implements AsyncProcessor {
+    private static final transient Log LOG = LogFactory.getLog(HttpAsyncProducer.class);
+    private volatile HttpAsyncClient client;
+
+    public HttpAsyncProducer(HttpEndpoint endpoint) {
+        super(endpoint);
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        AsyncProcessorHelper.process(this, exchange);
+    }
+
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        final HttpRequestBase httpRequest;
+        final HttpHost host;
+        final HttpRequest request;
+        final HttpAsyncClient current = client;
+        try {
+            if (current == null) {
+                throw new IllegalStateException("HttpAsyncProducer is not started: " + this);
+            }
+            httpRequest = prepareRequest(exchange);
+            URI uri = httpRequest.getURI();
+            if (isSecure(uri)) {
+                throw new IllegalArgumentException("The non blocking client does not support https: " + uri);
+            }
+            host = new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme());
+            request = createRequest(httpRequest);
+        } catch (Exception e) {
+            // error occurred before we had a chance to go async
+            // so set exception and invoke callback true
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Executing non blocking http " + httpRequest.getMethod() + " method: " + httpRequest.getURI().toString());
+        }
+
+        current.execute(host, request, new HttpAsyncClient.Callback() {
+            public void completed(HttpResponse response) {
+                try {
+                    handleResponse(exchange, httpRequest, response);
+                } catch (Exception e) {
+                    exchange.setException(e);
+                } finally {
+                    callback.done(false);
+                }
+            }
+
+            public void failed(Exception cause) {
+                exchange.setException(cause);
+                callback.done(false);
+            }
+        });
+
+        // we should continue processing this asynchronously
+        return false;
+    }
+
+    /**
+     * Creates the request to send on the connection to the target host, which must use
+     * the path of the URI instead of the absolute URI.
+     */
+    protected HttpRequest createRequest(HttpRequestBase httpRequest) {
+        URI uri = httpRequest.getURI();
+        StringBuilder target = new StringBuilder();
+        String path = uri.getRawPath();
+        target.append(path != null && path.length() > 0 ? path : "/");
+        if (uri.getRawQuery() != null) {
+            target.append('?').append(uri.getRawQuery());
+        }
+
+        HttpRequest answer;
+        if (httpRequest instanceof HttpEntityEnclosingRequestBase) {
+            BasicHttpEntityEnclosingRequest request = new BasicHttpEntityEnclosingRequest(httpRequest.getMethod(),
+                    target.toString(), httpRequest.getProtocolVersion());
+            request.setEntity(((HttpEntityEnclosingRequestBase) httpRequest).getEntity());
+            answer = request;
+        } else {
+            answer = new BasicHttpRequest(httpRequest.getMethod(), target.toString(), httpRequest.getProtocolVersion());
+        }
+        answer.setHeaders(httpRequest.getAllHeaders());
+        return answer;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        URI uri = getEndpoint().getHttpUri();
+        if (uri != null && isSecure(uri)) {
+            throw new IllegalArgumentException("The non blocking client does not support https: " + getEndpoint());
+        }
+        super.doStart();
+        client = getEndpoint().acquireAsyncClient();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (client != null) {
+            client = null;
+            getEndpoint().releaseAsyncClient();
+        }
+        super.doStop();
+    }
+
+    private static boolean isSecure(URI uri) {
+        // both https and https4
+        return uri.getScheme() != null && uri.getScheme().toLowerCase().startsWith("https");
+    }
+
+    public HttpAsyncClient getAsyncClient() {
+        return client;
+    }
+}
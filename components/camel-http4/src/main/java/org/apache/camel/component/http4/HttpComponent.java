@@ -151,6 +151,10 @@ public class HttpComponent extends HeaderFilterStrategyComponent {
         Boolean bridgeEndpoint = getAndRemoveParameter(parameters, "bridgeEndpoint", Boolean.class);
         Boolean matchOnUriPrefix = getAndRemoveParameter(parameters, "matchOnUriPrefix", Boolean.class);
         Boolean disableStreamCache = getAndRemoveParameter(parameters, "disableStreamCache", Boolean.class);
+        Boolean nonBlocking = getAndRemoveParameter(parameters, "nonBlocking", Boolean.class);
+        Integer connectionsPerRoute = getAndRemoveParameter(parameters, "connectionsPerRoute", Integer.class);
+        Integer maxPendingRequests = getAndRemoveParameter(parameters, "maxPendingRequests", Integer.class);
+        Long requestTimeout = getAndRemoveParameter(parameters, "requestTimeout", Long.class);
 
         // validate that we could resolve all httpClient. parameters as this component is lenient
         validateParameters(uri, parameters, "httpClient.");
@@ -204,6 +208,17 @@ public class HttpComponent extends HeaderFilterStrategyComponent {
         if (disableStreamCache != null) {
             endpoint.setDisableStreamCache(disableStreamCache);
         }
+        if (nonBlocking != null) {
+            endpoint.setNonBlocking(nonBlocking);
+        }
+        // the non blocking client uses the same limit as the connection manager unless configured on the endpoint
+        endpoint.setConnectionsPerRoute(connectionsPerRoute != null ? connectionsPerRoute : getConnectionsPerRoute());
+        if (maxPendingRequests != null) {
+            endpoint.setMaxPendingRequests(maxPendingRequests);
+        }
+        if (requestTimeout != null) {
+            endpoint.setRequestTimeout(requestTimeout);
+        }
 
         setProperties(endpoint, parameters);
         return endpoint;
@@ -25,6 +25,7 @@ import org.apache.camel.impl.DefaultPollingEndpoint;
 import org.apache.camel.spi.HeaderFilterStrategy;
 import org.apache.camel.spi.HeaderFilterStrategyAware;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpHost;
@@ -34,12 +35,15 @@ import org.apache.http.conn.params.ConnRoutePNames;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.params.BasicHttpParams;
 import org.apache.http.params.HttpParams;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 
 /**
  * Represents a <a href="http://camel.apache.org/http.html">HTTP endpoint</a>
  *
  * @version $Revision$
  */
+@ManagedResource(description = "Managed HTTP Endpoint")
 public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilterStrategyAware {
 
     private static final transient Log LOG = LogFactory.getLog(HttpEndpoint.class);
@@ -57,6 +61,12 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
     private boolean chunked = true;
     private boolean disableStreamCache;
     private boolean transferException;
+    private boolean nonBlocking;
+    private int connectionsPerRoute = 20;
+    private int maxPendingRequests = 1000;
+    private long requestTimeout;
+    private volatile HttpAsyncClient asyncClient;
+    private int asyncClientUsers;
 
     public HttpEndpoint() {
     }
@@ -80,6 +90,9 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
     }
 
     public Producer createProducer() throws Exception {
+        if (isNonBlocking()) {
+            return new HttpAsyncProducer(this);
+        }
         return new HttpProducer(this);
     }
 
@@ -101,6 +114,54 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
         this.httpClient = httpClient;
     }
 
+    /**
+     * Gets the non blocking client used by the {@link org.apache.camel.component.http4.HttpAsyncProducer}s of this endpoint.
+     *
+     * @return the client, or <tt>null</tt> if no asynchronous producer is started
+     */
+    public HttpAsyncClient getAsyncClient() {
+        return asyncClient;
+    }
+
+    /**
+     * Acquires the non blocking client when a {@link org.apache.camel.component.http4.HttpAsyncProducer} is started.
+     * <p/>
+     * The client is shared by the producers of this endpoint. It is created and started by the first producer
+     * starting, and stopped by the last producer stopping using {@link #releaseAsyncClient()}, so a new client
+     * is used if the producers are started again.
+     */
+    protected synchronized HttpAsyncClient acquireAsyncClient() throws Exception {
+        if (asyncClient == null) {
+            HttpAsyncClient answer = new HttpAsyncClient(getCamelContext(), getClientParams());
+            answer.setMaxConnectionsPerRoute(getConnectionsPerRoute());
+            answer.setMaxPendingRequests(getMaxPendingRequests());
+            answer.setRequestTimeout(getRequestTimeout());
+            ServiceHelper.startService(answer);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Created HttpAsyncClient " + answer + " with max " + connectionsPerRoute + " connections per route");
+            }
+            asyncClient = answer;
+        }
+        asyncClientUsers++;
+        return asyncClient;
+    }
+
+    /**
+     * Releases the non blocking client when a {@link org.apache.camel.component.http4.HttpAsyncProducer} is stopped,
+     * stopping the client if it is no longer in use.
+     */
+    protected synchronized void releaseAsyncClient() throws Exception {
+        if (asyncClient == null) {
+            return;
+        }
+        if (--asyncClientUsers <= 0) {
+            HttpAsyncClient client = asyncClient;
+            asyncClient = null;
+            asyncClientUsers = 0;
+            ServiceHelper.stopService(client);
+        }
+    }
+
     /**
      * Factory method to create a new {@link HttpClient} instance
      * <p/>
@@ -148,6 +209,7 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
         return true;
     }
 
+    @ManagedAttribute
     public boolean isSingleton() {
         return true;
     }
@@ -240,6 +302,7 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
         this.headerFilterStrategy = headerFilterStrategy;
     }
 
+    @ManagedAttribute
     public boolean isThrowExceptionOnFailure() {
         return throwExceptionOnFailure;
     }
@@ -248,6 +311,7 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
         this.throwExceptionOnFailure = throwExceptionOnFailure;
     }
 
+    @ManagedAttribute
     public boolean isBridgeEndpoint() {
         return bridgeEndpoint;
     }
@@ -280,6 +344,7 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
         this.chunked = chunked;
     }
 
+    @ManagedAttribute
     public boolean isTransferException() {
         return transferException;
     }
@@ -287,4 +352,98 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
     public void setTransferException(boolean transferException) {
         this.transferException = transferException;
     }
+
+    @ManagedAttribute(description = "Whether the producer uses the non blocking client")
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    /**
+     * Whether the producer should send the requests using a non blocking I/O client,
+     * so the caller threads are not blocked while waiting for the responses.
+     * <p/>
+     * The non blocking client buffers the entire response in memory, and does not support https.
+     */
+    public void setNonBlocking(boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
+    @ManagedAttribute(description = "Maximum number of connections per route of the non blocking client")
+    public int getConnectionsPerRoute() {
+        return connectionsPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of connections the non blocking client opens to the same target host.
+     */
+    public void setConnectionsPerRoute(int connectionsPerRoute) {
+        this.connectionsPerRoute = connectionsPerRoute;
+    }
+
+    @ManagedAttribute(description = "Maximum number of requests waiting for a connection per route of the non blocking client")
+    public int getMaxPendingRequests() {
+        return maxPendingRequests;
+    }
+
+    /**
+     * Sets the maximum number of requests the non blocking client queues while waiting for a connection
+     * to the same target host, before rejecting new requests.
+     */
+    public void setMaxPendingRequests(int maxPendingRequests) {
+        this.maxPendingRequests = maxPendingRequests;
+    }
+
+    @ManagedAttribute(description = "Request timeout in millis of the non blocking client")
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Sets the maximum time in millis the non blocking client waits for the response of a request,
+     * including the time waiting for a connection. Is default <tt>0</tt> which is disabled.
+     */
+    public void setRequestTimeout(long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    @ManagedAttribute(description = "Number of connections of the non blocking client")
+    public int getAsyncConnections() {
+        return asyncClient != null ? asyncClient.getConnections() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of idle connections of the non blocking client")
+    public int getAsyncIdleConnections() {
+        return asyncClient != null ? asyncClient.getIdleConnections() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of requests waiting for a connection of the non blocking client")
+    public int getAsyncPendingRequests() {
+        return asyncClient != null ? asyncClient.getPendingRequests() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of inflight requests of the non blocking client")
+    public int getAsyncInflightRequests() {
+        return asyncClient != null ? asyncClient.getInflightRequests() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of completed requests of the non blocking client")
+    public long getAsyncCompletedRequests() {
+        return asyncClient != null ? asyncClient.getCompletedRequests() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of failed requests of the non blocking client")
+    public long getAsyncFailedRequests() {
+        return asyncClient != null ? asyncClient.getFailedRequests() : 0;
+    }
+
+    @ManagedAttribute(description = "Camel id")
+    public String getCamelId() {
+        return getCamelContext().getName();
+    }
+
+    @ManagedAttribute(description = "Endpoint Uri")
+    @Override
+    public String getEndpointUri() {
+        return super.getEndpointUri();
+    }
 }
@@ -0,0 +1,229 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http4;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.localserver.LocalTestServer;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestHandler;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+
+/**
+ * @version $Revision$
+ */
+public class HttpAsyncProducerTest extends BaseHttpTest {
+
+    @Override
+    protected void registerHandler(LocalTestServer server) {
+        server.register("/echo", new HttpRequestHandler() {
+            public void handle(HttpRequest request, HttpResponse response, HttpContext context) throws HttpException, IOException {
+                String body = "Bye World";
+                if (request instanceof HttpEntityEnclosingRequest) {
+                    body = "Bye " + EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity());
+                }
+                response.setStatusCode(HttpStatus.SC_OK);
+                response.setEntity(new StringEntity(body));
+            }
+        });
+        server.register("/slow", new HttpRequestHandler() {
+            public void handle(HttpRequest request, HttpResponse response, HttpContext context) throws HttpException, IOException {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+                response.setStatusCode(HttpStatus.SC_OK);
+                response.setEntity(new StringEntity(request.getRequestLine().getUri()));
+            }
+        });
+        server.register("/slower", new HttpRequestHandler() {
+            public void handle(HttpRequest request, HttpResponse response, HttpContext context) throws HttpException, IOException {
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+                response.setStatusCode(HttpStatus.SC_OK);
+                response.setEntity(new StringEntity("Bye World"));
+            }
+        });
+        server.register("/fail", new HttpRequestHandler() {
+            public void handle(HttpRequest request, HttpResponse response, HttpContext context) throws HttpException, IOException {
+                response.setStatusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+                response.setEntity(new StringEntity("Damn"));
+            }
+        });
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        String out = template.requestBody(getBaseUri() + "/echo?nonBlocking=true", null, String.class);
+        assertEquals("Bye World", out);
+    }
+
+    @Test
+    public void testPost() throws Exception {
+        String out = template.requestBody(getBaseUri() + "/echo?nonBlocking=true", "Camel", String.class);
+        assertEquals("Bye Camel", out);
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        Exchange out = template.request(getBaseUri() + "/fail?nonBlocking=true", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Hello World");
+            }
+        });
+
+        HttpOperationFailedException cause = assertIsInstanceOf(HttpOperationFailedException.class, out.getException());
+        assertEquals(500, cause.getStatusCode());
+        assertEquals("Damn", cause.getResponseBody());
+    }
+
+    @Test
+    public void testConnectionRefused() throws Exception {
+        Exchange out = template.request("http4://" + getHostName() + ":1/echo?nonBlocking=true", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Hello World");
+            }
+        });
+
+        assertIsInstanceOf(IOException.class, out.getException());
+    }
+
+    @Test
+    public void testBoundedConnectionsPerRoute() throws Exception {
+        String uri = getBaseUri() + "/slow?nonBlocking=true&connectionsPerRoute=2";
+
+        List<Future<String>> futures = new ArrayList<Future<String>>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(template.asyncRequestBodyAndHeader(uri, null, Exchange.HTTP_QUERY, "id=" + i, String.class));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals("/slow?id=" + i, futures.get(i).get());
+        }
+
+        HttpEndpoint endpoint = context.getEndpoint(uri, HttpEndpoint.class);
+        assertEquals(2, endpoint.getConnectionsPerRoute());
+        assertTrue("Should use at most 2 connections", endpoint.getAsyncConnections() <= 2);
+        assertEquals(20, endpoint.getAsyncCompletedRequests());
+        assertEquals(0, endpoint.getAsyncFailedRequests());
+        assertEquals(0, endpoint.getAsyncInflightRequests());
+        assertEquals(0, endpoint.getAsyncPendingRequests());
+    }
+
+    @Test
+    public void testMaxPendingRequests() throws Exception {
+        String uri = getBaseUri() + "/slow?nonBlocking=true&connectionsPerRoute=1&maxPendingRequests=1";
+
+        List<Future<Exchange>> futures = new ArrayList<Future<Exchange>>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(template.asyncSend(uri, new Processor() {
+                public void process(Exchange exchange) throws Exception {
+                }
+            }));
+        }
+
+        int rejected = 0;
+        for (Future<Exchange> future : futures) {
+            Exchange out = future.get();
+            if (out.getException() != null) {
+                assertIsInstanceOf(RejectedExecutionException.class, out.getException());
+                rejected++;
+            }
+        }
+        assertTrue("Should reject requests when the pending requests is full", rejected > 0);
+        assertTrue("Should complete the first request", rejected < 5);
+
+        HttpEndpoint endpoint = context.getEndpoint(uri, HttpEndpoint.class);
+        assertEquals(1, endpoint.getMaxPendingRequests());
+        assertEquals(0, endpoint.getAsyncInflightRequests());
+    }
+
+    @Test
+    public void testRequestTimeout() throws Exception {
+        Exchange out = template.request(getBaseUri() + "/slower?nonBlocking=true&requestTimeout=500", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Hello World");
+            }
+        });
+
+        assertIsInstanceOf(TimeoutException.class, out.getException());
+    }
+
+    @Test
+    public void testHttpsNotSupported() throws Exception {
+        HttpEndpoint endpoint = context.getEndpoint("https4://" + getHostName() + ":" + getPort() + "/echo?nonBlocking=true", HttpEndpoint.class);
+        Producer producer = endpoint.createProducer();
+        try {
+            producer.start();
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRestartProducer() throws Exception {
+        HttpEndpoint endpoint = context.getEndpoint(getBaseUri() + "/echo?nonBlocking=true", HttpEndpoint.class);
+
+        Producer producer = endpoint.createProducer();
+        producer.start();
+        HttpAsyncClient client = endpoint.getAsyncClient();
+        assertNotNull("Should create the client when the producer is started", client);
+
+        Exchange exchange = endpoint.createExchange();
+        exchange.getIn().setBody("Camel");
+        producer.process(exchange);
+        assertEquals("Bye Camel", exchange.getOut().getBody(String.class));
+
+        producer.stop();
+        assertNull("Should release the client when the producer is stopped", endpoint.getAsyncClient());
+
+        producer = endpoint.createProducer();
+        producer.start();
+        assertNotNull(endpoint.getAsyncClient());
+        assertNotSame("Should create a new client", client, endpoint.getAsyncClient());
+
+        exchange = endpoint.createExchange();
+        exchange.getIn().setBody("Again");
+        producer.process(exchange);
+        assertEquals("Bye Again", exchange.getOut().getBody(String.class));
+        producer.stop();
+    }
+
+    private String getBaseUri() {
+        return "http4://" + getHostName() + ":" + getPort();
+    }
+
+}
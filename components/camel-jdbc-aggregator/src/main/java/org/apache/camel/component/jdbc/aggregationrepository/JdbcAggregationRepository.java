@@ -30,6 +30,7 @@ import javax.sql.DataSource;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.spi.ExchangeCodec;
 import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.commons.logging.Log;
@@ -345,6 +346,20 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
         return repositoryName;
     }
 
+    public ExchangeCodec getExchangeCodec() {
+        return codec.getExchangeCodec();
+    }
+
+    /**
+     * Sets the codec to use for writing the exchanges to the database.
+     * <p/>
+     * By default the compact {@link org.apache.camel.impl.BinaryExchangeCodec} is used, which
+     * can also read exchanges which was stored using Java serialization.
+     */
+    public void setExchangeCodec(ExchangeCodec exchangeCodec) {
+        codec.setExchangeCodec(exchangeCodec);
+    }
+
     public String getRepositoryNameCompleted() {
         return getRepositoryName() + "_completed";
     }
@@ -19,22 +19,31 @@ package org.apache.camel.component.jdbc.aggregationrepository;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.impl.BinaryExchangeCodec;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.DefaultExchangeHolder;
+import org.apache.camel.spi.ExchangeCodec;
 
 /**
  * Adapted from HawtDBCamelCodec
  */
 public final class JdbcCamelCodec {
 
+    private ExchangeCodec exchangeCodec = new BinaryExchangeCodec() {
+        @Override
+        protected ObjectInputStream createObjectInputStream(InputStream in) throws IOException {
+            return new ClassLoadingAwareObjectInputStream(in);
+        }
+    };
+
     public byte[] marshallExchange(CamelContext camelContext, Exchange exchange) throws IOException {
-        // use DefaultExchangeHolder to marshal to a serialized object
+        // use DefaultExchangeHolder to hold the information to persist
         DefaultExchangeHolder pe = DefaultExchangeHolder.marshal(exchange, false);
         // add the aggregated size property as the only property we want to retain
         DefaultExchangeHolder.addProperty(pe, Exchange.AGGREGATED_SIZE, exchange.getProperty(Exchange.AGGREGATED_SIZE, Integer.class));
@@ -64,21 +73,22 @@ public final class JdbcCamelCodec {
         return answer;
     }
 
-    private byte[] encode(Object object) throws IOException {
+    public ExchangeCodec getExchangeCodec() {
+        return exchangeCodec;
+    }
+
+    public void setExchangeCodec(ExchangeCodec exchangeCodec) {
+        this.exchangeCodec = exchangeCodec;
+    }
+
+    private byte[] encode(DefaultExchangeHolder holder) throws IOException {
         ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
-        ObjectOutputStream objectOut = new ObjectOutputStream(bytesOut);
-        objectOut.writeObject(object);
-        objectOut.close();
-        byte[] data = bytesOut.toByteArray();
-        return data;
+        exchangeCodec.encode(holder, bytesOut);
+        return bytesOut.toByteArray();
     }
 
     private DefaultExchangeHolder decode(byte[] dataIn) throws IOException, ClassNotFoundException {
-        ByteArrayInputStream bytesIn = new ByteArrayInputStream(dataIn);
-        ObjectInputStream objectIn = new ClassLoadingAwareObjectInputStream(bytesIn);
-        Object obj = objectIn.readObject();
-        return (DefaultExchangeHolder) obj;
+        return exchangeCodec.decode(new ByteArrayInputStream(dataIn));
     }
 
 }
-
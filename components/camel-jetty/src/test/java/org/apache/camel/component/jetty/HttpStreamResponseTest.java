@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jetty;
+
+import java.io.File;
+import java.io.InputStream;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.http.HttpComponent;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.converter.stream.CachedOutputStream;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @version $Revision$
+ */
+public class HttpStreamResponseTest extends BaseJettyTest {
+
+    private static final int SIZE = 1024 * 1024;
+
+    @Test
+    public void testStreamResponseToFile() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:file");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("direct:file", null);
+
+        assertMockEndpointsSatisfied();
+
+        File file = new File("target/httpstream/big.txt").getAbsoluteFile();
+        assertTrue("File should exist", file.exists());
+        assertEquals(SIZE, file.length());
+    }
+
+    @Test
+    public void testStreamResponseReleasesConnection() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(5);
+
+        // the streams are not read, so the connections must be released when the exchange is done,
+        // otherwise the single pooled connection is exhausted
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("direct:start", null);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            Object body = exchange.getIn().getBody();
+            assertTrue("Should be a stream", body instanceof InputStream);
+            assertFalse("Should not be cached", body.getClass().getName().startsWith(CachedOutputStream.class.getPackage().getName()));
+        }
+    }
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/httpstream");
+        super.setUp();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                // only allow a single connection so leaked connections would block the next request
+                MultiThreadedHttpConnectionManager manager = new MultiThreadedHttpConnectionManager();
+                manager.getParams().setDefaultMaxConnectionsPerHost(1);
+                getContext().getComponent("http", HttpComponent.class).setHttpConnectionManager(manager);
+
+                from("jetty:http://localhost:{{port}}/big").process(new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        byte[] data = new byte[SIZE];
+                        for (int i = 0; i < SIZE; i++) {
+                            data[i] = (byte) ('a' + i % 26);
+                        }
+                        exchange.getOut().setBody(data);
+                    }
+                });
+
+                from("direct:file")
+                    .to("http://localhost:{{port}}/big?streamResponse=true")
+                    .to("file://target/httpstream?fileName=big.txt")
+                    .to("mock:file");
+
+                from("direct:start")
+                    .to("http://localhost:{{port}}/big?streamResponse=true&httpClient.connectionManagerTimeout=5000")
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
@@ -17,8 +17,14 @@
 package org.apache.camel.component.jms;
 
 /**
+ * The type of consumer to use when consuming from a JMS endpoint.
+ * <p/>
+ * <tt>Simple</tt> and <tt>Default</tt> use the Spring message listener containers of the same name.
+ * <tt>Batch</tt> uses the {@link JmsBatchConsumer} which receives messages in batches using one
+ * transacted session per batch.
+ *
  * @version $Revision$
  */
 public enum ConsumerType {
-    Simple, Default
+    Simple, Default, Batch
 }
@@ -0,0 +1,463 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.ExceptionListener;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+import javax.jms.Topic;
+
+import org.apache.camel.BatchConsumer;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ShutdownRunningTask;
+import org.apache.camel.spi.ShutdownAware;
+import org.apache.camel.util.CastUtils;
+import org.apache.camel.util.ObjectHelper;
+import org.springframework.jms.listener.AbstractMessageListenerContainer;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.destination.DestinationResolver;
+import org.springframework.jms.support.destination.DynamicDestinationResolver;
+
+/**
+ * A {@link org.apache.camel.Consumer} which receives JMS messages in batches, using one transacted
+ * session per batch which is committed once all the exchanges of the batch have been processed.
+ * <p/>
+ * A batch is complete when it holds <tt>batchSize</tt> messages, or when <tt>batchTimeout</tt> millis
+ * has elapsed since its first message was received. The exchanges are processed one by one using the
+ * {@link BatchConsumer} contract, so routes can use the {@link Exchange#BATCH_COMPLETE} property to
+ * flush aggregated or JDBC batches. If any exchange of the batch fails, the whole batch is rolled back
+ * and redelivered by the JMS broker.
+ * <p/>
+ * Each of the <tt>concurrentConsumers</tt> uses its own session, and the JMS connection is shared. If the
+ * connection fails it is closed and the consumers create a new connection after the <tt>recoveryInterval</tt>.
+ * As all consumers would share the same subscription only one consumer is supported for durable subscriptions.
+ * <p/>
+ * The batch consumer does not send replies, so the InOut exchange pattern is not supported, and the
+ * <tt>JMSReplyTo</tt> header of the received messages is ignored.
+ *
+ * @version $Revision$
+ */
+public class JmsBatchConsumer extends JmsConsumer implements BatchConsumer, ShutdownAware {
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final List<Worker> workers = new ArrayList<Worker>();
+    private int maxMessagesPerPoll;
+    private final Object connectionLock = new Object();
+    private Connection connection;
+    private ExecutorService executorService;
+    private volatile ShutdownRunningTask shutdownRunningTask;
+    private volatile int pendingExchanges;
+
+    public JmsBatchConsumer(JmsEndpoint endpoint, Processor processor) {
+        super(endpoint, processor);
+        JmsConfiguration configuration = endpoint.getConfiguration();
+        if (endpoint.getExchangePattern().isOutCapable()) {
+            throw new IllegalArgumentException("The batch consumer does not support the " + endpoint.getExchangePattern()
+                    + " exchange pattern on endpoint: " + endpoint);
+        }
+        if (endpoint.isPubSubDomain() && isSubscriptionDurable() && configuration.getConcurrentConsumers() > 1) {
+            throw new IllegalArgumentException("Only 1 concurrent consumer is supported for durable subscriptions"
+                    + " with the batch consumer on endpoint: " + endpoint);
+        }
+        int batchSize = configuration.getBatchSize();
+        this.maxMessagesPerPoll = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    public AbstractMessageListenerContainer getListenerContainer() throws Exception {
+        // this consumer receives the messages itself
+        return null;
+    }
+
+    public int getMaxMessagesPerPoll() {
+        return maxMessagesPerPoll;
+    }
+
+    public void setMaxMessagesPerPoll(int maxMessagesPerPoll) {
+        this.maxMessagesPerPoll = maxMessagesPerPoll;
+    }
+
+    public long getBatchTimeout() {
+        return getEndpoint().getConfiguration().getBatchTimeout();
+    }
+
+    public int processBatch(Queue<Object> exchanges) throws Exception {
+        int total = exchanges.size();
+
+        for (int index = 0; index < total && isBatchAllowed(); index++) {
+            Exchange exchange = ObjectHelper.cast(Exchange.class, exchanges.poll());
+            // add current index and total as properties
+            exchange.setProperty(Exchange.BATCH_INDEX, index);
+            exchange.setProperty(Exchange.BATCH_SIZE, total);
+            exchange.setProperty(Exchange.BATCH_COMPLETE, index == total - 1);
+
+            // update pending number of exchanges
+            pendingExchanges = total - index - 1;
+
+            if (log.isTraceEnabled()) {
+                log.trace("Processing exchange [" + exchange + "]...");
+            }
+
+            try {
+                getProcessor().process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+
+            if (exchange.getException() != null || exchange.isRollbackOnly()) {
+                // the whole batch must be rolled back so do not process the remainder
+                throw new RollbackBatchException(exchange);
+            }
+        }
+
+        return total;
+    }
+
+    public boolean isBatchAllowed() {
+        // stop if we are not running
+        boolean answer = isRunAllowed() && !isSuspending() && !isSuspended();
+        if (!answer) {
+            return false;
+        }
+
+        if (shutdownRunningTask == null) {
+            // we are not shutting down so continue to run
+            return true;
+        }
+
+        // we are shutting down so only continue if we are configured to complete all tasks
+        return ShutdownRunningTask.CompleteAllTasks == shutdownRunningTask;
+    }
+
+    public boolean deferShutdown(ShutdownRunningTask shutdownRunningTask) {
+        // store a reference what to do in case when shutting down and we have pending messages
+        this.shutdownRunningTask = shutdownRunningTask;
+        // do not defer shutdown
+        return false;
+    }
+
+    public int getPendingExchangesSize() {
+        // only return the real pending size in case we are configured to complete all tasks
+        if (ShutdownRunningTask.CompleteAllTasks == shutdownRunningTask) {
+            return pendingExchanges;
+        } else {
+            return 0;
+        }
+    }
+
+    public void prepareShutdown() {
+        // noop
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        shutdownRunningTask = null;
+        pendingExchanges = 0;
+        startWorkers();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        stopWorkers();
+    }
+
+    @Override
+    protected void doSuspend() throws Exception {
+        stopWorkers();
+    }
+
+    @Override
+    protected void doResume() throws Exception {
+        startWorkers();
+    }
+
+    protected void startWorkers() throws Exception {
+        JmsConfiguration configuration = getEndpoint().getConfiguration();
+
+        // create the connection up front so we fail fast if the broker cannot be reached
+        getConnection();
+
+        int count = Math.max(1, configuration.getConcurrentConsumers());
+        executorService = getEndpoint().getCamelContext().getExecutorServiceStrategy()
+                .newFixedThreadPool(this, "JmsBatchConsumer[" + getEndpoint().getEndpointUri() + "]", count);
+        for (int i = 0; i < count; i++) {
+            Worker worker = new Worker();
+            workers.add(worker);
+            executorService.submit(worker);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Started " + count + " batch consumers with batch size " + maxMessagesPerPoll
+                    + " and batch timeout " + getBatchTimeout() + " millis for: " + getEndpoint());
+        }
+    }
+
+    protected void stopWorkers() throws Exception {
+        for (Worker worker : workers) {
+            worker.running = false;
+        }
+
+        if (executorService != null) {
+            // let the workers finish their current batch
+            getEndpoint().getCamelContext().getExecutorServiceStrategy().shutdown(executorService);
+            if (!executorService.awaitTermination(Math.max(getBatchTimeout(), 1000) * 10, TimeUnit.MILLISECONDS)) {
+                log.warn("Timeout waiting for batch consumers to complete for: " + getEndpoint());
+                getEndpoint().getCamelContext().getExecutorServiceStrategy().shutdownNow(executorService);
+            }
+            executorService = null;
+        }
+        workers.clear();
+
+        synchronized (connectionLock) {
+            JmsUtils.closeConnection(connection, true);
+            connection = null;
+        }
+    }
+
+    /**
+     * Gets the connection shared by the workers, creating a new connection if there is none, or the
+     * previous connection failed.
+     */
+    protected Connection getConnection() throws JMSException {
+        synchronized (connectionLock) {
+            if (connection == null) {
+                connection = createConnection();
+            }
+            return connection;
+        }
+    }
+
+    protected Connection createConnection() throws JMSException {
+        JmsConfiguration configuration = getEndpoint().getConfiguration();
+        final Connection answer = configuration.getListenerConnectionFactory().createConnection();
+        try {
+            if (configuration.getClientId() != null) {
+                answer.setClientID(configuration.getClientId());
+            }
+            answer.setExceptionListener(new ExceptionListener() {
+                public void onException(JMSException e) {
+                    log.warn("Connection failed for: " + getEndpoint() + ". Caused by: " + e.getMessage(), e);
+                    invalidateConnection(answer);
+                    ExceptionListener listener = getEndpoint().getConfiguration().getExceptionListener();
+                    if (listener != null) {
+                        listener.onException(e);
+                    }
+                }
+            });
+            answer.start();
+        } catch (JMSException e) {
+            JmsUtils.closeConnection(answer);
+            throw e;
+        }
+        return answer;
+    }
+
+    /**
+     * Closes the given connection if it is still the shared connection, so the workers create a new connection.
+     */
+    protected void invalidateConnection(Connection failed) {
+        synchronized (connectionLock) {
+            if (failed == null || failed != connection) {
+                // already invalidated by another worker
+                return;
+            }
+            connection = null;
+        }
+        // closing the connection also stops the workers which are still waiting on it
+        JmsUtils.closeConnection(failed);
+    }
+
+    /**
+     * Receives the next batch of messages, waiting at most the batch timeout for the batch to complete.
+     *
+     * @return the received messages, is empty if no messages arrived within the batch timeout
+     */
+    protected List<Message> receiveBatch(MessageConsumer consumer) throws JMSException {
+        List<Message> answer = new ArrayList<Message>();
+        long timeout = Math.max(getBatchTimeout(), 1);
+
+        // wait for the first message to start the batch
+        Message message = consumer.receive(timeout);
+        if (message == null) {
+            return answer;
+        }
+        answer.add(message);
+
+        long deadline = System.currentTimeMillis() + timeout;
+        while (answer.size() < maxMessagesPerPoll && isBatchAllowed()) {
+            // take what is already there before waiting for the remainder of the batch
+            message = consumer.receiveNoWait();
+            if (message == null) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                message = consumer.receive(remaining);
+                if (message == null) {
+                    break;
+                }
+            }
+            answer.add(message);
+        }
+
+        return answer;
+    }
+
+    protected Queue<Exchange> createExchanges(List<Message> messages) {
+        if (log.isTraceEnabled()) {
+            log.trace("Received " + messages.size() + " messages in this batch");
+        }
+
+        Queue<Exchange> answer = new LinkedList<Exchange>();
+        for (Message message : messages) {
+            answer.add(getEndpoint().createExchange(message));
+        }
+        return answer;
+    }
+
+    protected Destination resolveDestination(Session session) throws JMSException {
+        JmsEndpoint endpoint = getEndpoint();
+        if (endpoint.getDestination() != null) {
+            return endpoint.getDestination();
+        }
+        DestinationResolver resolver = endpoint.getDestinationResolver();
+        if (resolver == null) {
+            resolver = new DynamicDestinationResolver();
+        }
+        return resolver.resolveDestinationName(session, endpoint.getDestinationName(), endpoint.isPubSubDomain());
+    }
+
+    protected MessageConsumer createMessageConsumer(Session session) throws JMSException {
+        JmsConfiguration configuration = getEndpoint().getConfiguration();
+        Destination destination = resolveDestination(session);
+        String selector = getEndpoint().getSelector();
+        if (destination instanceof Topic && isSubscriptionDurable()) {
+            return session.createDurableSubscriber((Topic) destination, configuration.getDurableSubscriptionName(),
+                    selector, configuration.isPubSubNoLocal());
+        } else if (destination instanceof Topic) {
+            return session.createConsumer(destination, selector, configuration.isPubSubNoLocal());
+        } else {
+            return session.createConsumer(destination, selector);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    protected boolean isSubscriptionDurable() {
+        JmsConfiguration configuration = getEndpoint().getConfiguration();
+        return configuration.getDurableSubscriptionName() != null || configuration.isSubscriptionDurable();
+    }
+
+    /**
+     * Thrown when an exchange of a batch failed, which causes the session to be rolled back.
+     */
+    private static final class RollbackBatchException extends Exception {
+        private static final long serialVersionUID = 1L;
+        private final transient Exchange exchange;
+
+        private RollbackBatchException(Exchange exchange) {
+            super("Rolling back batch as exchange failed: " + exchange.getExchangeId(), exchange.getException());
+            this.exchange = exchange;
+        }
+    }
+
+    /**
+     * Receives and processes batches using its own transacted session.
+     */
+    private final class Worker implements Runnable {
+        private volatile boolean running = true;
+
+        public void run() {
+            while (running && isRunAllowed()) {
+                Connection current = null;
+                Session session = null;
+                MessageConsumer consumer = null;
+                try {
+                    current = getConnection();
+                    session = current.createSession(true, Session.SESSION_TRANSACTED);
+                    consumer = createMessageConsumer(session);
+                    while (running && isRunAllowed()) {
+                        pollBatch(session, consumer);
+                    }
+                } catch (Exception e) {
+                    // the connection may be broken so let the workers create a new connection
+                    invalidateConnection(current);
+                    if (running && isRunAllowed()) {
+                        long interval = getEndpoint().getConfiguration().getRecoveryInterval();
+                        log.warn("Error receiving batch from: " + getEndpoint() + ". Will recreate the connection in "
+                                + interval + " millis. Caused by: " + e.getMessage(), e);
+                        sleep(interval);
+                    }
+                } finally {
+                    JmsUtils.closeMessageConsumer(consumer);
+                    JmsUtils.closeSession(session);
+                }
+            }
+        }
+
+        private void pollBatch(Session session, MessageConsumer consumer) throws Exception {
+            List<Message> messages = receiveBatch(consumer);
+            if (messages.isEmpty()) {
+                return;
+            }
+
+            pendingExchanges = 0;
+            Queue<Exchange> exchanges = createExchanges(messages);
+            try {
+                processBatch(CastUtils.cast(exchanges));
+            } catch (RollbackBatchException e) {
+                Exception cause = e.exchange.getException();
+                String msg = "Exchange failed, so rolling back batch of " + messages.size() + " messages: " + e.exchange;
+                if (cause != null) {
+                    getExceptionHandler().handleException(msg, e.exchange, cause);
+                } else {
+                    log.warn(msg);
+                }
+                session.rollback();
+                return;
+            }
+
+            if (exchanges.isEmpty()) {
+                session.commit();
+            } else {
+                // we are stopping and did not process the entire batch so let the broker redeliver it
+                if (log.isDebugEnabled()) {
+                    log.debug("Rolling back batch as " + exchanges.size() + " exchanges was not processed due stopping");
+                }
+                session.rollback();
+            }
+        }
+
+        private void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                running = false;
+            }
+        }
+    }
+}
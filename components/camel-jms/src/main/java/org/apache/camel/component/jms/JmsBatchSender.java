@@ -0,0 +1,246 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.jms.Destination;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.jms.JmsConfiguration.CamelJmsTemplate;
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.jms.core.MessageCreator;
+
+/**
+ * Sends InOnly messages in batches using a single JMS session per batch, which is committed once
+ * per batch when the session is transacted.
+ * <p/>
+ * A batch is sent when it has reached the batch size, or when the batch timeout has elapsed since
+ * the first message of the batch arrived. The exchanges are completed asynchronously when their batch
+ * has been sent, using a thread pool so the callbacks do not delay sending the next batch, and each exchange
+ * will only fail if its own message could not be sent or the batch could not be committed.
+ * <p/>
+ * At most {@link #MAX_PENDING_BATCHES} batches can be waiting to be sent. When they are full the producers are
+ * blocked until there is room again, and the messages are rejected if the sender is stopped meanwhile.
+ *
+ * @version $Revision$
+ */
+public class JmsBatchSender extends ServiceSupport implements Runnable {
+    public static final int MAX_PENDING_BATCHES = 10;
+    private static final transient Log LOG = LogFactory.getLog(JmsBatchSender.class);
+    private final JmsEndpoint endpoint;
+    private final CamelJmsTemplate template;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long batchTimeout;
+    private ExecutorService executorService;
+    private ExecutorService completionExecutorService;
+
+    /**
+     * A message to be sent as part of a batch
+     */
+    public static final class Entry {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+        private final String destinationName;
+        private final Destination destination;
+        private final MessageCreator messageCreator;
+        private Exception exception;
+
+        Entry(Exchange exchange, AsyncCallback callback, String destinationName, Destination destination, MessageCreator messageCreator) {
+            this.exchange = exchange;
+            this.callback = callback;
+            this.destinationName = destinationName;
+            this.destination = destination;
+            this.messageCreator = messageCreator;
+        }
+
+        public Exchange getExchange() {
+            return exchange;
+        }
+
+        public String getDestinationName() {
+            return destinationName;
+        }
+
+        public Destination getDestination() {
+            return destination;
+        }
+
+        public MessageCreator getMessageCreator() {
+            return messageCreator;
+        }
+
+        public Exception getException() {
+            return exception;
+        }
+
+        public void setException(Exception exception) {
+            this.exception = exception;
+        }
+    }
+
+    public JmsBatchSender(JmsEndpoint endpoint, CamelJmsTemplate template) {
+        this.endpoint = endpoint;
+        this.template = template;
+        this.batchSize = endpoint.getConfiguration().getBatchSize();
+        this.batchTimeout = endpoint.getConfiguration().getBatchTimeout();
+        this.queue = new LinkedBlockingQueue<Entry>(Math.max(batchSize, 1) * MAX_PENDING_BATCHES);
+    }
+
+    /**
+     * Adds the message to the next batch to send, blocking the caller while the pending batches are full.
+     *
+     * @return <tt>true</tt> if the message was added and the callback will be invoked when its batch has been sent,
+     *         or <tt>false</tt> if the message was rejected as the sender is stopping or the caller was interrupted
+     */
+    public boolean send(Exchange exchange, AsyncCallback callback, String destinationName, Destination destination,
+                        MessageCreator messageCreator) {
+        Entry entry = new Entry(exchange, callback, destinationName, destination, messageCreator);
+        try {
+            while (isRunAllowed()) {
+                if (queue.offer(entry, 1000, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Pending batches are full, waiting to add message to the next batch on " + endpoint);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    public void run() {
+        // keep running until stopped and all pending messages has been sent
+        while (isRunAllowed() || !queue.isEmpty()) {
+            try {
+                List<Entry> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    sendBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Interrupted while waiting for messages to send on " + endpoint);
+                }
+                break;
+            }
+        }
+    }
+
+    protected List<Entry> nextBatch() throws InterruptedException {
+        List<Entry> batch = new ArrayList<Entry>(batchSize);
+
+        Entry first = queue.poll(1000, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+
+        // wait for more messages until the batch is full or timeout since the first message
+        long deadline = System.currentTimeMillis() + batchTimeout;
+        while (batch.size() < batchSize) {
+            long delay = deadline - System.currentTimeMillis();
+            Entry next = delay > 0 ? queue.poll(delay, TimeUnit.MILLISECONDS) : queue.poll();
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    protected void sendBatch(List<Entry> batch) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Sending batch of " + batch.size() + " messages to " + endpoint);
+        }
+
+        try {
+            template.send(batch);
+        } catch (Exception e) {
+            // the batch could not be sent or committed so all the exchanges failed
+            for (Entry entry : batch) {
+                if (entry.getException() == null) {
+                    entry.setException(e);
+                }
+            }
+        }
+
+        for (final Entry entry : batch) {
+            if (entry.getException() != null) {
+                entry.getExchange().setException(entry.getException());
+            }
+            // continue routing the exchanges in other threads so we can send the next batch
+            completionExecutorService.execute(new Runnable() {
+                public void run() {
+                    entry.callback.done(false);
+                }
+            });
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executorService == null) {
+            executorService = endpoint.getCamelContext().getExecutorServiceStrategy()
+                    .newSingleThreadExecutor(this, "JmsBatchSender[" + endpoint.getEndpointUri() + "]");
+        }
+        if (completionExecutorService == null) {
+            // the default thread pool is bounded and lets the sender run the callbacks when it is full
+            completionExecutorService = endpoint.getCamelContext().getExecutorServiceStrategy()
+                    .newDefaultThreadPool(this, "JmsBatchSender[" + endpoint.getEndpointUri() + "]-Completion");
+        }
+        executorService.submit(this);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            // let the pending messages be sent before we stop
+            endpoint.getCamelContext().getExecutorServiceStrategy().shutdown(executorService);
+            if (!executorService.awaitTermination(Math.max(batchTimeout, 1000) * 10, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Timeout waiting for pending messages to be sent on " + endpoint);
+                endpoint.getCamelContext().getExecutorServiceStrategy().shutdownNow(executorService);
+            }
+            executorService = null;
+        }
+
+        // reject any messages which could not be sent
+        List<Entry> pending = new ArrayList<Entry>();
+        queue.drainTo(pending);
+        for (Entry entry : pending) {
+            entry.getExchange().setException(new RejectedExecutionException("JmsBatchSender has been stopped"));
+            entry.callback.done(false);
+        }
+
+        if (completionExecutorService != null) {
+            // the callbacks of the sent batches is still invoked
+            endpoint.getCamelContext().getExecutorServiceStrategy().shutdown(completionExecutorService);
+            completionExecutorService = null;
+        }
+    }
+
+}
@@ -21,9 +21,11 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -68,6 +70,9 @@ import static org.apache.camel.component.jms.JmsMessageType.Text;
  */
 public class JmsBinding {
     private static final transient Log LOG = LogFactory.getLog(JmsBinding.class);
+    private static final Set<String> STANDARD_JMS_HEADERS = new HashSet<String>(Arrays.asList(
+        "JMSCorrelationID", "JMSDeliveryMode", "JMSDestination", "JMSExpiration", "JMSMessageID", "JMSPriority",
+        "JMSRedelivered", "JMSTimestamp", "JMSReplyTo", "JMSType", "JMSXGroupID"));
     private final JmsEndpoint endpoint;
     private final HeaderFilterStrategy headerFilterStrategy;
     private final JmsKeyFormatStrategy jmsKeyFormatStrategy;
@@ -221,6 +226,77 @@ public class JmsBinding {
         return map;
     }
     
+    /**
+     * Whether the name is one of the standard JMS headers which is extracted from the JMS message
+     * by {@link #extractHeadersFromJms(javax.jms.Message, org.apache.camel.Exchange)}
+     */
+    public boolean isStandardJmsHeader(String name) {
+        return STANDARD_JMS_HEADERS.contains(name);
+    }
+
+    /**
+     * Extracts a single header from the JMS message, without extracting all the other headers.
+     *
+     * @param jmsMessage the JMS message
+     * @param exchange   the exchange
+     * @param name       the header name
+     * @return the header value, or <tt>null</tt> if no such header or it has been filtered
+     */
+    public Object extractHeaderFromJms(Message jmsMessage, Exchange exchange, String name) {
+        try {
+            if (isStandardJmsHeader(name)) {
+                return extractStandardJmsHeader(jmsMessage, name);
+            }
+
+            Object value = getObjectProperty(jmsMessage, name);
+            if (value != null && headerFilterStrategy != null) {
+                // must apply the filter using the safe JMS header name as when extracting all headers
+                String key = jmsMessage.propertyExists(name) ? name : jmsKeyFormatStrategy.encodeKey(name);
+                if (headerFilterStrategy.applyFilterToExternalHeaders(key, value, exchange)) {
+                    return null;
+                }
+            }
+            return value;
+        } catch (JMSException e) {
+            throw new RuntimeCamelException(name, e);
+        }
+    }
+
+    private Object extractStandardJmsHeader(Message jmsMessage, String name) throws JMSException {
+        if ("JMSCorrelationID".equals(name)) {
+            return jmsMessage.getJMSCorrelationID();
+        } else if ("JMSDeliveryMode".equals(name)) {
+            return jmsMessage.getJMSDeliveryMode();
+        } else if ("JMSDestination".equals(name)) {
+            return jmsMessage.getJMSDestination();
+        } else if ("JMSExpiration".equals(name)) {
+            return jmsMessage.getJMSExpiration();
+        } else if ("JMSMessageID".equals(name)) {
+            return jmsMessage.getJMSMessageID();
+        } else if ("JMSPriority".equals(name)) {
+            return jmsMessage.getJMSPriority();
+        } else if ("JMSRedelivered".equals(name)) {
+            return jmsMessage.getJMSRedelivered();
+        } else if ("JMSTimestamp".equals(name)) {
+            return jmsMessage.getJMSTimestamp();
+        } else if ("JMSXGroupID".equals(name)) {
+            // this works around a bug in the ActiveMQ property handling
+            return jmsMessage.getStringProperty("JMSXGroupID");
+        }
+
+        // to work around OracleAQ not supporting the JMSReplyTo and JMSType headers (CAMEL-2909)
+        try {
+            if ("JMSReplyTo".equals(name)) {
+                return jmsMessage.getJMSReplyTo();
+            } else {
+                return jmsMessage.getJMSType();
+            }
+        } catch (JMSException e) {
+            LOG.trace("Cannot read " + name + " header. Will ignore this exception.", e);
+            return null;
+        }
+    }
+
     public Object getObjectProperty(Message jmsMessage, String name) throws JMSException {
         // try a direct lookup first
         Object answer = jmsMessage.getObjectProperty(name);
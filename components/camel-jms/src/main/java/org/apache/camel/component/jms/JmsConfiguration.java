@@ -16,6 +16,9 @@
  */
 package org.apache.camel.component.jms;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
 import javax.jms.ExceptionListener;
@@ -99,6 +102,8 @@ public class JmsConfiguration implements Cloneable {
     private boolean messageIdEnabled = true;
     private boolean messageTimestampEnabled = true;
     private int priority = -1;
+    private int batchSize;
+    private long batchTimeout = 100L;
     // Transaction related configuration
     private boolean transacted;
     private boolean transactedInOut;
@@ -189,6 +194,57 @@ public class JmsConfiguration implements Cloneable {
             }, false);
         }
 
+        /**
+         * Sends a batch of messages using a single session, which is committed once
+         * after all the messages has been sent, if the session is transacted.
+         * <p/>
+         * A failure to create or send a message is set on its entry, and does not affect the other messages.
+         *
+         * @param entries the messages to send
+         */
+        public void send(final List<JmsBatchSender.Entry> entries) throws JmsException {
+            execute(new SessionCallback() {
+                public Object doInJms(Session session) throws JMSException {
+                    return doSendBatch(entries, session);
+                }
+            }, false);
+        }
+
+        private Object doSendBatch(final List<JmsBatchSender.Entry> entries, final Session session) throws JMSException {
+            // reuse the producers for the same destination within the batch
+            Map<Object, MessageProducer> producers = new HashMap<Object, MessageProducer>();
+            try {
+                for (JmsBatchSender.Entry entry : entries) {
+                    try {
+                        Object key = entry.getDestination() != null ? entry.getDestination() : entry.getDestinationName();
+                        MessageProducer producer = producers.get(key);
+                        if (producer == null) {
+                            Destination destination = entry.getDestination();
+                            if (destination == null) {
+                                destination = resolveDestinationName(session, entry.getDestinationName());
+                            }
+                            producer = createProducer(session, destination);
+                            producers.put(key, producer);
+                        }
+                        Message message = entry.getMessageCreator().createMessage(session);
+                        doSend(producer, message);
+                    } catch (Exception e) {
+                        entry.setException(e);
+                    }
+                }
+                // Check commit - avoid commit call within a JTA transaction.
+                if (session.getTransacted() && isSessionLocallyTransacted(session)) {
+                    // Transacted session created by this template -> commit once for the batch.
+                    JmsUtils.commitIfNecessary(session);
+                }
+            } finally {
+                for (MessageProducer producer : producers.values()) {
+                    JmsUtils.closeMessageProducer(producer);
+                }
+            }
+            return null;
+        }
+
         private Object doSendToDestination(final Destination destination,
                                            final MessageCreator messageCreator,
                                            final MessageSentCallback callback,
@@ -1157,4 +1213,34 @@ public class JmsConfiguration implements Cloneable {
     public void setTestConnectionOnStartup(boolean testConnectionOnStartup) {
         this.testConnectionOnStartup = testConnectionOnStartup;
     }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of InOnly messages the producer sends in a single JMS session,
+     * which is committed once per batch when transacted. Use 0 or 1 to send each message on its own.
+     * <p/>
+     * When using the <tt>Batch</tt> consumer type this is the maximum number of messages received
+     * in a single transacted session, which defaults to 100 when not set.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Sets the time in millis the producer waits for more messages before sending a batch
+     * which is not full.
+     * <p/>
+     * When using the <tt>Batch</tt> consumer type this is the time in millis the consumer waits
+     * for more messages before processing a batch which is not full.
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
 }
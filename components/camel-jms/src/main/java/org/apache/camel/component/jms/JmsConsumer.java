@@ -41,6 +41,13 @@ public class JmsConsumer extends DefaultConsumer implements SuspendableService {
         this.listenerContainer.setMessageListener(getEndpointMessageListener());
     }
 
+    /**
+     * Constructor for consumers which receive the messages themselves without a listener container.
+     */
+    protected JmsConsumer(JmsEndpoint endpoint, Processor processor) {
+        super(endpoint, processor);
+    }
+
     public JmsEndpoint getEndpoint() {
         return (JmsEndpoint) super.getEndpoint();
     }
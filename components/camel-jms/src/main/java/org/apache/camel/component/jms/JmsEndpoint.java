@@ -146,6 +146,9 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
     }
 
     public JmsConsumer createConsumer(Processor processor) throws Exception {
+        if (getConsumerType() == ConsumerType.Batch) {
+            return new JmsBatchConsumer(this, processor);
+        }
         AbstractMessageListenerContainer listenerContainer = configuration.createMessageListenerContainer(this);
         return createConsumer(processor, listenerContainer);
     }
@@ -402,6 +405,16 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         return getConfiguration().getAcknowledgementModeName();
     }
 
+    @ManagedAttribute
+    public int getBatchSize() {
+        return getConfiguration().getBatchSize();
+    }
+
+    @ManagedAttribute
+    public long getBatchTimeout() {
+        return getConfiguration().getBatchTimeout();
+    }
+
     @ManagedAttribute
     public int getCacheLevel() {
         return getConfiguration().getCacheLevel();
@@ -645,6 +658,16 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         getConfiguration().setAutoStartup(autoStartup);
     }
 
+    @ManagedAttribute
+    public void setBatchSize(int batchSize) {
+        getConfiguration().setBatchSize(batchSize);
+    }
+
+    @ManagedAttribute
+    public void setBatchTimeout(long batchTimeout) {
+        getConfiguration().setBatchTimeout(batchTimeout);
+    }
+
     @ManagedAttribute
     public void setCacheLevel(int cacheLevel) {
         getConfiguration().setCacheLevel(cacheLevel);
@@ -108,25 +108,26 @@ public class JmsMessage extends DefaultMessage {
     }
 
     public Object getHeader(String name) {
-        Object answer = null;
-
-        // we will exclude using JMS-prefixed headers here to avoid strangeness with some JMS providers
-        // e.g. ActiveMQ returns the String not the Destination type for "JMSReplyTo"!
-        // only look in jms message directly if we have not populated headers
-        if (jmsMessage != null && !hasPopulatedHeaders() && !name.startsWith("JMS")) {
-            try {
-                // use binding to do the lookup as it has to consider using encoded keys
-                answer = getBinding().getObjectProperty(jmsMessage, name);
-            } catch (JMSException e) {
-                throw new RuntimeExchangeException("Unable to retrieve header from JMS Message: " + name, getExchange(), e);
+        // only look in jms message directly if we have not populated headers, and then only extract the
+        // header we are looking for, as extracting all the headers is expensive
+        if (!hasPopulatedHeaders()) {
+            if (jmsMessage == null) {
+                // there are no headers at all
+                return null;
+            }
+            // other headers starting with JMS may be provider specific so they must be looked up
+            // from all the headers to avoid strangeness with some JMS providers
+            if (!name.startsWith("JMS") || getBinding().isStandardJmsHeader(name)) {
+                return getBinding().extractHeaderFromJms(jmsMessage, getExchange(), name);
             }
         }
-        // only look if we have populated headers otherwise there are no headers at all
-        // if we do lookup a header starting with JMS then force a lookup
-        if (answer == null && (hasPopulatedHeaders() || name.startsWith("JMS"))) {
-            answer = super.getHeader(name);
-        }
-        return answer;
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Object getHeader(String name, Object defaultValue) {
+        Object answer = getHeader(name);
+        return answer != null ? answer : defaultValue;
     }
 
     @Override
@@ -33,6 +33,7 @@ import org.apache.camel.component.jms.reply.UseMessageIdAsCorrelationIdMessageSe
 import org.apache.camel.impl.DefaultAsyncProducer;
 import org.apache.camel.spi.UuidGenerator;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
 import org.apache.camel.util.ValueHolder;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -52,6 +53,7 @@ public class JmsProducer extends DefaultAsyncProducer {
     private JmsOperations inOutTemplate;
     private UuidGenerator uuidGenerator;
     private ReplyManager replyManager;
+    private JmsBatchSender batchSender;
 
     public JmsProducer(JmsEndpoint endpoint) {
         super(endpoint);
@@ -306,6 +308,17 @@ public class JmsProducer extends DefaultAsyncProducer {
             }
         };
 
+        if (batchSender != null && !exchange.isTransacted()) {
+            // the message is sent as part of a batch, and the callback is invoked when the batch has been sent
+            // (transacted exchanges is sent directly as the batch is sent outside their transaction)
+            if (batchSender.send(exchange, callback, destinationName, destination, messageCreator)) {
+                return false;
+            }
+            exchange.setException(new RejectedExecutionException("Cannot send message as the batch sender is stopping on " + endpoint));
+            callback.done(true);
+            return true;
+        }
+
         doSend(false, destinationName, destination, messageCreator, null);
 
         // after sending then set the OUT message id to the JMSMessageID so its identical
@@ -410,9 +423,20 @@ public class JmsProducer extends DefaultAsyncProducer {
             // use the generator configured on the camel context
             uuidGenerator = getEndpoint().getCamelContext().getUuidGenerator();
         }
+        if (batchSender == null && endpoint.getConfiguration().getBatchSize() > 1) {
+            if (getInOnlyTemplate() instanceof CamelJmsTemplate) {
+                batchSender = new JmsBatchSender(endpoint, (CamelJmsTemplate) getInOnlyTemplate());
+                LOG.info("Sending InOnly messages in batches of up to " + endpoint.getConfiguration().getBatchSize()
+                        + " messages to: " + endpoint);
+            } else {
+                LOG.warn("Cannot send messages in batches as the JmsOperations is not a CamelJmsTemplate on: " + endpoint);
+            }
+        }
+        ServiceHelper.startService(batchSender);
     }
 
     protected void doStop() throws Exception {
+        ServiceHelper.stopService(batchSender);
         super.doStop();
     }
 }
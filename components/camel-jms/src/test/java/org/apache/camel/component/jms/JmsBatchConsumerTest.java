@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.apache.camel.util.StopWatch;
+import org.junit.Test;
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * @version $Revision$
+ */
+public class JmsBatchConsumerTest extends CamelTestSupport {
+
+    private final AtomicBoolean failed = new AtomicBoolean();
+
+    @Test
+    public void testBatchConsume() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(50);
+        mock.allMessages().property(Exchange.BATCH_SIZE).isNotNull();
+        mock.message(49).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("activemq:queue:batch", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBatchRollback() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:rollback");
+        // the first attempt of the batch is rolled back so the first 4 messages are processed twice
+        mock.expectedMinimumMessageCount(14);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("activemq:queue:rollback", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+        assertTrue("Should have failed once", failed.get());
+    }
+
+    @Test
+    public void testBatchConsumeThroughput() throws Exception {
+        int count = 2000;
+        MockEndpoint mock = getMockEndpoint("mock:throughput");
+        mock.expectedMessageCount(count);
+
+        for (int i = 0; i < count; i++) {
+            template.sendBody("activemq:queue:throughput", "Message " + i);
+        }
+
+        StopWatch watch = new StopWatch();
+        context.startRoute("throughput");
+        assertMockEndpointsSatisfied();
+
+        long taken = Math.max(watch.stop(), 1);
+        log.info("Consumed " + count + " messages in batches in " + taken + " millis ("
+                + (count * 1000L / taken) + " msg/sec)");
+    }
+
+    @Test
+    public void testBatchConsumerDoesNotSupportInOut() throws Exception {
+        JmsEndpoint endpoint = context.getEndpoint("activemq:queue:batch?consumerType=Batch&exchangePattern=InOut", JmsEndpoint.class);
+        try {
+            endpoint.createConsumer(new Processor() {
+                public void process(Exchange exchange) throws Exception {
+                }
+            });
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBatchConsumerDurableSubscriptionWithConcurrentConsumers() throws Exception {
+        JmsEndpoint endpoint = context.getEndpoint("activemq:topic:batch?consumerType=Batch&clientId=batch"
+                + "&durableSubscriptionName=batch&concurrentConsumers=2", JmsEndpoint.class);
+        try {
+            endpoint.createConsumer(new Processor() {
+                public void process(Exchange exchange) throws Exception {
+                }
+            });
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentAutoAcknowledge(connectionFactory));
+
+        return camelContext;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("activemq:queue:batch?consumerType=Batch&batchSize=10&batchTimeout=500").to("mock:result");
+
+                from("activemq:queue:rollback?consumerType=Batch&batchSize=10&batchTimeout=1000")
+                    .to("mock:rollback")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            if ("Message 3".equals(exchange.getIn().getBody(String.class)) && failed.compareAndSet(false, true)) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        }
+                    });
+
+                from("activemq:queue:throughput?consumerType=Batch&batchSize=200&batchTimeout=100")
+                    .routeId("throughput").noAutoStartup()
+                    .to("mock:throughput");
+            }
+        };
+    }
+
+}
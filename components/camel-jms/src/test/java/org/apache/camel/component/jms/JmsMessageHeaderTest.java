@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @version $Revision$
+ */
+public class JmsMessageHeaderTest {
+
+    @Test
+    public void testLazyHeaderLookup() throws Exception {
+        ActiveMQTextMessage jmsMessage = new ActiveMQTextMessage();
+        jmsMessage.setText("Hello World");
+        jmsMessage.setJMSCorrelationID("123");
+        jmsMessage.setJMSPriority(4);
+        jmsMessage.setJMSReplyTo(new ActiveMQQueue("reply"));
+        jmsMessage.setStringProperty("foo", "bar");
+        jmsMessage.setStringProperty("my_DOT_key", "baz");
+
+        JmsMessage message = new JmsMessage(jmsMessage, new JmsBinding());
+
+        assertEquals("bar", message.getHeader("foo"));
+        assertEquals("baz", message.getHeader("my.key"));
+        assertEquals("123", message.getHeader("JMSCorrelationID"));
+        assertEquals(new ActiveMQQueue("reply"), message.getHeader("JMSReplyTo"));
+        assertNull(message.getHeader("unknown"));
+        assertEquals("default", message.getHeader("unknown", "default"));
+        assertEquals(Integer.valueOf(4), message.getHeader("JMSPriority", Integer.class));
+
+        // the headers should not have been extracted from the JMS message
+        assertFalse(message.shouldCreateNewMessage());
+
+        // but accessing all the headers should
+        assertEquals("bar", message.getHeaders().get("foo"));
+        assertEquals("baz", message.getHeaders().get("my.key"));
+        assertEquals("123", message.getHeaders().get("JMSCorrelationID"));
+        assertTrue(message.shouldCreateNewMessage());
+    }
+
+    @Test
+    public void testMutateHeader() throws Exception {
+        ActiveMQTextMessage jmsMessage = new ActiveMQTextMessage();
+        jmsMessage.setStringProperty("foo", "bar");
+
+        JmsMessage message = new JmsMessage(jmsMessage, new JmsBinding());
+        message.setHeader("beer", "Carlsberg");
+
+        // the existing headers must have been extracted before mutating
+        assertEquals("bar", message.getHeader("foo"));
+        assertEquals("Carlsberg", message.getHeader("beer"));
+        assertTrue(message.shouldCreateNewMessage());
+    }
+
+    @Test
+    public void testNoJmsMessage() throws Exception {
+        JmsMessage message = new JmsMessage(null, new JmsBinding());
+        assertNull(message.getHeader("foo"));
+        assertFalse(message.shouldCreateNewMessage());
+    }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * @version $Revision$
+ */
+public class JmsProducerBatchTest extends CamelTestSupport {
+
+    @Test
+    public void testBatchSend() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(100);
+
+        List<Future<Exchange>> futures = sendMessages("activemq:queue:batch?batchSize=10&batchTimeout=500", 100, -1);
+        for (Future<Exchange> future : futures) {
+            assertNull(future.get().getException());
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testTransactedBatchSend() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(50);
+
+        List<Future<Exchange>> futures = sendMessages("activemq:queue:batch?transacted=true&batchSize=20&batchTimeout=200", 50, -1);
+        for (Future<Exchange> future : futures) {
+            assertNull(future.get().getException());
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBatchSendWithFailure() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(9);
+
+        // the 5th message cannot be sent as an ObjectMessage as it is not serializable
+        List<Future<Exchange>> futures = sendMessages("activemq:queue:batch?transacted=true&jmsMessageType=Object&batchSize=10&batchTimeout=500", 10, 4);
+        for (int i = 0; i < futures.size(); i++) {
+            Exchange exchange = futures.get(i).get();
+            if (i == 4) {
+                assertNotNull("Should have failed", exchange.getException());
+            } else {
+                assertNull(exchange.getException());
+            }
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private List<Future<Exchange>> sendMessages(String uri, int count, final int failIndex) {
+        List<Future<Exchange>> futures = new ArrayList<Future<Exchange>>();
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            futures.add(template.asyncSend(uri, new Processor() {
+                public void process(Exchange exchange) throws Exception {
+                    if (index == failIndex) {
+                        exchange.getIn().setBody(new NotSerializable());
+                    } else {
+                        exchange.getIn().setBody("Message " + index);
+                    }
+                }
+            }));
+        }
+        return futures;
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentAutoAcknowledge(connectionFactory));
+
+        return camelContext;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("activemq:queue:batch").to("mock:result");
+            }
+        };
+    }
+
+    private static final class NotSerializable {
+    }
+
+}
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.UseLatestAggregationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks the aggregator, where each operation adds one exchange to a group of 10 correlation keys
+ * which completes every 100 exchanges.
+ *
+ * @version $Revision$
+ */
+public class AggregatorBenchmark extends CamelBenchmarkSupport {
+
+    private int counter;
+
+    @Benchmark
+    public void aggregate() {
+        template.sendBodyAndHeader("direct:start", "Hello World", "id", counter++ % 10);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .aggregate(header("id"), new UseLatestAggregationStrategy()).completionSize(100)
+                        .to("log:aggregated?level=DEBUG");
+            }
+        };
+    }
+}
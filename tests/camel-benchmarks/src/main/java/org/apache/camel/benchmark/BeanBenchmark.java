@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import org.apache.camel.Body;
+import org.apache.camel.Header;
+import org.apache.camel.builder.RouteBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks bean invocation, with an explicit method name, with the method chosen by Camel
+ * and with parameter binding using annotations.
+ *
+ * @version $Revision$
+ */
+public class BeanBenchmark extends CamelBenchmarkSupport {
+
+    @Benchmark
+    public Object methodName() {
+        return template.requestBody("direct:method", "World");
+    }
+
+    @Benchmark
+    public Object chooseMethod() {
+        return template.requestBody("direct:choose", "World");
+    }
+
+    @Benchmark
+    public Object parameterBinding() {
+        return template.requestBodyAndHeader("direct:binding", "World", "greeting", "Hi");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:method").bean(new HelloBean(), "hello");
+                from("direct:choose").bean(new HelloBean());
+                from("direct:binding").bean(new GreetingBean(), "greet");
+            }
+        };
+    }
+
+    public static class HelloBean {
+        public String hello(String name) {
+            return "Hello " + name;
+        }
+    }
+
+    public static class GreetingBean {
+        public String greet(@Header("greeting") String greeting, @Body String name) {
+            return greeting + " " + name;
+        }
+    }
+}
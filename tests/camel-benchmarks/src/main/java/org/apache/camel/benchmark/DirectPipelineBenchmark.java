@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks routing through a pipeline of processors using the <tt>direct</tt> component,
+ * which is the overhead every route pays for its channels, unit of work and error handler.
+ *
+ * @version $Revision$
+ */
+public class DirectPipelineBenchmark extends CamelBenchmarkSupport {
+
+    @Param({"1", "5"})
+    public int steps;
+
+    @Benchmark
+    public void inOnly() {
+        template.sendBody("direct:start", "Hello World");
+    }
+
+    @Benchmark
+    public Object inOut() {
+        return template.requestBody("direct:start", "Hello World");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                RouteDefinition route = from("direct:start");
+                for (int i = 0; i < steps; i++) {
+                    route.process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            exchange.getIn().setHeader("step", exchange.getIn().getBody());
+                        }
+                    });
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks the error handler, both when routing succeeds and when an exception is
+ * redelivered and handled by <tt>onException</tt>.
+ *
+ * @version $Revision$
+ */
+public class ErrorHandlerBenchmark extends CamelBenchmarkSupport {
+
+    @Benchmark
+    public Object success() {
+        return template.requestBody("direct:start", "Hello World");
+    }
+
+    @Benchmark
+    public Object handledFailure() {
+        return template.requestBody("direct:start", "Kaboom");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(IllegalArgumentException.class).maximumRedeliveries(2).redeliveryDelay(0)
+                    .handled(true).transform(constant("Handled"));
+
+                from("direct:start").process(new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        if ("Kaboom".equals(exchange.getIn().getBody())) {
+                            throw new IllegalArgumentException("Forced");
+                        }
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks the {@link Exchange} operations which happens for nearly every step in a route,
+ * such as copying the exchange and accessing headers.
+ *
+ * @version $Revision$
+ */
+public class ExchangeBenchmark extends CamelBenchmarkSupport {
+
+    private Exchange exchange;
+
+    @Setup(Level.Iteration)
+    public void createExchange() {
+        exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        for (int i = 0; i < 10; i++) {
+            exchange.getIn().setHeader("header" + i, i);
+        }
+        exchange.setProperty("foo", "bar");
+    }
+
+    @Benchmark
+    public Object copy() {
+        return exchange.copy();
+    }
+
+    @Benchmark
+    public Object getHeader() {
+        return exchange.getIn().getHeader("header5");
+    }
+
+    @Benchmark
+    public Object getHeaderCaseInsensitive() {
+        return exchange.getIn().getHeader("HEADER5");
+    }
+
+    @Benchmark
+    public Object getHeaderWithConversion() {
+        return exchange.getIn().getHeader("header5", String.class);
+    }
+
+    @Benchmark
+    public Object setHeader() {
+        exchange.getIn().setHeader("header5", 5);
+        return exchange;
+    }
+
+    @Benchmark
+    public Object getBodyWithConversion() {
+        return exchange.getIn().getBody(byte[].class);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Date;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.BinaryExchangeCodec;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultExchangeHolder;
+import org.apache.camel.impl.SerializationExchangeCodec;
+import org.apache.camel.spi.ExchangeCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks encoding and decoding an exchange using the {@link BinaryExchangeCodec}
+ * compared to Java serialization, as done by the aggregation repositories.
+ *
+ * @version $Revision$
+ */
+public class ExchangeCodecBenchmark extends CamelBenchmarkSupport {
+
+    private final ExchangeCodec binary = new BinaryExchangeCodec();
+    private final ExchangeCodec serialization = new SerializationExchangeCodec();
+    private DefaultExchangeHolder holder;
+
+    @Setup(Level.Iteration)
+    public void createHolder() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("foo", 123);
+        exchange.getIn().setHeader("bar", "Camel rocks");
+        exchange.getIn().setHeader("date", new Date());
+        exchange.setProperty(Exchange.AGGREGATED_SIZE, 5);
+        holder = DefaultExchangeHolder.marshal(exchange);
+    }
+
+    @Benchmark
+    public Object binaryRoundtrip() throws Exception {
+        return roundtrip(binary);
+    }
+
+    @Benchmark
+    public Object serializationRoundtrip() throws Exception {
+        return roundtrip(serialization);
+    }
+
+    private Object roundtrip(ExchangeCodec codec) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        codec.encode(holder, bos);
+        return codec.decode(new ByteArrayInputStream(bos.toByteArray()));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return null;
+    }
+}
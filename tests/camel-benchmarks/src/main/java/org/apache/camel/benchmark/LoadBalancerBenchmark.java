@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.LoadBalanceDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks choosing a processor with the load balancers, both from a single thread
+ * and from many threads at the same time to measure contention on the load balancer state.
+ *
+ * @version $Revision$
+ */
+public class LoadBalancerBenchmark extends CamelBenchmarkSupport {
+
+    @Param({"roundRobin", "random", "weightedRoundRobin", "weightedRandom"})
+    public String policy;
+
+    @Benchmark
+    public Object singleThread() {
+        return template.requestBody("direct:start", "Hello World");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object contended() {
+        return template.requestBody("direct:start", "Hello World");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                LoadBalanceDefinition loadBalance = from("direct:start").loadBalance();
+                if ("roundRobin".equals(policy)) {
+                    loadBalance.roundRobin();
+                } else if ("random".equals(policy)) {
+                    loadBalance.random();
+                } else if ("weightedRoundRobin".equals(policy)) {
+                    loadBalance.weighted(true, "4,2,1");
+                } else if ("weightedRandom".equals(policy)) {
+                    loadBalance.weighted(false, "4,2,1");
+                } else {
+                    throw new IllegalArgumentException("Unknown load balancer policy: " + policy);
+                }
+                loadBalance.to("direct:x", "direct:y", "direct:z");
+
+                from("direct:x").transform(constant("x"));
+                from("direct:y").transform(constant("y"));
+                from("direct:z").transform(constant("z"));
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Predicate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.xml.XPathBuilder;
+import org.apache.camel.impl.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks evaluating <tt>simple</tt> and <tt>xpath</tt> predicates, as used by content based routers and filters.
+ *
+ * @version $Revision$
+ */
+public class PredicateBenchmark extends CamelBenchmarkSupport {
+
+    private Exchange exchange;
+    private Predicate simpleHeader;
+    private Predicate simpleBody;
+    private Predicate xpath;
+
+    @Setup(Level.Iteration)
+    public void createPredicates() {
+        exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("<order id=\"1\"><item>Camel</item></order>");
+        exchange.getIn().setHeader("foo", 123);
+
+        simpleHeader = context.resolveLanguage("simple").createPredicate("${header.foo} == 123");
+        simpleBody = context.resolveLanguage("simple").createPredicate("${body} contains 'Camel'");
+        xpath = XPathBuilder.xpath("/order[@id='1']");
+    }
+
+    @Benchmark
+    public boolean simpleHeader() {
+        return simpleHeader.matches(exchange);
+    }
+
+    @Benchmark
+    public boolean simpleBody() {
+        return simpleBody.matches(exchange);
+    }
+
+    @Benchmark
+    public boolean xpath() {
+        return xpath.matches(exchange);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return null;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks splitting a list of 100 elements, which measures the per sub exchange overhead of the splitter.
+ *
+ * @version $Revision$
+ */
+public class SplitterBenchmark extends CamelBenchmarkSupport {
+
+    @Param({"false", "true"})
+    public boolean parallelProcessing;
+
+    private final List<String> body = createBody();
+
+    @Benchmark
+    public Object split() {
+        return template.requestBody("direct:start", body);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                if (parallelProcessing) {
+                    from("direct:start").split(body()).parallelProcessing().transform(body().append("!"));
+                } else {
+                    from("direct:start").split(body()).transform(body().append("!"));
+                }
+            }
+        };
+    }
+
+    private static List<String> createBody() {
+        List<String> answer = new ArrayList<String>(100);
+        for (int i = 0; i < 100; i++) {
+            answer.add("Line " + i);
+        }
+        return answer;
+    }
+}
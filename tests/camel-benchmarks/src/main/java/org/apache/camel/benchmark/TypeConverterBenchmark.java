@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.benchmark;
+
+import java.io.InputStream;
+
+import org.w3c.dom.Document;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks looking up and invoking type converters.
+ *
+ * @version $Revision$
+ */
+public class TypeConverterBenchmark extends CamelBenchmarkSupport {
+
+    private static final String XML = "<order id=\"1\"><item>Camel</item></order>";
+
+    @Benchmark
+    public Object stringToInteger() {
+        return context.getTypeConverter().convertTo(Integer.class, "123");
+    }
+
+    @Benchmark
+    public Object integerToString() {
+        return context.getTypeConverter().convertTo(String.class, 123);
+    }
+
+    @Benchmark
+    public Object stringToBytes() {
+        return context.getTypeConverter().convertTo(byte[].class, XML);
+    }
+
+    @Benchmark
+    public Object stringToInputStream() {
+        return context.getTypeConverter().convertTo(InputStream.class, XML);
+    }
+
+    @Benchmark
+    public Object stringToDocument() {
+        return context.getTypeConverter().convertTo(Document.class, XML);
+    }
+
+    @Benchmark
+    public Object sameType() {
+        return context.getTypeConverter().convertTo(String.class, XML);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return null;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.camel.Converter;
+import org.apache.camel.impl.converter.AnnotationTypeConverterLoader;
+import org.apache.camel.impl.converter.TypeConverterIndexGenerator;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Generates the <code>META-INF/services/org/apache/camel/TypeConverterIndex</code> file which lists
+ * the {@link Converter} classes found in the packages from the <code>TypeConverter</code> file,
+ * so the type converters can be loaded at runtime without scanning the classpath.
+ * <p/>
+ * The Camel build itself runs {@link TypeConverterIndexGenerator} through the <tt>exec-maven-plugin</tt>
+ * instead, as camel-core and the components are built before this plugin.
+ *
+ * @goal converter-index
+ * @phase process-classes
+ * @requiresDependencyResolution compile
+ */
+public class ConverterIndexMojo extends AbstractMojo {
+
+    /**
+     * The directory containing the compiled classes.
+     *
+     * @parameter expression="${project.build.outputDirectory}"
+     * @required
+     */
+    protected File outputDirectory;
+
+    /**
+     * The compile classpath of the project.
+     *
+     * @parameter expression="${project.compileClasspathElements}"
+     * @required
+     * @readonly
+     */
+    protected List<String> classpathElements;
+
+    /**
+     * Allows the index generation to be skipped.
+     *
+     * @parameter expression="${camel.converter.index.skip}" default-value="false"
+     */
+    protected boolean skip;
+
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping type converter index generation");
+            return;
+        }
+
+        try {
+            Set<String> converters = new TypeConverterIndexGenerator(outputDirectory, createClassLoader()).generate();
+            if (converters == null) {
+                getLog().debug("No " + AnnotationTypeConverterLoader.META_INF_SERVICES + " found in " + outputDirectory
+                        + ", skipping type converter index generation");
+            } else {
+                getLog().info("Generated type converter index with " + converters.size() + " @Converter classes");
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Error generating type converter index. Reason: " + e.getMessage(), e);
+        }
+    }
+
+    protected ClassLoader createClassLoader() throws MalformedURLException {
+        List<URL> urls = new ArrayList<URL>();
+        urls.add(outputDirectory.toURI().toURL());
+        if (classpathElements != null) {
+            for (String element : classpathElements) {
+                urls.add(new File(element).toURI().toURL());
+            }
+        }
+        return new URLClassLoader(urls.toArray(new URL[urls.size()]), getClass().getClassLoader());
+    }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.maven;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.impl.converter.AnnotationTypeConverterLoader;
+import org.apache.camel.maven.converter.MyIndexedConverter;
+import org.apache.camel.maven.converter.MyNotAConverter;
+import org.apache.camel.util.IOHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @version $Revision$
+ */
+public class ConverterIndexMojoTest {
+
+    private File outputDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        outputDirectory = new File("target/converter-index-test");
+        deleteDirectory(outputDirectory);
+        copyClass(MyIndexedConverter.class);
+        copyClass(MyNotAConverter.class);
+    }
+
+    @Test
+    public void testGenerateIndex() throws Exception {
+        writeFile(AnnotationTypeConverterLoader.META_INF_SERVICES, "org.apache.camel.maven.converter\n");
+
+        createMojo(false).execute();
+
+        List<String> lines = readIndex();
+        assertEquals("Index should only list the @Converter class: " + lines, 1, lines.size());
+        assertEquals(MyIndexedConverter.class.getName(), lines.get(0));
+    }
+
+    @Test
+    public void testNoTypeConverterFile() throws Exception {
+        createMojo(false).execute();
+
+        assertFalse(new File(outputDirectory, AnnotationTypeConverterLoader.META_INF_SERVICES_INDEX).exists());
+    }
+
+    @Test
+    public void testSkip() throws Exception {
+        writeFile(AnnotationTypeConverterLoader.META_INF_SERVICES, "org.apache.camel.maven.converter\n");
+
+        createMojo(true).execute();
+
+        assertFalse(new File(outputDirectory, AnnotationTypeConverterLoader.META_INF_SERVICES_INDEX).exists());
+    }
+
+    private ConverterIndexMojo createMojo(boolean skip) {
+        ConverterIndexMojo mojo = new ConverterIndexMojo();
+        mojo.outputDirectory = outputDirectory;
+        mojo.classpathElements = new ArrayList<String>();
+        mojo.skip = skip;
+        return mojo;
+    }
+
+    private List<String> readIndex() throws IOException {
+        File index = new File(outputDirectory, AnnotationTypeConverterLoader.META_INF_SERVICES_INDEX);
+        assertTrue("Index should have been generated: " + index, index.exists());
+
+        List<String> answer = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(index));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() > 0 && !line.startsWith("#")) {
+                    answer.add(line);
+                }
+            }
+        } finally {
+            IOHelper.close(reader);
+        }
+        return answer;
+    }
+
+    private void copyClass(Class<?> type) throws IOException {
+        String name = type.getName().replace('.', '/') + ".class";
+        InputStream is = type.getClassLoader().getResourceAsStream(name);
+        try {
+            File file = new File(outputDirectory, name);
+            file.getParentFile().mkdirs();
+            OutputStream os = new FileOutputStream(file);
+            try {
+                IOHelper.copy(is, os);
+            } finally {
+                IOHelper.close(os);
+            }
+        } finally {
+            IOHelper.close(is);
+        }
+    }
+
+    private void deleteDirectory(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                deleteDirectory(child);
+            }
+        }
+        file.delete();
+    }
+
+    private void writeFile(String name, String content) throws IOException {
+        File file = new File(outputDirectory, name);
+        file.getParentFile().mkdirs();
+        OutputStream os = new FileOutputStream(file);
+        try {
+            os.write(content.getBytes("UTF-8"));
+        } finally {
+            IOHelper.close(os);
+        }
+    }
+}